@@ -0,0 +1,125 @@
+package com.myfoundation.school.admin;
+
+import com.myfoundation.school.util.ParallelReadExecutor;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of the admin dashboard's eight aggregate queries
+ * ({@link AdminDonationController#getDashboardStats}), run one after the other in a read-only
+ * transaction ({@code SERIAL}, the old shape) or fanned out through {@link ParallelReadExecutor}
+ * ({@code PARALLEL}). Each query runs against H2 and then waits {@code roundTripMs} to stand in
+ * for the network round trip and planning time of a real Postgres. {@code SERIAL} costs about
+ * eight round trips, {@code PARALLEL} about {@code ceil(8 / maxInFlight)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardFanOutBenchmark {
+
+    public enum Execution { SERIAL, PARALLEL }
+
+    private static final String[] QUERIES = {
+            "SELECT COALESCE(SUM(amount), 0) FROM donations WHERE status = 'SUCCESS'",
+            "SELECT COUNT(*) FROM donations WHERE status = 'SUCCESS'",
+            "SELECT COUNT(DISTINCT donor_email) FROM donations WHERE status = 'SUCCESS'",
+            "SELECT COUNT(*) FROM campaigns WHERE active = TRUE",
+            "SELECT COALESCE(SUM(amount), 0) FROM donations WHERE status = 'SUCCESS' AND created_at >= DATEADD('DAY', -30, NOW())",
+            "SELECT COUNT(*) FROM donations WHERE status = 'SUCCESS' AND created_at >= DATEADD('DAY', -30, NOW())",
+            "SELECT COUNT(*) FROM (SELECT id FROM donations ORDER BY created_at DESC LIMIT 5) recent",
+            "SELECT COUNT(*) FROM (SELECT campaign_id FROM donations WHERE status = 'SUCCESS' "
+                    + "GROUP BY campaign_id ORDER BY SUM(amount) DESC LIMIT 5) top",
+    };
+
+    @Param({"SERIAL", "PARALLEL"})
+    public Execution execution;
+
+    @Param({"2"})
+    public long roundTripMs;
+
+    @Param({"6"})
+    public int maxInFlight;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private ParallelReadExecutor parallelReads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:dashboard-fanout;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(10);
+        dataSource = new HikariDataSource(config);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE campaigns (id VARCHAR(64) PRIMARY KEY, active BOOLEAN)");
+        jdbc.execute("CREATE TABLE donations (id VARCHAR(64) PRIMARY KEY, campaign_id VARCHAR(64), amount BIGINT, "
+                + "status VARCHAR(20), donor_email VARCHAR(255), created_at TIMESTAMP)");
+        for (int c = 0; c < 20; c++) {
+            jdbc.update("INSERT INTO campaigns VALUES (?, ?)", "c" + c, c % 3 != 0);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < 5_000; d++) {
+            rows.add(new Object[]{"d" + d, "c" + (d % 20), 1_000L + d, d % 10 == 0 ? "FAILED" : "SUCCESS",
+                    "donor" + (d % 700) + "@example.org"});
+        }
+        jdbc.batchUpdate("INSERT INTO donations VALUES (?, ?, ?, ?, ?, DATEADD('MINUTE', -RAND() * 86400, NOW()))", rows);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        parallelReads = new ParallelReadExecutor(transactionManager, new SimpleMeterRegistry(), 2_000, maxInFlight);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        parallelReads.destroy();
+        dataSource.close();
+    }
+
+    @Benchmark
+    public long dashboard() {
+        if (execution == Execution.SERIAL) {
+            return readOnly.execute(status -> {
+                long sum = 0;
+                for (String sql : QUERIES) {
+                    sum += query(sql);
+                }
+                return sum;
+            });
+        }
+        try (ParallelReadExecutor.Scope scope = parallelReads.open("benchmark")) {
+            List<ParallelReadExecutor.Subtask<Long>> results = new ArrayList<>();
+            for (int i = 0; i < QUERIES.length; i++) {
+                String sql = QUERIES[i];
+                results.add(scope.fork("q" + i, () -> query(sql), 0L));
+            }
+            scope.join();
+            long sum = 0;
+            for (ParallelReadExecutor.Subtask<Long> result : results) {
+                sum += result.get();
+            }
+            return sum;
+        }
+    }
+
+    private long query(String sql) {
+        Long value = jdbc.queryForObject(sql, Long.class);
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(roundTripMs));
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,53 @@
+package com.myfoundation.school.auth;
+
+import org.openjdk.jmh.annotations.*;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thymeleaf rendering of the donation acknowledgement email through
+ * {@link EmailTemplateService}, with the template cache enabled as in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTemplateBenchmark {
+
+    private EmailTemplateService templateService;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        templateService = new EmailTemplateService(engine);
+
+        variables = Map.of(
+                "donorName", "Jane Donor",
+                "orgName", "Foundation",
+                "formattedAmount", "$50.00",
+                "campaignTitle", "School Meals 2026",
+                "donationDate", "October 19, 2026",
+                "donationId", "8f14e45f-ceea-467f-a8f6-1b2c3d4e5f60",
+                "contactEmail", "contact@example.org");
+    }
+
+    @Benchmark
+    public String renderDonationAcknowledgement() {
+        return templateService.render("donation-acknowledgement", variables);
+    }
+}
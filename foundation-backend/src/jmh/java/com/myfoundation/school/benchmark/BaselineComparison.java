@@ -0,0 +1,92 @@
+package com.myfoundation.school.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with the committed baseline and fails when a benchmark got
+ * slower, or allocates more per operation, by more than the allowed fraction.
+ *
+ * Usage: {@code BaselineComparison <baseline.json> <result.json> <max-regression>}
+ *
+ * To refresh the baseline, run the {@code benchmarks} profile on the reference machine and
+ * copy {@code target/jmh-result.json} over {@code src/jmh/baseline.json}. Benchmarks missing
+ * from the baseline are reported but never fail the run.
+ */
+public final class BaselineComparison {
+
+    private static final String ALLOC_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <result.json> <max-regression>");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        Map<String, JsonNode> baseline = baselineFile.isFile() ? index(baselineFile) : Map.of();
+        Map<String, JsonNode> results = index(new File(args[1]));
+        double maxRegression = Double.parseDouble(args[2]);
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n",
+                "Benchmark", "baseline", "current", "change", "B/op base", "B/op now");
+        for (Map.Entry<String, JsonNode> entry : results.entrySet()) {
+            JsonNode current = entry.getValue();
+            JsonNode previous = baseline.get(entry.getKey());
+            double score = current.at("/primaryMetric/score").asDouble();
+            double alloc = allocPerOp(current);
+            if (previous == null) {
+                System.out.printf("%-70s %14s %14.3f %8s %12s %12.0f%n",
+                        entry.getKey(), "-", score, "new", "-", alloc);
+                continue;
+            }
+
+            double baseScore = previous.at("/primaryMetric/score").asDouble();
+            double baseAlloc = allocPerOp(previous);
+            boolean higherIsBetter = "thrpt".equals(current.path("mode").asText());
+            double change = baseScore == 0 ? 0 : (score - baseScore) / baseScore;
+            double slowdown = higherIsBetter ? -change : change;
+            boolean timeRegressed = slowdown > maxRegression;
+            boolean allocRegressed = baseAlloc > 0 && (alloc - baseAlloc) / baseAlloc > maxRegression;
+
+            System.out.printf("%-70s %14.3f %14.3f %+7.1f%% %12.0f %12.0f%s%n",
+                    entry.getKey(), baseScore, score, change * 100, baseAlloc, alloc,
+                    timeRegressed || allocRegressed ? "  REGRESSION" : "");
+            if (timeRegressed || allocRegressed) {
+                regressions++;
+            }
+        }
+
+        if (regressions > 0) {
+            System.err.printf("%d benchmark(s) regressed by more than %.0f%% against %s%n",
+                    regressions, maxRegression * 100, baselineFile);
+            System.exit(1);
+        }
+    }
+
+    /** Keys results by benchmark name plus parameters, so parameterised runs compare pairwise. */
+    private static Map<String, JsonNode> index(File file) throws IOException {
+        Map<String, JsonNode> byName = new LinkedHashMap<>();
+        for (JsonNode node : new ObjectMapper().readTree(file)) {
+            String name = node.path("benchmark").asText();
+            JsonNode params = node.path("params");
+            byName.put(params.isMissingNode() ? name : name + params, node);
+        }
+        return byName;
+    }
+
+    /** The GC profiler's bytes per operation; older JMH versions prefix the metric with '·'. */
+    private static double allocPerOp(JsonNode result) {
+        JsonNode secondary = result.path("secondaryMetrics");
+        JsonNode metric = secondary.has(ALLOC_METRIC) ? secondary.get(ALLOC_METRIC) : secondary.path("·" + ALLOC_METRIC);
+        return metric.path("score").asDouble(0);
+    }
+}
@@ -0,0 +1,61 @@
+package com.myfoundation.school.campaign;
+
+import com.myfoundation.school.dto.CampaignResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for the public campaign list: 50 campaigns with categories through
+ * {@link CampaignService#toCampaignResponse(Campaign, Long)}. Amounts are precomputed, as in
+ * the batched list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CampaignResponseMappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private List<Campaign> campaigns;
+
+    @Setup
+    public void setUp() {
+        Category category = Category.builder()
+                .id("cat-1")
+                .name("Education")
+                .icon("📚")
+                .color("#2563eb")
+                .build();
+        campaigns = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            campaigns.add(Campaign.builder()
+                    .id("c-" + i)
+                    .title("Campaign " + i)
+                    .slug("campaign-" + i)
+                    .shortDescription("Short description " + i)
+                    .description("A longer description of campaign " + i)
+                    .targetAmount(100_000L)
+                    .currency("usd")
+                    .category(i % 5 == 0 ? null : category)
+                    .imageUrl("https://cdn.example.org/c-" + i + ".jpg")
+                    .location("Nairobi")
+                    .beneficiariesCount(120)
+                    .featured(i < 3)
+                    .urgent(false)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<CampaignResponse> mapPage() {
+        return campaigns.stream()
+                .map(c -> CampaignService.toCampaignResponse(c, 42_000L))
+                .toList();
+    }
+}
@@ -0,0 +1,150 @@
+package com.myfoundation.school.donation;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkouts per second that a 10-connection Hikari pool sustains while Stripe takes
+ * {@code stripeLatencyMs} to answer, for the two transaction shapes of
+ * {@link DonationService#createStripeCheckoutSession}:
+ * <ul>
+ *   <li>{@code HOLD} - the old shape: one transaction, and so one pooled connection, spans the
+ *       campaign read, the PENDING insert, the Stripe call and the session-id update.</li>
+ *   <li>{@code RELEASE} - the current shape: read and insert commit, the connection goes back to
+ *       the pool for the Stripe call, and the session id is written in a second transaction.</li>
+ * </ul>
+ * The SQL mirrors the service against H2; Stripe is a sleep. With 40 threads and 250 ms latency
+ * {@code HOLD} is capped near 10 / 0.25 s = 40 ops/s no matter the thread count, while
+ * {@code RELEASE} scales with the threads (about 160 ops/s) until the pool is busy with SQL
+ * rather than waiting.
+ * {@code poolTimeouts} counts checkouts that could not get a connection within Hikari's timeout.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(40)
+@State(Scope.Benchmark)
+public class CheckoutConnectionPoolBenchmark {
+
+    public enum TransactionShape { HOLD, RELEASE }
+
+    private static final int POOL_SIZE = 10;
+    private static final String CAMPAIGN_ID = "camp-bench";
+
+    @Param({"HOLD", "RELEASE"})
+    public TransactionShape shape;
+
+    @Param({"250"})
+    public long stripeLatencyMs;
+
+    private HikariDataSource dataSource;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class PoolCounters {
+        public long poolTimeouts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            poolTimeouts = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:checkout-pool-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setConnectionTimeout(30_000);
+        config.setAutoCommit(false);
+        dataSource = new HikariDataSource(config);
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE campaigns (id VARCHAR(64) PRIMARY KEY, title VARCHAR(255), active BOOLEAN)");
+            statement.execute("CREATE TABLE donations (id VARCHAR(64) PRIMARY KEY, campaign_id VARCHAR(64), "
+                    + "amount BIGINT, currency VARCHAR(8), status VARCHAR(20), stripe_session_id VARCHAR(255))");
+            statement.execute("INSERT INTO campaigns VALUES ('" + CAMPAIGN_ID + "', 'Benchmark campaign', TRUE)");
+            connection.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public void checkout(PoolCounters counters) throws Exception {
+        try {
+            if (shape == TransactionShape.HOLD) {
+                checkoutHoldingConnection();
+            } else {
+                checkoutReleasingConnection();
+            }
+        } catch (SQLTransientConnectionException e) {
+            counters.poolTimeouts++;
+        }
+    }
+
+    private void checkoutHoldingConnection() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            String donationId = insertPending(connection);
+            callStripe();
+            attachSession(connection, donationId);
+            connection.commit();
+        }
+    }
+
+    private void checkoutReleasingConnection() throws Exception {
+        String donationId;
+        try (Connection connection = dataSource.getConnection()) {
+            donationId = insertPending(connection);
+            connection.commit();
+        }
+        callStripe();
+        try (Connection connection = dataSource.getConnection()) {
+            attachSession(connection, donationId);
+            connection.commit();
+        }
+    }
+
+    private String insertPending(Connection connection) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT title, active FROM campaigns WHERE id = ?")) {
+            select.setString(1, CAMPAIGN_ID);
+            select.executeQuery().close();
+        }
+        String donationId = UUID.randomUUID().toString();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO donations (id, campaign_id, amount, currency, status) VALUES (?, ?, 5000, 'usd', 'PENDING')")) {
+            insert.setString(1, donationId);
+            insert.setString(2, CAMPAIGN_ID);
+            insert.executeUpdate();
+        }
+        return donationId;
+    }
+
+    private void attachSession(Connection connection, String donationId) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE donations SET stripe_session_id = ? WHERE id = ? AND stripe_session_id IS NULL")) {
+            update.setString(1, "cs_test_" + donationId);
+            update.setString(2, donationId);
+            update.executeUpdate();
+        }
+    }
+
+    private void callStripe() throws InterruptedException {
+        Thread.sleep(stripeLatencyMs);
+    }
+}
@@ -0,0 +1,55 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.campaign.Campaign;
+import com.myfoundation.school.config.SiteConfigService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * PDF receipt generation ({@link DonationReceiptService#buildPdf}). The site config lookup is
+ * stubbed so only OpenPDF layout and encoding are measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DonationReceiptBenchmark {
+
+    private DonationReceiptService receiptService;
+    private Donation donation;
+
+    @Setup
+    public void setUp() {
+        SiteConfigService siteConfigService = mock(SiteConfigService.class);
+        when(siteConfigService.getConfigValue(anyString())).thenReturn("AAATF1234F20241");
+        receiptService = new DonationReceiptService(null, siteConfigService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(receiptService, "defaultOrgName", "Foundation");
+
+        donation = Donation.builder()
+                .id("8f14e45f-ceea-467f-a8f6-1b2c3d4e5f60")
+                .donorName("Jane Donor")
+                .donorEmail("jane@example.org")
+                .amount(5000L)
+                .currency("usd")
+                .status(DonationStatus.SUCCESS)
+                .campaign(Campaign.builder().id("c-1").title("School Meals 2026").build())
+                .stripePaymentIntentId("pi_3PbenchmarkXYZ")
+                .createdAt(Instant.parse("2026-10-19T10:15:30Z"))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] buildPdf() {
+        return receiptService.buildPdf(donation);
+    }
+}
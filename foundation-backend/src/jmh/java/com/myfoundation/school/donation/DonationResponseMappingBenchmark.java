@@ -0,0 +1,50 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.campaign.Campaign;
+import com.myfoundation.school.dto.DonationResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping for the admin donation list: one page of 50 donations through
+ * {@link DonationService#toDonationResponse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DonationResponseMappingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private List<Donation> page;
+
+    @Setup
+    public void setUp() {
+        Campaign campaign = Campaign.builder().id("c-1").title("School Meals 2026").build();
+        page = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(Donation.builder()
+                    .id("d-" + i)
+                    .donorName("Donor " + i)
+                    .donorEmail("donor" + i + "@example.org")
+                    .amount(1000L + i)
+                    .currency("usd")
+                    .status(DonationStatus.SUCCESS)
+                    .campaign(i % 10 == 0 ? null : campaign)
+                    .createdAt(Instant.parse("2026-10-19T10:15:30Z"))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public List<DonationResponse> mapPage() {
+        return page.stream().map(DonationService::toDonationResponse).toList();
+    }
+}
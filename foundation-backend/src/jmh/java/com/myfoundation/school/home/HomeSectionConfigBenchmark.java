@@ -0,0 +1,38 @@
+package com.myfoundation.school.home;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON parsing of a home section's {@code config_json} via {@link HomeSection#getConfigMap()},
+ * called once per section on every homepage load.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HomeSectionConfigBenchmark {
+
+    private HomeSection section;
+
+    @Setup
+    public void setUp() {
+        section = new HomeSection();
+        section.setType("featured_campaigns");
+        section.setConfigJson("""
+                {"title":"Featured campaigns","subtitle":"Help us reach our goals this term",
+                 "limit":6,"showProgress":true,"layout":"grid",
+                 "cta":{"label":"See all campaigns","href":"/campaigns"},
+                 "campaignIds":["c-1","c-2","c-3","c-4","c-5","c-6"]}
+                """);
+    }
+
+    @Benchmark
+    public Map<String, Object> getConfigMap() {
+        return section.getConfigMap();
+    }
+}
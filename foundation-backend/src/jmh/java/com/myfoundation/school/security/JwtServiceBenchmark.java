@@ -0,0 +1,60 @@
+package com.myfoundation.school.security;
+
+import com.myfoundation.school.auth.AdminUser;
+import com.myfoundation.school.auth.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and parse/verify in {@link JwtService}; {@code parseToken} runs on every
+ * authenticated admin request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private AdminUser user;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secret", "benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwtService, "expirationMinutes", 60L);
+        jwtService.init();
+
+        user = AdminUser.builder()
+                .id("8f14e45f-ceea-467f-a8f6-1b2c3d4e5f60")
+                .username("admin")
+                .role(UserRole.ADMIN)
+                .build();
+        token = jwtService.generateToken(user);
+        tamperedToken = token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<Jws<Claims>> parseValid() {
+        return jwtService.parseToken(token);
+    }
+
+    @Benchmark
+    public Optional<Jws<Claims>> parseBadSignature() {
+        return jwtService.parseToken(tamperedToken);
+    }
+}
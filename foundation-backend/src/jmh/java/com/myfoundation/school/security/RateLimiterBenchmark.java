@@ -0,0 +1,58 @@
+package com.myfoundation.school.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding-window checks in {@link RateLimiterService} backed by the per-JVM counter store:
+ * one hot key that is always allowed, one that is always rejected, and a spread of client keys.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENT_KEYS = 10_000;
+
+    private RateLimiterService rateLimiter;
+    private String[] clientKeys;
+    private int nextKey;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiterService(new InMemoryCounterStore(), new SimpleMeterRegistry(), 250);
+        clientKeys = new String[CLIENT_KEYS];
+        for (int i = 0; i < CLIENT_KEYS; i++) {
+            clientKeys[i] = "checkout:10.0." + (i / 256) + "." + (i % 256);
+        }
+        rateLimiter.isAllowed("login:blocked", 1, 60);
+    }
+
+    @Benchmark
+    public boolean allowedHotKey() {
+        return rateLimiter.isAllowed("api:hot", Integer.MAX_VALUE, 60);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean allowedHotKeyContended() {
+        return rateLimiter.isAllowed("api:contended", Integer.MAX_VALUE, 60);
+    }
+
+    @Benchmark
+    public boolean rejectedKey() {
+        return rateLimiter.isAllowed("login:blocked", 1, 60);
+    }
+
+    @Benchmark
+    public boolean manyClientKeys() {
+        String key = clientKeys[nextKey];
+        nextKey = (nextKey + 1) % CLIENT_KEYS;
+        return rateLimiter.isAllowed(key, Integer.MAX_VALUE, 60);
+    }
+}
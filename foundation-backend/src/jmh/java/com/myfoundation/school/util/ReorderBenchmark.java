@@ -0,0 +1,125 @@
+package com.myfoundation.school.util;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of one admin reorder of {@code rows} FAQs. {@code ROW_BY_ROW} is the old shape: read
+ * every row, then one versioned {@code UPDATE} per row, as Hibernate flushes after
+ * {@code saveAll}. {@code SET_BASED} runs the single statement built by
+ * {@link SortOrderRewriter.Statement}, with version checks. Each statement runs against H2
+ * and then waits {@code roundTripMicros} to stand in for the network round trip to a real
+ * Postgres, which is where most of the difference comes from in production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReorderBenchmark {
+
+    public enum Strategy { ROW_BY_ROW, SET_BASED }
+
+    @Param({"ROW_BY_ROW", "SET_BASED"})
+    public Strategy strategy;
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"0", "200"})
+    public long roundTripMicros;
+
+    private HikariDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate transaction;
+    private List<Long> forward;
+    private List<Long> backward;
+    private boolean reversed;
+    /** Every row's version; both strategies bump all of them on each reorder. */
+    private long version;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:reorder;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        dataSource = new HikariDataSource(config);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP TABLE IF EXISTS faqs");
+        jdbc.execute("CREATE TABLE faqs (id BIGINT PRIMARY KEY, question VARCHAR(500), sort_order INTEGER NOT NULL, "
+                + "updated_at TIMESTAMP WITH TIME ZONE NOT NULL, updated_by VARCHAR(120), version BIGINT NOT NULL)");
+        List<Object[]> inserts = new ArrayList<>();
+        forward = new ArrayList<>();
+        for (long id = 1; id <= rows; id++) {
+            inserts.add(new Object[]{id, "Question " + id, (int) id * 10});
+            forward.add(id);
+        }
+        jdbc.batchUpdate("INSERT INTO faqs VALUES (?, ?, ?, CURRENT_TIMESTAMP, 'seed', 0)", inserts);
+        backward = forward.reversed();
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public int reorder() {
+        List<Long> order = reversed ? backward : forward;
+        reversed = !reversed;
+        int updated = transaction.execute(status ->
+                strategy == Strategy.ROW_BY_ROW ? rowByRow(order) : setBased(order));
+        version++;
+        return updated;
+    }
+
+    private int rowByRow(List<Long> order) {
+        Map<Long, Long> versions = new HashMap<>();
+        jdbc.query("SELECT id, version FROM faqs", rs -> {
+            versions.put(rs.getLong(1), rs.getLong(2));
+        });
+        roundTrip();
+        Timestamp now = Timestamp.from(Instant.now());
+        int updated = 0;
+        for (int i = 0; i < order.size(); i++) {
+            Long id = order.get(i);
+            long version = versions.get(id);
+            updated += jdbc.update("UPDATE faqs SET sort_order = ?, updated_at = ?, updated_by = ?, version = ? "
+                    + "WHERE id = ? AND version = ?", (i + 1) * 10, now, "admin", version + 1, id, version);
+            roundTrip();
+        }
+        return updated;
+    }
+
+    private int setBased(List<Long> order) {
+        // the admin UI sends the versions it loaded, so nothing is read first
+        List<Long> versions = Collections.nCopies(order.size(), version);
+        SortOrderRewriter.Statement statement =
+                SortOrderRewriter.Statement.build("faqs", order, versions, Instant.now(), "admin");
+        int updated = jdbc.update(statement.sql(), statement.parameters().toArray());
+        roundTrip();
+        return updated;
+    }
+
+    private void roundTrip() {
+        if (roundTripMicros > 0) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.myfoundation.school.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link XssSanitizer#sanitize} on clean CMS text, text carrying payloads, and a long
+ * description, since most input is clean and the regexes scan all of it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class XssSanitizerBenchmark {
+
+    private String clean;
+    private String malicious;
+    private String longText;
+
+    @Setup
+    public void setUp() {
+        clean = "Thanks to your support, 120 children now receive a hot meal every school day.";
+        malicious = "Great work <script>alert(document.cookie)</script>"
+                + "<img src=x onerror=\"steal()\"> <a href=\"javascript:void(0)\">click</a>";
+        longText = "Our library project brings books to rural schools. ".repeat(200);
+    }
+
+    @Benchmark
+    public String cleanText() {
+        return XssSanitizer.sanitize(clean);
+    }
+
+    @Benchmark
+    public String maliciousText() {
+        return XssSanitizer.sanitize(malicious);
+    }
+
+    @Benchmark
+    public String longCleanText() {
+        return XssSanitizer.sanitize(longText);
+    }
+}
@@ -20,6 +20,7 @@ import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
 import com.myfoundation.school.exception.BusinessException;
 import com.myfoundation.school.exception.ResourceNotFoundException;
+import com.myfoundation.school.util.ParallelReadExecutor;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -56,6 +57,7 @@ public class AdminDonationController {
     private final SiteConfigService siteConfigService;
     private final CampaignService campaignService;
     private final DonationRepository donationRepository;
+    private final ParallelReadExecutor parallelReads;
     
     // Donation endpoints
     @GetMapping("/donations")
@@ -174,19 +176,47 @@ public class AdminDonationController {
 
     @GetMapping("/dashboard/stats")
     public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
-        long totalRaised = donationRepository.sumAllSuccessfulDonations();
-        long totalDonations = donationRepository.countSuccessfulDonations();
-        long totalDonors = donationRepository.countDistinctDonors();
-        long averageDonation = totalDonations > 0 ? totalRaised / totalDonations : 0;
-        long activeCampaigns = campaignRepository.countByActiveTrue();
-
         java.time.Instant monthStart = java.time.YearMonth.now()
                 .atDay(1).atStartOfDay(java.time.ZoneOffset.UTC).toInstant();
-        long monthlyRaised = donationRepository.sumSuccessfulDonationsSince(monthStart);
-        long monthlyDonations = donationRepository.countSuccessfulDonationsSince(monthStart);
 
-        List<Donation> recent = donationRepository.findRecentDonations(PageRequest.of(0, 5));
-        List<DashboardStatsResponse.RecentDonation> recentDtos = recent.stream()
+        // Independent aggregates run concurrently; a query that fails or misses the deadline shows as 0/empty
+        // and the response is flagged partial so the dashboard can say the figures are incomplete
+        try (ParallelReadExecutor.Scope scope = parallelReads.open("admin_dashboard")) {
+            var totalRaised = scope.fork("total_raised", donationRepository::sumAllSuccessfulDonations, 0L);
+            var totalDonations = scope.fork("total_donations", donationRepository::countSuccessfulDonations, 0L);
+            var totalDonors = scope.fork("total_donors", donationRepository::countDistinctDonors, 0L);
+            var activeCampaigns = scope.fork("active_campaigns", campaignRepository::countByActiveTrue, 0L);
+            var monthlyRaised = scope.fork("monthly_raised",
+                    () -> donationRepository.sumSuccessfulDonationsSince(monthStart), 0L);
+            var monthlyDonations = scope.fork("monthly_donations",
+                    () -> donationRepository.countSuccessfulDonationsSince(monthStart), 0L);
+            var recentDonations = scope.fork("recent_donations", this::recentDonations,
+                    List.<DashboardStatsResponse.RecentDonation>of());
+            var topCampaigns = scope.fork("top_campaigns", this::topCampaigns,
+                    List.<DashboardStatsResponse.TopCampaign>of());
+            scope.join();
+            if (scope.isPartial()) {
+                log.warn("Admin dashboard stats are partial - at least one query failed or timed out");
+            }
+
+            long averageDonation = totalDonations.get() > 0 ? totalRaised.get() / totalDonations.get() : 0;
+            return ResponseEntity.ok(DashboardStatsResponse.builder()
+                    .totalRaised(totalRaised.get())
+                    .totalDonations(totalDonations.get())
+                    .totalDonors(totalDonors.get())
+                    .averageDonation(averageDonation)
+                    .activeCampaigns(activeCampaigns.get())
+                    .monthlyRaised(monthlyRaised.get())
+                    .monthlyDonations(monthlyDonations.get())
+                    .recentDonations(recentDonations.get())
+                    .topCampaigns(topCampaigns.get())
+                    .partial(scope.isPartial())
+                    .build());
+        }
+    }
+
+    private List<DashboardStatsResponse.RecentDonation> recentDonations() {
+        return donationRepository.findRecentDonations(PageRequest.of(0, 5)).stream()
                 .map(d -> DashboardStatsResponse.RecentDonation.builder()
                         .id(d.getId())
                         .donorName(d.getDonorName() != null ? d.getDonorName() : "Anonymous")
@@ -197,34 +227,27 @@ public class AdminDonationController {
                         .createdAt(d.getCreatedAt().toString())
                         .build())
                 .collect(Collectors.toList());
+    }
 
+    private List<DashboardStatsResponse.TopCampaign> topCampaigns() {
         List<Object[]> topRaw = donationRepository.findTopCampaignsByAmountRaised(PageRequest.of(0, 5));
-        List<DashboardStatsResponse.TopCampaign> topDtos = topRaw.stream()
+        // Targets for all five in one query rather than a findById per row
+        List<String> campaignIds = topRaw.stream().map(row -> (String) row[0]).toList();
+        Map<String, Long> targets = campaignRepository.findAllById(campaignIds).stream()
+                .collect(Collectors.toMap(Campaign::getId,
+                        c -> c.getTargetAmount() != null ? c.getTargetAmount() : 0L));
+        return topRaw.stream()
                 .map(row -> {
                     String cId = (String) row[0];
-                    long target = campaignRepository.findById(cId)
-                            .map(Campaign::getTargetAmount).orElse(0L);
                     return DashboardStatsResponse.TopCampaign.builder()
                             .id(cId)
                             .title((String) row[1])
                             .raised((Long) row[2])
-                            .target(target)
+                            .target(targets.getOrDefault(cId, 0L))
                             .donationCount((Long) row[3])
                             .build();
                 })
                 .collect(Collectors.toList());
-
-        return ResponseEntity.ok(DashboardStatsResponse.builder()
-                .totalRaised(totalRaised)
-                .totalDonations(totalDonations)
-                .totalDonors(totalDonors)
-                .averageDonation(averageDonation)
-                .activeCampaigns(activeCampaigns)
-                .monthlyRaised(monthlyRaised)
-                .monthlyDonations(monthlyDonations)
-                .recentDonations(recentDtos)
-                .topCampaigns(topDtos)
-                .build());
     }
 
     // Campaign CRUD endpoints
@@ -18,6 +18,8 @@ public class DashboardStatsResponse {
     private long monthlyDonations;
     private List<RecentDonation> recentDonations;
     private List<TopCampaign> topCampaigns;
+    /** True if at least one figure failed or timed out and shows its 0/empty fallback instead. */
+    private boolean partial;
 
     @Data
     @Builder
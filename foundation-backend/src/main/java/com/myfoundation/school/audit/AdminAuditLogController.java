@@ -4,10 +4,15 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/admin/audit-logs")
 @PreAuthorize("hasRole('ADMIN')")
@@ -15,21 +20,59 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class AdminAuditLogController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AuditLogRepository auditLogRepository;
 
+    /**
+     * Offset-paged listing. Deep pages get slower as the table grows; prefer {@code /scroll}.
+     */
     @GetMapping
     public ResponseEntity<Page<AuditLog>> getAuditLogs(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) AuditAction action,
             @RequestParam(required = false) String actor,
-            @RequestParam(required = false) String entityType) {
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
 
         log.info("Admin querying audit logs - page={}, size={}", page, size);
 
-        Page<AuditLog> logs = auditLogRepository.findFiltered(
-            action, actor, entityType, PageRequest.of(page, Math.min(size, 100))
+        Specification<AuditLog> spec = AuditLogSpecification.filterAuditLogs(action, actor, entityType, from, to, null);
+        Page<AuditLog> logs = auditLogRepository.findAll(
+            spec, PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE), AuditLogSpecification.NEWEST_FIRST)
         );
         return ResponseEntity.ok(logs);
     }
+
+    /**
+     * Keyset-paged listing: pass the previous response's {@code nextCursor} to continue.
+     * Cost is independent of depth, no count query is run, and the cursor bounds the
+     * timestamp range so older partitions are only read once the client reaches them.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<AuditLogSlice> scrollAuditLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) AuditAction action,
+            @RequestParam(required = false) String actor,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        AuditLogCursor after = AuditLogCursor.decode(cursor);
+        log.info("Admin scrolling audit logs - size={}, continued={}", limit, after != null);
+
+        Specification<AuditLog> spec = AuditLogSpecification.filterAuditLogs(action, actor, entityType, from, to, after);
+        // One extra row tells us whether another page exists.
+        List<AuditLog> rows = auditLogRepository.findSlice(spec, limit + 1);
+
+        if (rows.size() <= limit) {
+            return ResponseEntity.ok(new AuditLogSlice(rows, null));
+        }
+        List<AuditLog> items = rows.subList(0, limit);
+        return ResponseEntity.ok(new AuditLogSlice(items, AuditLogCursor.of(items.get(limit - 1)).encode()));
+    }
 }
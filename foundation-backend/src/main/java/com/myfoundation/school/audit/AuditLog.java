@@ -9,10 +9,11 @@ import lombok.NoArgsConstructor;
 import java.time.Instant;
 
 @Entity
+// Partitioned by month in PostgreSQL (V39); the primary key there is (id, timestamp).
 @Table(name = "audit_logs", indexes = {
-    @Index(name = "idx_audit_action", columnList = "action"),
-    @Index(name = "idx_audit_actor", columnList = "actor_username"),
-    @Index(name = "idx_audit_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_audit_action", columnList = "action, timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_actor", columnList = "actor_username, timestamp DESC, id DESC"),
+    @Index(name = "idx_audit_timestamp", columnList = "timestamp DESC, id DESC"),
     @Index(name = "idx_audit_entity", columnList = "entity_type, entity_id")
 })
 @Data
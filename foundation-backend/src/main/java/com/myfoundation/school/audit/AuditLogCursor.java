@@ -0,0 +1,45 @@
+package com.myfoundation.school.audit;
+
+import com.myfoundation.school.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the audit log: the (timestamp, id) of the last row a client has seen.
+ * Rows are ordered by timestamp DESC, id DESC, so the next page is everything strictly
+ * "before" this pair. Encoded as an opaque URL-safe token.
+ */
+public record AuditLogCursor(Instant timestamp, String id) {
+
+    public static AuditLogCursor of(AuditLog last) {
+        return new AuditLogCursor(last.getTimestamp(), last.getId());
+    }
+
+    public String encode() {
+        String raw = timestamp.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or {@code null} for a blank token (first page)
+     * @throws ValidationException if the token is not one this class produced
+     */
+    public static AuditLogCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new ValidationException("cursor", "Malformed cursor");
+            }
+            return new AuditLogCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("cursor", "Malformed cursor");
+        }
+    }
+}
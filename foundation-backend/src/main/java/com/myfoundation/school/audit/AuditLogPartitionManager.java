@@ -0,0 +1,244 @@
+package com.myfoundation.school.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfoundation.school.storage.R2StorageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Maintains the monthly partitions of {@code audit_logs} (see V39).
+ *
+ * Daily, and once at startup:
+ * <ol>
+ *   <li>creates partitions for the current month and {@code create-ahead-months} after it;</li>
+ *   <li>detaches partitions older than {@code attached-months} so queries and vacuum stop
+ *       touching them;</li>
+ *   <li>exports each detached partition to {@code <archive-prefix>/<year>/<table>.ndjson.gz}
+ *       on the storage backend and records the key in the table comment; rows are read with a
+ *       cursor and gzipped into a temporary file, so a large month never has to fit in the heap;</li>
+ *   <li>drops archived tables once they are older than {@code attached-months +
+ *       detached-retention-months}.</li>
+ * </ol>
+ * Every step is idempotent, so a failed or overlapping run is repaired by the next one.
+ * PostgreSQL only; disabled in tests.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.audit.partitioning", name = "enabled", havingValue = "true")
+public class AuditLogPartitionManager {
+
+    static final String PARENT_TABLE = "audit_logs";
+    private static final Pattern PARTITION_NAME = Pattern.compile("audit_logs_y(\\d{4})m(\\d{2})");
+    private static final String ARCHIVED_MARKER = "archived:";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String ATTACHED_PARTITIONS_SQL =
+        "SELECT c.relname FROM pg_inherits i " +
+        "JOIN pg_class c ON c.oid = i.inhrelid " +
+        "JOIN pg_class p ON p.oid = i.inhparent " +
+        "WHERE p.relname = '" + PARENT_TABLE + "'";
+
+    private static final String DETACHED_PARTITIONS_SQL =
+        "SELECT c.relname, obj_description(c.oid, 'pg_class') AS note FROM pg_class c " +
+        "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+        "WHERE n.nspname = current_schema() AND c.relkind = 'r' AND NOT c.relispartition " +
+        "AND c.relname ~ '^audit_logs_y[0-9]{4}m[0-9]{2}$'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final R2StorageService storageService;
+    private final ObjectMapper objectMapper;
+    private final int createAheadMonths;
+    private final int attachedMonths;
+    private final int detachedRetentionMonths;
+    private final String archivePrefix;
+
+    public AuditLogPartitionManager(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    R2StorageService storageService,
+                                    ObjectMapper objectMapper,
+                                    @Value("${app.audit.partitioning.create-ahead-months:3}") int createAheadMonths,
+                                    @Value("${app.audit.partitioning.attached-months:12}") int attachedMonths,
+                                    @Value("${app.audit.partitioning.detached-retention-months:3}") int detachedRetentionMonths,
+                                    @Value("${app.audit.partitioning.archive-prefix:audit-archive}") String archivePrefix) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storageService = storageService;
+        this.objectMapper = objectMapper;
+        this.createAheadMonths = Math.max(1, createAheadMonths);
+        this.attachedMonths = Math.max(1, attachedMonths);
+        this.detachedRetentionMonths = Math.max(0, detachedRetentionMonths);
+        this.archivePrefix = archivePrefix.endsWith("/") ? archivePrefix.substring(0, archivePrefix.length() - 1) : archivePrefix;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            createUpcomingPartitions(YearMonth.now(ZoneOffset.UTC));
+        } catch (Exception e) {
+            log.error("Failed to create upcoming audit log partitions at startup", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.audit.partitioning.cron:0 40 3 * * *}")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        YearMonth oldestAttached = current.minusMonths(attachedMonths);
+        YearMonth oldestKept = oldestAttached.minusMonths(detachedRetentionMonths);
+
+        createUpcomingPartitions(current);
+        detachPartitionsBefore(oldestAttached);
+        archiveAndDropDetached(oldestKept);
+    }
+
+    void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= createAheadMonths; i++) {
+            YearMonth month = current.plusMonths(i);
+            jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES FROM ('%s') TO ('%s')",
+                partitionName(month), PARENT_TABLE, lowerBound(month), lowerBound(month.plusMonths(1))));
+        }
+    }
+
+    void detachPartitionsBefore(YearMonth oldestAttached) {
+        List<String> attached = jdbcTemplate.queryForList(ATTACHED_PARTITIONS_SQL, String.class);
+        for (String table : attached) {
+            YearMonth month = monthOf(table);
+            if (month != null && month.isBefore(oldestAttached)) {
+                jdbcTemplate.execute("ALTER TABLE " + PARENT_TABLE + " DETACH PARTITION " + table);
+                log.info("Detached audit log partition {}", table);
+            }
+        }
+    }
+
+    void archiveAndDropDetached(YearMonth oldestKept) {
+        List<Map<String, Object>> detached = jdbcTemplate.queryForList(DETACHED_PARTITIONS_SQL);
+        for (Map<String, Object> row : detached) {
+            String table = (String) row.get("relname");
+            String note = (String) row.get("note");
+            YearMonth month = monthOf(table);
+            if (month == null) {
+                continue;
+            }
+            try {
+                if (note == null || !note.startsWith(ARCHIVED_MARKER)) {
+                    String key = archive(table, month);
+                    jdbcTemplate.execute("COMMENT ON TABLE " + table + " IS '" + ARCHIVED_MARKER + key + "'");
+                }
+                if (month.isBefore(oldestKept)) {
+                    jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+                    log.info("Dropped archived audit log partition {}", table);
+                }
+            } catch (Exception e) {
+                // Leave the table in place; the next run retries.
+                log.error("Failed to archive audit log partition {}", table, e);
+            }
+        }
+    }
+
+    private String archive(String table, YearMonth month) throws IOException {
+        Path file = Files.createTempFile(table + "-", ".ndjson.gz");
+        try {
+            long rows = export(table, file);
+            String key = archiveKey(archivePrefix, table, month);
+            storageService.upload(key, file, "application/gzip");
+            log.info("Archived audit log partition {} ({} rows, {} bytes) to {}", table, rows, Files.size(file), key);
+            return key;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Writes the partition to {@code file} as gzipped NDJSON. The PostgreSQL driver only streams
+     * with a fetch size inside a transaction; otherwise it loads the whole result set.
+     */
+    private long export(String table, Path file) throws IOException {
+        long[] rows = {0};
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement =
+                    connection.prepareStatement("SELECT * FROM " + table + " ORDER BY timestamp, id");
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                return statement;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(toJson(rs)));
+                    out.write('\n');
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+        }
+        return rows[0];
+    }
+
+    private static Map<String, Object> toJson(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        Map<String, Object> json = new LinkedHashMap<>();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            Object value = rs.getObject(i);
+            if (value instanceof Timestamp ts) {
+                value = ts.toInstant().toString();
+            } else if (value != null && !(value instanceof String) && !(value instanceof Number)) {
+                value = value.toString();
+            }
+            json.put(meta.getColumnLabel(i), value);
+        }
+        return json;
+    }
+
+    static String partitionName(YearMonth month) {
+        return String.format("audit_logs_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth monthOf(String partitionName) {
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        int monthValue = Integer.parseInt(matcher.group(2));
+        if (monthValue < 1 || monthValue > 12) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), monthValue);
+    }
+
+    static String lowerBound(YearMonth month) {
+        return month.atDay(1) + " 00:00:00+00";
+    }
+
+    static String archiveKey(String prefix, String table, YearMonth month) {
+        return prefix + "/" + month.getYear() + "/" + table + ".ndjson.gz";
+    }
+}
@@ -2,22 +2,37 @@ package com.myfoundation.school.audit;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface AuditLogRepository extends JpaRepository<AuditLog, String> {
+import java.util.List;
+
+public interface AuditLogRepository extends JpaRepository<AuditLog, String>, JpaSpecificationExecutor<AuditLog> {
     Page<AuditLog> findAllByOrderByTimestampDesc(Pageable pageable);
 
-    @Query("SELECT a FROM AuditLog a WHERE " +
-           "(:action IS NULL OR a.action = :action) AND " +
-           "(:actor IS NULL OR a.actorUsername = :actor) AND " +
-           "(:entityType IS NULL OR a.entityType = :entityType) " +
-           "ORDER BY a.timestamp DESC")
-    Page<AuditLog> findFiltered(
-        @Param("action") AuditAction action,
-        @Param("actor") String actor,
-        @Param("entityType") String entityType,
-        Pageable pageable
-    );
+    /**
+     * Keyset page: at most {@code limit} rows matching {@code spec} in
+     * {@link AuditLogSpecification#NEWEST_FIRST} order, without a count query.
+     */
+    default List<AuditLog> findSlice(Specification<AuditLog> spec, int limit) {
+        return findBy(spec, query -> query.sortBy(AuditLogSpecification.NEWEST_FIRST).limit(limit).all());
+    }
+
+    /**
+     * GDPR erasure: replaces the actor and clears the IP on up to {@code batchSize} entries
+     * recorded under {@code email} (e.g. password-reset requests). The action, entity and time
+     * stay, so the trail is still complete. Served by {@code idx_audit_actor_lower}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE audit_logs SET actor_username = '[deleted]', ip_address = NULL " +
+                   "WHERE lower(actor_username) = :email AND id IN (" +
+                   "SELECT id FROM audit_logs WHERE lower(actor_username) = :email LIMIT :batchSize)",
+           nativeQuery = true)
+    int anonymizeActorBatch(@Param("email") String email, @Param("batchSize") int batchSize);
 }
@@ -1,27 +1,54 @@
 package com.myfoundation.school.audit;
 
 import com.myfoundation.school.security.ClientIpExtractor;
-import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
 
+/**
+ * Records audit events.
+ *
+ * Actor, client IP and timestamp are captured on the calling thread; the row itself is written
+ * by {@link AuditLogWriter} in batches. Security-critical actions ({@link #SYNCHRONOUS_ACTIONS})
+ * are still written synchronously in their own transaction before {@code log} returns, as is
+ * any event the writer can't accept because its queue is full.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AuditLogService {
 
+    static final Set<AuditAction> SYNCHRONOUS_ACTIONS =
+        EnumSet.of(AuditAction.LOGIN_FAILED, AuditAction.ACCOUNT_LOCKED, AuditAction.DONATION_REFUNDED);
+
     private final AuditLogRepository repository;
     private final ClientIpExtractor clientIpExtractor;
+    private final AuditLogWriter writer;
+    private final TransactionTemplate requiresNew;
+    private final boolean asyncEnabled;
+
+    public AuditLogService(AuditLogRepository repository,
+                           ClientIpExtractor clientIpExtractor,
+                           AuditLogWriter writer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${app.audit.async.enabled:true}") boolean asyncEnabled) {
+        this.repository = repository;
+        this.clientIpExtractor = clientIpExtractor;
+        this.writer = writer;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.asyncEnabled = asyncEnabled;
+    }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void log(AuditAction action, String entityType, String entityId,
                     String actorUsername, String details) {
         if (actorUsername == null) {
@@ -42,7 +69,10 @@ public class AuditLogService {
             .ipAddress(getClientIpAddress())
             .timestamp(Instant.now())
             .build();
-        repository.save(auditLog);
+
+        if (!asyncEnabled || SYNCHRONOUS_ACTIONS.contains(action) || !writer.submit(auditLog)) {
+            requiresNew.executeWithoutResult(status -> repository.save(auditLog));
+        }
         log.debug("Audit: {} by {} on {}/{}", action, actorUsername, entityType, entityId);
     }
 
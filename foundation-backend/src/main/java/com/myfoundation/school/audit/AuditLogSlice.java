@@ -0,0 +1,9 @@
+package com.myfoundation.school.audit;
+
+import java.util.List;
+
+/**
+ * One keyset page of audit logs. {@code nextCursor} is {@code null} on the last page.
+ */
+public record AuditLogSlice(List<AuditLog> items, String nextCursor) {
+}
@@ -0,0 +1,68 @@
+package com.myfoundation.school.audit;
+
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditLogSpecification {
+
+    /** Keyset order; matches the trailing columns of every audit_logs index. */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("id"));
+
+    /**
+     * Creates a specification for filtering audit logs.
+     *
+     * Only the filters that are actually set become predicates, so the planner sees a plain
+     * {@code action = ?} rather than {@code (? IS NULL OR action = ?)} and can pick the matching
+     * index. Time bounds (and the cursor) are emitted as simple ranges on {@code timestamp} so
+     * PostgreSQL prunes the monthly partitions outside them.
+     *
+     * @param action Optional action filter
+     * @param actor Optional actor username filter
+     * @param entityType Optional entity type filter
+     * @param from Optional inclusive lower bound on timestamp
+     * @param to Optional exclusive upper bound on timestamp
+     * @param after Optional keyset cursor; only rows ordered after it are returned
+     * @return Specification for querying audit logs
+     */
+    public static Specification<AuditLog> filterAuditLogs(AuditAction action, String actor, String entityType,
+                                                          Instant from, Instant to, AuditLogCursor after) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (action != null) {
+                predicates.add(criteriaBuilder.equal(root.get("action"), action));
+            }
+            if (actor != null && !actor.isBlank()) {
+                predicates.add(criteriaBuilder.equal(root.get("actorUsername"), actor));
+            }
+            if (entityType != null && !entityType.isBlank()) {
+                predicates.add(criteriaBuilder.equal(root.get("entityType"), entityType));
+            }
+            if (from != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("timestamp"), from));
+            }
+            if (to != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("timestamp"), to));
+            }
+
+            if (after != null) {
+                // The plain range is redundant with the OR below but is what partition pruning uses.
+                predicates.add(criteriaBuilder.lessThanOrEqualTo(root.get("timestamp"), after.timestamp()));
+                predicates.add(criteriaBuilder.or(
+                    criteriaBuilder.lessThan(root.get("timestamp"), after.timestamp()),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(root.get("timestamp"), after.timestamp()),
+                        criteriaBuilder.lessThan(root.get("id"), after.id())
+                    )
+                ));
+            }
+
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,311 @@
+package com.myfoundation.school.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer for {@link AuditLogService}.
+ *
+ * Events are captured on the request thread and placed on a bounded queue. A single daemon
+ * thread drains it and writes rows with one JDBC batch insert per flush — every
+ * {@code batch-size} events or {@code flush-interval-ms}, whichever comes first — instead of a
+ * REQUIRES_NEW transaction per event.
+ *
+ * Read events ({@link #COALESCED_ACTIONS}) from the same actor on the same record are coalesced:
+ * the first one in a {@code coalesce-window-seconds} window is written as usual, repeats are only
+ * counted, and one summary row for that record is written when the window closes. Reads of
+ * different records are never merged, so the trail still shows every donor record that was opened.
+ *
+ * {@link #submit} returns {@code false} when the queue is full; the caller then writes
+ * synchronously so no event is lost.
+ *
+ * A failed batch is retried {@code retry-attempts} times with doubling backoff, so a short
+ * database outage only delays events. If it still fails, every event is tried on its own; only
+ * events that fail that too are dropped, counted in {@code audit.events.dropped} and logged.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    static final Set<AuditAction> COALESCED_ACTIONS =
+        EnumSet.of(AuditAction.DONATION_LIST_VIEWED, AuditAction.DONATION_VIEWED);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO audit_logs (id, action, entity_type, entity_id, actor_username, details, ip_address, timestamp) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditLog> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long coalesceWindowMs;
+    private final int retryAttempts;
+    private final long retryBackoffMs;
+    private final Counter droppedEvents;
+
+    private final Map<String, CoalescedReads> coalescing = new ConcurrentHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    private static final class CoalescedReads {
+        final AuditLog first;
+        final long windowEndsAt;
+        int repeats;
+        Instant lastSeen;
+
+        CoalescedReads(AuditLog first, long windowEndsAt) {
+            this.first = first;
+            this.windowEndsAt = windowEndsAt;
+            this.lastSeen = first.getTimestamp();
+        }
+    }
+
+    @Autowired
+    public AuditLogWriter(JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit.async.queue-capacity:10000}") int queueCapacity,
+                          @Value("${app.audit.async.batch-size:100}") int batchSize,
+                          @Value("${app.audit.async.flush-interval-ms:500}") long flushIntervalMs,
+                          @Value("${app.audit.async.coalesce-window-seconds:60}") long coalesceWindowSeconds,
+                          @Value("${app.audit.async.retry-attempts:3}") int retryAttempts,
+                          @Value("${app.audit.async.retry-backoff-ms:200}") long retryBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.coalesceWindowMs = Math.max(0, coalesceWindowSeconds) * 1000;
+        this.retryAttempts = Math.max(1, retryAttempts);
+        this.retryBackoffMs = Math.max(0, retryBackoffMs);
+        this.droppedEvents = meterRegistry.counter("audit.events.dropped");
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writerThread = new Thread(this::runLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues an event for the background writer.
+     *
+     * @return {@code false} if the queue is full and the caller must write the event itself
+     */
+    public boolean submit(AuditLog event) {
+        if (coalesceWindowMs > 0 && COALESCED_ACTIONS.contains(event.getAction())) {
+            String key = event.getAction() + "|" + event.getActorUsername() + "|" + event.getEntityType()
+                + "|" + event.getEntityId();
+            long now = System.currentTimeMillis();
+            boolean[] isRepeat = {false};
+            AuditLog[] closedSummary = {null};
+            coalescing.compute(key, (k, existing) -> {
+                if (existing != null && now < existing.windowEndsAt) {
+                    existing.repeats++;
+                    existing.lastSeen = event.getTimestamp();
+                    isRepeat[0] = true;
+                    return existing;
+                }
+                if (existing != null && existing.repeats > 0) {
+                    // Window closed but the sweeper hasn't run yet; keep its summary.
+                    closedSummary[0] = summaryOf(existing);
+                }
+                return new CoalescedReads(event, now + coalesceWindowMs);
+            });
+            if (closedSummary[0] != null && !queue.offer(closedSummary[0])) {
+                // No caller to fall back on for a summary, so write it here rather than drop it
+                write(List.of(closedSummary[0]));
+            }
+            if (isRepeat[0]) {
+                coalesced.incrementAndGet();
+                return true;
+            }
+        }
+        return queue.offer(event);
+    }
+
+    private void runLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog head = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                List<AuditLog> batch = new ArrayList<>(batchSize);
+                if (head != null) {
+                    batch.add(head);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                sweepCoalescedWindows(System.currentTimeMillis(), batch);
+                if (!batch.isEmpty()) {
+                    persist(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Audit log writer failed to flush batch", e);
+            }
+        }
+    }
+
+    /**
+     * Drains everything currently queued (plus due coalescing summaries) and writes it.
+     * Used on shutdown and by tests.
+     */
+    int flush() {
+        List<AuditLog> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        sweepCoalescedWindows(running ? System.currentTimeMillis() : Long.MAX_VALUE, batch);
+        if (!batch.isEmpty()) {
+            for (int from = 0; from < batch.size(); from += batchSize) {
+                persist(batch.subList(from, Math.min(batch.size(), from + batchSize)));
+            }
+        }
+        return batch.size();
+    }
+
+    private void sweepCoalescedWindows(long now, List<AuditLog> batch) {
+        Iterator<Map.Entry<String, CoalescedReads>> it = coalescing.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CoalescedReads> entry = it.next();
+            if (now >= entry.getValue().windowEndsAt) {
+                CoalescedReads closed = entry.getValue();
+                if (coalescing.remove(entry.getKey(), closed) && closed.repeats > 0) {
+                    batch.add(summaryOf(closed));
+                }
+            }
+        }
+    }
+
+    private AuditLog summaryOf(CoalescedReads reads) {
+        AuditLog first = reads.first;
+        return AuditLog.builder()
+            .action(first.getAction())
+            .entityType(first.getEntityType())
+            .entityId(first.getEntityId())
+            .actorUsername(first.getActorUsername())
+            .ipAddress(first.getIpAddress())
+            .details("Repeated " + reads.repeats + " more time(s) until " + reads.lastSeen)
+            .timestamp(reads.lastSeen)
+            .build();
+    }
+
+    /**
+     * Writes a batch with retries, then event by event; drops (and counts) only what fails both.
+     */
+    private void persist(List<AuditLog> batch) {
+        RuntimeException failure = null;
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 1; attempt <= retryAttempts; attempt++) {
+            try {
+                write(batch);
+                return;
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            if (attempt == retryAttempts) {
+                break;
+            }
+            log.warn("Audit log batch of {} event(s) failed (attempt {} of {}), retrying in {} ms: {}",
+                batch.size(), attempt, retryAttempts, backoffMs, failure.getMessage());
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                // Shutting down: fall through to the per-event writes below
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoffMs *= 2;
+        }
+        int lost = 0;
+        for (AuditLog event : batch) {
+            try {
+                write(List.of(event));
+            } catch (RuntimeException e) {
+                failure = e;
+                lost++;
+            }
+        }
+        if (lost > 0) {
+            droppedEvents.increment(lost);
+            log.error("Audit log writer dropped {} of {} event(s) after {} batch attempt(s) and per-event writes",
+                lost, batch.size(), retryAttempts, failure);
+        }
+    }
+
+    private void write(List<AuditLog> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditLog event : batch) {
+            rows.add(new Object[] {
+                UUID.randomUUID().toString(),
+                event.getAction().name(),
+                event.getEntityType(),
+                event.getEntityId(),
+                event.getActorUsername(),
+                event.getDetails(),
+                event.getIpAddress(),
+                Timestamp.from(event.getTimestamp())
+            });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        written.addAndGet(rows.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (writerThread != null) {
+            // No interrupt: let an in-flight batch insert finish; the poll timeout ends the loop.
+            try {
+                writerThread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = flush();
+        log.info("Audit log writer stopped - {} event(s) written, {} read event(s) coalesced, {} dropped, {} flushed on shutdown",
+            written.get(), coalesced.get(), (long) droppedEvents.count(), remaining);
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+}
@@ -2,8 +2,10 @@ package com.myfoundation.school.auth;
 
 import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
+import com.myfoundation.school.security.PrincipalRevokedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +23,7 @@ public class AdminUserService {
     private final AuthService authService;
     private final PasswordSetupTokenRepository tokenRepository;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<AdminUser> getAllUsers() {
         return adminUserRepository.findAll();
@@ -44,6 +47,7 @@ public class AdminUserService {
         user.setActive(active);
         user.setUpdatedAt(Instant.now());
         AdminUser saved = adminUserRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(user.getId(), user.getUsername(), false));
         auditLogService.log(AuditAction.USER_STATUS_CHANGED, "AdminUser", id, user.getUsername(), "Active: " + active);
         return saved;
     }
@@ -57,6 +61,7 @@ public class AdminUserService {
         user.setPassword(passwordEncoder.encode(newPassword));
         user.setUpdatedAt(Instant.now());
         adminUserRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(user.getId(), user.getUsername(), true));
         auditLogService.log(AuditAction.PASSWORD_CHANGED, "AdminUser", id, user.getUsername(), null);
 
         log.info("Password changed for user: {}", user.getUsername());
@@ -95,6 +100,7 @@ public class AdminUserService {
         log.info("Deleted password setup tokens for user: {}", target.getUsername());
 
         adminUserRepository.delete(target);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(target.getId(), target.getUsername(), false));
         log.info("Deleted user: {} by {}", target.getUsername(), actor.getUsername());
         auditLogService.log(AuditAction.USER_DELETED, "AdminUser", id, actingUsername, "Deleted user: " + target.getUsername());
     }
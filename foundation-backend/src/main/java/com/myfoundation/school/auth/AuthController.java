@@ -1,5 +1,6 @@
 package com.myfoundation.school.auth;
 
+import com.myfoundation.school.exception.ServiceBusyException;
 import com.myfoundation.school.security.JwtService;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
@@ -93,6 +94,8 @@ public class AuthController {
             }
             log.info("Returning login response for user: {}", request.getUsername());
             return builder.body(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Login failed: {} - Exception type: {}", e.getMessage(), e.getClass().getName(), e);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -117,6 +120,8 @@ public class AuthController {
                 response.setToken(null);
             }
             return ResponseEntity.ok(response);
+        } catch (ServiceBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("OTP verification failed: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
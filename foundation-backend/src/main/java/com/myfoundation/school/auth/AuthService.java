@@ -2,6 +2,7 @@ package com.myfoundation.school.auth;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +22,9 @@ import java.util.UUID;
 import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
 import com.myfoundation.school.config.Constants;
+import com.myfoundation.school.exception.ServiceBusyException;
 import com.myfoundation.school.security.JwtService;
+import com.myfoundation.school.security.PrincipalRevokedEvent;
 
 @Service
 @RequiredArgsConstructor
@@ -36,7 +39,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final OtpTokenRepository otpTokenRepository;
+    private final OtpCodeHasher otpCodeHasher;
     private final AuditLogService auditLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.bootstrap.admin-email:admin@example.org}")
     private String bootstrapAdminEmail;
@@ -169,6 +174,7 @@ public class AuthService {
         user.setActive(true);
         user.setUpdatedAt(Instant.now());
         adminUserRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(user.getId(), user.getUsername(), true));
         
         // Save security answers
         securityAnswerRepository.deleteByUserId(user.getId());
@@ -226,6 +232,7 @@ public class AuthService {
         user.setLockedUntil(null);
         user.setUpdatedAt(Instant.now());
         adminUserRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(user.getId(), user.getUsername(), true));
 
         tokenEntity.setUsed(true);
         tokenRepository.save(tokenEntity);
@@ -266,13 +273,16 @@ public class AuthService {
         user.setActive(request.getActive());
         
         // Only update password if provided
-        if (request.getPassword() != null && !request.getPassword().isEmpty()) {
+        boolean passwordChanged = request.getPassword() != null && !request.getPassword().isEmpty();
+        if (passwordChanged) {
             validatePasswordStrength(request.getPassword());
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
         
         user.setUpdatedAt(Instant.now());
-        return adminUserRepository.save(user);
+        AdminUser saved = adminUserRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(user.getId(), user.getUsername(), passwordChanged));
+        return saved;
     }
 
     @Transactional
@@ -281,7 +291,9 @@ public class AuthService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(active);
         user.setUpdatedAt(Instant.now());
-        return adminUserRepository.save(user);
+        AdminUser saved = adminUserRepository.save(user);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(user.getId(), user.getUsername(), false));
+        return saved;
     }
     
     @Transactional
@@ -318,6 +330,7 @@ public class AuthService {
         securityAnswerRepository.deleteByUserId(target.getId());
 
         adminUserRepository.delete(target);
+        eventPublisher.publishEvent(new PrincipalRevokedEvent(target.getId(), target.getUsername(), false));
         log.info("Deleted user: {} by {}", target.getUsername(), actor.getUsername());
     }
     
@@ -369,9 +382,7 @@ public class AuthService {
             throw new RuntimeException("Too many invalid attempts. Please login again.");
         }
 
-        // Use BCrypt-aware matching (passwordEncoder.matches handles both BCrypt and
-        // legacy SHA-256 hashes transparently via the DelegatingPasswordEncoder).
-        if (!passwordEncoder.matches(request.getCode(), otpToken.getCodeHash())) {
+        if (!otpCodeHasher.matches(user.getId(), request.getCode(), otpToken.getCodeHash())) {
             otpToken.setAttempts(otpToken.getAttempts() + 1);
             otpTokenRepository.save(otpToken);
 
@@ -399,8 +410,8 @@ public class AuthService {
         otpTokenRepository.deleteByUserId(user.getId());
 
         String code = generateNumericCode(otpLength);
-        // Use BCrypt (via PasswordEncoder) for OTP storage — resistant to rainbow tables.
-        String codeHash = passwordEncoder.encode(code);
+        // Keyed HMAC: fast to verify, useless offline without the server key.
+        String codeHash = otpCodeHasher.hash(user.getId(), code);
 
         OtpToken otpToken = OtpToken.builder()
                 .user(user)
@@ -459,13 +470,25 @@ public class AuthService {
     }
     
     /**
-     * Support legacy SHA-256 hashes while migrating users to BCrypt.
+     * Support legacy SHA-256 hashes while migrating users to BCrypt, and rehash BCrypt
+     * hashes stored at a lower cost than the current (calibrated) work factor.
      */
     private boolean passwordMatches(AdminUser user, String rawPassword) {
         String stored = user.getPassword();
 
         if (stored != null && stored.startsWith("$2")) {
-            return passwordEncoder.matches(rawPassword, stored);
+            boolean matches = passwordEncoder.matches(rawPassword, stored);
+            if (matches && passwordEncoder.upgradeEncoding(stored)) {
+                try {
+                    user.setPassword(passwordEncoder.encode(rawPassword));
+                    adminUserRepository.save(user);
+                    log.info("Rehashed password for user {} at the current work factor", user.getUsername());
+                } catch (ServiceBusyException e) {
+                    // Not worth failing a valid login over; the next login will retry.
+                    log.debug("Skipped password rehash for user {} — hashing pool busy", user.getUsername());
+                }
+            }
+            return matches;
         }
 
         String legacyHash = legacySha256Hash(rawPassword);
@@ -0,0 +1,68 @@
+package com.myfoundation.school.auth;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Purges expired and used rows from {@code otp_tokens} and {@code password_setup_tokens}.
+ *
+ * Deletes run in small batches, each in its own transaction (see the repositories'
+ * {@code deleteExpiredOrUsedBatch}), so a large backlog never holds long row locks against
+ * concurrent logins. Rows are kept for {@code retention-hours} after expiry/use for support
+ * investigations.
+ *
+ * Configuration:
+ * - app.auth.token-retention.cron        – schedule (default: hourly at :17)
+ * - app.auth.token-retention.hours       – grace period (default: 24)
+ * - app.auth.token-retention.batch-size  – rows per DELETE (default: 500)
+ * - app.auth.token-retention.max-batches – cap per table per run (default: 100)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthTokenRetentionJob {
+
+    private final OtpTokenRepository otpTokenRepository;
+    private final PasswordSetupTokenRepository passwordSetupTokenRepository;
+
+    @Value("${app.auth.token-retention.hours:24}")
+    private long retentionHours;
+
+    @Value("${app.auth.token-retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.auth.token-retention.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${app.auth.token-retention.cron:0 17 * * * *}")
+    public void purgeExpiredTokens() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(retentionHours));
+
+        int otpDeleted = purge(size -> otpTokenRepository.deleteExpiredOrUsedBatch(cutoff, size));
+        int setupDeleted = purge(size -> passwordSetupTokenRepository.deleteExpiredOrUsedBatch(cutoff, size));
+
+        if (otpDeleted > 0 || setupDeleted > 0) {
+            log.info("Purged {} OTP token(s) and {} password setup token(s) older than {}",
+                otpDeleted, setupDeleted, cutoff);
+        }
+    }
+
+    private int purge(IntUnaryOperator deleteBatch) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = deleteBatch.applyAsInt(batchSize);
+            total += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
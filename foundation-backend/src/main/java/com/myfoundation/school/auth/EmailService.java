@@ -1,6 +1,8 @@
 package com.myfoundation.school.auth;
 
 import com.myfoundation.school.config.SiteConfigService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,7 @@ public class EmailService {
     private final JavaMailSender mailSender;
     private final SiteConfigService siteConfigService;
     private final EmailTemplateService emailTemplateService;
+    private final MeterRegistry meterRegistry;
     
     @Value("${app.frontend.url:http://localhost:5173}")
     private String frontendUrl;
@@ -72,7 +75,7 @@ public class EmailService {
                     Map.of("username", username, "code", code));
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            send("otp", message);
             log.info("OTP email sent successfully to: {}", toEmail);
         } catch (MessagingException | UnsupportedEncodingException e) {
             log.error("Failed to send OTP email to: {}", toEmail, e);
@@ -96,7 +99,7 @@ public class EmailService {
                     Map.of("username", username, "orgName", orgName(), "setupLink", setupLink));
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            send("password-setup", message);
             log.info("Password setup email sent successfully to: {}", toEmail);
 
         } catch (MessagingException | UnsupportedEncodingException e) {
@@ -121,7 +124,7 @@ public class EmailService {
                     Map.of("username", username, "orgName", orgName(), "resetLink", resetLink));
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            send("password-reset", message);
             log.info("Password reset email sent successfully to: {}", toEmail);
 
         } catch (MessagingException | UnsupportedEncodingException e) {
@@ -165,7 +168,7 @@ public class EmailService {
                     ));
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            send("donation-acknowledgement", message);
             log.info("Donation acknowledgement email sent successfully to: {}", toEmail);
             
         } catch (MessagingException | UnsupportedEncodingException e) {
@@ -211,7 +214,7 @@ public class EmailService {
                     ));
             helper.setText(htmlContent, true);
             
-            mailSender.send(message);
+            send("donation-admin-notification", message);
             log.info("Donation notification email sent successfully to admin");
             
         } catch (MessagingException | UnsupportedEncodingException e) {
@@ -262,7 +265,7 @@ public class EmailService {
                     ));
             helper.setText(htmlContent, true);
 
-            mailSender.send(message);
+            send("refund-notification", message);
             log.info("Refund notification email sent successfully to: {}", toEmail);
 
         } catch (MessagingException | UnsupportedEncodingException e) {
@@ -307,7 +310,7 @@ public class EmailService {
                     ));
             helper.setText(htmlContent, true);
 
-            mailSender.send(mimeMessage);
+            send("contact-admin-notification", mimeMessage);
             log.info("Contact notification email sent to admin for submission id={}", submissionId);
         } catch (MessagingException | UnsupportedEncodingException e) {
             log.error("Failed to send contact notification email for submission id={}", submissionId, e);
@@ -315,6 +318,18 @@ public class EmailService {
         }
     }
 
+    /** Hands the message to the mail server and records it in the {@code email.send} timer. */
+    private void send(String template, MimeMessage message) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            mailSender.send(message);
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("email.send", "template", template, "outcome", outcome));
+        }
+    }
+
     private static String escapeHtml(String input) {
         if (input == null) return "";
         return input
@@ -0,0 +1,95 @@
+package com.myfoundation.school.auth;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Keyed HMAC-SHA256 hashing for one-time login codes.
+ *
+ * A 6-digit OTP already has a 5-minute expiry and an attempt limit, so a slow password hash
+ * adds nothing but ~250 ms of CPU per attempt. A server-side key means a leaked
+ * {@code otp_tokens} table still can't be brute-forced offline. The hash is bound to the user
+ * id, so a code row can't be replayed for another account.
+ *
+ * Stored format: {@code hmac:<base64url>}. BCrypt hashes written before this change are still
+ * accepted until they expire.
+ */
+@Slf4j
+@Component
+public class OtpCodeHasher {
+
+    private static final String PREFIX = "hmac:";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final PasswordEncoder passwordEncoder;
+
+    public OtpCodeHasher(@Value("${app.auth.otp-hmac-secret:}") String otpSecret,
+                         @Value("${app.jwt.secret}") String jwtSecret,
+                         PasswordEncoder passwordEncoder) {
+        this.passwordEncoder = passwordEncoder;
+        byte[] keyBytes;
+        if (otpSecret != null && !otpSecret.isBlank()) {
+            keyBytes = otpSecret.getBytes(StandardCharsets.UTF_8);
+        } else {
+            // Derive a separate key from the JWT secret so OTP hashes and JWT signatures never share a key.
+            keyBytes = hmac(jwtSecret.getBytes(StandardCharsets.UTF_8), "otp-code-key");
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    public String hash(String userId, String code) {
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(digest(userId, code));
+    }
+
+    /**
+     * Constant-time comparison of a submitted code against the stored hash.
+     */
+    public boolean matches(String userId, String code, String storedHash) {
+        if (storedHash == null || code == null) {
+            return false;
+        }
+        if (storedHash.startsWith(PREFIX)) {
+            byte[] expected;
+            try {
+                expected = Base64.getUrlDecoder().decode(storedHash.substring(PREFIX.length()));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, digest(userId, code));
+        }
+        if (storedHash.startsWith("$2")) {
+            return passwordEncoder.matches(code, storedHash);
+        }
+        return false;
+    }
+
+    private byte[] digest(String userId, String code) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal((userId + ":" + code).getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] keyBytes, String data) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(keyBytes, ALGORITHM));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 not available", e);
+        }
+    }
+}
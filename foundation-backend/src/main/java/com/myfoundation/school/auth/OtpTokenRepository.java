@@ -1,6 +1,10 @@
 package com.myfoundation.school.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.Optional;
@@ -8,4 +12,15 @@ import java.util.Optional;
 public interface OtpTokenRepository extends JpaRepository<OtpToken, String> {
     Optional<OtpToken> findTopByUserIdAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(String userId, Instant now);
     void deleteByUserId(String userId);
+
+    /**
+     * Deletes up to {@code batchSize} rows that expired, or were used, before {@code cutoff}.
+     * Runs in its own short transaction so the retention job never holds long locks.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM otp_tokens WHERE id IN (" +
+            "SELECT id FROM otp_tokens WHERE expires_at < :cutoff OR (used = TRUE AND created_at < :cutoff) " +
+            "LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredOrUsedBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
 }
@@ -1,7 +1,12 @@
 package com.myfoundation.school.auth;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.time.Instant;
 import java.util.Optional;
 
@@ -9,4 +14,14 @@ import java.util.Optional;
 public interface PasswordSetupTokenRepository extends JpaRepository<PasswordSetupToken, String> {
     Optional<PasswordSetupToken> findByTokenAndUsedFalseAndExpiresAtAfter(String token, Instant now);
     void deleteByUserId(String userId);
+
+    /**
+     * Deletes up to {@code batchSize} rows that expired, or were used, before {@code cutoff}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM password_setup_tokens WHERE id IN (" +
+            "SELECT id FROM password_setup_tokens WHERE expires_at < :cutoff OR (used = TRUE AND created_at < :cutoff) " +
+            "LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredOrUsedBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
 }
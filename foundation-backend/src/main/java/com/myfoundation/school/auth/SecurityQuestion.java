@@ -2,10 +2,14 @@ package com.myfoundation.school.auth;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 
 @Entity
 @Table(name = "security_questions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 public class SecurityQuestion {
     
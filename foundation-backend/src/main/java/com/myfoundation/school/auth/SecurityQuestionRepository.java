@@ -1,11 +1,15 @@
 package com.myfoundation.school.auth;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface SecurityQuestionRepository extends JpaRepository<SecurityQuestion, String> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<SecurityQuestion> findByActiveOrderByDisplayOrder(boolean active);
     boolean existsByQuestion(String question);
 }
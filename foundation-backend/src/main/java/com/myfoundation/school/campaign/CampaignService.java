@@ -237,7 +237,7 @@ public class CampaignService {
         return toCampaignResponse(campaign, currentAmount);
     }
 
-    private CampaignResponse toCampaignResponse(Campaign campaign, Long currentAmount) {
+    static CampaignResponse toCampaignResponse(Campaign campaign, Long currentAmount) {
         return CampaignResponse.builder()
                 .id(campaign.getId())
                 .title(campaign.getTitle())
@@ -84,6 +84,7 @@ public final class Constants {
         public static final String COMPLETED = "COMPLETED";
         public static final String FAILED = "FAILED";
         public static final String REFUNDED = "REFUNDED";
+        public static final String EXPIRED = "EXPIRED";
     }
 
     // ===== Error Messages =====
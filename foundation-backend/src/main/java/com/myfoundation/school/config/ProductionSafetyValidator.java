@@ -42,6 +42,9 @@ public class ProductionSafetyValidator {
     @Value("${stripe.webhook-secret:}")
     private String stripeWebhookSecret;
 
+    @Value("${stripe.api-base:}")
+    private String stripeApiBase;
+
     @PostConstruct
     public void validateProductionConfig() {
         log.info("Running production safety validation...");
@@ -90,6 +93,9 @@ public class ProductionSafetyValidator {
                 || stripeWebhookSecret.contains("your_webhook_secret_here")) {
             fail("STRIPE_WEBHOOK_SECRET is missing or is a placeholder.");
         }
+        if (!stripeApiBase.isBlank()) {
+            fail("STRIPE_API_BASE must not be set in prod (it redirects payments away from Stripe).");
+        }
         if (stripeSecretKey.startsWith("sk_test_")) {
             log.warn("STRIPE_SECRET_KEY is a TEST key — confirm this is intentional for this environment.");
         }
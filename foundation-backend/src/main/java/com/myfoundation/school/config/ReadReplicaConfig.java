@@ -0,0 +1,101 @@
+package com.myfoundation.school.config;
+
+import com.myfoundation.school.datasource.ReadYourWritesFilter;
+import com.myfoundation.school.datasource.ReplicaLagMonitor;
+import com.myfoundation.school.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica support, active only when {@code app.datasource.replica.url} is set. Without it
+ * the application uses the single auto-configured {@code spring.datasource} pool as before.
+ *
+ * With a replica the {@code dataSource} bean becomes a {@link ReplicaRoutingDataSource} behind a
+ * {@link LazyConnectionDataSourceProxy}: read-only transactions use the replica, everything else
+ * (and Flyway) the primary. The replica pool is not a bean, so a replica outage does not turn
+ * {@code /actuator/health} DOWN; reads fall back to the primary instead.
+ *
+ * Configuration:
+ * - app.datasource.replica.url                     – JDBC URL of the replica (default: unset = no replica)
+ * - app.datasource.replica.username / password     – default to spring.datasource.*
+ * - app.datasource.replica.maximum-pool-size       – replica pool size (default: 10)
+ * - app.datasource.replica.connection-timeout-ms   – wait for a replica connection (default: 3000)
+ * - app.datasource.replica.max-lag-seconds         – above this, reads use the primary (default: 5)
+ * - app.datasource.replica.lag-check-interval-ms   – how often lag is measured (default: 5000)
+ * - app.datasource.replica.lag-query               – returns lag in seconds (default: Postgres streaming replica)
+ * - app.datasource.replica.read-your-writes-seconds – admin pinned to the primary after a change (default: 10)
+ */
+@Slf4j
+@Configuration
+@ConditionalOnExpression("'${app.datasource.replica.url:}' != ''")
+public class ReadReplicaConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(StringUtils.hasText(properties.getName()) ? properties.getName() : "primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourceProperties primary,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${app.datasource.replica.connection-timeout-ms:3000}") long connectionTimeoutMs,
+            @Value("${app.datasource.replica.max-lag-seconds:5}") double maxLagSeconds,
+            @Value("${app.datasource.replica.lag-query:}") String lagQuery) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("replica");
+        config.setJdbcUrl(url);
+        config.setUsername(StringUtils.hasText(username) ? username : primary.determineUsername());
+        config.setPassword(StringUtils.hasText(password) ? password : primary.determinePassword());
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        config.setReadOnly(true);
+        // Start even if the replica is down; the lag monitor keeps reads on the primary until it is back
+        config.setInitializationFailTimeout(-1);
+        config.setMetricRegistry(meterRegistry);
+
+        log.info("Read replica configured - read-only transactions are routed to it while it is within {}s",
+                maxLagSeconds);
+        return new ReplicaLagMonitor(new HikariDataSource(config), meterRegistry,
+                StringUtils.hasText(lagQuery) ? lagQuery : ReplicaLagMonitor.POSTGRES_LAG_QUERY, maxLagSeconds);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource,
+                replicaLagMonitor.getDataSource(), replicaLagMonitor::isUsable, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${app.datasource.replica.read-your-writes-seconds:10}") long stickySeconds) {
+        return new ReadYourWritesFilter(Duration.ofSeconds(stickySeconds));
+    }
+}
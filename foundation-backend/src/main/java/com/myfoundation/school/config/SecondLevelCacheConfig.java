@@ -0,0 +1,41 @@
+package com.myfoundation.school.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import jakarta.persistence.SharedCacheMode;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level and query cache for the small reference tables marked {@code @Cacheable}
+ * (Category, SiteConfig, SecurityQuestion, DonationPreset, TrustBadge, MoneyAllocation, Faq) and
+ * for their repository finders with the cacheable query hint. Caffeine sizes and TTLs are in
+ * application.conf. Statistics are always on; they feed the hibernate.* meters on
+ * /actuator/metrics (cache hits, misses and puts per region).
+ *
+ * Wired in Java so that tests run the same setup as production. The test profile turns the cache
+ * off because most tests clean up with bulk deletes; ReferenceDataCacheTest turns it back on.
+ *
+ * Configuration:
+ * - app.cache.second-level.enabled – use the second-level and query cache (default: true)
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer(
+            @Value("${app.cache.second-level.enabled:true}") boolean enabled) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            properties.put(AvailableSettings.JAKARTA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
@@ -1,12 +1,20 @@
 package com.myfoundation.school.config;
 
+import com.myfoundation.school.payment.ResilientStripeGateway;
+import com.myfoundation.school.payment.RetryBudget;
+import com.myfoundation.school.payment.StripeCircuitBreaker;
+import com.myfoundation.school.payment.StripeGateway;
 import com.stripe.Stripe;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 @Slf4j
 @Getter
@@ -23,10 +31,51 @@ public class StripeConfig {
     
     @Value("${stripe.cancel-url}")
     private String cancelUrl;
+
+    /** Overrides https://api.stripe.com, e.g. to point at the load-test stub. Blank = real Stripe. */
+    @Value("${stripe.api-base:}")
+    private String apiBase;
     
     @PostConstruct
     public void init() {
         Stripe.apiKey = secretKey;
+        if (!apiBase.isBlank()) {
+            Stripe.overrideApiBase(apiBase);
+            log.warn("Stripe API base overridden to {} - payments are NOT sent to Stripe", apiBase);
+        }
         log.info("Stripe API initialized successfully");
     }
+
+    /**
+     * The only path to the Stripe API (see {@link ResilientStripeGateway}). Defaults allow 20
+     * concurrent calls and open the breaker for 30s when half of the last 20 calls failed.
+     */
+    @Bean
+    public StripeGateway stripeGateway(
+            MeterRegistry meterRegistry,
+            @Value("${stripe.client.connect-timeout-ms:3000}") int connectTimeoutMs,
+            @Value("${stripe.client.read-timeout-ms:10000}") int readTimeoutMs,
+            @Value("${stripe.client.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${stripe.client.bulkhead-wait-ms:250}") long bulkheadWaitMs,
+            @Value("${stripe.client.max-retries:2}") int maxRetries,
+            @Value("${stripe.client.retry-backoff-ms:250}") long retryBackoffMs,
+            @Value("${stripe.client.retry-budget-ratio:0.2}") double retryBudgetRatio,
+            @Value("${stripe.client.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${stripe.client.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${stripe.client.circuit-breaker.failure-rate-threshold:50}") int failureRateThreshold,
+            @Value("${stripe.client.circuit-breaker.open-duration-seconds:30}") long openDurationSeconds) {
+        log.info("Stripe client: connect timeout {}ms, read timeout {}ms, {} concurrent calls, {} retries",
+                connectTimeoutMs, readTimeoutMs, maxConcurrentCalls, maxRetries);
+        return new ResilientStripeGateway(
+                meterRegistry,
+                new StripeCircuitBreaker(windowSize, minimumCalls, failureRateThreshold,
+                        Duration.ofSeconds(openDurationSeconds)),
+                new RetryBudget(retryBudgetRatio, 10),
+                maxConcurrentCalls,
+                bulkheadWaitMs,
+                connectTimeoutMs,
+                readTimeoutMs,
+                maxRetries,
+                retryBackoffMs);
+    }
 }
@@ -1,7 +1,10 @@
 package com.myfoundation.school.contact;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
@@ -17,4 +20,17 @@ public interface ContactSubmissionRepository extends JpaRepository<ContactSubmis
     /** Per-IP flood check: how many submissions from this IP since the given instant? */
     @Query("SELECT COUNT(c) FROM ContactSubmission c WHERE c.clientIp = :ip AND c.createdAt >= :since")
     long countByClientIpSince(String ip, Instant since);
+
+    /**
+     * GDPR erasure: blanks the sender's name, email, message and IP on up to {@code batchSize}
+     * of their submissions, keeping subject, status and dates for the admin history.
+     * {@code email} must already be lower-case; served by {@code idx_contact_submissions_email_lower}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE contact_submissions SET name = '[Deleted]', email = '[deleted]', " +
+                   "message = '[Deleted]', client_ip = NULL WHERE lower(email) = :email AND id IN (" +
+                   "SELECT id FROM contact_submissions WHERE lower(email) = :email LIMIT :batchSize)",
+           nativeQuery = true)
+    int anonymizeSenderBatch(@Param("email") String email, @Param("batchSize") int batchSize);
 }
@@ -0,0 +1,95 @@
+package com.myfoundation.school.datasource;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-your-writes for admins when reads go to a replica.
+ *
+ * A successful POST/PUT/PATCH/DELETE under /api/admin/ pins that admin to the primary for
+ * {@code read-your-writes-seconds}. The list or dashboard they reload next then shows the change
+ * even if the replica has not replayed it yet. Every mutating request is also pinned for its own
+ * duration, so a read-only service call made after a write in the same request sees that write.
+ *
+ * Pins are kept in memory per instance, keyed by the authenticated user name. With several
+ * instances behind a load balancer, a follow-up request that lands on another instance is only
+ * covered by the lag guard ({@code max-lag-seconds}).
+ *
+ * Runs after Spring Security, so the authentication is already resolved.
+ */
+@Order(5)
+public class ReadYourWritesFilter implements Filter {
+
+    private final long stickyMillis;
+    private final LongSupplier clock;
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(Duration sticky) {
+        this(sticky, System::currentTimeMillis);
+    }
+
+    ReadYourWritesFilter(Duration sticky, LongSupplier clock) {
+        this.stickyMillis = sticky.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!(request instanceof HttpServletRequest httpRequest)
+                || !(response instanceof HttpServletResponse httpResponse)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        String user = currentUser();
+        boolean mutating = isMutating(httpRequest.getMethod());
+        if (!mutating && !isPinned(user)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        try (ReplicaRoutingDataSource.Pin ignored = ReplicaRoutingDataSource.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+
+        if (mutating && user != null && httpRequest.getRequestURI().startsWith("/api/admin/")
+                && httpResponse.getStatus() < 400) {
+            long now = clock.getAsLong();
+            pinnedUntil.values().removeIf(until -> until <= now);
+            pinnedUntil.put(user, now + stickyMillis);
+        }
+    }
+
+    boolean isPinned(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long until = pinnedUntil.get(user);
+        return until != null && until > clock.getAsLong();
+    }
+
+    private static boolean isMutating(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,100 @@
+package com.myfoundation.school.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Owns the replica pool and decides whether reads may use it.
+ *
+ * Every {@code lag-check-interval-ms} it runs {@code lag-query} on the replica, which must return
+ * the replay lag in seconds. The replica is usable while that lag is at most
+ * {@code max-lag-seconds}. If the query fails or times out, the replica is treated as unusable
+ * until a later check succeeds. The replica also starts out unusable, so reads go to the primary
+ * until the first check passes.
+ *
+ * The default query is for a Postgres streaming replica. It reports 0 when everything received
+ * has been replayed, so a quiet primary does not look like lag. With two H2 databases locally,
+ * use {@code SELECT 0}.
+ *
+ * Publishes {@code datasource.replica.lag} (seconds, NaN when unreachable) and
+ * {@code datasource.replica.usable} (1 or 0).
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    public static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                    + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource replica;
+    private final JdbcTemplate jdbc;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = Double.NaN;
+
+    public ReplicaLagMonitor(HikariDataSource replica, MeterRegistry meterRegistry,
+                             String lagQuery, double maxLagSeconds) {
+        this.replica = replica;
+        this.jdbc = new JdbcTemplate(replica);
+        this.jdbc.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:5000}")
+    public void check() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = jdbc.queryForObject(lagQuery, Double.class);
+            lagSeconds = lag != null ? lag : 0;
+            usable = lagSeconds <= maxLagSeconds;
+        } catch (DataAccessException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica lag check failed - routing reads to the primary: {}", e.getMessage());
+            }
+            return;
+        }
+        if (wasUsable && !usable) {
+            log.warn("Replica is {}s behind (max {}s) - routing reads to the primary", lagSeconds, maxLagSeconds);
+        } else if (!wasUsable && usable) {
+            log.info("Replica is {}s behind - routing read-only transactions to it", lagSeconds);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    public DataSource getDataSource() {
+        return replica;
+    }
+
+    @Override
+    public void destroy() {
+        replica.close();
+    }
+}
@@ -0,0 +1,105 @@
+package com.myfoundation.school.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sends connections for {@code @Transactional(readOnly = true)} work to the replica and
+ * everything else to the primary.
+ *
+ * The read-only flag is only visible once the transaction has started, after Hibernate has asked
+ * for its connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which defers the
+ * choice until the first statement (see {@code ReadReplicaConfig}).
+ *
+ * A read still goes to the primary when:
+ * - the replica is behind by more than {@code max-lag-seconds} or unreachable ({@link ReplicaLagMonitor})
+ * - the thread is pinned with {@link #pinToPrimary()}, e.g. for a few seconds after an admin
+ *   change so the admin sees their own write ({@link ReadYourWritesFilter})
+ *
+ * Every choice is counted in {@code datasource.routing} (target: primary, replica; reason:
+ * write, read, read_your_writes, replica_unavailable).
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final BooleanSupplier replicaUsable;
+    private final MeterRegistry meterRegistry;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    BooleanSupplier replicaUsable, MeterRegistry meterRegistry) {
+        this.replicaUsable = replicaUsable;
+        this.meterRegistry = meterRegistry;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Target target;
+        String reason;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            target = Target.PRIMARY;
+            reason = "write";
+        } else if (isPinnedToPrimary()) {
+            target = Target.PRIMARY;
+            reason = "read_your_writes";
+        } else if (!replicaUsable.getAsBoolean()) {
+            target = Target.PRIMARY;
+            reason = "replica_unavailable";
+        } else {
+            target = Target.REPLICA;
+            reason = "read";
+        }
+        meterRegistry.counter("datasource.routing", "target", target.name().toLowerCase(), "reason", reason)
+                .increment();
+        return target;
+    }
+
+    /** True if reads on this thread must see the primary. */
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    /**
+     * Routes every read on this thread to the primary until the returned pin is closed.
+     * Pins nest; closing one restores the state before it.
+     */
+    public static Pin pinToPrimary() {
+        Boolean previous = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                PINNED.remove();
+            } else {
+                PINNED.set(previous);
+            }
+        };
+    }
+
+    /** Runs {@code work} pinned to the primary if {@code pinned}, otherwise as-is. */
+    public static <T> T callPinned(boolean pinned, Supplier<T> work) {
+        if (!pinned) {
+            return work.get();
+        }
+        try (Pin ignored = pinToPrimary()) {
+            return work.get();
+        }
+    }
+
+    /** Restores the previous routing when closed. */
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,34 @@
+package com.myfoundation.school.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin view of the repository slow-query log kept by {@link SlowQueryRecorder}.
+ */
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminDiagnosticsController {
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    @GetMapping("/slow-queries")
+    public ResponseEntity<List<SlowQueryReport>> getSlowQueries() {
+        return ResponseEntity.ok(slowQueryRecorder.report());
+    }
+
+    @DeleteMapping("/slow-queries")
+    public ResponseEntity<Void> clearSlowQueries() {
+        slowQueryRecorder.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.myfoundation.school.diagnostics;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the wall time of each JDBC statement and batch execution to the open
+ * {@link RequestQueryStats} scopes.
+ *
+ * Hibernate creates one instance per session; registered by {@link QueryDiagnosticsConfig}.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestQueryStats.recordJdbcTime(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestQueryStats.recordJdbcTime(System.nanoTime() - batchStart);
+    }
+}
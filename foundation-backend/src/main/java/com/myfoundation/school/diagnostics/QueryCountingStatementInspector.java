@@ -0,0 +1,18 @@
+package com.myfoundation.school.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares into the open {@link RequestQueryStats}
+ * scopes. Returns the SQL unchanged.
+ *
+ * Registered by {@link QueryDiagnosticsConfig}.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestQueryStats.recordStatement(sql);
+        return sql;
+    }
+}
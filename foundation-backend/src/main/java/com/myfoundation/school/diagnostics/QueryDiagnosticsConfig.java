@@ -0,0 +1,26 @@
+package com.myfoundation.school.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Installs the per-request SQL statistics hooks into Hibernate: {@link QueryCountingStatementInspector}
+ * counts statements and {@link JdbcTimingSessionListener} times them.
+ *
+ * Wired in Java rather than through {@code spring.jpa.properties} so the test profile, whose
+ * application.yml replaces the main one, gets exactly the same setup. {@code @DataJpaTest}
+ * slices that measure queries {@code @Import} this class.
+ */
+@Configuration
+public class QueryDiagnosticsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryDiagnosticsHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+        };
+    }
+}
@@ -0,0 +1,108 @@
+package com.myfoundation.school.diagnostics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Opens a {@link RequestQueryStats} scope per HTTP request and checks it against the SQL
+ * budget when the request completes.
+ *
+ * Every request records {@code sql.request.statements} and {@code sql.request.jdbc.time}
+ * tagged with the matched route pattern. A request that exceeds
+ * {@code app.diagnostics.sql.max-statements}, runs one identical statement more than
+ * {@code max-repeated} times (the N+1 signature) or spends more than {@code max-jdbc-ms} in
+ * JDBC is logged with its trace ID and counted in {@code sql.request.budget.exceeded}.
+ *
+ * Runs right after {@code RequestResponseLoggingFilter} so the trace ID is already in the MDC.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class QueryStatsFilter implements Filter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int maxStatements;
+    private final int maxRepeated;
+    private final long maxJdbcMs;
+
+    public QueryStatsFilter(MeterRegistry meterRegistry,
+                            @Value("${app.diagnostics.sql.enabled:true}") boolean enabled,
+                            @Value("${app.diagnostics.sql.max-statements:30}") int maxStatements,
+                            @Value("${app.diagnostics.sql.max-repeated:5}") int maxRepeated,
+                            @Value("${app.diagnostics.sql.max-jdbc-ms:500}") long maxJdbcMs) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxStatements = maxStatements;
+        this.maxRepeated = maxRepeated;
+        this.maxJdbcMs = maxJdbcMs;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        if (!enabled || !(request instanceof HttpServletRequest httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            stats.close();
+            report(httpRequest, stats);
+        }
+    }
+
+    private void report(HttpServletRequest request, RequestQueryStats stats) {
+        if (stats.getStatementCount() == 0) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "unmapped";
+
+        meterRegistry.summary("sql.request.statements", "route", route).record(stats.getStatementCount());
+        meterRegistry.timer("sql.request.jdbc.time", "route", route)
+            .record(Duration.ofMillis(stats.getJdbcMillis()));
+
+        String reason = budgetExceeded(stats);
+        if (reason == null) {
+            return;
+        }
+        meterRegistry.counter("sql.request.budget.exceeded", "route", route, "reason", reason).increment();
+        log.atWarn()
+            .addKeyValue("traceId", MDC.get("traceId"))
+            .addKeyValue("method", request.getMethod())
+            .addKeyValue("route", route)
+            .addKeyValue("reason", reason)
+            .addKeyValue("statements", stats.getStatementCount())
+            .addKeyValue("jdbcMs", stats.getJdbcMillis())
+            .addKeyValue("maxRepeats", stats.getMaxRepeats())
+            .addKeyValue("repeatedSql", stats.getMaxRepeats() > 1 ? stats.getMostRepeatedStatement() : null)
+            .log("SQL budget exceeded");
+    }
+
+    String budgetExceeded(RequestQueryStats stats) {
+        if (stats.getMaxRepeats() > maxRepeated) {
+            return "repeated_statement";
+        }
+        if (stats.getStatementCount() > maxStatements) {
+            return "statement_count";
+        }
+        if (stats.getJdbcMillis() > maxJdbcMs) {
+            return "jdbc_time";
+        }
+        return null;
+    }
+}
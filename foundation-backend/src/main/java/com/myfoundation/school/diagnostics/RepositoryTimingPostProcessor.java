@@ -0,0 +1,69 @@
+package com.myfoundation.school.diagnostics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every Spring Data repository method and reports it to {@link SlowQueryRecorder}.
+ *
+ * Adds an interceptor to each repository proxy through the factory bean's customizer hook, so
+ * no AOP starter or annotations on the repositories are needed. Each call opens a nested
+ * {@link RequestQueryStats} scope to capture the SQL it prepared; request-level scopes still
+ * see every statement.
+ *
+ * The recorder is looked up lazily because post-processors are created before regular beans.
+ */
+@Component
+public class RepositoryTimingPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SlowQueryRecorder> recorder;
+
+    public RepositoryTimingPostProcessor(ObjectProvider<SlowQueryRecorder> recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                factory.addRepositoryProxyPostProcessor((proxyFactory, information) ->
+                    proxyFactory.addAdvice(new TimingInterceptor(
+                        information.getRepositoryInterface().getSimpleName(), recorder))));
+        }
+        return bean;
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final String repositoryName;
+        private final ObjectProvider<SlowQueryRecorder> recorderProvider;
+
+        TimingInterceptor(String repositoryName, ObjectProvider<SlowQueryRecorder> recorderProvider) {
+            this.repositoryName = repositoryName;
+            this.recorderProvider = recorderProvider;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            SlowQueryRecorder recorder = recorderProvider.getIfAvailable();
+            if (recorder == null || !recorder.isEnabled()) {
+                return invocation.proceed();
+            }
+
+            RequestQueryStats stats = RequestQueryStats.begin();
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                stats.close();
+                recorder.record(repositoryName + "." + invocation.getMethod().getName(),
+                    elapsed, stats.getLastStatement());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.myfoundation.school.diagnostics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statistics for one unit of work on the current thread — normally an HTTP request
+ * ({@link QueryStatsFilter}), or a block of test code.
+ *
+ * {@link QueryCountingStatementInspector} and {@link JdbcTimingSessionListener} feed every
+ * scope open on the thread, so a test capture can wrap a MockMvc call whose filter opens its
+ * own scope. Scopes must be closed on the thread that opened them.
+ */
+public final class RequestQueryStats implements AutoCloseable {
+
+    /** Distinct statements tracked per scope; further new statements are counted but not keyed. */
+    private static final int MAX_TRACKED_STATEMENTS = 200;
+
+    private static final ThreadLocal<Deque<RequestQueryStats>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private int statementCount;
+    private long jdbcNanos;
+    private String lastStatement;
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+
+    private RequestQueryStats() {
+    }
+
+    /** Opens a new scope on the current thread. */
+    public static RequestQueryStats begin() {
+        RequestQueryStats stats = new RequestQueryStats();
+        ACTIVE.get().push(stats);
+        return stats;
+    }
+
+    /** Closes this scope. Counts stay readable afterwards. */
+    @Override
+    public void close() {
+        Deque<RequestQueryStats> active = ACTIVE.get();
+        active.remove(this);
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+        }
+    }
+
+    static void recordStatement(String sql) {
+        Deque<RequestQueryStats> active = ACTIVE.get();
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+            return;
+        }
+        for (RequestQueryStats stats : active) {
+            stats.statementCount++;
+            stats.lastStatement = sql;
+            if (stats.countsBySql.containsKey(sql) || stats.countsBySql.size() < MAX_TRACKED_STATEMENTS) {
+                stats.countsBySql.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        Deque<RequestQueryStats> active = ACTIVE.get();
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+            return;
+        }
+        for (RequestQueryStats stats : active) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getJdbcMillis() {
+        return jdbcNanos / 1_000_000;
+    }
+
+    /** Highest number of times one identical statement ran; a large value usually means N+1. */
+    public int getMaxRepeats() {
+        return countsBySql.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /** The statement behind {@link #getMaxRepeats()}, or {@code null} if none ran. */
+    public String getMostRepeatedStatement() {
+        return countsBySql.entrySet().stream()
+            .max(Map.Entry.comparingByValue())
+            .map(Map.Entry::getKey)
+            .orElse(null);
+    }
+
+    /** The most recently prepared statement, or {@code null} if none ran. */
+    public String getLastStatement() {
+        return lastStatement;
+    }
+
+    public Map<String, Integer> getCountsBySql() {
+        return Map.copyOf(countsBySql);
+    }
+}
@@ -0,0 +1,234 @@
+package com.myfoundation.school.diagnostics;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory slow-query log fed by {@link RepositoryTimingPostProcessor}.
+ *
+ * Every repository call is timed. Calls slower than {@code app.diagnostics.slow-query.threshold-ms}
+ * are counted against their method, and the last SQL statement the call prepared is kept. At
+ * most once per {@code explain-interval-seconds} per method that statement is handed to a
+ * single background thread which runs {@code EXPLAIN} on its own connection, so the request
+ * never waits for the plan.
+ *
+ * Latency percentiles come from the last {@link #SAMPLE_SIZE} calls of each method. The number
+ * of tracked methods is capped at {@code max-methods}; the report lists the {@code top-n}
+ * methods with slow calls, slowest p99 first.
+ */
+@Slf4j
+@Component
+public class SlowQueryRecorder {
+
+    static final int SAMPLE_SIZE = 512;
+
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+    private static final int MAX_SQL_LENGTH = 4000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long thresholdNanos;
+    private final int topN;
+    private final int maxMethods;
+    private final boolean explainEnabled;
+    private final long explainIntervalMillis;
+    private final String explainPrefix;
+
+    private final Map<String, MethodStats> stats = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryRecorder(JdbcTemplate jdbcTemplate,
+                             @Value("${app.diagnostics.slow-query.enabled:true}") boolean enabled,
+                             @Value("${app.diagnostics.slow-query.threshold-ms:200}") long thresholdMs,
+                             @Value("${app.diagnostics.slow-query.top-n:20}") int topN,
+                             @Value("${app.diagnostics.slow-query.max-methods:500}") int maxMethods,
+                             @Value("${app.diagnostics.slow-query.explain-enabled:true}") boolean explainEnabled,
+                             @Value("${app.diagnostics.slow-query.explain-interval-seconds:300}") long explainIntervalSeconds,
+                             @Value("${app.diagnostics.slow-query.explain-prefix:EXPLAIN (GENERIC_PLAN, ANALYZE off)}") String explainPrefix) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.topN = topN;
+        this.maxMethods = maxMethods;
+        this.explainEnabled = explainEnabled;
+        this.explainIntervalMillis = TimeUnit.SECONDS.toMillis(explainIntervalSeconds);
+        this.explainPrefix = explainPrefix;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY),
+            runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one repository call.
+     *
+     * @param method {@code Repository.method}
+     * @param nanos  wall time of the call
+     * @param sql    last statement prepared during the call, or {@code null}
+     */
+    public void record(String method, long nanos, String sql) {
+        MethodStats methodStats = stats.get(method);
+        if (methodStats == null) {
+            if (stats.size() >= maxMethods) {
+                return;
+            }
+            methodStats = stats.computeIfAbsent(method, key -> new MethodStats());
+        }
+
+        boolean slow = nanos >= thresholdNanos;
+        boolean explain = methodStats.record(nanos, slow, sql, explainIntervalMillis);
+        if (slow) {
+            log.atDebug()
+                .addKeyValue("method", method)
+                .addKeyValue("durationMs", TimeUnit.NANOSECONDS.toMillis(nanos))
+                .log("Slow repository call");
+        }
+        if (explain && explainEnabled && isExplainable(sql)) {
+            MethodStats target = methodStats;
+            explainExecutor.execute(() -> target.setPlan(explain(sql)));
+        }
+    }
+
+    /** Top offenders, slowest p99 first. */
+    public List<SlowQueryReport> report() {
+        return stats.entrySet().stream()
+            .map(entry -> entry.getValue().snapshot(entry.getKey()))
+            .filter(report -> report.slowCalls() > 0)
+            .sorted(Comparator.comparingDouble(SlowQueryReport::p99Ms).reversed())
+            .limit(topN)
+            .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        stats.clear();
+    }
+
+    private String explain(String sql) {
+        try {
+            List<String> lines = jdbcTemplate.queryForList(explainPrefix + " " + toPositionalParameters(sql), String.class);
+            return String.join("\n", lines);
+        } catch (RuntimeException e) {
+            log.debug("EXPLAIN failed for {}: {}", sql, e.getMessage());
+            return "plan unavailable: " + e.getMessage();
+        }
+    }
+
+    /** Only plain reads are explained; DML and DDL are never sent to the database a second time. */
+    static boolean isExplainable(String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String head = sql.stripLeading().toLowerCase();
+        return head.startsWith("select") || head.startsWith("with");
+    }
+
+    /**
+     * Rewrites JDBC {@code ?} placeholders to {@code $1, $2, ...} so a generic plan can be
+     * requested without bind values. Placeholders inside quoted literals are left alone.
+     */
+    static String toPositionalParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 8);
+        int index = 0;
+        boolean inLiteral = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                out.append('$').append(++index);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /** Per-method counters and a ring buffer of recent durations. */
+    private static final class MethodStats {
+
+        private final long[] samples = new long[SAMPLE_SIZE];
+        private int sampleCount;
+        private int next;
+        private long calls;
+        private long slowCalls;
+        private long maxNanos;
+        private String lastSql;
+        private Instant lastSlowAt;
+        private long lastExplainAt;
+        private volatile String lastPlan;
+
+        synchronized boolean record(long nanos, boolean slow, String sql, long explainIntervalMillis) {
+            calls++;
+            samples[next] = nanos;
+            next = (next + 1) % SAMPLE_SIZE;
+            sampleCount = Math.min(sampleCount + 1, SAMPLE_SIZE);
+            maxNanos = Math.max(maxNanos, nanos);
+            if (!slow) {
+                return false;
+            }
+            slowCalls++;
+            lastSlowAt = Instant.now();
+            if (sql != null) {
+                lastSql = sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql;
+            }
+            long now = System.currentTimeMillis();
+            if (sql == null || (lastExplainAt != 0 && now - lastExplainAt < explainIntervalMillis)) {
+                return false;
+            }
+            lastExplainAt = now;
+            return true;
+        }
+
+        void setPlan(String plan) {
+            lastPlan = plan;
+        }
+
+        synchronized SlowQueryReport snapshot(String method) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            return new SlowQueryReport(method, calls, slowCalls,
+                toMillis(percentile(sorted, 0.50)), toMillis(percentile(sorted, 0.99)), toMillis(maxNanos),
+                lastSql, lastPlan, lastSlowAt);
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
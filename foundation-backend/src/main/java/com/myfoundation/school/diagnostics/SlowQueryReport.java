@@ -0,0 +1,19 @@
+package com.myfoundation.school.diagnostics;
+
+import java.time.Instant;
+
+/**
+ * One repository method in the slow-query log. Percentiles cover its recent calls, slow or not.
+ */
+public record SlowQueryReport(
+    String method,
+    long calls,
+    long slowCalls,
+    double p50Ms,
+    double p99Ms,
+    double maxMs,
+    String lastSql,
+    String lastPlan,
+    Instant lastSlowAt
+) {
+}
@@ -0,0 +1,51 @@
+package com.myfoundation.school.donation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A client {@code Idempotency-Key} sent to the checkout endpoint; see {@link CheckoutIdempotencyService}.
+ */
+@Entity
+@Table(name = "checkout_idempotency_keys")
+@Getter
+@Setter
+public class CheckoutIdempotencyKey {
+
+    public enum Status { IN_PROGRESS, COMPLETED, FAILED }
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    private String donationId;
+
+    private String stripeSessionId;
+
+    @Column(columnDefinition = "TEXT")
+    private String sessionUrl;
+
+    @Column(nullable = false)
+    private Instant lockedUntil;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,91 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.donation.CheckoutIdempotencyKey.Status;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Every write is a single statement in its own transaction: checkout runs outside a transaction
+ * (see {@link DonationService#createStripeCheckoutSession}) and the key row must be visible to a
+ * concurrent duplicate as soon as it is written.
+ */
+@Repository
+public interface CheckoutIdempotencyKeyRepository extends JpaRepository<CheckoutIdempotencyKey, String> {
+
+    /** Plain INSERT so a concurrent duplicate fails on the primary key instead of merging. */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO checkout_idempotency_keys " +
+            "(idempotency_key, request_hash, status, locked_until, created_at, expires_at) " +
+            "VALUES (:key, :requestHash, 'IN_PROGRESS', :lockedUntil, :now, :expiresAt)", nativeQuery = true)
+    int insertInProgress(@Param("key") String key,
+                         @Param("requestHash") String requestHash,
+                         @Param("lockedUntil") Instant lockedUntil,
+                         @Param("now") Instant now,
+                         @Param("expiresAt") Instant expiresAt);
+
+    /**
+     * Takes over a key whose earlier attempt failed or was abandoned (lock expired). Returns 0 while
+     * another request holds it or once it has completed.
+     */
+    default int claim(String key, Instant now, Instant lockedUntil) {
+        return claim(key, now, lockedUntil, Status.IN_PROGRESS, Status.COMPLETED, Status.FAILED);
+    }
+
+    // Statuses are bound rather than written as literals: Hibernate 6 cannot resolve a nested enum
+    // constant in JPQL and would reject the query when the repository is created.
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CheckoutIdempotencyKey k SET k.status = :inProgress, k.lockedUntil = :lockedUntil " +
+           "WHERE k.idempotencyKey = :key AND k.status <> :completed " +
+           "AND (k.status = :failed OR k.lockedUntil < :now)")
+    int claim(@Param("key") String key, @Param("now") Instant now, @Param("lockedUntil") Instant lockedUntil,
+              @Param("inProgress") Status inProgress, @Param("completed") Status completed,
+              @Param("failed") Status failed);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CheckoutIdempotencyKey k SET k.donationId = :donationId WHERE k.idempotencyKey = :key")
+    int recordDonation(@Param("key") String key, @Param("donationId") String donationId);
+
+    default int complete(String key, String sessionId, String sessionUrl) {
+        return complete(key, sessionId, sessionUrl, Status.COMPLETED);
+    }
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CheckoutIdempotencyKey k SET k.status = :completed, " +
+           "k.stripeSessionId = :sessionId, k.sessionUrl = :sessionUrl WHERE k.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("sessionId") String sessionId,
+                 @Param("sessionUrl") String sessionUrl, @Param("completed") Status completed);
+
+    default int fail(String key) {
+        return fail(key, Status.IN_PROGRESS, Status.FAILED);
+    }
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE CheckoutIdempotencyKey k SET k.status = :failed " +
+           "WHERE k.idempotencyKey = :key AND k.status = :inProgress")
+    int fail(@Param("key") String key, @Param("inProgress") Status inProgress, @Param("failed") Status failed);
+
+    /** Removes the row for {@code key} if it has expired, so the key can be used again. */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM CheckoutIdempotencyKey k WHERE k.idempotencyKey = :key AND k.expiresAt < :now")
+    int deleteIfExpired(@Param("key") String key, @Param("now") Instant now);
+
+    /** Deletes up to {@code batchSize} expired rows in one short transaction. */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM checkout_idempotency_keys WHERE idempotency_key IN (" +
+            "SELECT idempotency_key FROM checkout_idempotency_keys WHERE expires_at < :cutoff " +
+            "LIMIT :batchSize)", nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+}
@@ -0,0 +1,150 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.dto.CheckoutSessionResponse;
+import com.myfoundation.school.dto.DonationRequest;
+import com.myfoundation.school.exception.BusinessException;
+import com.myfoundation.school.exception.ServiceBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Client {@code Idempotency-Key} handling for checkout creation.
+ *
+ * The first request with a key inserts an IN_PROGRESS row. A duplicate with the same request body
+ * gets the stored session once the first request completes; while it is still running the
+ * duplicate gets a 503 asking it to retry. A key reused with a different body is rejected. If
+ * the first attempt failed, or its lock expired, the next request takes the key over and
+ * continues with the same donation row, so Stripe sees identical parameters under the same
+ * Stripe idempotency key and returns the original session if it had created one.
+ *
+ * Configuration:
+ * - app.checkout.idempotency.ttl-hours     – how long a key is remembered (default: 24, as Stripe)
+ * - app.checkout.idempotency.lock-seconds  – how long an in-progress attempt owns the key (default: 60)
+ * - app.checkout.idempotency.batch-size    – rows per purge DELETE (default: 500)
+ */
+@Slf4j
+@Service
+public class CheckoutIdempotencyService {
+
+    private final CheckoutIdempotencyKeyRepository repository;
+    private final Duration ttl;
+    private final Duration lockDuration;
+    private final int batchSize;
+
+    public CheckoutIdempotencyService(CheckoutIdempotencyKeyRepository repository,
+                                      @Value("${app.checkout.idempotency.ttl-hours:24}") long ttlHours,
+                                      @Value("${app.checkout.idempotency.lock-seconds:60}") long lockSeconds,
+                                      @Value("${app.checkout.idempotency.batch-size:500}") int batchSize) {
+        this.repository = repository;
+        this.ttl = Duration.ofHours(ttlHours);
+        this.lockDuration = Duration.ofSeconds(lockSeconds);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Outcome of {@link #begin}: either the stored response for a completed duplicate, or ownership
+     * of the key, with the donation an earlier failed attempt already created (may be null).
+     */
+    public record Claim(CheckoutSessionResponse replay, String donationId) {
+
+        public boolean isReplay() {
+            return replay != null;
+        }
+    }
+
+    /**
+     * Registers {@code key} for {@code request} or resolves it as a duplicate.
+     *
+     * @throws BusinessException    if the key was already used for a different request
+     * @throws ServiceBusyException if another request with the key is still in progress
+     */
+    public Claim begin(String key, DonationRequest request) {
+        String requestHash = fingerprint(request);
+        Instant now = Instant.now();
+        repository.deleteIfExpired(key, now);
+        try {
+            repository.insertInProgress(key, requestHash, now.plus(lockDuration), now, now.plus(ttl));
+            return new Claim(null, null);
+        } catch (DataIntegrityViolationException duplicate) {
+            log.debug("Idempotency-Key {} already registered", key);
+        }
+
+        CheckoutIdempotencyKey existing = repository.findById(key)
+                .orElseThrow(() -> new ServiceBusyException("Your donation is being processed. Please try again.", 1));
+        if (!existing.getRequestHash().equals(requestHash)) {
+            throw new BusinessException("This Idempotency-Key was already used for a different donation request.");
+        }
+        if (existing.getStatus() == CheckoutIdempotencyKey.Status.COMPLETED) {
+            log.info("Duplicate checkout request for Idempotency-Key {} - returning session {}",
+                    key, existing.getStripeSessionId());
+            return new Claim(CheckoutSessionResponse.builder()
+                    .sessionId(existing.getStripeSessionId())
+                    .url(existing.getSessionUrl())
+                    .build(), existing.getDonationId());
+        }
+        if (repository.claim(key, now, now.plus(lockDuration)) == 0) {
+            throw new ServiceBusyException("Your donation is being processed. Please try again.", 1);
+        }
+        log.info("Resuming checkout for Idempotency-Key {} (donation {})", key, existing.getDonationId());
+        return new Claim(null, existing.getDonationId());
+    }
+
+    public void recordDonation(String key, String donationId) {
+        repository.recordDonation(key, donationId);
+    }
+
+    public void complete(String key, CheckoutSessionResponse response) {
+        repository.complete(key, response.getSessionId(), response.getUrl());
+    }
+
+    /** Releases the key after a failed attempt so the client can retry with it. Never throws. */
+    public void fail(String key) {
+        try {
+            repository.fail(key);
+        } catch (Exception e) {
+            log.warn("Could not release Idempotency-Key {} - it frees itself when its lock expires", key, e);
+        }
+    }
+
+    @Scheduled(cron = "${app.checkout.idempotency.purge-cron:0 23 * * * *}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repository.deleteExpiredBatch(now, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            log.info("Purged {} expired checkout idempotency key(s)", total);
+        }
+    }
+
+    /** SHA-256 over the fields that define a checkout, normalised the way checkout uses them. */
+    static String fingerprint(DonationRequest request) {
+        String canonical = String.join("\u001f",
+                Objects.toString(request.getCampaignId(), ""),
+                Objects.toString(request.getAmount(), ""),
+                Objects.toString(request.getCurrency(), "").toLowerCase(Locale.ROOT),
+                Objects.toString(request.getDonorName(), ""),
+                Objects.toString(request.getDonorEmail(), ""));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
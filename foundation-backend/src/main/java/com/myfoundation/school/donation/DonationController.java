@@ -4,6 +4,7 @@ import com.myfoundation.school.dto.CheckoutSessionResponse;
 import com.myfoundation.school.dto.DonationRequest;
 import com.myfoundation.school.dto.DonationResponse;
 import com.myfoundation.school.donation.DonationStatus;
+import com.myfoundation.school.exception.ValidationException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -16,6 +17,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping("/api/donations/stripe")
 @RequiredArgsConstructor
@@ -23,13 +26,17 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Donations", description = "Donation processing endpoints for Stripe payments")
 public class DonationController {
 
+    private static final Pattern IDEMPOTENCY_KEY = Pattern.compile("[A-Za-z0-9_:.\\-]{8,128}");
+
     private final DonationService donationService;
     private final ReceiptTokenService receiptTokenService;
     
     @Operation(
         summary = "Create Stripe checkout session",
         description = "Creates a Stripe checkout session for processing a donation to a specific campaign. " +
-                      "Returns a session URL to redirect the donor to Stripe's hosted checkout page."
+                      "Returns a session URL to redirect the donor to Stripe's hosted checkout page. " +
+                      "Send a unique Idempotency-Key header per donation attempt: repeating the request " +
+                      "with the same key and body returns the original session instead of creating another."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -41,6 +48,14 @@ public class DonationController {
             responseCode = "400",
             description = "Invalid request data (e.g., campaign not found, inactive campaign)"
         ),
+        @ApiResponse(
+            responseCode = "422",
+            description = "Idempotency-Key already used with a different request body"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "A request with the same Idempotency-Key is still in progress, or Stripe is unavailable"
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Stripe API error or internal server error"
@@ -48,11 +63,17 @@ public class DonationController {
     })
     @PostMapping("/create")
     public ResponseEntity<CheckoutSessionResponse> createCheckoutSession(
-            @Valid @RequestBody DonationRequest request) {
+            @Valid @RequestBody DonationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         log.info("POST /api/donations/stripe/create - Creating checkout session for campaign: {}",
                 request.getCampaignId());
 
-        CheckoutSessionResponse response = donationService.createStripeCheckoutSession(request);
+        String key = idempotencyKey == null || idempotencyKey.isBlank() ? null : idempotencyKey.trim();
+        if (key != null && !IDEMPOTENCY_KEY.matcher(key).matches()) {
+            throw new ValidationException("Idempotency-Key",
+                    "must be 8-128 characters of letters, digits, '-', '_', ':' or '.'");
+        }
+        CheckoutSessionResponse response = donationService.createStripeCheckoutSession(request, key);
         return ResponseEntity.ok(response);
     }
 
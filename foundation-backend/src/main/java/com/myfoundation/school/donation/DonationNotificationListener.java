@@ -0,0 +1,80 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.auth.EmailService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Donor and admin emails for donation status changes. Runs after the transition commits, so a
+ * rolled-back transition never emails anyone; email failures are logged and never affect the
+ * donation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DonationNotificationListener {
+
+    private static final DateTimeFormatter DATE_FORMATTER =
+            DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a z");
+
+    private final EmailService emailService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(DonationStatusChangedEvent event) {
+        if (event.donorEmail() == null || event.donorEmail().trim().isEmpty()) {
+            log.info("Donor email not provided for donation {} - skipping {} notifications",
+                    event.donationId(), event.status());
+            return;
+        }
+        switch (event.status()) {
+            case SUCCESS -> sendSuccessEmails(event);
+            case REFUNDED -> sendRefundEmail(event);
+            default -> { }
+        }
+    }
+
+    private void sendSuccessEmails(DonationStatusChangedEvent event) {
+        try {
+            String campaignTitle = event.campaignTitle() != null ? event.campaignTitle() : "General Donation";
+            String donorName = event.donorName() != null ? event.donorName() : "Anonymous Donor";
+            String donationDate = event.createdAt() != null
+                    ? event.createdAt().atZone(ZoneId.of("UTC")).format(DATE_FORMATTER)
+                    : "";
+
+            log.debug("Sending donation acknowledgement email for donation: {}", event.donationId());
+            emailService.sendDonationAcknowledgement(
+                    event.donorEmail(), donorName, event.amount(), event.currency(),
+                    campaignTitle, event.donationId(), donationDate);
+
+            log.info("Sending donation notification to admin");
+            emailService.sendDonationNotificationToAdmin(
+                    donorName, event.donorEmail(), event.amount(), event.currency(),
+                    campaignTitle, event.donationId(), donationDate);
+
+            log.info("Donation emails sent successfully for donation {}", event.donationId());
+        } catch (Exception e) {
+            log.error("Failed to send donation emails for donation {}, but donation was still successful",
+                    event.donationId(), e);
+        }
+    }
+
+    private void sendRefundEmail(DonationStatusChangedEvent event) {
+        try {
+            emailService.sendRefundNotificationEmail(
+                    event.donorEmail(),
+                    event.donorName() != null ? event.donorName() : "Donor",
+                    event.amount(),
+                    event.currency(),
+                    event.campaignTitle() != null ? event.campaignTitle() : "General Donation",
+                    event.donationId());
+        } catch (Exception e) {
+            log.error("Failed to send refund notification email for donation {}, but refund was still processed",
+                    event.donationId(), e);
+        }
+    }
+}
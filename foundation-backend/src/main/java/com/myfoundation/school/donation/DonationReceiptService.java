@@ -7,6 +7,8 @@ import com.lowagie.text.pdf.PdfWriter;
 import com.lowagie.text.pdf.draw.LineSeparator;
 import com.myfoundation.school.config.SiteConfigService;
 import com.myfoundation.school.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -29,6 +31,7 @@ public class DonationReceiptService {
 
     private final DonationRepository donationRepository;
     private final SiteConfigService siteConfigService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${app.mail.from-name:Foundation}")
     private String defaultOrgName;
@@ -48,7 +51,15 @@ public class DonationReceiptService {
         Donation donation = donationRepository.findById(donationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Donation", donationId));
 
-        return buildPdf(donation);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            byte[] pdf = buildPdf(donation);
+            outcome = "success";
+            return pdf;
+        } finally {
+            sample.stop(meterRegistry.timer("donation.receipt.pdf", "outcome", outcome));
+        }
     }
 
     /**
@@ -69,7 +80,7 @@ public class DonationReceiptService {
         return donation;
     }
 
-    private byte[] buildPdf(Donation donation) {
+    byte[] buildPdf(Donation donation) {
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
         Document document = new Document(PageSize.A4, 50, 50, 50, 50);
@@ -3,11 +3,14 @@ package com.myfoundation.school.donation;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,11 +30,14 @@ public interface DonationRepository extends JpaRepository<Donation, String>, Jpa
     @Query("SELECT d FROM Donation d JOIN FETCH d.campaign ORDER BY d.createdAt DESC")
     List<Donation> findAllWithCampaign();
     
-    List<Donation> findByDonorEmailIgnoreCase(String donorEmail);
-
     Optional<Donation> findByStripeSessionId(String stripeSessionId);
 
     Optional<Donation> findByStripePaymentIntentId(String stripePaymentIntentId);
+
+    /** Bulk lookups for one page of Stripe objects during reconciliation. */
+    List<Donation> findByStripeSessionIdIn(Collection<String> stripeSessionIds);
+
+    List<Donation> findByStripePaymentIntentIdIn(Collection<String> stripePaymentIntentIds);
     
     /**
      * Calculate the total amount raised for a campaign from successful donations only.
@@ -82,5 +88,85 @@ public interface DonationRepository extends JpaRepository<Donation, String>, Jpa
            "GROUP BY d.campaign.id")
     List<Object[]> sumSuccessfulDonationsByCampaignIds(@Param("campaignIds") List<String> campaignIds);
 
-}
+    // ---------------------------------------------------------------------------------------
+    // Status transitions. Each is one conditional UPDATE that only matches while the donation
+    // is still in one of the allowed source states, so concurrent or repeated webhooks cannot
+    // both apply it. The return value is the number of rows changed: 1 if this call made the
+    // transition, 0 if the donation was missing or already elsewhere in its lifecycle.
+    // ---------------------------------------------------------------------------------------
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Donation d SET d.status = :to WHERE d.id = :id AND d.status IN :from")
+    int transitionStatus(@Param("id") String id,
+                         @Param("to") DonationStatus to,
+                         @Param("from") Collection<DonationStatus> from);
+
+    /** Moves to SUCCESS and records the payment intent (kept if {@code paymentIntentId} is null). */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Donation d SET d.status = com.myfoundation.school.donation.DonationStatus.SUCCESS, " +
+           "d.stripePaymentIntentId = COALESCE(:paymentIntentId, d.stripePaymentIntentId) " +
+           "WHERE d.id = :id AND d.status IN :from")
+    int markSucceeded(@Param("id") String id,
+                      @Param("paymentIntentId") String paymentIntentId,
+                      @Param("from") Collection<DonationStatus> from);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Donation d SET d.status = com.myfoundation.school.donation.DonationStatus.REFUNDED, " +
+           "d.refundedAt = :refundedAt, d.stripeRefundId = :refundId, d.refundReason = :reason " +
+           "WHERE d.id = :id AND d.status IN :from")
+    int markRefunded(@Param("id") String id,
+                     @Param("refundId") String refundId,
+                     @Param("reason") String reason,
+                     @Param("refundedAt") Instant refundedAt,
+                     @Param("from") Collection<DonationStatus> from);
+
+    /** As {@link #markRefunded}, for refunds reported by Stripe where only the payment intent is known. */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Donation d SET d.status = com.myfoundation.school.donation.DonationStatus.REFUNDED, " +
+           "d.refundedAt = :refundedAt, d.stripeRefundId = :refundId, d.refundReason = :reason " +
+           "WHERE d.stripePaymentIntentId = :paymentIntentId AND d.status IN :from")
+    int markRefundedByPaymentIntent(@Param("paymentIntentId") String paymentIntentId,
+                                    @Param("refundId") String refundId,
+                                    @Param("reason") String reason,
+                                    @Param("refundedAt") Instant refundedAt,
+                                    @Param("from") Collection<DonationStatus> from);
+
+    /**
+     * Records the Checkout Session id on a donation that has none yet. Transactional on its own
+     * because checkout calls it after the Stripe round trip, outside any service transaction.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Donation d SET d.stripeSessionId = :sessionId WHERE d.id = :id AND d.stripeSessionId IS NULL")
+    int attachCheckoutSession(@Param("id") String id, @Param("sessionId") String sessionId);
 
+    /**
+     * Moves up to {@code batchSize} of the oldest PENDING donations created before {@code cutoff}
+     * to EXPIRED, in its own short transaction. Rows locked by a concurrent webhook or checkout are
+     * skipped rather than waited on and picked up by a later run. Served by the partial index
+     * {@code idx_donations_pending_created_at}. PostgreSQL only.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE donations SET status = 'EXPIRED' WHERE status = 'PENDING' AND id IN (" +
+                   "SELECT id FROM donations WHERE status = 'PENDING' AND created_at < :cutoff " +
+                   "ORDER BY created_at LIMIT :batchSize FOR UPDATE SKIP LOCKED)",
+           nativeQuery = true)
+    int expirePendingBatch(@Param("cutoff") Instant cutoff, @Param("batchSize") int batchSize);
+
+    /**
+     * GDPR erasure: clears the donor's name and email on up to {@code batchSize} of their
+     * donations. Anonymised rows no longer match, so callers repeat until fewer than
+     * {@code batchSize} rows come back. {@code email} must already be lower-case; served by
+     * {@code idx_donations_donor_email_lower}.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE donations SET donor_name = '[Deleted]', donor_email = NULL " +
+                   "WHERE lower(donor_email) = :email AND id IN (" +
+                   "SELECT id FROM donations WHERE lower(donor_email) = :email LIMIT :batchSize)",
+           nativeQuery = true)
+    int anonymizeDonorBatch(@Param("email") String email, @Param("batchSize") int batchSize);
+
+}
@@ -2,7 +2,6 @@ package com.myfoundation.school.donation;
 
 import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
-import com.myfoundation.school.auth.EmailService;
 import com.myfoundation.school.campaign.Campaign;
 import com.myfoundation.school.campaign.CampaignRepository;
 import com.myfoundation.school.config.StripeConfig;
@@ -12,24 +11,31 @@ import com.myfoundation.school.dto.DonationResponse;
 import com.myfoundation.school.dto.DonationPageResponse;
 import com.myfoundation.school.exception.BusinessException;
 import com.myfoundation.school.exception.ResourceNotFoundException;
+import com.myfoundation.school.exception.ServiceBusyException;
+import com.myfoundation.school.payment.StripeGateway;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Refund;
 import com.stripe.model.checkout.Session;
 import com.stripe.param.RefundCreateParams;
 import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -71,8 +77,21 @@ public class DonationService {
     private final DonationRepository donationRepository;
     private final CampaignRepository campaignRepository;
     private final StripeConfig stripeConfig;
-    private final EmailService emailService;
     private final AuditLogService auditLogService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StripeGateway stripeGateway;
+    private final CheckoutIdempotencyService checkoutIdempotency;
+
+    /**
+     * Source states for each transition; see the conditional updates in {@link DonationRepository}.
+     * EXPIRED is only a guess by {@link PendingDonationReaper}, so a late payment outcome still applies.
+     */
+    static final Set<DonationStatus> SUCCEEDABLE_FROM =
+            EnumSet.of(DonationStatus.PENDING, DonationStatus.FAILED, DonationStatus.EXPIRED);
+    static final Set<DonationStatus> FAILABLE_FROM = EnumSet.of(DonationStatus.PENDING, DonationStatus.EXPIRED);
+    static final Set<DonationStatus> REFUNDABLE_FROM = EnumSet.of(DonationStatus.SUCCESS);
+    private static final Set<DonationStatus> REOPENABLE_FROM = EnumSet.of(DonationStatus.FAILED);
     
     /**
      * Minimum donation amounts by currency (aligned with Stripe minimums)
@@ -98,6 +117,11 @@ public class DonationService {
      *   <li>Updates donation record with Stripe session ID</li>
      *   <li>Returns session URL for redirect</li>
      * </ol>
+     *
+     * <p><strong>Transactions:</strong> this method deliberately runs outside a transaction. Each
+     * database step is its own short transaction, so no JDBC connection is held while Stripe is
+     * called. The PENDING row is committed before the session is created, so a webhook carrying
+     * its {@code donationId} always finds it; if Stripe fails the row is marked FAILED.</p>
      * 
      * <p><strong>Business Rules:</strong></p>
      * <ul>
@@ -115,16 +139,94 @@ public class DonationService {
      * @return CheckoutSessionResponse with Stripe session ID and redirect URL
      * @throws RuntimeException if campaign not found or inactive
      * @throws RuntimeException if Stripe API call fails
+     * @throws ServiceBusyException if the Stripe gateway refuses the call (Stripe failing or saturated)
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CheckoutSessionResponse createStripeCheckoutSession(DonationRequest request) {
+        return createStripeCheckoutSession(request, null);
+    }
+
+    /**
+     * As {@link #createStripeCheckoutSession(DonationRequest)}, deduplicated by a client
+     * {@code Idempotency-Key} (see {@link CheckoutIdempotencyService}): a repeated request returns
+     * the session created for the first one instead of a new donation and a new Stripe session.
+     *
+     * @param idempotencyKey client key, or null for no deduplication
+     * @throws BusinessException    if the key was already used for a different request
+     * @throws ServiceBusyException if a request with the same key is still being processed
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CheckoutSessionResponse createStripeCheckoutSession(DonationRequest request, String idempotencyKey) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String currency = currencyTag(request.getCurrency());
+        // Only a campaign id that was found (or that a stored key already checked out with) becomes a
+        // tag; raw client input would let anyone create unbounded meter series
+        String campaignTag = "unknown";
+        String outcome = "error";
+        boolean claimed = idempotencyKey == null;
+        try {
+            String resumedDonationId = null;
+            if (idempotencyKey != null) {
+                CheckoutIdempotencyService.Claim claim = checkoutIdempotency.begin(idempotencyKey, request);
+                claimed = true;
+                if (claim.isReplay()) {
+                    campaignTag = request.getCampaignId();
+                    outcome = "replayed";
+                    return claim.replay();
+                }
+                resumedDonationId = claim.donationId();
+            }
+
+            CheckoutSessionResponse response;
+            try {
+                Campaign campaign = campaignRepository.findById(request.getCampaignId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Campaign", request.getCampaignId()));
+                campaignTag = campaign.getId();
+                response = openCheckoutSession(request, campaign, idempotencyKey, resumedDonationId);
+            } catch (RuntimeException e) {
+                if (idempotencyKey != null) {
+                    checkoutIdempotency.fail(idempotencyKey);
+                }
+                throw e;
+            }
+            if (idempotencyKey != null) {
+                completeIdempotencyKey(idempotencyKey, response);
+            }
+
+            outcome = "success";
+            meterRegistry.summary("donation.checkout.amount", "campaign", campaignTag, "currency", currency)
+                    .record(request.getAmount());
+            return response;
+        } catch (ResourceNotFoundException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (BusinessException e) {
+            outcome = e.getCause() instanceof StripeException ? "stripe_error" : "rejected";
+            throw e;
+        } catch (ServiceBusyException e) {
+            outcome = claimed ? "stripe_unavailable" : "in_progress";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("donation.checkout",
+                    "campaign", campaignTag, "currency", currency, "outcome", outcome));
+        }
+    }
+
+    private void completeIdempotencyKey(String idempotencyKey, CheckoutSessionResponse response) {
+        try {
+            checkoutIdempotency.complete(idempotencyKey, response);
+        } catch (Exception e) {
+            // A duplicate takes the key over once its lock expires and gets the same Stripe session back
+            log.warn("Could not store checkout response for Idempotency-Key {}", idempotencyKey, e);
+        }
+    }
+
+    private CheckoutSessionResponse openCheckoutSession(DonationRequest request, Campaign campaign,
+                                                        String idempotencyKey, String resumedDonationId) {
         log.info("Creating Stripe checkout session for campaign: {}, amount: {}", 
                 request.getCampaignId(), request.getAmount());
         
-        // Validate campaign exists and is active
-        Campaign campaign = campaignRepository.findById(request.getCampaignId())
-                .orElseThrow(() -> new ResourceNotFoundException("Campaign", request.getCampaignId()));
-
+        // Validate campaign is active
         if (!campaign.getActive()) {
             throw new BusinessException("This campaign is not accepting donations at this time. Please choose another campaign.");
         }
@@ -141,18 +243,23 @@ public class DonationService {
             );
         }
         
-        // Create donation entity with PENDING status
-        Donation donation = Donation.builder()
-                .amount(request.getAmount())
-                .currency(request.getCurrency().toLowerCase())
-                .donorName(request.getDonorName())
-                .donorEmail(request.getDonorEmail())
-                .status(DonationStatus.PENDING)
-                .campaign(campaign)
-                .build();
-        
-        donation = donationRepository.save(donation);
-        log.info("Created donation with id: {}", donation.getId());
+        // Continue with the donation an earlier attempt under the same Idempotency-Key created,
+        // otherwise create a donation entity with PENDING status
+        Donation donation = resumedDonationId != null ? reopenForCheckout(resumedDonationId) : null;
+        if (donation == null) {
+            donation = donationRepository.save(Donation.builder()
+                    .amount(request.getAmount())
+                    .currency(request.getCurrency().toLowerCase())
+                    .donorName(request.getDonorName())
+                    .donorEmail(request.getDonorEmail())
+                    .status(DonationStatus.PENDING)
+                    .campaign(campaign)
+                    .build());
+            log.info("Created donation with id: {}", donation.getId());
+            if (idempotencyKey != null) {
+                checkoutIdempotency.recordDonation(idempotencyKey, donation.getId());
+            }
+        }
         
         try {
             // Create Stripe Checkout Session
@@ -181,21 +288,21 @@ public class DonationService {
                     .putMetadata("campaignId", campaign.getId())
                     .build();
             
-            Session session = Session.create(params);
+            Session session = stripeGateway.createCheckoutSession(params, stripeIdempotencyKey(idempotencyKey, donation.getId()));
 
-            // Update donation with Stripe session ID.
+            // Update donation with Stripe session ID in its own short transaction.
             //
             // IMPORTANT: the Stripe session is already live at this point — it is an
-            // external side-effect that cannot be rolled back.  If the save below fails
-            // (e.g. a transient DB error) we must NOT let the @Transactional rollback
-            // silently discard the donation row while the Stripe session persists.
-            // Instead we catch the exception, emit a CRITICAL alert with enough context
-            // for manual reconciliation, and still return the session URL so the donor
-            // can complete their payment.  The webhook handler will re-attempt to
-            // associate the payment with the correct donation on success.
+            // external side-effect that cannot be rolled back.  The PENDING row was
+            // committed before the call, so a failed update here only loses the session
+            // id: emit a CRITICAL alert with enough context for manual reconciliation,
+            // and still return the session URL so the donor can complete their payment.
+            // The webhook locates the donation through the donationId metadata.
             try {
-                donation.setStripeSessionId(session.getId());
-                donationRepository.save(donation);
+                if (donationRepository.attachCheckoutSession(donation.getId(), session.getId()) == 0) {
+                    log.warn("Donation {} already has a Stripe session - leaving it unchanged (new session {})",
+                             donation.getId(), session.getId());
+                }
             } catch (Exception dbEx) {
                 log.error("CRITICAL: Failed to persist Stripe sessionId '{}' for donation '{}'. " +
                           "Manual DB reconciliation required. Stripe session is live and donor may complete payment.",
@@ -213,95 +320,85 @@ public class DonationService {
 
         } catch (StripeException e) {
             log.error("Failed to create Stripe checkout session: {} (code: {})", e.getMessage(), e.getCode(), e);
+            markCheckoutFailed(donation.getId());
             throw new BusinessException("Failed to create checkout session. Please try again.", e);
+        } catch (ServiceBusyException e) {
+            // Refused by the Stripe gateway (breaker open or bulkhead full) without reaching Stripe
+            markCheckoutFailed(donation.getId());
+            throw e;
         }
     }
     
+    /**
+     * The client key is forwarded to Stripe together with the donation id: a resumed attempt sends
+     * the same key and identical parameters, so Stripe returns the session it may already have
+     * created, while a replacement donation never collides with an earlier request.
+     */
+    private static String stripeIdempotencyKey(String clientKey, String donationId) {
+        return clientKey != null ? "checkout-" + clientKey + ":" + donationId : "checkout-" + donationId;
+    }
+
+    /**
+     * The donation of an earlier failed attempt, back in PENDING, or null if it can no longer be
+     * used for a new checkout (it has a session or moved on in its lifecycle).
+     */
+    private Donation reopenForCheckout(String donationId) {
+        Donation donation = donationRepository.findById(donationId).orElse(null);
+        if (donation == null || donation.getStripeSessionId() != null) {
+            return null;
+        }
+        if (donation.getStatus() == DonationStatus.FAILED
+                && donationRepository.transitionStatus(donationId, DonationStatus.PENDING, REOPENABLE_FROM) == 1) {
+            return donationRepository.findById(donationId).orElse(null);
+        }
+        return donation.getStatus() == DonationStatus.PENDING ? donation : null;
+    }
+
+    /**
+     * The PENDING row is already committed when Stripe fails, so it is closed out as FAILED rather
+     * than rolled back. A session Stripe created despite the error (e.g. a read timeout) can still
+     * complete: SUCCESS is accepted from FAILED.
+     */
+    private void markCheckoutFailed(String donationId) {
+        try {
+            donationRepository.transitionStatus(donationId, DonationStatus.FAILED, FAILABLE_FROM);
+        } catch (Exception dbEx) {
+            log.error("Failed to mark donation {} as FAILED after Stripe checkout error", donationId, dbEx);
+        }
+    }
+
+    /**
+     * Moves a PENDING (or previously FAILED) donation to SUCCESS in one conditional UPDATE.
+     * Duplicate and racing webhooks match no row and are skipped; the acknowledgement emails
+     * go out after commit only for the call that made the change.
+     */
     @Transactional
     public void markDonationSuccessFromStripe(String donationId, String paymentIntentId) {
         log.info("[Webhook] Attempting to mark donation {} as SUCCESS with paymentIntent: {}", donationId, paymentIntentId);
-        
-        Donation donation = donationRepository.findById(donationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Donation", donationId));
 
-        // Idempotency check: if already SUCCESS, skip update (duplicate webhook)
-        if (donation.getStatus() == DonationStatus.SUCCESS) {
-            log.info("[Webhook] Donation {} already marked as SUCCESS - idempotent webhook, skipping", donationId);
+        if (donationRepository.markSucceeded(donationId, paymentIntentId, SUCCEEDABLE_FROM) == 0) {
+            Donation current = donationRepository.findById(donationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Donation", donationId));
+            log.info("[Webhook] Donation {} is {} - not moving to SUCCESS (duplicate or late webhook), skipping",
+                    donationId, current.getStatus());
             return;
         }
-        
-        log.info("[Webhook] Updating donation {} from {} to SUCCESS", donationId, donation.getStatus());
-        donation.setStatus(DonationStatus.SUCCESS);
-        donation.setStripePaymentIntentId(paymentIntentId);
-        donationRepository.save(donation);
-        
+
         log.info("[Webhook] Donation {} successfully marked as SUCCESS. Campaign totals will be derived from this donation.", donationId);
-        
-        // Send donation acknowledgement emails (only if donor email was provided)
-        if (donation.getDonorEmail() != null && !donation.getDonorEmail().trim().isEmpty()) {
-            try {
-                String campaignTitle = donation.getCampaign() != null ? donation.getCampaign().getTitle() : "General Donation";
-                String donationDate = donation.getCreatedAt()
-                    .atZone(java.time.ZoneId.of("UTC"))
-                    .format(DateTimeFormatter.ofPattern("MMMM dd, yyyy 'at' hh:mm a z"));
-                
-                // Send thank you email to donor
-                log.debug("[Webhook] Sending donation acknowledgement email for donation: {}", donationId);
-                emailService.sendDonationAcknowledgement(
-                    donation.getDonorEmail(),
-                    donation.getDonorName() != null ? donation.getDonorName() : "Anonymous Donor",
-                    donation.getAmount(),
-                    donation.getCurrency(),
-                    campaignTitle,
-                    donation.getId(),
-                    donationDate
-                );
-                
-                // Send notification email to admin
-                log.info("[Webhook] Sending donation notification to admin");
-                emailService.sendDonationNotificationToAdmin(
-                    donation.getDonorName() != null ? donation.getDonorName() : "Anonymous Donor",
-                    donation.getDonorEmail(),
-                    donation.getAmount(),
-                    donation.getCurrency(),
-                    campaignTitle,
-                    donation.getId(),
-                    donationDate
-                );
-                
-                log.info("[Webhook] Donation emails sent successfully for donation {}", donationId);
-            } catch (Exception e) {
-                log.error("[Webhook] Failed to send donation emails for donation {}, but donation was still successful", donationId, e);
-                // Don't throw - email failure shouldn't affect donation status
-            }
-        } else {
-            log.info("[Webhook] Donor email not provided for donation {} - skipping email notifications", donationId);
-        }
+        publishStatusChanged(donationId);
     }
     
     @Transactional
     public void markDonationFailed(String donationId) {
         log.info("[Webhook] Attempting to mark donation {} as FAILED", donationId);
-        
-        Donation donation = donationRepository.findById(donationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Donation", donationId));
 
-        // Idempotency check: if already SUCCESS, don't change it (payment succeeded)
-        if (donation.getStatus() == DonationStatus.SUCCESS) {
-            log.warn("[Webhook] Donation {} already marked as SUCCESS - cannot mark as FAILED, skipping", donationId);
-            return;
-        }
-        
-        // Idempotency check: if already FAILED, skip update (duplicate webhook)
-        if (donation.getStatus() == DonationStatus.FAILED) {
-            log.info("[Webhook] Donation {} already marked as FAILED - idempotent webhook, skipping", donationId);
+        if (donationRepository.transitionStatus(donationId, DonationStatus.FAILED, FAILABLE_FROM) == 0) {
+            Donation current = donationRepository.findById(donationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Donation", donationId));
+            log.info("[Webhook] Donation {} is {} - not moving to FAILED, skipping", donationId, current.getStatus());
             return;
         }
-        
-        log.info("[Webhook] Updating donation {} from {} to FAILED", donationId, donation.getStatus());
-        donation.setStatus(DonationStatus.FAILED);
-        donationRepository.save(donation);
-        
+
         log.info("[Webhook] Donation {} successfully marked as FAILED", donationId);
     }
     
@@ -309,7 +406,7 @@ public class DonationService {
     public List<DonationResponse> getAllDonations() {
         log.info("Fetching all donations");
         return donationRepository.findAllWithCampaign().stream()
-                .map(this::toDonationResponse)
+                .map(DonationService::toDonationResponse)
                 .collect(Collectors.toList());
     }
     
@@ -325,7 +422,7 @@ public class DonationService {
         Page<Donation> donationPage = donationRepository.findAll(spec, pageable);
         
         List<DonationResponse> items = donationPage.getContent().stream()
-                .map(this::toDonationResponse)
+                .map(DonationService::toDonationResponse)
                 .collect(Collectors.toList());
         
         return DonationPageResponse.builder()
@@ -380,56 +477,39 @@ public class DonationService {
             throw new BusinessException("No Stripe payment found for this donation");
         }
 
+        Refund refund;
         try {
             RefundCreateParams params = RefundCreateParams.builder()
                     .setPaymentIntent(donation.getStripePaymentIntentId())
                     .build();
-            Refund refund = Refund.create(params);
-
-            donation.setStatus(DonationStatus.REFUNDED);
-            donation.setRefundedAt(Instant.now());
-            donation.setRefundReason(reason);
-            donation.setStripeRefundId(refund.getId());
-            donation = donationRepository.save(donation);
-
-            log.info("Donation {} refunded successfully. Stripe refund ID: {}", donationId, refund.getId());
-
-            // Send refund notification email to donor
-            if (donation.getDonorEmail() != null && !donation.getDonorEmail().trim().isEmpty()) {
-                try {
-                    String campaignTitle = donation.getCampaign() != null
-                            ? donation.getCampaign().getTitle() : "General Donation";
-                    emailService.sendRefundNotificationEmail(
-                            donation.getDonorEmail(),
-                            donation.getDonorName() != null ? donation.getDonorName() : "Donor",
-                            donation.getAmount(),
-                            donation.getCurrency(),
-                            campaignTitle,
-                            donation.getId()
-                    );
-                } catch (Exception e) {
-                    log.error("Failed to send refund notification email for donation {}, but refund was still processed",
-                            donationId, e);
-                }
-            }
-
-            // Audit log
-            auditLogService.log(
-                    AuditAction.DONATION_REFUNDED,
-                    "Donation",
-                    donationId,
-                    adminUsername,
-                    "Refunded donation of " + donation.getAmount() + " " + donation.getCurrency()
-                            + (reason != null ? ". Reason: " + reason : "")
-            );
-
-            return donation;
-
+            refund = stripeGateway.createRefund(params, "refund-" + donationId);
         } catch (StripeException e) {
             log.error("Stripe refund failed for donation {}: {} (code: {})",
                     donationId, e.getMessage(), e.getCode(), e);
             throw new BusinessException("Failed to process refund via Stripe: " + e.getMessage(), e);
         }
+
+        int changed = donationRepository.markRefunded(donationId, refund.getId(), reason, Instant.now(), REFUNDABLE_FROM);
+        Donation refunded = donationRepository.findById(donationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Donation", donationId));
+        if (changed == 0) {
+            // The charge.refunded webhook for this refund won the race and already did the rest.
+            log.warn("Donation {} was already {} when recording Stripe refund {}", donationId,
+                    refunded.getStatus(), refund.getId());
+            return refunded;
+        }
+
+        log.info("Donation {} refunded successfully. Stripe refund ID: {}", donationId, refund.getId());
+        eventPublisher.publishEvent(DonationStatusChangedEvent.of(refunded));
+        auditLogService.log(
+                AuditAction.DONATION_REFUNDED,
+                "Donation",
+                donationId,
+                adminUsername,
+                "Refunded donation of " + refunded.getAmount() + " " + refunded.getCurrency()
+                        + (reason != null ? ". Reason: " + reason : "")
+        );
+        return refunded;
     }
 
     /**
@@ -440,6 +520,8 @@ public class DonationService {
     public void markDonationRefundedFromWebhook(String paymentIntentId, String stripeRefundId) {
         log.info("[Webhook] Processing refund for paymentIntent: {}", paymentIntentId);
 
+        int changed = donationRepository.markRefundedByPaymentIntent(paymentIntentId, stripeRefundId,
+                "Refunded via Stripe Dashboard", Instant.now(), REFUNDABLE_FROM);
         Optional<Donation> optDonation = donationRepository.findByStripePaymentIntentId(paymentIntentId);
         if (optDonation.isEmpty()) {
             log.warn("[Webhook] No donation found for paymentIntent: {} - cannot mark as refunded", paymentIntentId);
@@ -447,45 +529,14 @@ public class DonationService {
         }
 
         Donation donation = optDonation.get();
-
-        if (donation.getStatus() == DonationStatus.REFUNDED) {
-            log.info("[Webhook] Donation {} already marked as REFUNDED - idempotent webhook, skipping", donation.getId());
-            return;
-        }
-
-        if (donation.getStatus() != DonationStatus.SUCCESS) {
-            log.warn("[Webhook] Donation {} has status {} - expected SUCCESS for refund, skipping",
+        if (changed == 0) {
+            log.info("[Webhook] Donation {} is {} - not moving to REFUNDED (duplicate webhook or not yet paid), skipping",
                     donation.getId(), donation.getStatus());
             return;
         }
 
-        donation.setStatus(DonationStatus.REFUNDED);
-        donation.setRefundedAt(Instant.now());
-        donation.setStripeRefundId(stripeRefundId);
-        donation.setRefundReason("Refunded via Stripe Dashboard");
-        donationRepository.save(donation);
-
         log.info("[Webhook] Donation {} successfully marked as REFUNDED", donation.getId());
-
-        // Send refund notification email to donor
-        if (donation.getDonorEmail() != null && !donation.getDonorEmail().trim().isEmpty()) {
-            try {
-                String campaignTitle = donation.getCampaign() != null
-                        ? donation.getCampaign().getTitle() : "General Donation";
-                emailService.sendRefundNotificationEmail(
-                        donation.getDonorEmail(),
-                        donation.getDonorName() != null ? donation.getDonorName() : "Donor",
-                        donation.getAmount(),
-                        donation.getCurrency(),
-                        campaignTitle,
-                        donation.getId()
-                );
-            } catch (Exception e) {
-                log.error("[Webhook] Failed to send refund notification email for donation {}",
-                        donation.getId(), e);
-            }
-        }
-
+        eventPublisher.publishEvent(DonationStatusChangedEvent.of(donation));
         auditLogService.log(
                 AuditAction.DONATION_REFUNDED,
                 "Donation",
@@ -495,7 +546,18 @@ public class DonationService {
         );
     }
 
-    private DonationResponse toDonationResponse(Donation donation) {
+    private void publishStatusChanged(String donationId) {
+        donationRepository.findById(donationId)
+                .ifPresent(donation -> eventPublisher.publishEvent(DonationStatusChangedEvent.of(donation)));
+    }
+
+    /** Currency tag limited to the currencies we accept, so user input cannot add series. */
+    private static String currencyTag(String currency) {
+        String lower = currency != null ? currency.toLowerCase() : "";
+        return MINIMUM_AMOUNTS.containsKey(lower) ? lower : "other";
+    }
+
+    static DonationResponse toDonationResponse(Donation donation) {
         Campaign campaign = donation.getCampaign();
         
         return DonationResponse.builder()
@@ -4,5 +4,7 @@ public enum DonationStatus {
     PENDING,
     SUCCESS,
     FAILED,
-    REFUNDED
+    REFUNDED,
+    /** Checkout was abandoned: still PENDING after the Checkout Session lifetime (see PendingDonationReaper). */
+    EXPIRED
 }
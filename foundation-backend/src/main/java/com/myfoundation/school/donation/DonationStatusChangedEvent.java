@@ -0,0 +1,34 @@
+package com.myfoundation.school.donation;
+
+import java.time.Instant;
+
+/**
+ * Published by {@link DonationService} when a status transition actually changed a donation row.
+ * Duplicate or late webhooks that match no row publish nothing, so listeners run once per
+ * transition. {@link DonationNotificationListener} sends the emails after commit.
+ *
+ * Carries a snapshot of the donation so listeners do not need the persistence context.
+ */
+public record DonationStatusChangedEvent(
+    String donationId,
+    DonationStatus status,
+    String donorName,
+    String donorEmail,
+    Long amount,
+    String currency,
+    String campaignTitle,
+    Instant createdAt
+) {
+
+    static DonationStatusChangedEvent of(Donation donation) {
+        return new DonationStatusChangedEvent(
+            donation.getId(),
+            donation.getStatus(),
+            donation.getDonorName(),
+            donation.getDonorEmail(),
+            donation.getAmount(),
+            donation.getCurrency(),
+            donation.getCampaign() != null ? donation.getCampaign().getTitle() : null,
+            donation.getCreatedAt());
+    }
+}
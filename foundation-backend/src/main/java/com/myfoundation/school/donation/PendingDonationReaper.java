@@ -0,0 +1,64 @@
+package com.myfoundation.school.donation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Moves donations still PENDING after the Checkout Session lifetime to EXPIRED. The donor left
+ * checkout without paying, so Stripe will not send a completion for them; without this job they
+ * stay PENDING forever and clutter the admin list.
+ *
+ * Updates run in small batches, each in its own transaction (see
+ * {@link DonationRepository#expirePendingBatch}), and skip rows a webhook is updating at that
+ * moment. A payment that still completes afterwards (a delayed bank debit, say) moves the
+ * donation from EXPIRED to SUCCESS as usual.
+ *
+ * Configuration:
+ * - app.donations.pending-expiry.cron        – schedule (default: every 15 minutes)
+ * - app.donations.pending-expiry.after-hours – age at which PENDING expires (default: 25, Stripe's 24h session plus an hour)
+ * - app.donations.pending-expiry.batch-size  – rows per UPDATE (default: 500)
+ * - app.donations.pending-expiry.max-batches – cap per run (default: 100)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PendingDonationReaper {
+
+    private final DonationRepository donationRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.donations.pending-expiry.after-hours:25}")
+    private long afterHours;
+
+    @Value("${app.donations.pending-expiry.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.donations.pending-expiry.max-batches:100}")
+    private int maxBatches;
+
+    @Scheduled(cron = "${app.donations.pending-expiry.cron:0 */15 * * * *}")
+    public void expireAbandonedDonations() {
+        Instant cutoff = Instant.now().minus(Duration.ofHours(afterHours));
+
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int expired = donationRepository.expirePendingBatch(cutoff, batchSize);
+            total += expired;
+            if (expired < batchSize) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            meterRegistry.counter("donations.pending.expired").increment(total);
+            log.info("Expired {} PENDING donation(s) created before {}", total, cutoff);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.myfoundation.school.donation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * A Stripe object {@link StripeReconciliationJob} has listed while it could still change, such as
+ * an open Checkout Session or a pending refund. It is retrieved again by id from
+ * {@code nextCheckAt} on until it settles.
+ */
+@Entity
+@Table(name = "reconciliation_rechecks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationRecheck {
+
+    @Id
+    @Column(length = 255)
+    private String objectId;
+
+    @Column(nullable = false, length = 100)
+    private String source;
+
+    @Column(nullable = false)
+    private Instant objectCreated;
+
+    @Column(nullable = false)
+    private Instant nextCheckAt;
+}
@@ -0,0 +1,15 @@
+package com.myfoundation.school.donation;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface ReconciliationRecheckRepository extends JpaRepository<ReconciliationRecheck, String> {
+
+    List<ReconciliationRecheck> findBySourceAndNextCheckAtLessThanEqualOrderByNextCheckAtAsc(
+            String source, Instant now, Pageable pageable);
+}
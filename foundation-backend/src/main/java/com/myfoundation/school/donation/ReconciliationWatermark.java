@@ -0,0 +1,36 @@
+package com.myfoundation.school.donation;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * How far {@link StripeReconciliationJob} has got through one Stripe list: every object created
+ * before {@code watermark} has been matched against the donations table, and the ones that could
+ * still change are tracked as {@link ReconciliationRecheck}s.
+ */
+@Entity
+@Table(name = "reconciliation_watermarks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false)
+    private Instant watermark;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,8 @@
+package com.myfoundation.school.donation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationWatermarkRepository extends JpaRepository<ReconciliationWatermark, String> {
+}
@@ -0,0 +1,423 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.payment.StripeGateway;
+import com.stripe.exception.StripeException;
+import com.stripe.model.HasId;
+import com.stripe.model.Refund;
+import com.stripe.model.StripeCollection;
+import com.stripe.model.checkout.Session;
+import com.stripe.param.RefundListParams;
+import com.stripe.param.checkout.SessionListParams;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Catches up on Stripe events the webhook never delivered (or delivered while the app was failing).
+ *
+ * Each run pages through the Checkout Sessions and refunds created since the stored watermark in
+ * time slices, oldest slice first ({@code created[gte]} to {@code created[lt]}, newest first within
+ * a slice), and looks up the donations for a whole page in one query. Where Stripe and the
+ * donations table disagree, the transition the webhook would have made is applied through
+ * {@link DonationService}, so it is the same conditional update with the same emails, and a
+ * webhook arriving at the same moment cannot apply it twice.
+ *
+ * The watermark moves to the end of each slice as soon as the slice has been paged through, so a
+ * run that hits {@code max-pages} still keeps the progress it made. If a single slice does not fit
+ * in one run, the slice length is halved until it does, and grows back afterwards. The first slice
+ * starts five minutes before the watermark to absorb clock skew; objects seen twice are harmless
+ * because every transition is conditional.
+ *
+ * Objects that can still change - an open Checkout Session, a session that is complete but unpaid
+ * (a delayed payment method such as a bank debit), a pending refund - do not hold the watermark.
+ * They go into reconciliation_rechecks and are retrieved by id on later runs, young ones every
+ * run and older ones at most hourly, until they settle or are older than {@code ASYNC_SETTLEMENT}.
+ *
+ * Metrics:
+ * - stripe.reconciliation.drift (type)  – disagreements found: missed_success, missed_failure,
+ *                                         missed_refund, missing_session_id, unknown_donation
+ * - stripe.reconciliation.lag (source)  – seconds between now and the watermark
+ * - stripe.reconciliation.runs (source, outcome) – run duration; outcome complete, truncated or error
+ *
+ * Configuration:
+ * - stripe.reconciliation.enabled        – default: true
+ * - stripe.reconciliation.cron           – schedule (default: every 10 minutes)
+ * - stripe.reconciliation.lookback-hours – window for the very first run (default: 48)
+ * - stripe.reconciliation.page-size      – objects per list call, at most 100 (default: 100)
+ * - stripe.reconciliation.max-pages      – cap per list per run (default: 50)
+ * - stripe.reconciliation.slice-hours    – longest time slice listed at once (default: 6)
+ * - stripe.reconciliation.recheck-limit  – unsettled objects retrieved per source per run (default: 100)
+ */
+@Slf4j
+@Component
+public class StripeReconciliationJob {
+
+    static final String SESSIONS = "checkout_sessions";
+    static final String REFUNDS = "refunds";
+    private static final Duration OVERLAP = Duration.ofMinutes(5);
+    /** How long a delayed payment method can take to settle before an object is no longer re-checked. */
+    private static final Duration ASYNC_SETTLEMENT = Duration.ofDays(14);
+    private static final Duration MAX_RECHECK_INTERVAL = Duration.ofHours(1);
+
+    private final StripeGateway stripeGateway;
+    private final DonationRepository donationRepository;
+    private final DonationService donationService;
+    private final ReconciliationWatermarkRepository watermarkRepository;
+    private final ReconciliationRecheckRepository recheckRepository;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration initialLookback;
+    private final long pageSize;
+    private final int maxPages;
+    private final Duration maxSlice;
+    private final int recheckLimit;
+    private final Map<String, Instant> watermarks = new ConcurrentHashMap<>();
+    private final Map<String, Duration> sliceLengths = new ConcurrentHashMap<>();
+
+    public StripeReconciliationJob(StripeGateway stripeGateway,
+                                   DonationRepository donationRepository,
+                                   DonationService donationService,
+                                   ReconciliationWatermarkRepository watermarkRepository,
+                                   ReconciliationRecheckRepository recheckRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${stripe.reconciliation.enabled:true}") boolean enabled,
+                                   @Value("${stripe.reconciliation.lookback-hours:48}") long lookbackHours,
+                                   @Value("${stripe.reconciliation.page-size:100}") int pageSize,
+                                   @Value("${stripe.reconciliation.max-pages:50}") int maxPages,
+                                   @Value("${stripe.reconciliation.slice-hours:6}") long sliceHours,
+                                   @Value("${stripe.reconciliation.recheck-limit:100}") int recheckLimit) {
+        this.stripeGateway = stripeGateway;
+        this.donationRepository = donationRepository;
+        this.donationService = donationService;
+        this.watermarkRepository = watermarkRepository;
+        this.recheckRepository = recheckRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.initialLookback = Duration.ofHours(lookbackHours);
+        this.pageSize = Math.min(pageSize, 100);
+        this.maxPages = maxPages;
+        this.maxSlice = Duration.ofHours(Math.max(1, sliceHours));
+        this.recheckLimit = recheckLimit;
+
+        for (String source : List.of(SESSIONS, REFUNDS)) {
+            Gauge.builder("stripe.reconciliation.lag", this, job -> job.lagSeconds(source))
+                    .description("Seconds between now and the reconciliation watermark")
+                    .baseUnit("seconds")
+                    .tag("source", source)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(cron = "${stripe.reconciliation.cron:0 */10 * * * *}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long asyncCutoff = Instant.now().minus(ASYNC_SETTLEMENT).getEpochSecond();
+        run(SESSIONS, this::listSessions, stripeGateway::retrieveCheckoutSession, this::reconcileSessions,
+                session -> isUnsettled(session, asyncCutoff), Session::getCreated);
+        run(REFUNDS, this::listRefunds, stripeGateway::retrieveRefund, this::reconcileRefunds,
+                refund -> "pending".equals(refund.getStatus()) || "requires_action".equals(refund.getStatus()),
+                Refund::getCreated);
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Paging and watermarks
+    // ---------------------------------------------------------------------------------------
+
+    @FunctionalInterface
+    private interface PageFetcher<T extends HasId> {
+        StripeCollection<T> fetch(long createdGte, long createdLt, String startingAfter) throws StripeException;
+    }
+
+    @FunctionalInterface
+    private interface Retriever<T extends HasId> {
+        T retrieve(String id) throws StripeException;
+    }
+
+    private <T extends HasId> void run(String source,
+                                       PageFetcher<T> fetcher,
+                                       Retriever<T> retriever,
+                                       Consumer<List<T>> reconcilePage,
+                                       Predicate<T> unsettled,
+                                       Function<T, Long> created) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        // Exclusive end of the last slice, rounded up so objects created this second are included
+        Instant runStart = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        Instant watermark = loadWatermark(source, runStart);
+        Instant from = watermark.truncatedTo(ChronoUnit.SECONDS);
+        int pagesLeft = maxPages;
+        int checked = 0;
+        boolean firstSlice = true;
+        try {
+            recheck(source, retriever, reconcilePage, unsettled, runStart);
+            while (from.isBefore(runStart) && pagesLeft > 0) {
+                Duration slice = sliceLengths.getOrDefault(source, maxSlice);
+                Instant to = from.plus(slice).isBefore(runStart) ? from.plus(slice) : runStart;
+                long createdGte = (firstSlice ? from.minus(OVERLAP) : from).getEpochSecond();
+                List<T> stillOpen = new ArrayList<>();
+                String startingAfter = null;
+                boolean sliceDone = false;
+                while (pagesLeft > 0) {
+                    pagesLeft--;
+                    StripeCollection<T> collection = fetcher.fetch(createdGte, to.getEpochSecond(), startingAfter);
+                    List<T> data = collection.getData() != null ? collection.getData() : List.of();
+                    reconcilePage.accept(data);
+                    checked += data.size();
+                    data.stream().filter(unsettled).forEach(stillOpen::add);
+                    if (data.isEmpty() || !Boolean.TRUE.equals(collection.getHasMore())) {
+                        sliceDone = true;
+                        break;
+                    }
+                    startingAfter = data.get(data.size() - 1).getId();
+                }
+                if (!sliceDone) {
+                    if (firstSlice) {
+                        // Too many objects for one run: list a shorter slice next time
+                        sliceLengths.put(source, Duration.ofSeconds(Math.max(1, slice.getSeconds() / 2)));
+                    }
+                    break;
+                }
+                scheduleRechecks(source, stillOpen, created, runStart);
+                saveWatermark(source, to);
+                Duration longer = slice.multipliedBy(2);
+                sliceLengths.put(source, longer.compareTo(maxSlice) < 0 ? longer : maxSlice);
+                from = to;
+                firstSlice = false;
+            }
+            if (from.isBefore(runStart)) {
+                outcome = "truncated";
+                log.warn("Stripe reconciliation of {} stopped after {} pages ({} objects) - watermark at {}, next slice {}",
+                        source, maxPages, checked, from, sliceLengths.getOrDefault(source, maxSlice));
+            } else {
+                outcome = "complete";
+                log.debug("Reconciled {} Stripe {} created since {}", checked, source, watermark);
+            }
+        } catch (StripeException | RuntimeException e) {
+            // Includes ServiceBusyException while the Stripe circuit is open; the next run resumes from
+            // the last completed slice
+            log.warn("Stripe reconciliation of {} failed after {} objects: {}", source, checked, e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer("stripe.reconciliation.runs", "source", source, "outcome", outcome));
+        }
+    }
+
+    private Instant loadWatermark(String source, Instant now) {
+        Instant watermark = watermarkRepository.findById(source)
+                .map(ReconciliationWatermark::getWatermark)
+                .orElse(now.minus(initialLookback));
+        watermarks.put(source, watermark);
+        return watermark;
+    }
+
+    private void saveWatermark(String source, Instant watermark) {
+        watermarkRepository.save(new ReconciliationWatermark(source, watermark, Instant.now()));
+        watermarks.put(source, watermark);
+    }
+
+    /** Remembers objects that can still change so later runs retrieve them without holding the watermark. */
+    private <T extends HasId> void scheduleRechecks(String source, List<T> stillOpen, Function<T, Long> created,
+                                                     Instant now) {
+        for (T object : stillOpen) {
+            Long createdAt = created.apply(object);
+            Instant objectCreated = createdAt != null ? Instant.ofEpochSecond(createdAt) : now;
+            recheckRepository.save(new ReconciliationRecheck(
+                    object.getId(), source, objectCreated, nextCheckAt(objectCreated, now)));
+        }
+    }
+
+    /**
+     * Retrieves the due unsettled objects of one source by id and reconciles them like a page. Settled
+     * objects, and objects past {@code ASYNC_SETTLEMENT}, are dropped from the re-check set.
+     */
+    private <T extends HasId> void recheck(String source, Retriever<T> retriever, Consumer<List<T>> reconcilePage,
+                                           Predicate<T> unsettled, Instant now) throws StripeException {
+        List<ReconciliationRecheck> due = recheckRepository.findBySourceAndNextCheckAtLessThanEqualOrderByNextCheckAtAsc(
+                source, now, PageRequest.of(0, Math.max(1, recheckLimit)));
+        if (due.isEmpty()) {
+            return;
+        }
+        List<T> objects = new ArrayList<>(due.size());
+        for (ReconciliationRecheck recheck : due) {
+            objects.add(retriever.retrieve(recheck.getObjectId()));
+        }
+        reconcilePage.accept(objects);
+
+        Instant giveUpBefore = now.minus(ASYNC_SETTLEMENT);
+        for (int i = 0; i < due.size(); i++) {
+            ReconciliationRecheck recheck = due.get(i);
+            if (!unsettled.test(objects.get(i))) {
+                recheckRepository.delete(recheck);
+            } else if (recheck.getObjectCreated().isBefore(giveUpBefore)) {
+                log.warn("Stripe {} {} is still unsettled after {} days - no longer re-checking it",
+                        source, recheck.getObjectId(), ASYNC_SETTLEMENT.toDays());
+                recheckRepository.delete(recheck);
+            } else {
+                recheck.setNextCheckAt(nextCheckAt(recheck.getObjectCreated(), now));
+                recheckRepository.save(recheck);
+            }
+        }
+    }
+
+    /** Young objects are checked on every run, older ones less often, at most an hour apart. */
+    private static Instant nextCheckAt(Instant objectCreated, Instant now) {
+        Duration age = Duration.between(objectCreated, now);
+        return now.plus(age.compareTo(MAX_RECHECK_INTERVAL) < 0 ? age : MAX_RECHECK_INTERVAL);
+    }
+
+    private double lagSeconds(String source) {
+        Instant watermark = watermarks.get(source);
+        return watermark != null ? Duration.between(watermark, Instant.now()).toSeconds() : Double.NaN;
+    }
+
+    private StripeCollection<Session> listSessions(long createdGte, long createdLt, String startingAfter)
+            throws StripeException {
+        SessionListParams.Builder params = SessionListParams.builder()
+                .setCreated(SessionListParams.Created.builder().setGte(createdGte).setLt(createdLt).build())
+                .setLimit(pageSize);
+        if (startingAfter != null) {
+            params.setStartingAfter(startingAfter);
+        }
+        return stripeGateway.listCheckoutSessions(params.build());
+    }
+
+    private StripeCollection<Refund> listRefunds(long createdGte, long createdLt, String startingAfter)
+            throws StripeException {
+        RefundListParams.Builder params = RefundListParams.builder()
+                .setCreated(RefundListParams.Created.builder().setGte(createdGte).setLt(createdLt).build())
+                .setLimit(pageSize);
+        if (startingAfter != null) {
+            params.setStartingAfter(startingAfter);
+        }
+        return stripeGateway.listRefunds(params.build());
+    }
+
+    // ---------------------------------------------------------------------------------------
+    // Matching
+    // ---------------------------------------------------------------------------------------
+
+    private void reconcileSessions(List<Session> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        Map<String, Donation> bySession = donationRepository.findByStripeSessionIdIn(
+                        sessions.stream().map(Session::getId).toList()).stream()
+                .collect(Collectors.toMap(Donation::getStripeSessionId, d -> d, (a, b) -> a, HashMap::new));
+
+        // Sessions whose id never made it onto the donation (the write after the Stripe call failed)
+        List<Session> unmatched = new ArrayList<>();
+        for (Session session : sessions) {
+            if (!bySession.containsKey(session.getId()) && donationIdOf(session) != null) {
+                unmatched.add(session);
+            }
+        }
+        if (!unmatched.isEmpty()) {
+            Map<String, Donation> byId = donationRepository.findAllById(
+                            unmatched.stream().map(StripeReconciliationJob::donationIdOf).toList()).stream()
+                    .collect(Collectors.toMap(Donation::getId, d -> d));
+            for (Session session : unmatched) {
+                Donation donation = byId.get(donationIdOf(session));
+                if (donation == null) {
+                    drift("unknown_donation");
+                    log.warn("Stripe session {} references donation {}, which does not exist",
+                            session.getId(), donationIdOf(session));
+                } else if (donation.getStripeSessionId() == null) {
+                    drift("missing_session_id");
+                    apply(donation.getId(), () -> donationRepository.attachCheckoutSession(donation.getId(), session.getId()));
+                    bySession.put(session.getId(), donation);
+                }
+            }
+        }
+
+        for (Session session : sessions) {
+            Donation donation = bySession.get(session.getId());
+            if (donation == null) {
+                continue;
+            }
+            if (isPaid(session) && DonationService.SUCCEEDABLE_FROM.contains(donation.getStatus())) {
+                drift("missed_success");
+                log.info("Reconciliation: session {} is paid but donation {} is {} - marking SUCCESS",
+                        session.getId(), donation.getId(), donation.getStatus());
+                apply(donation.getId(), () -> donationService.markDonationSuccessFromStripe(
+                        donation.getId(), session.getPaymentIntent()));
+            } else if ("expired".equals(session.getStatus()) && donation.getStatus() == DonationStatus.PENDING) {
+                drift("missed_failure");
+                log.info("Reconciliation: session {} expired but donation {} is PENDING - marking FAILED",
+                        session.getId(), donation.getId());
+                apply(donation.getId(), () -> donationService.markDonationFailed(donation.getId()));
+            }
+        }
+    }
+
+    private void reconcileRefunds(List<Refund> refunds) {
+        List<Refund> succeeded = refunds.stream()
+                .filter(refund -> "succeeded".equals(refund.getStatus()) && refund.getPaymentIntent() != null)
+                .toList();
+        if (succeeded.isEmpty()) {
+            return;
+        }
+        Map<String, Donation> byPaymentIntent = donationRepository.findByStripePaymentIntentIdIn(
+                        succeeded.stream().map(Refund::getPaymentIntent).distinct().toList()).stream()
+                .collect(Collectors.toMap(Donation::getStripePaymentIntentId, d -> d, (a, b) -> a));
+
+        for (Refund refund : succeeded) {
+            Donation donation = byPaymentIntent.get(refund.getPaymentIntent());
+            if (donation != null && DonationService.REFUNDABLE_FROM.contains(donation.getStatus())) {
+                drift("missed_refund");
+                log.info("Reconciliation: refund {} succeeded but donation {} is {} - marking REFUNDED",
+                        refund.getId(), donation.getId(), donation.getStatus());
+                apply(donation.getId(), () -> donationService.markDonationRefundedFromWebhook(
+                        refund.getPaymentIntent(), refund.getId()));
+            }
+        }
+    }
+
+    private static boolean isUnsettled(Session session, long asyncCutoff) {
+        if ("open".equals(session.getStatus())) {
+            return true;
+        }
+        return "complete".equals(session.getStatus()) && "unpaid".equals(session.getPaymentStatus())
+                && session.getCreated() != null && session.getCreated() >= asyncCutoff;
+    }
+
+    private static boolean isPaid(Session session) {
+        return "complete".equals(session.getStatus())
+                && ("paid".equals(session.getPaymentStatus()) || "no_payment_required".equals(session.getPaymentStatus()));
+    }
+
+    private static String donationIdOf(Session session) {
+        return session.getMetadata() != null ? session.getMetadata().get("donationId") : null;
+    }
+
+    private void drift(String type) {
+        meterRegistry.counter("stripe.reconciliation.drift", "type", type).increment();
+    }
+
+    /** One transition failing (the row was deleted, say) must not stop the rest of the page. */
+    private void apply(String donationId, Runnable transition) {
+        try {
+            transition.run();
+        } catch (RuntimeException e) {
+            log.error("Reconciliation could not update donation {}: {}", donationId, e.getMessage(), e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.myfoundation.school.donationpreset;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -7,10 +8,13 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.Instant;
 
@@ -24,6 +28,8 @@ import java.time.Instant;
  */
 @Entity
 @Table(name = "donation_presets")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @Builder
 @NoArgsConstructor
@@ -55,6 +61,11 @@ public class DonationPreset {
     @Column(name = "updated_by", length = 120)
     private String updatedBy;
 
+    /** Optimistic lock; {@code SortOrderRewriter} also bumps it on every reorder. */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
@@ -1,8 +1,11 @@
 package com.myfoundation.school.donationpreset;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +15,7 @@ public interface DonationPresetRepository extends JpaRepository<DonationPreset,
 
     List<DonationPreset> findAllByOrderBySortOrderAscIdAsc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<DonationPreset> findByEnabledTrueOrderBySortOrderAscIdAsc();
 
     @Modifying
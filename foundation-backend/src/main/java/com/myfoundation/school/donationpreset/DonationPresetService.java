@@ -4,6 +4,7 @@ import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
 import com.myfoundation.school.donationpreset.dto.DonationPresetReorderRequest;
 import com.myfoundation.school.donationpreset.dto.DonationPresetUpsertRequest;
+import com.myfoundation.school.util.SortOrderRewriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Admin CRUD + public read for {@link DonationPreset}.
@@ -31,6 +30,7 @@ public class DonationPresetService {
 
     private final DonationPresetRepository repository;
     private final AuditLogService auditLogService;
+    private final SortOrderRewriter sortOrderRewriter;
 
     // --- reads -----------------------------------------------------------------
 
@@ -152,29 +152,12 @@ public class DonationPresetService {
     @Transactional
     public List<DonationPreset> reorder(DonationPresetReorderRequest request) {
         String actor = currentUser();
-        List<DonationPreset> all = repository.findAll();
-        Map<Long, DonationPreset> byId = new HashMap<>();
-        for (DonationPreset p : all) {
-            byId.put(p.getId(), p);
-        }
-        int pos = 10;
-        for (Long id : request.orderedIds()) {
-            DonationPreset p = byId.get(id);
-            if (p == null) {
-                throw new EntityNotFoundException("Donation preset not found: " + id);
-            }
-            p.setSortOrder(pos);
-            p.setUpdatedAt(Instant.now());
-            p.setUpdatedBy(actor);
-            pos += 10;
-        }
-        List<DonationPreset> saved = repository.saveAll(all);
+        sortOrderRewriter.reorder(DonationPreset.class, "Donation preset",
+                request.orderedIds(), request.expectedVersions(), actor);
         auditLogService.log(AuditAction.SETTINGS_UPDATED, "DonationPreset",
                 "reorder", actor,
                 "reordered donation presets: " + request.orderedIds());
-        return saved.stream()
-                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .toList();
+        return repository.findAllByOrderBySortOrderAscIdAsc();
     }
 
     private static String normaliseLabel(String label) {
@@ -13,7 +13,8 @@ public record DonationPresetResponse(
         boolean isDefault,
         int sortOrder,
         Instant updatedAt,
-        String updatedBy
+        String updatedBy,
+        long version
 ) {
     public static DonationPresetResponse from(DonationPreset p) {
         return new DonationPresetResponse(
@@ -24,7 +25,8 @@ public record DonationPresetResponse(
                 p.isDefault(),
                 p.getSortOrder(),
                 p.getUpdatedAt(),
-                p.getUpdatedBy()
+                p.getUpdatedBy(),
+                p.getVersion()
         );
     }
 }
@@ -0,0 +1,13 @@
+package com.myfoundation.school.exception;
+
+/**
+ * Exception thrown when a write was based on a stale copy of the data, e.g. a reorder
+ * submitted after another admin changed the same rows.
+ * Results in HTTP 409 Conflict response.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
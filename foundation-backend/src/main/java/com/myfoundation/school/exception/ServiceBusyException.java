@@ -0,0 +1,24 @@
+package com.myfoundation.school.exception;
+
+/**
+ * Exception thrown when a bounded internal resource (e.g. the password-hashing pool) is
+ * saturated, or a dependency is known to be failing, and the request is rejected instead of queued.
+ * Results in HTTP 503 Service Unavailable with a Retry-After header.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceBusyException(String message) {
+        this(message, 1);
+    }
+
+    public ServiceBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,6 +1,9 @@
 package com.myfoundation.school.faq;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +13,6 @@ public interface FaqRepository extends JpaRepository<Faq, Long> {
 
     List<Faq> findAllByOrderBySortOrderAscIdAsc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Faq> findByEnabledTrueOrderBySortOrderAscIdAsc();
 }
@@ -4,6 +4,7 @@ import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
 import com.myfoundation.school.faq.dto.FaqReorderRequest;
 import com.myfoundation.school.faq.dto.FaqUpsertRequest;
+import com.myfoundation.school.util.SortOrderRewriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Admin CRUD + public read for {@link Faq}.
@@ -31,6 +30,7 @@ public class FaqService {
 
     private final FaqRepository repository;
     private final AuditLogService auditLogService;
+    private final SortOrderRewriter sortOrderRewriter;
 
     // --- reads -----------------------------------------------------------------
 
@@ -103,29 +103,12 @@ public class FaqService {
     @Transactional
     public List<Faq> reorder(FaqReorderRequest request) {
         String actor = currentUser();
-        List<Faq> all = repository.findAll();
-        Map<Long, Faq> byId = new HashMap<>();
-        for (Faq f : all) {
-            byId.put(f.getId(), f);
-        }
-        int pos = 10;
-        for (Long id : request.orderedIds()) {
-            Faq f = byId.get(id);
-            if (f == null) {
-                throw new EntityNotFoundException("FAQ not found: " + id);
-            }
-            f.setSortOrder(pos);
-            f.setUpdatedAt(Instant.now());
-            f.setUpdatedBy(actor);
-            pos += 10;
-        }
-        List<Faq> saved = repository.saveAll(all);
+        sortOrderRewriter.reorder(Faq.class, "FAQ",
+                request.orderedIds(), request.expectedVersions(), actor);
         auditLogService.log(AuditAction.SETTINGS_UPDATED, "Faq",
                 "reorder", actor,
                 "reordered FAQs: " + request.orderedIds());
-        return saved.stream()
-                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .toList();
+        return repository.findAllByOrderBySortOrderAscIdAsc();
     }
 
     private static String trimToNull(String value) {
@@ -13,7 +13,8 @@ public record FaqResponse(
         boolean enabled,
         int sortOrder,
         Instant updatedAt,
-        String updatedBy
+        String updatedBy,
+        long version
 ) {
     public static FaqResponse from(Faq f) {
         return new FaqResponse(
@@ -24,7 +25,8 @@ public record FaqResponse(
                 f.isEnabled(),
                 f.getSortOrder(),
                 f.getUpdatedAt(),
-                f.getUpdatedBy()
+                f.getUpdatedBy(),
+                f.getVersion()
         );
     }
 }
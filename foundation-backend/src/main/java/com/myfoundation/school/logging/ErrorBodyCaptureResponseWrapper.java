@@ -0,0 +1,178 @@
+package com.myfoundation.school.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response wrapper that writes straight through to the client and keeps a copy of at most
+ * {@code maxBytes} of the body, and only when the response is an error (status >= 400) with a
+ * textual content type. Successful responses, PDFs and images are never buffered.
+ *
+ * The capture decision is made on the first write, by which point status and content type
+ * have been set.
+ */
+class ErrorBodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int maxBytes;
+    private ByteArrayOutputStream captured;
+    private Boolean capturing;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    ErrorBodyCaptureResponseWrapper(HttpServletResponse response, int maxBytes) {
+        super(response);
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            ServletOutputStream tee = new TeeOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(tee, charset()), false);
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        capturing = null;
+        captured = null;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        capturing = null;
+        captured = null;
+    }
+
+    /** Pushes anything still held by the writer; call once the chain has returned. */
+    void finish() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /** @return the captured prefix of an error body, or {@code null} if nothing was captured */
+    String getCapturedBody() {
+        if (captured == null || captured.size() == 0) {
+            return null;
+        }
+        String body = captured.toString(charset());
+        return captured.size() >= maxBytes ? body + "..." : body;
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
+
+    private boolean shouldCapture() {
+        if (capturing == null) {
+            capturing = maxBytes > 0 && getStatus() >= 400 && isTextual(getContentType());
+            if (capturing) {
+                captured = new ByteArrayOutputStream(Math.min(maxBytes, 256));
+            }
+        }
+        return capturing;
+    }
+
+    static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/")
+            || type.contains("json")
+            || type.contains("xml")
+            || type.startsWith("application/x-www-form-urlencoded");
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        int room = maxBytes - captured.size();
+        if (room > 0) {
+            captured.write(bytes, offset, Math.min(room, length));
+        }
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (shouldCapture() && captured.size() < maxBytes) {
+                captured.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            if (shouldCapture()) {
+                capture(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener listener) {
+            delegate.setWriteListener(listener);
+        }
+    }
+}
@@ -5,138 +5,187 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Filter for logging HTTP requests and responses.
  * Adds trace ID to MDC for request tracking across logs.
+ *
+ * One structured line is written per request, after it completes, with key-value fields
+ * (method, uri, status, durationMs, ...) rather than a concatenated message. Successful
+ * requests are sampled per route ({@code app.request-logging.sample-rate} and
+ * {@code route-sample-rates}); errors and slow requests are always logged.
+ *
+ * Request bodies are never logged: they carry passwords and donor details on exactly the calls
+ * that fail validation. The response body is copied only for textual error responses, capped at
+ * {@code max-body-bytes}, and never buffered wholesale.
  */
 @Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class RequestResponseLoggingFilter implements Filter {
-    
+
     private static final String TRACE_ID = "traceId";
     private static final String TRACE_ID_HEADER = "X-Trace-Id";
-    private static final int MAX_PAYLOAD_LENGTH = 1000;
-    
+
+    private final int maxBodyBytes;
+    private final double defaultSampleRate;
+    private final Map<String, Double> routeSampleRates;
+    private final long slowThresholdMs;
+
+    public RequestResponseLoggingFilter(
+            @Value("${app.request-logging.max-body-bytes:1024}") int maxBodyBytes,
+            @Value("${app.request-logging.sample-rate:1.0}") double defaultSampleRate,
+            @Value("${app.request-logging.route-sample-rates:}") String routeSampleRates,
+            @Value("${app.request-logging.slow-threshold-ms:1000}") long slowThresholdMs) {
+        this.maxBodyBytes = Math.max(0, maxBodyBytes);
+        this.defaultSampleRate = defaultSampleRate;
+        this.routeSampleRates = parseRouteSampleRates(routeSampleRates);
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
-        
+
         if (request instanceof HttpServletRequest && response instanceof HttpServletResponse) {
             HttpServletRequest httpRequest = (HttpServletRequest) request;
             HttpServletResponse httpResponse = (HttpServletResponse) response;
-            
+
             // Generate or retrieve trace ID
             String traceId = httpRequest.getHeader(TRACE_ID_HEADER);
             if (traceId == null || traceId.isEmpty()) {
                 traceId = UUID.randomUUID().toString();
             }
-            
+
             // Add trace ID to MDC for logging
             MDC.put(TRACE_ID, traceId);
-            
+
             // Add trace ID to response header
             httpResponse.setHeader(TRACE_ID_HEADER, traceId);
-            
-            // Wrap request and response for logging
-            ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest);
-            ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpResponse);
-            
-            long startTime = System.currentTimeMillis();
-            
+
+            String uri = httpRequest.getRequestURI();
+            if (shouldSkipLogging(uri)) {
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    MDC.remove(TRACE_ID);
+                }
+                return;
+            }
+
+            ErrorBodyCaptureResponseWrapper responseWrapper =
+                    new ErrorBodyCaptureResponseWrapper(httpResponse, maxBodyBytes);
+
+            long startTime = System.nanoTime();
+
+            Exception failure = null;
             try {
-                // Log request
-                logRequest(requestWrapper);
-                
-                // Process request
-                chain.doFilter(requestWrapper, responseWrapper);
-                
-                // Log response
-                long duration = System.currentTimeMillis() - startTime;
-                logResponse(responseWrapper, duration);
-                
-                // Copy response body to actual response
-                responseWrapper.copyBodyToResponse();
-                
+                chain.doFilter(httpRequest, responseWrapper);
+                responseWrapper.finish();
+            } catch (IOException | ServletException | RuntimeException e) {
+                failure = e;
+                throw e;
             } finally {
-                // Clean up MDC
+                long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+                logCompletion(httpRequest, responseWrapper, durationMs, failure);
                 MDC.remove(TRACE_ID);
             }
         } else {
             chain.doFilter(request, response);
         }
     }
-    
-    private void logRequest(ContentCachingRequestWrapper request) {
-        String uri = request.getRequestURI();
-        String method = request.getMethod();
-        String queryString = request.getQueryString();
-        
-        // Don't log static resources or health checks
-        if (shouldSkipLogging(uri)) {
-            return;
+
+    private void logCompletion(HttpServletRequest request, ErrorBodyCaptureResponseWrapper response,
+                               long durationMs, Exception failure) {
+        int status = response.getStatus();
+        boolean slow = durationMs >= slowThresholdMs;
+
+        Level level;
+        if (status >= 500 || failure != null) {
+            level = Level.ERROR;
+        } else if (status >= 400 || slow) {
+            level = Level.WARN;
+        } else {
+            if (!log.isInfoEnabled() || !sampled(request.getRequestURI())) {
+                return;
+            }
+            level = Level.INFO;
         }
-        
-        StringBuilder logMessage = new StringBuilder();
-        logMessage.append("Incoming request: ")
-                .append(method).append(" ")
-                .append(uri);
-        
-        if (queryString != null && !queryString.isEmpty()) {
-            logMessage.append("?").append(queryString);
+
+        LoggingEventBuilder event = log.atLevel(level)
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMs);
+        if (request.getQueryString() != null) {
+            event = event.addKeyValue("query", request.getQueryString());
         }
-        
-        // Log request body for POST/PUT/PATCH (excluding sensitive endpoints)
-        if (shouldLogBody(uri, method)) {
-            String payload = getRequestPayload(request);
-            if (payload != null && !payload.isEmpty()) {
-                logMessage.append(" | Body: ").append(payload);
-            }
+        if (slow) {
+            event = event.addKeyValue("slow", true);
         }
-        
-        log.info(logMessage.toString());
-    }
-    
-    private void logResponse(ContentCachingResponseWrapper response, long duration) {
-        int status = response.getStatus();
-        
-        String uri = MDC.get("requestUri");
-        if (uri != null && shouldSkipLogging(uri)) {
-            return;
+        if (failure != null) {
+            event = event.addKeyValue("exception", failure.getClass().getName());
         }
-        
-        StringBuilder logMessage = new StringBuilder();
-        logMessage.append("Outgoing response: ")
-                .append("status=").append(status)
-                .append(" | duration=").append(duration).append("ms");
-        
-        // Log response body for errors
         if (status >= 400) {
-            String payload = getResponsePayload(response);
-            if (payload != null && !payload.isEmpty()) {
-                logMessage.append(" | Body: ").append(payload);
+            String responseBody = response.getCapturedBody();
+            if (responseBody != null) {
+                event = event.addKeyValue("responseBody", responseBody);
             }
         }
-        
-        if (status >= 500) {
-            log.error(logMessage.toString());
-        } else if (status >= 400) {
-            log.warn(logMessage.toString());
-        } else {
-            log.info(logMessage.toString());
+        event.log("HTTP request completed");
+    }
+
+    boolean sampled(String uri) {
+        double rate = sampleRateFor(uri);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    double sampleRateFor(String uri) {
+        // Longest matching prefix wins; entries are kept sorted by descending length
+        for (Map.Entry<String, Double> entry : routeSampleRates.entrySet()) {
+            if (uri.startsWith(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return defaultSampleRate;
+    }
+
+    static Map<String, Double> parseRouteSampleRates(String spec) {
+        Map<String, Double> parsed = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return parsed;
+        }
+        Map<String, Double> unordered = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            int eq = part.indexOf('=');
+            if (eq <= 0) {
+                continue;
+            }
+            try {
+                unordered.put(part.substring(0, eq).trim(), Double.parseDouble(part.substring(eq + 1).trim()));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring invalid request-logging sample rate: {}", part);
+            }
         }
+        unordered.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, Double> e) -> e.getKey().length()).reversed())
+                .forEach(e -> parsed.put(e.getKey(), e.getValue()));
+        return parsed;
     }
-    
+
     private boolean shouldSkipLogging(String uri) {
         return uri.contains("/actuator") ||
                uri.contains("/health") ||
@@ -147,42 +196,4 @@ public class RequestResponseLoggingFilter implements Filter {
                uri.endsWith(".jpg") ||
                uri.endsWith(".svg");
     }
-    
-    private boolean shouldLogBody(String uri, String method) {
-        // Don't log sensitive endpoints
-        if (uri.contains("/auth/login") || uri.contains("/password")) {
-            return false;
-        }
-        
-        // Log body for state-changing methods
-        return "POST".equals(method) || "PUT".equals(method) || "PATCH".equals(method);
-    }
-    
-    private String getRequestPayload(ContentCachingRequestWrapper request) {
-        byte[] buf = request.getContentAsByteArray();
-        if (buf.length > 0) {
-            try {
-                String payload = new String(buf, 0, Math.min(buf.length, MAX_PAYLOAD_LENGTH),
-                        request.getCharacterEncoding());
-                return buf.length > MAX_PAYLOAD_LENGTH ? payload + "..." : payload;
-            } catch (UnsupportedEncodingException e) {
-                return "[Unknown encoding]";
-            }
-        }
-        return null;
-    }
-    
-    private String getResponsePayload(ContentCachingResponseWrapper response) {
-        byte[] buf = response.getContentAsByteArray();
-        if (buf.length > 0) {
-            try {
-                String payload = new String(buf, 0, Math.min(buf.length, MAX_PAYLOAD_LENGTH),
-                        response.getCharacterEncoding());
-                return buf.length > MAX_PAYLOAD_LENGTH ? payload + "..." : payload;
-            } catch (UnsupportedEncodingException e) {
-                return "[Unknown encoding]";
-            }
-        }
-        return null;
-    }
 }
@@ -1,6 +1,9 @@
 package com.myfoundation.school.moneyallocation;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +13,6 @@ public interface MoneyAllocationRepository extends JpaRepository<MoneyAllocation
 
     List<MoneyAllocation> findAllByOrderBySortOrderAscIdAsc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MoneyAllocation> findByEnabledTrueOrderBySortOrderAscIdAsc();
 }
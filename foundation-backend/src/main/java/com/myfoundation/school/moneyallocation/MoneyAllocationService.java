@@ -6,6 +6,7 @@ import com.myfoundation.school.moneyallocation.dto.MoneyAllocationReorderRequest
 import com.myfoundation.school.moneyallocation.dto.MoneyAllocationUpsertRequest;
 import com.myfoundation.school.registration.RegistrationInfoService;
 import com.myfoundation.school.registration.RegistrationStatus;
+import com.myfoundation.school.util.SortOrderRewriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,9 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Admin CRUD + gated public read for {@link MoneyAllocation}.
@@ -35,6 +34,7 @@ public class MoneyAllocationService {
     private final MoneyAllocationRepository repository;
     private final RegistrationInfoService registrationInfoService;
     private final AuditLogService auditLogService;
+    private final SortOrderRewriter sortOrderRewriter;
 
     // --- reads -----------------------------------------------------------------
 
@@ -124,29 +124,12 @@ public class MoneyAllocationService {
     @Transactional
     public List<MoneyAllocation> reorder(MoneyAllocationReorderRequest request) {
         String actor = currentUser();
-        List<MoneyAllocation> all = repository.findAll();
-        Map<Long, MoneyAllocation> byId = new HashMap<>();
-        for (MoneyAllocation m : all) {
-            byId.put(m.getId(), m);
-        }
-        int pos = 10;
-        for (Long id : request.orderedIds()) {
-            MoneyAllocation m = byId.get(id);
-            if (m == null) {
-                throw new EntityNotFoundException("Money allocation not found: " + id);
-            }
-            m.setSortOrder(pos);
-            m.setUpdatedAt(Instant.now());
-            m.setUpdatedBy(actor);
-            pos += 10;
-        }
-        List<MoneyAllocation> saved = repository.saveAll(all);
+        sortOrderRewriter.reorder(MoneyAllocation.class, "Money allocation",
+                request.orderedIds(), request.expectedVersions(), actor);
         auditLogService.log(AuditAction.SETTINGS_UPDATED, "MoneyAllocation",
                 "reorder", actor,
                 "reordered money allocations: " + request.orderedIds());
-        return saved.stream()
-                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .toList();
+        return repository.findAllByOrderBySortOrderAscIdAsc();
     }
 
     private static String normaliseDescription(String description) {
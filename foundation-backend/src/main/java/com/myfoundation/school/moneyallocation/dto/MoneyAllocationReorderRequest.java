@@ -7,8 +7,12 @@ import java.util.List;
 /**
  * Reorder payload: ordered list of IDs. The service assigns contiguous 10-step
  * {@code sort_order} values (10, 20, 30, …) based on position.
+ * Optional {@code expectedVersions} are the row versions the admin loaded, in the same
+ * order; see {@code SortOrderRewriter}.
  */
 public record MoneyAllocationReorderRequest(
         @NotEmpty
-        List<Long> orderedIds
+        List<Long> orderedIds,
+
+        List<Long> expectedVersions
 ) {}
@@ -15,7 +15,8 @@ public record MoneyAllocationResponse(
         boolean enabled,
         int sortOrder,
         Instant updatedAt,
-        String updatedBy
+        String updatedBy,
+        long version
 ) {
     public static MoneyAllocationResponse from(MoneyAllocation m) {
         return new MoneyAllocationResponse(
@@ -28,7 +29,8 @@ public record MoneyAllocationResponse(
                 m.isEnabled(),
                 m.getSortOrder(),
                 m.getUpdatedAt(),
-                m.getUpdatedBy()
+                m.getUpdatedBy(),
+                m.getVersion()
         );
     }
 }
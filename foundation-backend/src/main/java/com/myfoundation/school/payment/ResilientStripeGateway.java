@@ -0,0 +1,257 @@
+package com.myfoundation.school.payment;
+
+import com.myfoundation.school.exception.ServiceBusyException;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.model.checkout.Session;
+import com.stripe.model.checkout.SessionCollection;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionListParams;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link StripeGateway} over the Stripe SDK with the protections a remote payment API needs:
+ * <ul>
+ *   <li><b>Timeouts</b> - explicit connect and read timeouts on every request, and the SDK's own
+ *       network retries turned off so retries are only the ones below.</li>
+ *   <li><b>Bulkhead</b> - at most {@code maxConcurrentCalls} Stripe calls in flight. A caller that
+ *       cannot get a slot within {@code bulkheadWaitMs} gets {@link ServiceBusyException}, so a
+ *       slow Stripe cannot take every request thread with it.</li>
+ *   <li><b>Circuit breaker</b> - see {@link StripeCircuitBreaker}. While it is open, calls fail
+ *       immediately with a friendly {@link ServiceBusyException} instead of waiting on timeouts.</li>
+ *   <li><b>Retries</b> - only for calls with an idempotency key or that only read (list and
+ *       retrieve calls), only after provider failures
+ *       (network errors, 429, 5xx), at most {@code maxRetries} times with jittered exponential
+ *       backoff, and only while the shared {@link RetryBudget} allows.</li>
+ * </ul>
+ * Every attempt is timed in {@code stripe.api.calls} (operation, outcome, error_code). Rejections
+ * are counted in {@code stripe.gateway.rejected} (operation, reason), retries in
+ * {@code stripe.gateway.retries} (operation, result); {@code stripe.circuit.state} (0 closed,
+ * 1 open, 2 half-open) and {@code stripe.bulkhead.in_use} are gauges.
+ */
+@Slf4j
+public class ResilientStripeGateway implements StripeGateway {
+
+    static final String UNAVAILABLE_MESSAGE =
+            "Online payments are temporarily unavailable. Please try again in a few minutes.";
+    static final String BUSY_MESSAGE =
+            "We are processing a large number of payments right now. Please try again in a moment.";
+
+    private final MeterRegistry meterRegistry;
+    private final StripeCircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long bulkheadWaitMs;
+    private final int connectTimeoutMs;
+    private final int readTimeoutMs;
+    private final int maxRetries;
+    private final long retryBackoffMs;
+
+    public ResilientStripeGateway(MeterRegistry meterRegistry,
+                                  StripeCircuitBreaker circuitBreaker,
+                                  RetryBudget retryBudget,
+                                  int maxConcurrentCalls,
+                                  long bulkheadWaitMs,
+                                  int connectTimeoutMs,
+                                  int readTimeoutMs,
+                                  int maxRetries,
+                                  long retryBackoffMs) {
+        this.meterRegistry = meterRegistry;
+        this.circuitBreaker = circuitBreaker;
+        this.retryBudget = retryBudget;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.bulkhead = new Semaphore(maxConcurrentCalls, true);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.connectTimeoutMs = connectTimeoutMs;
+        this.readTimeoutMs = readTimeoutMs;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMs = retryBackoffMs;
+
+        Gauge.builder("stripe.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Stripe circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder("stripe.bulkhead.in_use", bulkhead, slots -> maxConcurrentCalls - slots.availablePermits())
+                .description("Stripe API calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Session createCheckoutSession(SessionCreateParams params, String idempotencyKey) throws StripeException {
+        return execute("checkout.session.create", idempotencyKey, options -> Session.create(params, options));
+    }
+
+    @Override
+    public Refund createRefund(RefundCreateParams params, String idempotencyKey) throws StripeException {
+        return execute("refund.create", idempotencyKey, options -> Refund.create(params, options));
+    }
+
+    @Override
+    public SessionCollection listCheckoutSessions(SessionListParams params) throws StripeException {
+        return execute("checkout.session.list", null, true, options -> Session.list(params, options));
+    }
+
+    @Override
+    public RefundCollection listRefunds(RefundListParams params) throws StripeException {
+        return execute("refund.list", null, true, options -> Refund.list(params, options));
+    }
+
+    @Override
+    public Session retrieveCheckoutSession(String sessionId) throws StripeException {
+        return execute("checkout.session.retrieve", null, true, options -> Session.retrieve(sessionId, options));
+    }
+
+    @Override
+    public Refund retrieveRefund(String refundId) throws StripeException {
+        return execute("refund.retrieve", null, true, options -> Refund.retrieve(refundId, options));
+    }
+
+    <T> T execute(String operation, String idempotencyKey, StripeCall<T> call) throws StripeException {
+        return execute(operation, idempotencyKey, idempotencyKey != null, call);
+    }
+
+    <T> T execute(String operation, String idempotencyKey, boolean retryable, StripeCall<T> call)
+            throws StripeException {
+        acquireSlot(operation);
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejected(operation, "circuit_open");
+                throw new ServiceBusyException(UNAVAILABLE_MESSAGE, circuitBreaker.secondsUntilHalfOpen());
+            }
+            retryBudget.onCall();
+            RequestOptions options = requestOptions(idempotencyKey);
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    return attempt(operation, call, options);
+                } catch (StripeException e) {
+                    if (!shouldRetry(operation, retryable, e, attempt)) {
+                        throw e;
+                    }
+                    log.warn("Stripe {} failed ({}), retrying (attempt {} of {})",
+                            operation, errorCode(e), attempt + 1, maxRetries);
+                    backOff(attempt, e);
+                }
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <T> T attempt(String operation, StripeCall<T> call, RequestOptions options) throws StripeException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String errorCode = "none";
+        try {
+            T result = call.execute(options);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (StripeException e) {
+            outcome = "error";
+            errorCode = errorCode(e);
+            if (isProviderFailure(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            // SDK wrapping an IO or JSON problem, or a bug handling the response: nothing says Stripe
+            // answered normally, and a half-open trial must be resolved either way
+            outcome = "error";
+            errorCode = e.getClass().getSimpleName();
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("stripe.api.calls",
+                    "operation", operation, "outcome", outcome, "error_code", errorCode));
+        }
+    }
+
+    private void acquireSlot(String operation) {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected(operation, "bulkhead_full");
+            log.warn("Stripe bulkhead full ({} calls in flight) - rejecting {}", maxConcurrentCalls, operation);
+            throw new ServiceBusyException(BUSY_MESSAGE);
+        }
+    }
+
+    private boolean shouldRetry(String operation, boolean retryable, StripeException e, int attempt) {
+        if (!retryable || attempt >= maxRetries || !isProviderFailure(e)) {
+            return false;
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return false;
+        }
+        if (!retryBudget.tryRetry()) {
+            meterRegistry.counter("stripe.gateway.retries", "operation", operation, "result", "budget_exhausted")
+                    .increment();
+            return false;
+        }
+        meterRegistry.counter("stripe.gateway.retries", "operation", operation, "result", "attempted").increment();
+        return true;
+    }
+
+    private void backOff(int attempt, StripeException cause) throws StripeException {
+        long base = retryBackoffMs << attempt;
+        long delay = base + ThreadLocalRandom.current().nextLong(base / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
+    }
+
+    private RequestOptions requestOptions(String idempotencyKey) {
+        RequestOptions.RequestOptionsBuilder builder = RequestOptions.builder()
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeoutMs)
+                .setMaxNetworkRetries(0);
+        if (idempotencyKey != null) {
+            builder.setIdempotencyKey(idempotencyKey);
+        }
+        return builder.build();
+    }
+
+    private void rejected(String operation, String reason) {
+        meterRegistry.counter("stripe.gateway.rejected", "operation", operation, "reason", reason).increment();
+    }
+
+    /** Network errors, timeouts, rate limiting and 5xx: Stripe did not handle the request. */
+    static boolean isProviderFailure(StripeException e) {
+        if (e instanceof ApiConnectionException || e instanceof RateLimitException) {
+            return true;
+        }
+        Integer status = e.getStatusCode();
+        return status != null && status >= 500;
+    }
+
+    private static String errorCode(StripeException e) {
+        return e.getCode() != null ? e.getCode() : e.getClass().getSimpleName();
+    }
+
+    @FunctionalInterface
+    interface StripeCall<T> {
+        T execute(RequestOptions options) throws StripeException;
+    }
+}
@@ -0,0 +1,31 @@
+package com.myfoundation.school.payment;
+
+/**
+ * Caps retries to a fraction of the call volume, so a Stripe outage cannot multiply our own
+ * traffic. Every call deposits {@code ratio} of a token, up to {@code maxTokens}; every retry
+ * spends a whole token. The budget starts full so low traffic can still retry.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.ratio = ratio;
+        this.maxTokens = maxTokens;
+        this.tokens = maxTokens;
+    }
+
+    public synchronized void onCall() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean tryRetry() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
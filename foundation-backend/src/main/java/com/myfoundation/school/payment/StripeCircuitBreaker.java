@@ -0,0 +1,136 @@
+package com.myfoundation.school.payment;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for the Stripe API.
+ *
+ * The outcomes of the last {@code windowSize} calls are kept in a ring. Once at least
+ * {@code minimumCalls} are recorded and the failure rate reaches {@code failureRatePercent}, the
+ * breaker opens and every call is refused for {@code openDuration}. After that a single trial
+ * call is let through (half-open): success closes the breaker with a fresh window, failure opens
+ * it again. A trial whose outcome is never reported is given up after another
+ * {@code openDuration}, so one lost trial cannot keep the breaker half-open for good.
+ *
+ * Only provider failures (network errors, timeouts, 5xx, 429) should be recorded as failures;
+ * a declined card or an invalid request means Stripe is answering normally.
+ */
+public class StripeCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openDurationMillis;
+    private final LongSupplier clockMillis;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int recorded;
+    private int failures;
+    private long openedAt;
+    private boolean trialInFlight;
+    private long trialStartedAt;
+
+    public StripeCircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, Duration openDuration) {
+        this(windowSize, minimumCalls, failureRatePercent, openDuration, System::currentTimeMillis);
+    }
+
+    StripeCircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent, Duration openDuration,
+                         LongSupplier clockMillis) {
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRatePercent = failureRatePercent;
+        this.openDurationMillis = openDuration.toMillis();
+        this.clockMillis = clockMillis;
+    }
+
+    /** True if a call may go to Stripe now. In the half-open state only one caller gets true. */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clockMillis.getAsLong() - openedAt < openDurationMillis) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                startTrial();
+                return true;
+            default:
+                if (trialInFlight && clockMillis.getAsLong() - trialStartedAt < openDurationMillis) {
+                    return false;
+                }
+                startTrial();
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (recorded >= minimumCalls && failures * 100 >= failureRatePercent * recorded) {
+                open();
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** Seconds until an open breaker lets a trial call through; 0 when not open. */
+    public synchronized long secondsUntilHalfOpen() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        long remaining = openDurationMillis - (clockMillis.getAsLong() - openedAt);
+        return Math.max(1, Duration.ofMillis(remaining).toSeconds());
+    }
+
+    private void startTrial() {
+        trialInFlight = true;
+        trialStartedAt = clockMillis.getAsLong();
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clockMillis.getAsLong();
+        trialInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.myfoundation.school.payment;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.model.checkout.Session;
+import com.stripe.model.checkout.SessionCollection;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionListParams;
+
+/**
+ * Every call the application makes to the Stripe API goes through this interface instead of the
+ * SDK's static methods, so timeouts, isolation and metrics are applied in one place
+ * ({@link ResilientStripeGateway}) and tests can substitute a fake.
+ *
+ * <p>The idempotency key is sent to Stripe as {@code Idempotency-Key}. Calls that carry one may be
+ * retried after a network or server error; calls without one are never retried. List and retrieve
+ * calls only read, so they are retried without a key.</p>
+ *
+ * <p>Besides {@link StripeException}, implementations may throw
+ * {@link com.myfoundation.school.exception.ServiceBusyException} (HTTP 503) when a call is refused
+ * without reaching Stripe, because Stripe is failing or too many calls are already in flight.</p>
+ */
+public interface StripeGateway {
+
+    Session createCheckoutSession(SessionCreateParams params, String idempotencyKey) throws StripeException;
+
+    Refund createRefund(RefundCreateParams params, String idempotencyKey) throws StripeException;
+
+    /** One page of Checkout Sessions, newest first. */
+    SessionCollection listCheckoutSessions(SessionListParams params) throws StripeException;
+
+    /** One page of refunds, newest first. */
+    RefundCollection listRefunds(RefundListParams params) throws StripeException;
+
+    Session retrieveCheckoutSession(String sessionId) throws StripeException;
+
+    Refund retrieveRefund(String refundId) throws StripeException;
+}
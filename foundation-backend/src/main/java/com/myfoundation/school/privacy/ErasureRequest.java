@@ -37,6 +37,18 @@ public class ErasureRequest {
     @Column(name = "processed_at")
     private Instant processedAt;
 
+    @Column(name = "started_at")
+    private Instant startedAt;
+
+    @Column(name = "donations_anonymized", nullable = false)
+    private int donationsAnonymized;
+
+    @Column(name = "contact_submissions_anonymized", nullable = false)
+    private int contactSubmissionsAnonymized;
+
+    @Column(name = "audit_logs_anonymized", nullable = false)
+    private int auditLogsAnonymized;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
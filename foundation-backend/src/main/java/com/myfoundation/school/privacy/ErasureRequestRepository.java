@@ -3,10 +3,25 @@ package com.myfoundation.school.privacy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ErasureRequestRepository extends JpaRepository<ErasureRequest, String> {
 
     Page<ErasureRequest> findAllByOrderByCreatedAtDesc(Pageable pageable);
+
+    /** Adds one batch's counts to the request's progress, in the batch's transaction. */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ErasureRequest r SET " +
+           "r.donationsAnonymized = r.donationsAnonymized + :donations, " +
+           "r.contactSubmissionsAnonymized = r.contactSubmissionsAnonymized + :contactSubmissions, " +
+           "r.auditLogsAnonymized = r.auditLogsAnonymized + :auditLogs " +
+           "WHERE r.id = :id")
+    int addProgress(@Param("id") String id,
+                    @Param("donations") int donations,
+                    @Param("contactSubmissions") int contactSubmissions,
+                    @Param("auditLogs") int auditLogs);
 }
@@ -1,28 +1,59 @@
 package com.myfoundation.school.privacy;
 
 import com.myfoundation.school.audit.AuditAction;
+import com.myfoundation.school.audit.AuditLogRepository;
 import com.myfoundation.school.audit.AuditLogService;
-import com.myfoundation.school.donation.Donation;
+import com.myfoundation.school.contact.ContactSubmissionRepository;
 import com.myfoundation.school.donation.DonationRepository;
 import com.myfoundation.school.exception.ResourceNotFoundException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.function.IntSupplier;
 
+/**
+ * GDPR erasure requests: public submission and admin processing.
+ *
+ * Processing anonymises the requester's donations, contact submissions and audit-log entries
+ * with bulk {@code UPDATE}s of at most {@code app.privacy.erasure.batch-size} rows, each in its
+ * own short transaction together with the request's progress counters. A donor with many rows
+ * therefore never holds one long transaction, and a run that fails part-way leaves the request
+ * IN_PROGRESS with accurate counts; processing it again carries on where it stopped.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class ErasureService {
 
     private final ErasureRequestRepository erasureRequestRepository;
     private final DonationRepository donationRepository;
+    private final ContactSubmissionRepository contactSubmissionRepository;
+    private final AuditLogRepository auditLogRepository;
     private final AuditLogService auditLogService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ErasureService(ErasureRequestRepository erasureRequestRepository,
+                          DonationRepository donationRepository,
+                          ContactSubmissionRepository contactSubmissionRepository,
+                          AuditLogRepository auditLogRepository,
+                          AuditLogService auditLogService,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.privacy.erasure.batch-size:500}") int batchSize) {
+        this.erasureRequestRepository = erasureRequestRepository;
+        this.donationRepository = donationRepository;
+        this.contactSubmissionRepository = contactSubmissionRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.auditLogService = auditLogService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
 
     /**
      * Submit an erasure request. Always returns success to avoid revealing
@@ -47,45 +78,85 @@ public class ErasureService {
     }
 
     /**
-     * Process an erasure request: anonymize all donations matching the email,
-     * then mark the request as COMPLETED.
+     * Process an erasure request: anonymize all donations, contact submissions and audit-log
+     * entries matching the email in batches, then mark the request as COMPLETED.
+     * A request left IN_PROGRESS by an interrupted run can be processed again.
      */
-    @Transactional
     public ErasureRequest processErasureRequest(String requestId, String adminUsername) {
+        ErasureRequest request = transactionTemplate.execute(status -> start(requestId, adminUsername));
+        String email = request.getEmail();
+
+        int donations = eraseInBatches(() -> {
+            int n = donationRepository.anonymizeDonorBatch(email, batchSize);
+            return recordProgress(requestId, n, 0, 0);
+        });
+        int contactSubmissions = eraseInBatches(() -> {
+            int n = contactSubmissionRepository.anonymizeSenderBatch(email, batchSize);
+            return recordProgress(requestId, 0, n, 0);
+        });
+        int auditLogs = eraseInBatches(() -> {
+            int n = auditLogRepository.anonymizeActorBatch(email, batchSize);
+            return recordProgress(requestId, 0, 0, n);
+        });
+
+        ErasureRequest completed = transactionTemplate.execute(status -> complete(requestId));
+
+        auditLogService.log(
+                AuditAction.ERASURE_COMPLETED,
+                "ErasureRequest",
+                requestId,
+                adminUsername,
+                "Erasure completed. " + donations + " donation(s), " + contactSubmissions
+                        + " contact submission(s) and " + auditLogs
+                        + " audit log entry(ies) anonymized for email: " + maskEmail(email)
+        );
+        log.info("Erasure request {} processed by {}. Anonymized {} donations, {} contact submissions, "
+                + "{} audit log entries.", requestId, adminUsername, donations, contactSubmissions, auditLogs);
+
+        return completed;
+    }
+
+    private ErasureRequest start(String requestId, String adminUsername) {
         ErasureRequest request = erasureRequestRepository.findById(requestId)
                 .orElseThrow(() -> new ResourceNotFoundException("Erasure request not found: " + requestId));
 
-        if (request.getStatus() != ErasureStatus.PENDING) {
-            throw new IllegalStateException("Erasure request is not in PENDING status");
+        if (request.getStatus() != ErasureStatus.PENDING && request.getStatus() != ErasureStatus.IN_PROGRESS) {
+            throw new IllegalStateException("Erasure request must be PENDING or IN_PROGRESS to be processed");
         }
 
-        // Anonymize all donations matching the email
-        List<Donation> donations = donationRepository.findByDonorEmailIgnoreCase(request.getEmail());
-
-        int anonymized = 0;
-        for (Donation donation : donations) {
-            donation.setDonorName("[Deleted]");
-            donation.setDonorEmail(null);
-            donationRepository.save(donation);
-            anonymized++;
+        request.setStatus(ErasureStatus.IN_PROGRESS);
+        request.setProcessedBy(adminUsername);
+        if (request.getStartedAt() == null) {
+            request.setStartedAt(Instant.now());
         }
+        return erasureRequestRepository.save(request);
+    }
 
-        // Mark the request as completed
+    private ErasureRequest complete(String requestId) {
+        ErasureRequest request = erasureRequestRepository.findById(requestId)
+                .orElseThrow(() -> new ResourceNotFoundException("Erasure request not found: " + requestId));
         request.setStatus(ErasureStatus.COMPLETED);
-        request.setProcessedBy(adminUsername);
         request.setProcessedAt(Instant.now());
-        erasureRequestRepository.save(request);
+        return erasureRequestRepository.save(request);
+    }
 
-        auditLogService.log(
-                AuditAction.ERASURE_COMPLETED,
-                "ErasureRequest",
-                request.getId(),
-                adminUsername,
-                "Erasure completed. " + anonymized + " donation(s) anonymized for email: " + maskEmail(request.getEmail())
-        );
-        log.info("Erasure request {} processed by {}. {} donations anonymized.", requestId, adminUsername, anonymized);
+    /** Runs {@code batch} in its own transaction until it returns less than a full batch. */
+    private int eraseInBatches(IntSupplier batch) {
+        int total = 0;
+        int erased;
+        do {
+            erased = transactionTemplate.execute(status -> batch.getAsInt());
+            total += erased;
+        } while (erased >= batchSize);
+        return total;
+    }
 
-        return request;
+    private int recordProgress(String requestId, int donations, int contactSubmissions, int auditLogs) {
+        int erased = donations + contactSubmissions + auditLogs;
+        if (erased > 0) {
+            erasureRequestRepository.addProgress(requestId, donations, contactSubmissions, auditLogs);
+        }
+        return erased;
     }
 
     /**
@@ -2,6 +2,7 @@ package com.myfoundation.school.privacy;
 
 public enum ErasureStatus {
     PENDING,
+    IN_PROGRESS,
     COMPLETED,
     REJECTED
 }
@@ -0,0 +1,139 @@
+package com.myfoundation.school.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-wide adaptive concurrency limit, driven by measured request latency.
+ *
+ * <p>Gradient algorithm (after Netflix's concurrency-limits "Gradient2"):</p>
+ * <ul>
+ *   <li>A long-term latency average (the "no-queueing" baseline) and a short-term average
+ *       (what requests see right now) are tracked as exponential moving averages.</li>
+ *   <li>{@code gradient = clamp(tolerance × longRtt / shortRtt, 0.5, 1.0)} — when requests
+ *       start queueing behind Postgres/Stripe the short average rises and the gradient falls.</li>
+ *   <li>{@code newLimit = limit × gradient + sqrt(limit)}; the square-root term lets the limit
+ *       probe upwards while latency stays at the baseline.</li>
+ *   <li>The limit is only raised while it is actually being used (in-flight above half the
+ *       limit), so an idle server does not drift towards {@code max-limit}.</li>
+ * </ul>
+ *
+ * <p>Configuration ({@code app.load-shedding.*}): {@code initial-limit} (default 20),
+ * {@code min-limit} (5), {@code max-limit} (200), {@code rtt-tolerance} (1.5),
+ * {@code smoothing} (0.2).</p>
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    @Autowired
+    public AdaptiveConcurrencyLimiter(@Value("${app.load-shedding.initial-limit:20}") int initialLimit,
+                                      @Value("${app.load-shedding.min-limit:5}") int minLimit,
+                                      @Value("${app.load-shedding.max-limit:200}") int maxLimit,
+                                      @Value("${app.load-shedding.rtt-tolerance:1.5}") double rttTolerance,
+                                      @Value("${app.load-shedding.smoothing:0.2}") double smoothing) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.rttTolerance = Math.max(1.0, rttTolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Tries to admit a request.
+     *
+     * @param mandatory {@code true} for requests that must never be shed (they still occupy
+     *                  capacity and contribute latency samples)
+     * @return {@code true} if admitted; the caller must then call {@link #release(long)}
+     */
+    public boolean tryAcquire(boolean mandatory) {
+        int current = inflight.incrementAndGet();
+        if (!mandatory && current > limit) {
+            inflight.decrementAndGet();
+            rejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Releases a permit obtained from {@link #tryAcquire(boolean)} and feeds the request's
+     * latency into the limit calculation.
+     *
+     * @param startNanos {@link System#nanoTime()} captured when the request was admitted
+     */
+    public void release(long startNanos) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        onSample(System.nanoTime() - startNanos, inflightAtCompletion);
+    }
+
+    synchronized void onSample(long rttNanos, int inflightAtCompletion) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+
+        // After a sustained slowdown the baseline itself has crept up; pull it back towards the
+        // short-term value so the limit can recover once latency returns to normal.
+        if (longRttNanos / shortRttNanos > 2.0) {
+            longRttNanos *= 0.95;
+        }
+
+        double current = limit;
+        // App-limited: not enough traffic to tell whether a higher limit is safe.
+        if (inflightAtCompletion < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        if ((int) newLimit != (int) current) {
+            log.debug("Concurrency limit {} -> {} (shortRtt={}ms, longRtt={}ms, inflight={})",
+                    (int) current, (int) newLimit,
+                    Math.round(shortRttNanos / 1_000_000), Math.round(longRttNanos / 1_000_000),
+                    inflightAtCompletion);
+        }
+        limit = newLimit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
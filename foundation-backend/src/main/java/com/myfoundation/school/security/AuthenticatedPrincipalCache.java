@@ -0,0 +1,149 @@
+package com.myfoundation.school.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived cache of authenticated principals for {@link JwtAuthenticationFilter}.
+ *
+ * Keyed by a SHA-256 hash of the raw token, so a cache hit skips both the JWT signature
+ * verification and the {@code admin_users} lookup. Entries live for at most
+ * {@code app.jwt.principal-cache.ttl-seconds} and never beyond the token's own expiry.
+ *
+ * Revocation: {@link PrincipalRevokedEvent}s (published by the user-management services) drop
+ * every entry for the user once the change has committed. Password changes additionally record
+ * a "revoked before" instant, so tokens issued earlier are rejected from then on. Both are
+ * in-process only; on other instances the TTL bounds how long a stale principal survives.
+ */
+@Slf4j
+@Component
+public class AuthenticatedPrincipalCache {
+
+    /** What the filter needs to rebuild the Authentication without touching the token or DB. */
+    public record CachedPrincipal(String userId, String username, String role, long expiresAtMillis) {
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final Map<String, Long> tokensRevokedBefore = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final long revocationRetentionMillis;
+
+    @Autowired
+    public AuthenticatedPrincipalCache(@Value("${app.jwt.principal-cache.ttl-seconds:30}") long ttlSeconds,
+                                       @Value("${app.jwt.principal-cache.max-entries:10000}") int maxEntries,
+                                       @Value("${app.jwt.expiration-minutes:60}") long tokenLifetimeMinutes) {
+        this.ttlMillis = Math.max(0, ttlSeconds) * 1000;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.revocationRetentionMillis = tokenLifetimeMinutes * 60_000;
+    }
+
+    public static String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @return the cached principal, or {@code null} on a miss or an expired entry
+     */
+    public CachedPrincipal get(String tokenHash) {
+        CachedPrincipal principal = principals.get(tokenHash);
+        if (principal == null) {
+            return null;
+        }
+        if (principal.isExpired(System.currentTimeMillis())) {
+            principals.remove(tokenHash, principal);
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Revocation generation to capture <em>before</em> loading the user from the database and
+     * pass back to {@link #put}; a revocation in between makes the put a no-op, so a lookup that
+     * raced with a deactivation can never re-cache the old state.
+     */
+    public long currentGeneration() {
+        return generation.get();
+    }
+
+    public void put(String tokenHash, String userId, String username, String role,
+                    Date tokenExpiration, long observedGeneration) {
+        if (ttlMillis == 0) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+        if (tokenExpiration != null) {
+            expiresAt = Math.min(expiresAt, tokenExpiration.getTime());
+        }
+        if (principals.size() >= maxEntries) {
+            evictExpired();
+            if (principals.size() >= maxEntries) {
+                return;
+            }
+        }
+        principals.put(tokenHash, new CachedPrincipal(userId, username, role, expiresAt));
+        if (generation.get() != observedGeneration) {
+            // A revocation ran while this principal was being loaded - don't trust it.
+            principals.remove(tokenHash);
+        }
+    }
+
+    /**
+     * @return {@code true} if the user's password changed after this token was issued
+     */
+    public boolean isRevoked(String userId, Date issuedAt) {
+        Long revokedBefore = tokensRevokedBefore.get(userId);
+        return revokedBefore != null && (issuedAt == null || issuedAt.getTime() < revokedBefore);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPrincipalRevoked(PrincipalRevokedEvent event) {
+        generation.incrementAndGet();
+        if (event.invalidateIssuedTokens()) {
+            // JWT iat has second precision; truncate so a token issued right after the change survives.
+            long revokedBefore = (System.currentTimeMillis() / 1000) * 1000;
+            tokensRevokedBefore.put(event.userId(), revokedBefore);
+        }
+        principals.values().removeIf(p -> p.userId().equals(event.userId()));
+        log.info("Revoked cached principals for user {} (invalidate issued tokens: {})",
+                event.username(), event.invalidateIssuedTokens());
+    }
+
+    /**
+     * Drops expired principals and revocation entries older than the longest token lifetime.
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        principals.values().removeIf(p -> p.isExpired(now));
+        tokensRevokedBefore.values().removeIf(revokedAt -> now - revokedAt > revocationRetentionMillis);
+    }
+
+    int size() {
+        return principals.size();
+    }
+}
@@ -0,0 +1,138 @@
+package com.myfoundation.school.security;
+
+import com.myfoundation.school.exception.ServiceBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BCrypt {@link PasswordEncoder} that runs every hash on a small dedicated pool.
+ *
+ * A BCrypt hash costs hundreds of milliseconds of CPU. Running it on Tomcat threads lets a
+ * login burst (or an attacker staying just under the rate limit) pin every core. Here at most
+ * {@code threads} hashes run at once and at most {@code queueCapacity} wait; anything beyond
+ * that fails fast with {@link ServiceBusyException} (HTTP 503) instead of piling up.
+ *
+ * {@link #upgradeEncoding(String)} reports hashes stored at a lower cost than the current
+ * one, so callers can rehash on a successful login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long timeoutMs) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    /**
+     * Picks the highest BCrypt cost whose hash time stays within {@code targetMs} on this
+     * machine, clamped to [{@code minCost}, {@code maxCost}]. Each extra cost step doubles
+     * the work, so one measurement at {@code minCost} is enough to extrapolate.
+     */
+    public static int calibrateCost(long targetMs, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("calibration-warmup");
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            probe.encode("calibration-probe");
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+        double millisAtMin = Math.max(bestNanos / 1_000_000.0, 0.001);
+
+        int cost = minCost;
+        double millis = millisAtMin;
+        while (cost < maxCost && millis * 2 <= targetMs) {
+            cost++;
+            millis *= 2;
+        }
+        log.info("BCrypt cost calibrated to {} (~{}ms per hash, target {}ms; cost {} took {}ms)",
+            cost, Math.round(millis), targetMs, minCost, Math.round(millisAtMin));
+        return cost;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.warn("Password hashing pool saturated (active={}, queued={}) — rejecting request",
+                executor.getActiveCount(), executor.getQueue().size());
+            throw new ServiceBusyException("The server is busy. Please try again in a moment.");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.incrementAndGet();
+            throw new ServiceBusyException("The server is busy. Please try again in a moment.");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Password hashing was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
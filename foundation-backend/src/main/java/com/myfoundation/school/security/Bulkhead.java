@@ -0,0 +1,128 @@
+package com.myfoundation.school.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded semaphore bulkhead with a bounded wait queue.
+ *
+ * - At most {@code maxConcurrent} callers run at once.
+ * - Up to {@code maxQueue} further callers may wait, each for at most {@code maxWaitMs}.
+ * - Anything beyond that is rejected immediately, so a saturated class holds at most
+ *   {@code maxConcurrent + maxQueue} request threads.
+ */
+public class Bulkhead {
+
+    /** Outcome of {@link #tryEnter()}. */
+    public enum Admission { ADMITTED, QUEUE_FULL, TIMED_OUT }
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMs;
+
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong rejectedQueueFull = new AtomicLong();
+    private final AtomicLong rejectedTimeout = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMs) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitMs = Math.max(0, maxWaitMs);
+        this.permits = new Semaphore(this.maxConcurrent, true);
+    }
+
+    /**
+     * Tries to enter the bulkhead, waiting up to {@code maxWaitMs} if it is full and the queue
+     * has room. When the result is {@link Admission#ADMITTED} the caller must call {@link #exit()}.
+     */
+    public Admission tryEnter() throws InterruptedException {
+        if (!permits.tryAcquire()) {
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                rejectedQueueFull.incrementAndGet();
+                return Admission.QUEUE_FULL;
+            }
+            queued.incrementAndGet();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                rejectedTimeout.incrementAndGet();
+                return Admission.TIMED_OUT;
+            }
+        }
+        admitted.incrementAndGet();
+        peakActive.accumulateAndGet(getActive(), Math::max);
+        return Admission.ADMITTED;
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return waiting.get();
+    }
+
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    public long getRejectedQueueFullCount() {
+        return rejectedQueueFull.get();
+    }
+
+    public long getRejectedTimeoutCount() {
+        return rejectedTimeout.get();
+    }
+
+    /** Point-in-time view used by the {@code bulkheads} actuator endpoint. */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxConcurrent", maxConcurrent);
+        stats.put("maxQueue", maxQueue);
+        stats.put("maxWaitMs", maxWaitMs);
+        stats.put("active", getActive());
+        stats.put("peakActive", peakActive.get());
+        stats.put("waiting", getWaiting());
+        stats.put("utilization", (double) getActive() / maxConcurrent);
+        stats.put("admitted", admitted.get());
+        stats.put("queued", queued.get());
+        stats.put("rejectedQueueFull", rejectedQueueFull.get());
+        stats.put("rejectedTimeout", rejectedTimeout.get());
+        return stats;
+    }
+}
@@ -0,0 +1,29 @@
+package com.myfoundation.school.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GET /actuator/bulkheads — current saturation of every traffic-class bulkhead, for sizing
+ * the {@code app.bulkhead.*} settings. Admin-only (see SecurityConfig).
+ */
+@Component
+@Endpoint(id = "bulkheads")
+@RequiredArgsConstructor
+public class BulkheadEndpoint {
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> bulkheads() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        bulkheadRegistry.getAll().forEach((trafficClass, bulkhead) ->
+            result.put(trafficClass.getKey(), bulkhead.snapshot()));
+        return result;
+    }
+}
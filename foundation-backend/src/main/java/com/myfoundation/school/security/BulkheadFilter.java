@@ -0,0 +1,96 @@
+package com.myfoundation.school.security;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Traffic-class bulkheads for /api/** requests.
+ *
+ * All requests share Tomcat's worker pool, so a burst of homepage/CMS reads or a few slow
+ * admin exports could otherwise occupy every thread and starve checkout creation and the
+ * Stripe webhook. Each request is assigned a {@link TrafficClass} by route prefix and must
+ * hold a permit from that class's {@link Bulkhead} while it runs. A full class queues briefly
+ * and then gets a 503 with Retry-After; the other classes are unaffected.
+ *
+ * Configuration:
+ * - app.bulkhead.enabled                     – master switch (default: true)
+ * - app.bulkhead.<class>.max-concurrent      – permits per class
+ * - app.bulkhead.<class>.max-queue           – callers allowed to wait for a permit
+ * - app.bulkhead.<class>.max-wait-ms         – how long a queued caller waits
+ *   where <class> is webhook, checkout, admin or cms-reads.
+ */
+@Slf4j
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class BulkheadFilter implements Filter {
+
+    private final BulkheadRegistry bulkheadRegistry;
+
+    @Value("${app.bulkhead.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String uri = httpRequest.getRequestURI();
+
+        if (!enabled || !uri.startsWith("/api/")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        TrafficClass trafficClass = TrafficClass.classify(uri, httpRequest.getMethod());
+        Bulkhead bulkhead = bulkheadRegistry.get(trafficClass);
+        if (bulkhead == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Bulkhead.Admission admission;
+        try {
+            admission = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admission = Bulkhead.Admission.TIMED_OUT;
+        }
+
+        if (admission != Bulkhead.Admission.ADMITTED) {
+            log.warn("Bulkhead '{}' rejected {} {} ({}; active={}, waiting={})",
+                bulkhead.getName(), httpRequest.getMethod(), uri, admission,
+                bulkhead.getActive(), bulkhead.getWaiting());
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            httpResponse.setHeader("Retry-After", "1");
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write(
+                "{\"error\":\"Service Unavailable\"," +
+                "\"message\":\"The site is busy. Please try again shortly.\"," +
+                "\"retryAfter\":1}"
+            );
+            return;
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        log.info("Bulkhead filter initialized - enabled: {}, classes: {}", enabled, bulkheadRegistry.getAll().keySet());
+    }
+}
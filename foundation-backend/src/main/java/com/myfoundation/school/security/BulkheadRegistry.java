@@ -0,0 +1,80 @@
+package com.myfoundation.school.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Holds one {@link Bulkhead} per {@link TrafficClass} and publishes their saturation as
+ * Micrometer meters ({@code bulkhead.active}, {@code bulkhead.waiting},
+ * {@code bulkhead.rejected}, tagged by {@code class}) for /actuator/metrics.
+ *
+ * Sizing per class is read from {@code app.bulkhead.<class>.max-concurrent},
+ * {@code .max-queue} and {@code .max-wait-ms}; defaults live on {@link TrafficClass}.
+ */
+@Slf4j
+@Component
+public class BulkheadRegistry {
+
+    private final Map<TrafficClass, Bulkhead> bulkheads = new EnumMap<>(TrafficClass.class);
+
+    public BulkheadRegistry(Environment environment, MeterRegistry meterRegistry) {
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            if (trafficClass == TrafficClass.OTHER) {
+                continue;
+            }
+            String prefix = "app.bulkhead." + trafficClass.getKey() + ".";
+            Bulkhead bulkhead = new Bulkhead(
+                trafficClass.getKey(),
+                environment.getProperty(prefix + "max-concurrent", Integer.class, trafficClass.getDefaultMaxConcurrent()),
+                environment.getProperty(prefix + "max-queue", Integer.class, trafficClass.getDefaultMaxQueue()),
+                environment.getProperty(prefix + "max-wait-ms", Long.class, trafficClass.getDefaultMaxWaitMs())
+            );
+            bulkheads.put(trafficClass, bulkhead);
+            registerMeters(bulkhead, meterRegistry);
+            log.info("Bulkhead '{}' - max concurrent: {}, max queue: {}, max wait: {}ms",
+                bulkhead.getName(), bulkhead.getMaxConcurrent(), bulkhead.getMaxQueue(), bulkhead.getMaxWaitMs());
+        }
+    }
+
+    /**
+     * @return the bulkhead for the class, or {@code null} for {@link TrafficClass#OTHER}
+     */
+    public Bulkhead get(TrafficClass trafficClass) {
+        return bulkheads.get(trafficClass);
+    }
+
+    public Map<TrafficClass, Bulkhead> getAll() {
+        return Collections.unmodifiableMap(bulkheads);
+    }
+
+    private static void registerMeters(Bulkhead bulkhead, MeterRegistry registry) {
+        String name = bulkhead.getName();
+        Gauge.builder("bulkhead.active", bulkhead, Bulkhead::getActive)
+            .tag("class", name)
+            .description("Requests currently executing inside the bulkhead")
+            .register(registry);
+        Gauge.builder("bulkhead.waiting", bulkhead, Bulkhead::getWaiting)
+            .tag("class", name)
+            .description("Requests waiting for a bulkhead permit")
+            .register(registry);
+        Gauge.builder("bulkhead.max.concurrent", bulkhead, Bulkhead::getMaxConcurrent)
+            .tag("class", name)
+            .register(registry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejectedQueueFullCount)
+            .tag("class", name)
+            .tag("reason", "queue_full")
+            .register(registry);
+        FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejectedTimeoutCount)
+            .tag("class", name)
+            .tag("reason", "timeout")
+            .register(registry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.myfoundation.school.security;
+
+import java.util.NavigableMap;
+
+/**
+ * Backing store for rate-limit counters and one-shot markers (e.g. webhook replay ids).
+ *
+ * <p>Counters are addressed by a string key plus a numeric bucket (typically an epoch-second
+ * slice), so a sliding window can be evaluated by summing the buckets that fall inside it.
+ * Implementations must make {@link #increment} and {@link #markIfAbsent} atomic with respect to
+ * every node sharing the store.</p>
+ *
+ * <p>Selected with {@code app.rate-limit.store}:</p>
+ * <ul>
+ *   <li>{@code memory} (default) – {@link InMemoryCounterStore}, per-JVM state</li>
+ *   <li>{@code postgres} – {@link PostgresCounterStore}, shared by every instance on the same database</li>
+ * </ul>
+ */
+public interface CounterStore {
+
+    /**
+     * Atomically adds {@code delta} to the counter for {@code (key, bucket)}, creating it if needed.
+     *
+     * @param ttlSeconds how long the bucket must be kept after this write
+     * @return the counter value after the addition
+     */
+    long increment(String key, long bucket, long delta, long ttlSeconds);
+
+    /**
+     * Returns the live counters for {@code key} whose bucket lies in {@code (fromExclusive, toInclusive]}.
+     */
+    NavigableMap<Long, Long> read(String key, long fromExclusive, long toInclusive);
+
+    /**
+     * Records {@code key} if it is not already present (or has expired).
+     *
+     * @return {@code true} if this call created the marker, {@code false} if it already existed
+     */
+    boolean markIfAbsent(String key, long ttlSeconds);
+
+    /** Removes expired counters and markers. */
+    void purgeExpired();
+
+    /**
+     * Whether the store is shared between JVMs. Callers only keep a local fast-path view in
+     * front of shared stores; a per-JVM store is already as fast as the local view would be.
+     */
+    default boolean isShared() {
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package com.myfoundation.school.security;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-JVM {@link CounterStore}. This is the default and matches the original single-instance
+ * behaviour: limits and replay markers are not shared between instances and reset on restart.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryCounterStore implements CounterStore {
+
+    private static final class Cell {
+        long hits;
+        long expiresAt;
+    }
+
+    private final Map<String, NavigableMap<Long, Cell>> counters = new ConcurrentHashMap<>();
+    private final Map<String, Long> markers = new ConcurrentHashMap<>();
+
+    @Override
+    public long increment(String key, long bucket, long delta, long ttlSeconds) {
+        long now = Instant.now().getEpochSecond();
+        NavigableMap<Long, Cell> series = counters.computeIfAbsent(key, k -> new TreeMap<>());
+        synchronized (series) {
+            Cell cell = series.computeIfAbsent(bucket, b -> new Cell());
+            cell.hits += delta;
+            cell.expiresAt = Math.max(cell.expiresAt, now + ttlSeconds);
+            return cell.hits;
+        }
+    }
+
+    @Override
+    public NavigableMap<Long, Long> read(String key, long fromExclusive, long toInclusive) {
+        NavigableMap<Long, Long> result = new TreeMap<>();
+        NavigableMap<Long, Cell> series = counters.get(key);
+        if (series == null || fromExclusive >= toInclusive) {
+            return result;
+        }
+        synchronized (series) {
+            series.subMap(fromExclusive, false, toInclusive, true)
+                    .forEach((bucket, cell) -> result.put(bucket, cell.hits));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean markIfAbsent(String key, long ttlSeconds) {
+        long now = Instant.now().getEpochSecond();
+        boolean[] created = {false};
+        markers.compute(key, (k, expiresAt) -> {
+            if (expiresAt == null || expiresAt <= now) {
+                created[0] = true;
+                return now + ttlSeconds;
+            }
+            return expiresAt;
+        });
+        return created[0];
+    }
+
+    @Override
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        markers.entrySet().removeIf(e -> e.getValue() <= now);
+        counters.entrySet().removeIf(entry -> {
+            NavigableMap<Long, Cell> series = entry.getValue();
+            synchronized (series) {
+                series.values().removeIf(cell -> cell.expiresAt <= now);
+                return series.isEmpty();
+            }
+        });
+    }
+}
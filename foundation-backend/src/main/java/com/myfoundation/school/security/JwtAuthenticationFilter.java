@@ -24,6 +24,10 @@ import java.util.Optional;
 
 /**
  * Parses Bearer tokens and attaches user identity + role to the security context.
+ *
+ * Verified principals are cached briefly by token hash ({@link AuthenticatedPrincipalCache}),
+ * so repeated requests with the same token skip signature verification and the
+ * {@code admin_users} lookup until the entry expires or the user is revoked.
  */
 @Component
 @RequiredArgsConstructor
@@ -32,6 +36,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final AdminUserRepository adminUserRepository;
+    private final AuthenticatedPrincipalCache principalCache;
     @Value("${app.jwt.cookie-enabled:false}")
     private boolean cookieEnabled;
     @Value("${app.jwt.cookie-name:admin_jwt}")
@@ -47,6 +52,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        String tokenHash = AuthenticatedPrincipalCache.hashToken(token);
+        AuthenticatedPrincipalCache.CachedPrincipal cached = principalCache.get(tokenHash);
+        if (cached != null) {
+            authenticate(cached.username(), cached.role());
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         Optional<Jws<Claims>> claimsOpt = jwtService.parseToken(token);
         if (claimsOpt.isEmpty()) {
             filterChain.doFilter(request, response);
@@ -57,7 +70,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String username = claims.get("username", String.class);
         String role = claims.get("role", String.class);
 
+        if (principalCache.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+            log.warn("JWT for user '{}' was issued before a password change — rejecting request", username);
+            filterChain.doFilter(request, response);
+            return;
+        }
+
         // Verify user is still active in the database
+        long generation = principalCache.currentGeneration();
         Optional<AdminUser> userOpt = adminUserRepository.findByUsername(username);
         if (userOpt.isEmpty() || !userOpt.get().getActive()) {
             log.warn("JWT valid but user '{}' is inactive or deleted — rejecting request", username);
@@ -65,14 +85,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
+        principalCache.put(tokenHash, userOpt.get().getId(), username, role, claims.getExpiration(), generation);
+        authenticate(username, role);
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String username, String role) {
         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                 username,
                 null,
                 List.of(new SimpleGrantedAuthority("ROLE_" + role))
         );
         SecurityContextHolder.getContext().setAuthentication(authentication);
-
-        filterChain.doFilter(request, response);
     }
 
     private String resolveToken(HttpServletRequest request) {
@@ -0,0 +1,101 @@
+package com.myfoundation.school.security;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Server-wide load shedding for public API reads.
+ *
+ * Per-client rate limits ({@link RateLimitingFilter}) do not help when many distinct visitors
+ * arrive at once; this filter caps the total number of in-flight API requests at the
+ * {@link AdaptiveConcurrencyLimiter}'s current limit instead.
+ *
+ * - Sheddable: GET/HEAD requests to public /api/** endpoints. When over the limit they get an
+ *   immediate 503 with Retry-After instead of queueing for a Tomcat thread.
+ * - Always admitted: the Stripe webhook, checkout creation, auth and admin traffic. These still
+ *   count towards in-flight requests and feed latency samples to the limiter.
+ * - Not metered: static assets and SPA routes (everything outside /api/).
+ *
+ * Configuration:
+ * - app.load-shedding.enabled             – master switch (default: true)
+ * - app.load-shedding.retry-after-seconds – Retry-After sent with 503 (default: 1)
+ */
+@Slf4j
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class LoadSheddingFilter implements Filter {
+
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @Value("${app.load-shedding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.load-shedding.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        String uri = httpRequest.getRequestURI();
+
+        if (!enabled || !uri.startsWith("/api/")) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        boolean mandatory = !isSheddable(uri, httpRequest.getMethod());
+        if (!concurrencyLimiter.tryAcquire(mandatory)) {
+            log.debug("Shedding {} {} (concurrency limit {} reached)",
+                    httpRequest.getMethod(), uri, concurrencyLimiter.getLimit());
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            httpResponse.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            httpResponse.setContentType("application/json");
+            httpResponse.getWriter().write(String.format(
+                "{\"error\":\"Service Unavailable\"," +
+                "\"message\":\"The site is busy. Please try again in %d seconds.\"," +
+                "\"retryAfter\":%d}",
+                retryAfterSeconds, retryAfterSeconds
+            ));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(start);
+        }
+    }
+
+    /**
+     * Only public reads may be shed. Payments (checkout creation, Stripe webhook), auth and
+     * admin requests are always admitted.
+     */
+    static boolean isSheddable(String uri, String method) {
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        return !uri.startsWith("/api/donations/stripe/")
+                && !uri.startsWith("/api/admin")
+                && !uri.startsWith("/api/auth");
+    }
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        log.info("Load shedding filter initialized - enabled: {}, initial concurrency limit: {}",
+            enabled, concurrencyLimiter.getLimit());
+    }
+}
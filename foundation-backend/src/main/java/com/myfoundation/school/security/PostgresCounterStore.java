@@ -0,0 +1,92 @@
+package com.myfoundation.school.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * {@link CounterStore} shared by every instance pointing at the same PostgreSQL database.
+ *
+ * <p>Backed by the UNLOGGED tables created in V37 ({@code rate_limit_counters},
+ * {@code rate_limit_markers}). UNLOGGED skips the WAL, so writes are cheap and the data is
+ * simply truncated after a crash — acceptable for short-lived throttling state.
+ * Every write is a single atomic {@code INSERT ... ON CONFLICT} statement; no explicit
+ * transaction or row lock is held.</p>
+ *
+ * <p>Enable with {@code app.rate-limit.store=postgres}.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "store", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresCounterStore implements CounterStore {
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO rate_limit_counters (counter_key, bucket, hits, expires_at) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (counter_key, bucket) DO UPDATE " +
+            "SET hits = rate_limit_counters.hits + EXCLUDED.hits, " +
+            "    expires_at = GREATEST(rate_limit_counters.expires_at, EXCLUDED.expires_at) " +
+            "RETURNING hits";
+
+    private static final String READ_SQL =
+            "SELECT bucket, hits FROM rate_limit_counters " +
+            "WHERE counter_key = ? AND bucket > ? AND bucket <= ? AND expires_at > ?";
+
+    // Re-arms an expired marker in the same statement, so "expired" and "absent" behave alike.
+    private static final String MARK_SQL =
+            "INSERT INTO rate_limit_markers (marker_key, expires_at) VALUES (?, ?) " +
+            "ON CONFLICT (marker_key) DO UPDATE SET expires_at = EXCLUDED.expires_at " +
+            "WHERE rate_limit_markers.expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long increment(String key, long bucket, long delta, long ttlSeconds) {
+        Instant expiresAt = Instant.now().plusSeconds(ttlSeconds);
+        Long hits = jdbcTemplate.queryForObject(INCREMENT_SQL, Long.class,
+                key, bucket, delta, Timestamp.from(expiresAt));
+        return hits != null ? hits : 0L;
+    }
+
+    @Override
+    public NavigableMap<Long, Long> read(String key, long fromExclusive, long toInclusive) {
+        NavigableMap<Long, Long> result = new TreeMap<>();
+        if (fromExclusive >= toInclusive) {
+            return result;
+        }
+        jdbcTemplate.query(READ_SQL,
+                rs -> { result.put(rs.getLong("bucket"), rs.getLong("hits")); },
+                key, fromExclusive, toInclusive, Timestamp.from(Instant.now()));
+        return result;
+    }
+
+    @Override
+    public boolean markIfAbsent(String key, long ttlSeconds) {
+        Instant now = Instant.now();
+        int rows = jdbcTemplate.update(MARK_SQL,
+                key, Timestamp.from(now.plusSeconds(ttlSeconds)), Timestamp.from(now));
+        return rows > 0;
+    }
+
+    @Override
+    public void purgeExpired() {
+        Timestamp now = Timestamp.from(Instant.now());
+        int counters = jdbcTemplate.update("DELETE FROM rate_limit_counters WHERE expires_at <= ?", now);
+        int markers = jdbcTemplate.update("DELETE FROM rate_limit_markers WHERE expires_at <= ?", now);
+        if (counters + markers > 0) {
+            log.debug("Purged {} expired rate-limit counters and {} markers", counters, markers);
+        }
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+}
@@ -0,0 +1,13 @@
+package com.myfoundation.school.security;
+
+/**
+ * Published when an admin user's authentication state changes (deactivated, deleted, role or
+ * password changed) so {@link AuthenticatedPrincipalCache} drops that user's cached principals.
+ *
+ * @param userId                 the user's id (JWT subject)
+ * @param username               the username, for logging
+ * @param invalidateIssuedTokens {@code true} when tokens issued before now must stop working
+ *                               even though the user is still active (password changes)
+ */
+public record PrincipalRevokedEvent(String userId, String username, boolean invalidateIssuedTokens) {
+}
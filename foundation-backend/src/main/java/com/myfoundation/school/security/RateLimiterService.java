@@ -1,51 +1,297 @@
 package com.myfoundation.school.security;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Sliding-window rate limiter running on a pluggable {@link CounterStore}.
+ *
+ * <p>Each window is split into buckets (one second for windows up to a minute, otherwise
+ * 1/60th of the window) so the window can be summed from counters that live in a shared store.
+ * Hits are recorded per bucket; a hit stops counting once its bucket falls out of the window.</p>
+ *
+ * <p><strong>Local fast path:</strong> for shared stores every key keeps a local view of the
+ * store's buckets plus the hits this node has not pushed yet, and requests are decided on that
+ * view alone. A background task pushes pending hits and re-reads the view every
+ * {@code app.rate-limit.store-sync-ms}, outside the per-key lock, so no request waits on the
+ * store — including the first request of a new key. Hits made on other nodes are therefore seen
+ * with at most one sync interval of delay. Per-JVM stores are consulted directly.</p>
+ *
+ * <p>If the store fails, the limiter keeps going on its local counts (so each node enforces the
+ * limit on its own traffic), keeps unpushed hits for the next attempt, logs a warning and
+ * increments {@code ratelimit.store.failures}.</p>
+ */
 @Service
+@Slf4j
 public class RateLimiterService {
 
     private static final long MAX_WINDOW_SECONDS = 3600;
+    private static final long BUCKETS_PER_WINDOW = 60;
 
     private static final class Window {
-        final Deque<Long> hits = new ArrayDeque<>();
+        final String storeKey;
+        final long bucketSeconds;
+        final long ttlSeconds;
+        /** Bucket counts as last read from the store (including hits this node already pushed). */
+        final NavigableMap<Long, Long> known = new TreeMap<>();
+        /** Hits the background sync is pushing right now; still counted until the store has them. */
+        final NavigableMap<Long, Long> pushing = new TreeMap<>();
+        /** Hits accepted locally but not yet pushed to the store. */
+        final NavigableMap<Long, Long> pending = new TreeMap<>();
+        long windowSeconds;
+        long lastSyncMillis;
+        long lastAccessMillis;
+
+        Window(String storeKey, long bucketSeconds, long ttlSeconds) {
+            this.storeKey = storeKey;
+            this.bucketSeconds = bucketSeconds;
+            this.ttlSeconds = ttlSeconds;
+        }
     }
 
-    private final Map<String, Window> buckets = new ConcurrentHashMap<>();
+    private final CounterStore counterStore;
+    private final long syncIntervalMillis;
+    private final Counter storeFailures;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiterService(CounterStore counterStore, MeterRegistry meterRegistry,
+                              @Value("${app.rate-limit.store-sync-ms:250}") long storeSyncMillis) {
+        this.counterStore = counterStore;
+        this.syncIntervalMillis = counterStore.isShared() ? Math.max(0, storeSyncMillis) : 0;
+        this.storeFailures = meterRegistry.counter("ratelimit.store.failures");
+    }
 
     public boolean isAllowed(String key, int maxRequests, long windowSeconds) {
-        long now = Instant.now().getEpochSecond();
-        Window window = buckets.computeIfAbsent(key, k -> new Window());
+        if (maxRequests <= 0) {
+            return false;
+        }
+        long nowMillis = System.currentTimeMillis();
+        Window window = windowFor(key, windowSeconds);
+        long current = nowMillis / 1000 / window.bucketSeconds;
+        long oldest = current - bucketsInWindow(windowSeconds, window.bucketSeconds);
+
         synchronized (window) {
-            while (!window.hits.isEmpty() && window.hits.peekFirst() <= now - windowSeconds) {
-                window.hits.removeFirst();
+            window.lastAccessMillis = nowMillis;
+            window.windowSeconds = windowSeconds;
+            if (syncIntervalMillis == 0) {
+                syncDirectly(window, oldest, current, nowMillis);
             }
-            if (window.hits.size() >= maxRequests) {
+            if (hitsInWindow(window, oldest) >= maxRequests) {
                 return false;
             }
-            window.hits.addLast(now);
+            window.pending.merge(current, 1L, Long::sum);
+            if (syncIntervalMillis == 0) {
+                pushDirectly(window, oldest);
+            }
             return true;
         }
     }
 
+    /**
+     * Seconds until the oldest hit in the window expires — i.e. the earliest moment a rejected
+     * caller could succeed. Always at least 1.
+     */
+    public long retryAfterSeconds(String key, long windowSeconds) {
+        long nowSeconds = Instant.now().getEpochSecond();
+        Window window = windowFor(key, windowSeconds);
+        long windowBuckets = bucketsInWindow(windowSeconds, window.bucketSeconds);
+        long oldest = nowSeconds / window.bucketSeconds - windowBuckets;
+        synchronized (window) {
+            Long first = null;
+            for (NavigableMap<Long, Long> buckets : List.of(window.known, window.pushing, window.pending)) {
+                Long candidate = firstBucketWithHits(buckets, oldest);
+                if (candidate != null && (first == null || candidate < first)) {
+                    first = candidate;
+                }
+            }
+            if (first == null) {
+                return 1;
+            }
+            return Math.max(1, (first + windowBuckets) * window.bucketSeconds - nowSeconds);
+        }
+    }
+
+    /**
+     * Pushes pending hits and refreshes the local view of every key used since its last sync, so
+     * other nodes see this node's hits (and it sees theirs) within one sync interval.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.store-sync-ms:250}")
+    void syncWithStore() {
+        if (syncIntervalMillis == 0) {
+            return;
+        }
+        long nowMillis = System.currentTimeMillis();
+        int failed = 0;
+        RuntimeException lastFailure = null;
+        for (Window window : windows.values()) {
+            try {
+                syncInBackground(window, nowMillis);
+            } catch (RuntimeException e) {
+                failed++;
+                lastFailure = e;
+            }
+        }
+        if (failed > 0) {
+            storeFailures.increment(failed);
+            log.warn("Rate-limit store unavailable for {} key(s), limiting on local counts: {}",
+                    failed, lastFailure.getMessage());
+        }
+    }
+
     @Scheduled(fixedRate = 600_000)
     void evictStaleEntries() {
-        long cutoff = Instant.now().getEpochSecond() - MAX_WINDOW_SECONDS;
-        buckets.entrySet().removeIf(entry -> {
+        long cutoffMillis = System.currentTimeMillis() - MAX_WINDOW_SECONDS * 1000;
+        windows.entrySet().removeIf(entry -> {
             Window w = entry.getValue();
             synchronized (w) {
-                while (!w.hits.isEmpty() && w.hits.peekFirst() <= cutoff) {
-                    w.hits.removeFirst();
-                }
-                return w.hits.isEmpty();
+                return w.pending.isEmpty() && w.pushing.isEmpty() && w.lastAccessMillis <= cutoffMillis;
             }
         });
+        try {
+            counterStore.purgeExpired();
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired rate-limit counters: {}", e.getMessage());
+        }
+    }
+
+    private Window windowFor(String key, long windowSeconds) {
+        long bucketSeconds = bucketSeconds(windowSeconds);
+        String storeKey = key + "|" + bucketSeconds;
+        long ttlSeconds = Math.max(1, windowSeconds) + bucketSeconds;
+        return windows.computeIfAbsent(storeKey, k -> new Window(k, bucketSeconds, ttlSeconds));
+    }
+
+    private static long bucketSeconds(long windowSeconds) {
+        if (windowSeconds <= BUCKETS_PER_WINDOW) {
+            return 1;
+        }
+        return (windowSeconds + BUCKETS_PER_WINDOW - 1) / BUCKETS_PER_WINDOW;
+    }
+
+    private static long bucketsInWindow(long windowSeconds, long bucketSeconds) {
+        return Math.max(0, windowSeconds) / bucketSeconds;
+    }
+
+    /** Zero sync interval: push and re-read on the request, under the key's lock. */
+    private void syncDirectly(Window window, long oldest, long current, long nowMillis) {
+        try {
+            push(window, oldest);
+            NavigableMap<Long, Long> fresh = counterStore.read(window.storeKey, oldest, current);
+            window.known.clear();
+            window.known.putAll(fresh);
+            window.lastSyncMillis = nowMillis;
+        } catch (RuntimeException e) {
+            storeUnavailable(e);
+        }
+    }
+
+    private void pushDirectly(Window window, long oldest) {
+        try {
+            push(window, oldest);
+        } catch (RuntimeException e) {
+            storeUnavailable(e);
+        }
+    }
+
+    private void storeUnavailable(RuntimeException e) {
+        storeFailures.increment();
+        log.warn("Rate-limit store unavailable, limiting on local counts: {}", e.getMessage());
+    }
+
+    /**
+     * Moves pending hits newer than {@code oldest} into the store and the known view. A hit is
+     * removed from pending only once the store has it, so a failed push is retried later.
+     */
+    private void push(Window window, long oldest) {
+        Iterator<Map.Entry<Long, Long>> it = window.pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Long> e = it.next();
+            if (e.getKey() > oldest) {
+                counterStore.increment(window.storeKey, e.getKey(), e.getValue(), window.ttlSeconds);
+                window.known.merge(e.getKey(), e.getValue(), Long::sum);
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Background sync of one key. The lock is held only to move hits between the local maps; the
+     * store calls run without it, so requests for the key are never blocked on the store.
+     */
+    private void syncInBackground(Window window, long nowMillis) {
+        long oldest;
+        long current;
+        NavigableMap<Long, Long> toPush;
+        synchronized (window) {
+            if (window.pending.isEmpty() && window.lastAccessMillis < window.lastSyncMillis) {
+                return;
+            }
+            current = nowMillis / 1000 / window.bucketSeconds;
+            oldest = current - bucketsInWindow(window.windowSeconds, window.bucketSeconds);
+            window.pending.headMap(oldest, true).clear();
+            window.pushing.putAll(window.pending);
+            window.pending.clear();
+            toPush = new TreeMap<>(window.pushing);
+        }
+        try {
+            for (Map.Entry<Long, Long> e : toPush.entrySet()) {
+                counterStore.increment(window.storeKey, e.getKey(), e.getValue(), window.ttlSeconds);
+                synchronized (window) {
+                    window.pushing.remove(e.getKey());
+                    window.known.merge(e.getKey(), e.getValue(), Long::sum);
+                }
+            }
+            NavigableMap<Long, Long> fresh = counterStore.read(window.storeKey, oldest, current);
+            synchronized (window) {
+                window.known.clear();
+                window.known.putAll(fresh);
+                window.lastSyncMillis = nowMillis;
+            }
+        } catch (RuntimeException e) {
+            synchronized (window) {
+                window.pushing.forEach((bucket, hits) -> window.pending.merge(bucket, hits, Long::sum));
+                window.pushing.clear();
+            }
+            throw e;
+        }
+    }
+
+    private static long hitsInWindow(Window window, long oldest) {
+        window.known.headMap(oldest, true).clear();
+        window.pending.headMap(oldest, true).clear();
+        long total = 0;
+        for (long hits : window.known.values()) {
+            total += hits;
+        }
+        for (long hits : window.pushing.tailMap(oldest, false).values()) {
+            total += hits;
+        }
+        for (long hits : window.pending.values()) {
+            total += hits;
+        }
+        return total;
+    }
+
+    private static Long firstBucketWithHits(NavigableMap<Long, Long> buckets, long oldest) {
+        for (Map.Entry<Long, Long> e : buckets.tailMap(oldest, false).entrySet()) {
+            if (e.getValue() > 0) {
+                return e.getKey();
+            }
+        }
+        return null;
     }
 }
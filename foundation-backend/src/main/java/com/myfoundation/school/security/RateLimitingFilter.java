@@ -1,8 +1,10 @@
 package com.myfoundation.school.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.annotation.Order;
@@ -10,14 +12,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Rate limiting filter to prevent abuse and brute force attacks.
  *
- * Uses token bucket algorithm to limit requests per IP address.
+ * Limits requests per IP address and endpoint group using the sliding-window
+ * {@link RateLimiterService}, so the limits hold cluster-wide when a shared
+ * {@link CounterStore} is configured (app.rate-limit.store=postgres).
  * Window duration and per-group caps are fully configurable via application properties:
  * - app.rate-limit.window-seconds     – window length in seconds (default: 1)
  * - app.rate-limit.general            – max requests per window for public endpoints (default: 100)
@@ -32,14 +33,11 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 @Component
 @Order(2)
+@RequiredArgsConstructor
 public class RateLimitingFilter implements Filter {
 
-    // Storage for rate limit buckets (IP:endpointGroup -> Bucket)
-    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
-
-    // Cleanup old buckets periodically to prevent memory leak
-    private static final long CLEANUP_INTERVAL_MS = TimeUnit.MINUTES.toMillis(10);
-    private long lastCleanup = System.currentTimeMillis();
+    private final RateLimiterService rateLimiterService;
+    private final MeterRegistry meterRegistry;
 
     /** General window duration in seconds (applies to admin + general groups). */
     @Value("${app.rate-limit.window-seconds:1}")
@@ -72,24 +70,23 @@ public class RateLimitingFilter implements Filter {
         
         // Determine rate limit and window based on endpoint
         int limit = determineRateLimit(requestURI);
-        long windowMs = determineWindowMs(requestURI);
-
-        // Create bucket key (IP + endpoint pattern for better isolation)
-        String bucketKey = clientIp + ":" + getEndpointPattern(requestURI);
+        long window = determineWindowSeconds(requestURI);
 
-        // Get or create token bucket for this client+group
-        TokenBucket bucket = buckets.computeIfAbsent(bucketKey, k -> new TokenBucket(limit, windowMs));
+        // Bucket key (IP + endpoint pattern for better isolation). The "filter:" prefix keeps
+        // these counters apart from RateLimitingInterceptor's per-endpoint counters.
+        String endpointPattern = getEndpointPattern(requestURI);
+        String bucketKey = "filter:" + clientIp + ":" + endpointPattern;
 
-        // Try to consume a token
-        if (bucket.tryConsume()) {
+        if (rateLimiterService.isAllowed(bucketKey, limit, window)) {
             // Request allowed, proceed
             chain.doFilter(request, response);
         } else {
             // Rate limit exceeded
-            long retryAfterSeconds = bucket.getTimeUntilRefill();
+            long retryAfterSeconds = rateLimiterService.retryAfterSeconds(bucketKey, window);
 
             log.warn("Rate limit exceeded for IP: {} on endpoint: {} (limit: {}/{}s)",
-                clientIp, requestURI, limit, windowMs / 1000);
+                clientIp, requestURI, limit, window);
+            meterRegistry.counter("ratelimit.rejections", "layer", "filter", "bucket", endpointPattern).increment();
             
             httpResponse.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             httpResponse.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
@@ -101,9 +98,6 @@ public class RateLimitingFilter implements Filter {
                 retryAfterSeconds, retryAfterSeconds
             ));
         }
-        
-        // Periodic cleanup of old buckets
-        cleanupOldBuckets();
     }
     
     /**
@@ -159,14 +153,14 @@ public class RateLimitingFilter implements Filter {
     }
 
     /**
-     * Determine the window duration in milliseconds for the given URI.
+     * Determine the window duration in seconds for the given URI.
      * Auth/OTP endpoints use a longer window for stronger brute-force protection.
      */
-    private long determineWindowMs(String uri) {
+    private long determineWindowSeconds(String uri) {
         if (uri.startsWith("/api/auth/login") || uri.startsWith("/api/auth/otp")) {
-            return TimeUnit.SECONDS.toMillis(authLoginWindowSeconds);
+            return authLoginWindowSeconds;
         }
-        return TimeUnit.SECONDS.toMillis(windowSeconds);
+        return windowSeconds;
     }
     
     /**
@@ -182,114 +176,9 @@ public class RateLimitingFilter implements Filter {
         return "general";
     }
     
-    /**
-     * Cleanup old buckets that haven't been used recently
-     * Prevents memory leak from accumulating buckets
-     */
-    private void cleanupOldBuckets() {
-        long now = System.currentTimeMillis();
-        if (now - lastCleanup > CLEANUP_INTERVAL_MS) {
-            int sizeBefore = buckets.size();
-            buckets.entrySet().removeIf(entry -> 
-                now - entry.getValue().getLastAccessTime() > CLEANUP_INTERVAL_MS
-            );
-            int sizeAfter = buckets.size();
-            if (sizeBefore != sizeAfter) {
-                log.info("Cleaned up {} old rate limit buckets ({} -> {})", 
-                    sizeBefore - sizeAfter, sizeBefore, sizeAfter);
-            }
-            lastCleanup = now;
-        }
-    }
-    
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         log.info("Rate limiting filter initialized - Login: {}/{}s, Admin: {}/{}s, General: {}/{}s",
             loginLimit, authLoginWindowSeconds, adminLimit, windowSeconds, generalLimit, windowSeconds);
     }
-    
-    @Override
-    public void destroy() {
-        buckets.clear();
-    }
-    
-    /**
-     * Token bucket implementation for rate limiting.
-     *
-     * Algorithm:
-     * - Bucket starts full (capacity = tokensPerWindow)
-     * - One token is added every (windowMs / tokensPerWindow) milliseconds
-     * - Each request consumes 1 token; rejected when empty
-     * - Window duration is configurable (default: 1 second → 100 tokens/s)
-     */
-    private static class TokenBucket {
-        private final int capacity;
-        private final long refillIntervalMs;
-        private int tokens;
-        private long lastRefillTime;
-        private long lastAccessTime;
-
-        /**
-         * @param tokensPerWindow maximum requests allowed within windowMs
-         * @param windowMs        window duration in milliseconds
-         */
-        public TokenBucket(int tokensPerWindow, long windowMs) {
-            this.capacity = tokensPerWindow;
-            this.tokens = tokensPerWindow;
-            // How many ms between each token refill
-            this.refillIntervalMs = Math.max(1, windowMs / tokensPerWindow);
-            this.lastRefillTime = System.currentTimeMillis();
-            this.lastAccessTime = System.currentTimeMillis();
-        }
-        
-        /**
-         * Try to consume one token
-         * Returns true if successful, false if rate limit exceeded
-         */
-        public synchronized boolean tryConsume() {
-            refill();
-            lastAccessTime = System.currentTimeMillis();
-            
-            if (tokens > 0) {
-                tokens--;
-                return true;
-            }
-            return false;
-        }
-        
-        /**
-         * Refill tokens based on elapsed time
-         */
-        private void refill() {
-            long now = System.currentTimeMillis();
-            long timeSinceLastRefill = now - lastRefillTime;
-            
-            // Calculate how many tokens to add
-            int tokensToAdd = (int) (timeSinceLastRefill / refillIntervalMs);
-            
-            if (tokensToAdd > 0) {
-                tokens = Math.min(capacity, tokens + tokensToAdd);
-                lastRefillTime = now;
-            }
-        }
-        
-        /**
-         * Get time until next token is available (in seconds)
-         */
-        public synchronized long getTimeUntilRefill() {
-            if (tokens > 0) {
-                return 0;
-            }
-            long timeSinceLastRefill = System.currentTimeMillis() - lastRefillTime;
-            long timeUntilNextToken = refillIntervalMs - timeSinceLastRefill;
-            return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeUntilNextToken));
-        }
-        
-        /**
-         * Get last access time for cleanup purposes
-         */
-        public long getLastAccessTime() {
-            return lastAccessTime;
-        }
-    }
 }
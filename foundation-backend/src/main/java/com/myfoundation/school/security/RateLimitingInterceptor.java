@@ -1,5 +1,6 @@
 package com.myfoundation.school.security;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -33,6 +34,7 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
 
     private final RateLimiterService rateLimiterService;
     private final ClientIpExtractor clientIpExtractor;
+    private final MeterRegistry meterRegistry;
 
     // ── Window configuration ────────────────────────────────────────────────
 
@@ -116,6 +118,7 @@ public class RateLimitingInterceptor implements HandlerInterceptor {
         boolean allowed = rateLimiterService.isAllowed(client + ":" + matchedPrefix, config.maxRequests, config.windowSeconds);
         if (!allowed) {
             log.warn("Rate limit exceeded for {} on path {} (limit={} per {}s)", client, path, config.maxRequests, config.windowSeconds);
+            meterRegistry.counter("ratelimit.rejections", "layer", "endpoint", "bucket", matchedPrefix).increment();
             response.setStatus(429);
             response.setHeader("Retry-After", String.valueOf(config.windowSeconds));
             return false;
@@ -7,13 +7,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -23,6 +23,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Arrays;
 import java.util.List;
 
@@ -60,6 +62,9 @@ public class SecurityConfig {
     @Value("${springdoc.swagger-ui.enabled:false}")
     private boolean swaggerEnabled;
 
+    @Value("${app.metrics.scrape-token:}")
+    private String metricsScrapeToken;
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Autowired(required = false)
@@ -70,11 +75,36 @@ public class SecurityConfig {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
     }
     
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    /**
+     * BCrypt on a bounded pool (see {@link BoundedPasswordEncoder}). The cost is calibrated at
+     * startup to app.auth.password-hashing.target-ms unless fixed-cost is set; it never drops
+     * below min-cost.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.auth.password-hashing.fixed-cost:0}") int fixedCost,
+            @Value("${app.auth.password-hashing.target-ms:250}") long targetMs,
+            @Value("${app.auth.password-hashing.min-cost:12}") int minCost,
+            @Value("${app.auth.password-hashing.max-cost:14}") int maxCost,
+            @Value("${app.auth.password-hashing.threads:0}") int threads,
+            @Value("${app.auth.password-hashing.queue-capacity:16}") int queueCapacity,
+            @Value("${app.auth.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        int cost = fixedCost > 0 ? fixedCost : BoundedPasswordEncoder.calibrateCost(targetMs, minCost, maxCost);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        log.info("Password hashing: BCrypt cost {}, {} thread(s), queue capacity {}", cost, poolSize, queueCapacity);
+        return new BoundedPasswordEncoder(cost, poolSize, queueCapacity, timeoutMs);
     }
     
+    private boolean hasScrapeToken(HttpServletRequest request) {
+        if (metricsScrapeToken == null || metricsScrapeToken.isBlank()) {
+            return false;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        return header != null && header.startsWith("Bearer ") && MessageDigest.isEqual(
+            header.substring(7).getBytes(StandardCharsets.UTF_8),
+            metricsScrapeToken.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         log.info("Configuring Security Filter Chain with FRONTEND_URL: {}", frontendUrl);
@@ -156,6 +186,12 @@ public class SecurityConfig {
 
                     // Health check
                     .requestMatchers("/actuator/health").permitAll()
+                    // Prometheus scrape: ADMIN session or the configured scrape token
+                    .requestMatchers("/actuator/prometheus").access((authentication, context) ->
+                        new AuthorizationDecision(hasScrapeToken(context.getRequest())
+                            || authentication.get().getAuthorities().stream()
+                                .anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()))))
+                    .requestMatchers("/actuator/**").hasRole("ADMIN")
                     
                     // Swagger/API docs — only accessible when enabled (dev profile)
                     ;
@@ -276,7 +312,7 @@ public class SecurityConfig {
             "GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"
         ));
         
-        // Allow common headers + Stripe webhook signature + CSRF
+        // Allow common headers + Stripe webhook signature + CSRF + checkout idempotency key
         configuration.setAllowedHeaders(Arrays.asList(
             "Authorization",
             "Content-Type",
@@ -284,7 +320,8 @@ public class SecurityConfig {
             "Origin",
             "X-Requested-With",
             "Stripe-Signature",
-            "X-XSRF-TOKEN"
+            "X-XSRF-TOKEN",
+            "Idempotency-Key"
         ));
         
         // Expose headers that frontend might need to read + CSRF token
@@ -0,0 +1,75 @@
+package com.myfoundation.school.security;
+
+/**
+ * Traffic classes used by {@link BulkheadFilter} to keep one kind of traffic from starving
+ * another. Each class is assigned by route prefix and gets its own {@link Bulkhead}.
+ *
+ * Default sizing keeps CMS reads + admin (the classes that can burst or run long) well below
+ * Tomcat's 200 worker threads, so checkout and the Stripe webhook always find a free thread.
+ */
+public enum TrafficClass {
+
+    /** POST /api/donations/stripe/webhook — Stripe retries on 5xx, but we never want it queued behind reads. */
+    WEBHOOK("webhook", 20, 20, 5000),
+
+    /** Everything else under /api/donations/stripe/ (checkout creation, verify). */
+    CHECKOUT("checkout", 40, 20, 2000),
+
+    /** /api/admin/**, /api/auth/users/**, /api/auth/admin/** — dashboards, exports, CMS edits. */
+    ADMIN("admin", 20, 10, 5000),
+
+    /** Remaining public GET/HEAD /api/** requests — homepage, campaigns, CMS content, stats. */
+    CMS_READS("cms-reads", 80, 40, 1000),
+
+    /** Auth flows, contact form and other writes. Not bulkheaded. */
+    OTHER("other", 0, 0, 0);
+
+    private final String key;
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxQueue;
+    private final long defaultMaxWaitMs;
+
+    TrafficClass(String key, int defaultMaxConcurrent, int defaultMaxQueue, long defaultMaxWaitMs) {
+        this.key = key;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultMaxQueue = defaultMaxQueue;
+        this.defaultMaxWaitMs = defaultMaxWaitMs;
+    }
+
+    /** Property/metric key, e.g. {@code app.bulkhead.cms-reads.max-concurrent}. */
+    public String getKey() {
+        return key;
+    }
+
+    int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    int getDefaultMaxQueue() {
+        return defaultMaxQueue;
+    }
+
+    long getDefaultMaxWaitMs() {
+        return defaultMaxWaitMs;
+    }
+
+    /**
+     * Assigns a request to a traffic class by route prefix.
+     */
+    public static TrafficClass classify(String uri, String method) {
+        if (uri.startsWith("/api/donations/stripe/webhook")) {
+            return WEBHOOK;
+        }
+        if (uri.startsWith("/api/donations/stripe/")) {
+            return CHECKOUT;
+        }
+        if (uri.startsWith("/api/admin") || uri.startsWith("/api/auth/users") || uri.startsWith("/api/auth/admin")) {
+            return ADMIN;
+        }
+        if (("GET".equals(method) || "HEAD".equals(method))
+                && uri.startsWith("/api/") && !uri.startsWith("/api/auth")) {
+            return CMS_READS;
+        }
+        return OTHER;
+    }
+}
@@ -1,15 +1,19 @@
 package com.myfoundation.school.stats;
 
+import com.myfoundation.school.campaign.Campaign;
 import com.myfoundation.school.campaign.CampaignRepository;
 import com.myfoundation.school.donation.DonationRepository;
-import com.myfoundation.school.donation.DonationStatus;
+import com.myfoundation.school.util.ParallelReadExecutor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 /**
  * Service for computing public statistics from database.
- * All KPIs are calculated in real-time.
+ * All KPIs are calculated in real-time; the independent queries run in parallel
+ * ({@link ParallelReadExecutor}).
  */
 @Service
 @RequiredArgsConstructor
@@ -18,6 +22,7 @@ public class StatsService {
     
     private final CampaignRepository campaignRepository;
     private final DonationRepository donationRepository;
+    private final ParallelReadExecutor parallelReads;
     
     /**
      * Compute all public statistics from the database.
@@ -26,44 +31,48 @@ public class StatsService {
      */
     public PublicStatsDTO getPublicStats() {
         log.info("Computing public statistics from database");
-        
-        // Lives Impacted: SUM of beneficiariesCount from active campaigns
-        Long livesImpacted = campaignRepository.findByActiveTrue()
-                .stream()
-                .map(campaign -> campaign.getBeneficiariesCount() != null ? campaign.getBeneficiariesCount() : 0)
-                .mapToLong(Integer::longValue)
-                .sum();
-        
-        // Active Campaigns: COUNT of active campaigns
-        Long activeCampaigns = (long) campaignRepository.findByActiveTrue().size();
-        
-        // Funds Raised: SUM of successful donation amounts
-        Long fundsRaised = donationRepository.findAll()
-                .stream()
-                .filter(donation -> donation.getStatus() == DonationStatus.SUCCESS)
-                .mapToLong(donation -> donation.getAmount())
-                .sum();
-        
-        // Success Rate: (SUCCESS / TOTAL) * 100
-        Long totalDonations = donationRepository.count();
-        Long successfulDonations = donationRepository.findAll()
-                .stream()
-                .filter(donation -> donation.getStatus() == DonationStatus.SUCCESS)
-                .count();
-        
-        Double successRate = null;
-        if (totalDonations > 0) {
-            successRate = (successfulDonations.doubleValue() / totalDonations.doubleValue()) * 100.0;
+
+        try (ParallelReadExecutor.Scope scope = parallelReads.open("public_stats")) {
+            var activeCampaignList = scope.fork("active_campaigns", campaignRepository::findByActiveTrue, null);
+            var fundsRaised = scope.fork("funds_raised", donationRepository::sumAllSuccessfulDonations, null);
+            var successfulDonations = scope.fork("successful_donations", donationRepository::countSuccessfulDonations, null);
+            var totalDonations = scope.fork("total_donations", donationRepository::count, null);
+            scope.join();
+
+            // Lives Impacted: SUM of beneficiariesCount from active campaigns
+            // Active Campaigns: COUNT of active campaigns
+            Long livesImpacted = null;
+            Long activeCampaigns = null;
+            List<Campaign> campaigns = activeCampaignList.get();
+            if (campaigns != null) {
+                livesImpacted = campaigns.stream()
+                        .map(campaign -> campaign.getBeneficiariesCount() != null ? campaign.getBeneficiariesCount() : 0)
+                        .mapToLong(Integer::longValue)
+                        .sum();
+                activeCampaigns = (long) campaigns.size();
+            }
+
+            // Success Rate: (SUCCESS / TOTAL) * 100
+            Double successRate = null;
+            Long total = totalDonations.get();
+            Long successful = successfulDonations.get();
+            if (total != null && successful != null && total > 0) {
+                successRate = (successful.doubleValue() / total.doubleValue()) * 100.0;
+            }
+
+            // A missing figure is left null for the client to hide rather than failing the whole response
+            if (scope.isPartial()) {
+                log.warn("Public stats are partial - at least one query failed or timed out");
+            }
+            log.info("Stats computed - Lives: {}, Campaigns: {}, Funds: {}, Success Rate: {}%",
+                    livesImpacted, activeCampaigns, fundsRaised.get(), successRate);
+
+            return PublicStatsDTO.builder()
+                    .livesImpacted(livesImpacted)
+                    .activeCampaigns(activeCampaigns)
+                    .fundsRaised(fundsRaised.get())
+                    .successRate(successRate)
+                    .build();
         }
-        
-        log.info("Stats computed - Lives: {}, Campaigns: {}, Funds: {}, Success Rate: {}%", 
-                livesImpacted, activeCampaigns, fundsRaised, successRate);
-        
-        return PublicStatsDTO.builder()
-                .livesImpacted(livesImpacted)
-                .activeCampaigns(activeCampaigns)
-                .fundsRaised(fundsRaised)
-                .successRate(successRate)
-                .build();
     }
 }
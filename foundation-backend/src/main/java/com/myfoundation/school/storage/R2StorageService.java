@@ -1,5 +1,7 @@
 package com.myfoundation.school.storage;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -14,13 +16,19 @@ import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.utils.StringUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class R2StorageService {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${storage.r2.endpoint}")
     private String endpoint;
 
@@ -37,14 +45,35 @@ public class R2StorageService {
     private String publicBaseUrl;
 
     public String upload(String key, byte[] bytes, String contentType) {
+        return put(key, RequestBody.fromBytes(bytes), bytes != null ? bytes.length : 0, contentType);
+    }
+
+    /** Uploads a file straight from disk, for objects too large to hold in memory. */
+    public String upload(String key, Path file, String contentType) {
+        long size;
+        try {
+            size = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return put(key, RequestBody.fromFile(file), size, contentType);
+    }
+
+    private String put(String key, RequestBody body, long size, String contentType) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
         try (S3Client client = buildClient()) {
             PutObjectRequest put = PutObjectRequest.builder()
                     .bucket(bucket)
                     .key(key)
                     .contentType(contentType)
                     .build();
-            client.putObject(put, RequestBody.fromBytes(bytes));
+            client.putObject(put, body);
+            outcome = "success";
             return buildPublicUrl(key);
+        } finally {
+            sample.stop(meterRegistry.timer("storage.upload", "outcome", outcome));
+            meterRegistry.summary("storage.upload.bytes", "outcome", outcome).record(size);
         }
     }
 
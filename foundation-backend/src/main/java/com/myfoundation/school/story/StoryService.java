@@ -6,6 +6,7 @@ import com.myfoundation.school.registration.RegistrationInfoService;
 import com.myfoundation.school.registration.RegistrationStatus;
 import com.myfoundation.school.story.dto.StoryReorderRequest;
 import com.myfoundation.school.story.dto.StoryUpsertRequest;
+import com.myfoundation.school.util.SortOrderRewriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,9 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Admin CRUD + registration-gated public read for {@link Story}.
@@ -36,6 +35,7 @@ public class StoryService {
     private final StoryRepository repository;
     private final RegistrationInfoService registrationInfoService;
     private final AuditLogService auditLogService;
+    private final SortOrderRewriter sortOrderRewriter;
 
     // --- reads -----------------------------------------------------------------
 
@@ -123,29 +123,12 @@ public class StoryService {
     @Transactional
     public List<Story> reorder(StoryReorderRequest request) {
         String actor = currentUser();
-        List<Story> all = repository.findAll();
-        Map<Long, Story> byId = new HashMap<>();
-        for (Story s : all) {
-            byId.put(s.getId(), s);
-        }
-        int pos = 10;
-        for (Long id : request.orderedIds()) {
-            Story s = byId.get(id);
-            if (s == null) {
-                throw new EntityNotFoundException("Story not found: " + id);
-            }
-            s.setSortOrder(pos);
-            s.setUpdatedAt(Instant.now());
-            s.setUpdatedBy(actor);
-            pos += 10;
-        }
-        List<Story> saved = repository.saveAll(all);
+        sortOrderRewriter.reorder(Story.class, "Story",
+                request.orderedIds(), request.expectedVersions(), actor);
         auditLogService.log(AuditAction.SETTINGS_UPDATED, "Story",
                 "reorder", actor,
                 "reordered stories: " + request.orderedIds());
-        return saved.stream()
-                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .toList();
+        return repository.findAllByOrderBySortOrderAscIdAsc();
     }
 
     private static String trimToNull(String value) {
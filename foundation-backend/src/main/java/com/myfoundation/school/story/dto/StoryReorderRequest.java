@@ -8,8 +8,12 @@ import java.util.List;
  * IDs in the order they should appear after the reorder. Service rewrites every row's
  * {@code sort_order} on a 10-step grid so future drag-and-drop can be done client-side
  * with halve-the-gap insertion if needed.
+ * Optional {@code expectedVersions} are the row versions the admin loaded, in the same
+ * order; see {@code SortOrderRewriter}.
  */
 public record StoryReorderRequest(
         @NotEmpty(message = "orderedIds must not be empty")
-        List<Long> orderedIds
+        List<Long> orderedIds,
+
+        List<Long> expectedVersions
 ) {}
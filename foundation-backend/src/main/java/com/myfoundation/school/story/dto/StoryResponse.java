@@ -16,7 +16,8 @@ public record StoryResponse(
         boolean enabled,
         int sortOrder,
         Instant updatedAt,
-        String updatedBy
+        String updatedBy,
+        long version
 ) {
     public static StoryResponse from(Story s) {
         return new StoryResponse(
@@ -30,7 +31,8 @@ public record StoryResponse(
                 s.isEnabled(),
                 s.getSortOrder(),
                 s.getUpdatedAt(),
-                s.getUpdatedBy()
+                s.getUpdatedBy(),
+                s.getVersion()
         );
     }
 }
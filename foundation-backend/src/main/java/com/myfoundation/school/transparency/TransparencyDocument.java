@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -73,6 +74,11 @@ public class TransparencyDocument {
     @Column(name = "updated_by", length = 120)
     private String updatedBy;
 
+    /** Optimistic lock; {@code SortOrderRewriter} also bumps it on every reorder. */
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     @PreUpdate
     protected void onUpdate() {
         updatedAt = Instant.now();
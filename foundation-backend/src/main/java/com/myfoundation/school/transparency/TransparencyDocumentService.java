@@ -4,6 +4,7 @@ import com.myfoundation.school.audit.AuditAction;
 import com.myfoundation.school.audit.AuditLogService;
 import com.myfoundation.school.transparency.dto.TransparencyDocumentReorderRequest;
 import com.myfoundation.school.transparency.dto.TransparencyDocumentUpsertRequest;
+import com.myfoundation.school.util.SortOrderRewriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,9 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Admin CRUD + public read for {@link TransparencyDocument}.
@@ -31,6 +30,7 @@ public class TransparencyDocumentService {
 
     private final TransparencyDocumentRepository repository;
     private final AuditLogService auditLogService;
+    private final SortOrderRewriter sortOrderRewriter;
 
     // --- reads -----------------------------------------------------------------
 
@@ -107,29 +107,12 @@ public class TransparencyDocumentService {
     @Transactional
     public List<TransparencyDocument> reorder(TransparencyDocumentReorderRequest request) {
         String actor = currentUser();
-        List<TransparencyDocument> all = repository.findAll();
-        Map<Long, TransparencyDocument> byId = new HashMap<>();
-        for (TransparencyDocument d : all) {
-            byId.put(d.getId(), d);
-        }
-        int pos = 10;
-        for (Long id : request.orderedIds()) {
-            TransparencyDocument d = byId.get(id);
-            if (d == null) {
-                throw new EntityNotFoundException("TransparencyDocument not found: " + id);
-            }
-            d.setSortOrder(pos);
-            d.setUpdatedAt(Instant.now());
-            d.setUpdatedBy(actor);
-            pos += 10;
-        }
-        List<TransparencyDocument> saved = repository.saveAll(all);
+        sortOrderRewriter.reorder(TransparencyDocument.class, "TransparencyDocument",
+                request.orderedIds(), request.expectedVersions(), actor);
         auditLogService.log(AuditAction.SETTINGS_UPDATED, "TransparencyDocument",
                 "reorder", actor,
                 "reordered transparency documents: " + request.orderedIds());
-        return saved.stream()
-                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .toList();
+        return repository.findAllByOrderBySortOrderAscIdAsc();
     }
 
     private static String trimToNull(String value) {
@@ -7,8 +7,12 @@ import java.util.List;
 /**
  * IDs in the order they should appear after the reorder. Service rewrites every row's
  * {@code sort_order} on a 10-step grid (mirrors {@code StoryService.reorder}).
+ * Optional {@code expectedVersions} are the row versions the admin loaded, in the same
+ * order; see {@code SortOrderRewriter}.
  */
 public record TransparencyDocumentReorderRequest(
         @NotEmpty(message = "orderedIds must not be empty")
-        List<Long> orderedIds
+        List<Long> orderedIds,
+
+        List<Long> expectedVersions
 ) {}
@@ -17,7 +17,8 @@ public record TransparencyDocumentResponse(
         boolean enabled,
         int sortOrder,
         Instant updatedAt,
-        String updatedBy
+        String updatedBy,
+        long version
 ) {
     public static TransparencyDocumentResponse from(TransparencyDocument d) {
         return new TransparencyDocumentResponse(
@@ -31,7 +32,8 @@ public record TransparencyDocumentResponse(
                 d.isEnabled(),
                 d.getSortOrder(),
                 d.getUpdatedAt(),
-                d.getUpdatedBy()
+                d.getUpdatedBy(),
+                d.getVersion()
         );
     }
 }
@@ -1,6 +1,9 @@
 package com.myfoundation.school.trustbadge;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,6 +12,7 @@ import java.util.Optional;
 @Repository
 public interface TrustBadgeRepository extends JpaRepository<TrustBadge, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TrustBadge> findAllByOrderBySortOrderAscIdAsc();
 
     Optional<TrustBadge> findBySlotKey(String slotKey);
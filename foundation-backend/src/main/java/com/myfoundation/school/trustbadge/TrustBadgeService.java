@@ -6,6 +6,7 @@ import com.myfoundation.school.registration.RegistrationInfoService;
 import com.myfoundation.school.registration.RegistrationStatus;
 import com.myfoundation.school.trustbadge.dto.TrustBadgeReorderRequest;
 import com.myfoundation.school.trustbadge.dto.TrustBadgeUpsertRequest;
+import com.myfoundation.school.util.SortOrderRewriter;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,9 +15,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Admin CRUD + public read for {@link TrustBadge}.
@@ -35,6 +34,7 @@ public class TrustBadgeService {
     private final TrustBadgeRepository repository;
     private final RegistrationInfoService registrationInfoService;
     private final AuditLogService auditLogService;
+    private final SortOrderRewriter sortOrderRewriter;
 
     // --- reads -----------------------------------------------------------------
 
@@ -127,34 +127,18 @@ public class TrustBadgeService {
     /**
      * Assigns contiguous 10-step {@code sort_order} values based on the order of IDs in
      * the request. IDs missing from {@code orderedIds} keep their previous sort_order —
-     * which is fine because they sort after the reordered items numerically.
+     * which is fine because they sort after the reordered items numerically. Applied in one
+     * statement by {@link SortOrderRewriter}, which rejects stale {@code expectedVersions}.
      */
     @Transactional
     public List<TrustBadge> reorder(TrustBadgeReorderRequest request) {
         String actor = currentUser();
-        List<TrustBadge> all = repository.findAll();
-        Map<Long, TrustBadge> byId = new HashMap<>();
-        for (TrustBadge b : all) {
-            byId.put(b.getId(), b);
-        }
-        int pos = 10;
-        for (Long id : request.orderedIds()) {
-            TrustBadge b = byId.get(id);
-            if (b == null) {
-                throw new EntityNotFoundException("Trust badge not found: " + id);
-            }
-            b.setSortOrder(pos);
-            b.setUpdatedAt(Instant.now());
-            b.setUpdatedBy(actor);
-            pos += 10;
-        }
-        List<TrustBadge> saved = repository.saveAll(all);
+        sortOrderRewriter.reorder(TrustBadge.class, "Trust badge",
+                request.orderedIds(), request.expectedVersions(), actor);
         auditLogService.log(AuditAction.SETTINGS_UPDATED, "TrustBadge",
                 "reorder", actor,
                 "reordered trust badges: " + request.orderedIds());
-        return saved.stream()
-                .sorted((a, b) -> Integer.compare(a.getSortOrder(), b.getSortOrder()))
-                .toList();
+        return repository.findAllByOrderBySortOrderAscIdAsc();
     }
 
     private static String currentUser() {
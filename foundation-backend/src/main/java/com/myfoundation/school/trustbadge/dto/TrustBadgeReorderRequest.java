@@ -7,8 +7,12 @@ import java.util.List;
 /**
  * Reorder payload: the ordered list of IDs in their new desired order. The service
  * will assign contiguous {@code sort_order} values (10, 20, 30, …) based on position.
+ * Optional {@code expectedVersions} are the row versions the admin loaded, in the same
+ * order; see {@code SortOrderRewriter}.
  */
 public record TrustBadgeReorderRequest(
         @NotEmpty
-        List<Long> orderedIds
+        List<Long> orderedIds,
+
+        List<Long> expectedVersions
 ) {}
@@ -17,7 +17,8 @@ public record TrustBadgeResponse(
         boolean registrationGated,
         int sortOrder,
         Instant updatedAt,
-        String updatedBy
+        String updatedBy,
+        long version
 ) {
     public static TrustBadgeResponse from(TrustBadge b) {
         return new TrustBadgeResponse(
@@ -32,7 +33,8 @@ public record TrustBadgeResponse(
                 b.isRegistrationGated(),
                 b.getSortOrder(),
                 b.getUpdatedAt(),
-                b.getUpdatedBy()
+                b.getUpdatedBy(),
+                b.getVersion()
         );
     }
 }
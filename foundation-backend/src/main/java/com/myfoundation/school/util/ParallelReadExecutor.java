@@ -0,0 +1,245 @@
+package com.myfoundation.school.util;
+
+import com.myfoundation.school.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent read-only queries concurrently on virtual threads, so a page built from
+ * several aggregates costs about its slowest query instead of the sum of all of them.
+ *
+ * <pre>
+ * try (ParallelReadExecutor.Scope scope = parallelReads.open("dashboard")) {
+ *     var raised = scope.fork("total_raised", repository::sumAll, 0L);
+ *     var donors = scope.fork("donor_count", repository::countDonors, 0L);
+ *     scope.join();
+ *     return new Stats(raised.get(), donors.get());
+ * }
+ * </pre>
+ *
+ * Each subtask runs in its own read-only transaction. All subtasks of a scope share one deadline
+ * ({@code timeout-ms} from {@link #open}); a subtask that is late or fails is cancelled and
+ * yields its fallback, and {@link Scope#isPartial()} reports it, so the page still renders.
+ * Closing the scope cancels anything still running, so no subtask outlives the request.
+ *
+ * Subtasks run inline on the caller thread instead when the caller is already in a transaction
+ * (another transaction could not see its uncommitted writes), or when {@code max-in-flight}
+ * subtasks are already running across the application, which keeps the fan-out from draining
+ * the connection pool. Queries on virtual threads are not attributed to the request's
+ * {@link com.myfoundation.school.diagnostics.RequestQueryStats}; the MDC and a
+ * {@link ReplicaRoutingDataSource#pinToPrimary() primary pin} are carried over.
+ *
+ * Every subtask is timed in {@code parallel.reads} (scope, query, outcome: success, timeout,
+ * error; mode: parallel or inline).
+ *
+ * Configuration:
+ * - app.parallel-reads.timeout-ms     – deadline per scope (default: 2000)
+ * - app.parallel-reads.max-in-flight  – subtasks running at once, application-wide (default: 6)
+ */
+@Slf4j
+@Component
+public class ParallelReadExecutor implements DisposableBean {
+
+    private final TransactionOperations readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMs;
+    private final Semaphore inFlight;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public ParallelReadExecutor(PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.parallel-reads.timeout-ms:2000}") long timeoutMs,
+                                @Value("${app.parallel-reads.max-in-flight:6}") int maxInFlight) {
+        this(readOnlyTemplate(transactionManager, timeoutMs), meterRegistry, timeoutMs, maxInFlight);
+    }
+
+    public ParallelReadExecutor(TransactionOperations readOnlyTransaction,
+                                MeterRegistry meterRegistry,
+                                long timeoutMs,
+                                int maxInFlight) {
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMs = timeoutMs;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    private static TransactionTemplate readOnlyTemplate(PlatformTransactionManager transactionManager, long timeoutMs) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        // Also stops the statement on the database once the deadline has passed
+        template.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        return template;
+    }
+
+    public Scope open(String name) {
+        return new Scope(name, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** A group of subtasks with one deadline. Not thread-safe: fork, join and close from one thread. */
+    public final class Scope implements AutoCloseable {
+
+        private final String name;
+        private final long deadlineNanos;
+        private final boolean inline;
+        private final List<Subtask<?>> subtasks = new ArrayList<>();
+        private boolean partial;
+
+        private Scope(String name, long deadlineNanos) {
+            this.name = name;
+            this.deadlineNanos = deadlineNanos;
+            this.inline = TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        /** Starts {@code read}; its value, or {@code fallback}, is available from the subtask after {@link #join}. */
+        public <T> Subtask<T> fork(String query, Supplier<T> read, T fallback) {
+            Subtask<T> subtask = new Subtask<>(query, fallback);
+            subtasks.add(subtask);
+            if (inline || !inFlight.tryAcquire()) {
+                runInline(subtask, read);
+                return subtask;
+            }
+            subtask.permitHeld.set(true);
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            boolean pinnedToPrimary = ReplicaRoutingDataSource.isPinnedToPrimary();
+            subtask.future = executor.submit(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try {
+                    return ReplicaRoutingDataSource.callPinned(pinnedToPrimary,
+                            () -> readOnlyTransaction.execute(status -> read.get()));
+                } finally {
+                    MDC.clear();
+                    subtask.releasePermit();
+                }
+            });
+            return subtask;
+        }
+
+        /** Waits for every subtask until the deadline. Late or failed subtasks fall back. */
+        public Scope join() {
+            for (Subtask<?> subtask : subtasks) {
+                if (subtask.future != null && !subtask.done) {
+                    await(subtask);
+                }
+            }
+            return this;
+        }
+
+        /** True if any subtask yielded its fallback instead of a result. */
+        public boolean isPartial() {
+            return partial;
+        }
+
+        @Override
+        public void close() {
+            for (Subtask<?> subtask : subtasks) {
+                if (subtask.future != null && !subtask.future.isDone()) {
+                    subtask.future.cancel(true);
+                    subtask.releasePermit();
+                }
+            }
+        }
+
+        private <T> void runInline(Subtask<T> subtask, Supplier<T> read) {
+            long start = System.nanoTime();
+            try {
+                subtask.complete(readOnlyTransaction.execute(status -> read.get()));
+                record(subtask, "success", "inline", start);
+            } catch (RuntimeException e) {
+                fail(subtask, "error", "inline", start, e);
+            }
+        }
+
+        private <T> void await(Subtask<T> subtask) {
+            long remaining = deadlineNanos - System.nanoTime();
+            try {
+                subtask.complete(subtask.future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+                record(subtask, "success", "parallel", subtask.startNanos);
+            } catch (TimeoutException e) {
+                subtask.future.cancel(true);
+                subtask.releasePermit();
+                fail(subtask, "timeout", "parallel", subtask.startNanos, e);
+            } catch (ExecutionException e) {
+                fail(subtask, "error", "parallel", subtask.startNanos, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                subtask.future.cancel(true);
+                fail(subtask, "error", "parallel", subtask.startNanos, e);
+            }
+        }
+
+        private void fail(Subtask<?> subtask, String outcome, String mode, long start, Throwable cause) {
+            subtask.done = true;
+            partial = true;
+            record(subtask, outcome, mode, start);
+            log.warn("Parallel read {}.{} {} - using fallback: {}", name, subtask.query, outcome,
+                    cause != null ? cause.toString() : "no result");
+        }
+
+        private void record(Subtask<?> subtask, String outcome, String mode, long start) {
+            meterRegistry.timer("parallel.reads", "scope", name, "query", subtask.query,
+                    "outcome", outcome, "mode", mode).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** The result of one forked read. */
+    public final class Subtask<T> {
+
+        private final String query;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean permitHeld = new AtomicBoolean();
+        private volatile Future<T> future;
+        private volatile boolean done;
+        private T value;
+
+        private Subtask(String query, T fallback) {
+            this.query = query;
+            this.value = fallback;
+        }
+
+        private void complete(T result) {
+            this.value = result;
+            this.done = true;
+        }
+
+        private void releasePermit() {
+            if (permitHeld.compareAndSet(true, false)) {
+                inFlight.release();
+            }
+        }
+
+        /** The read's result, or its fallback if it failed or missed the deadline. Call after {@link Scope#join}. */
+        public T get() {
+            return value;
+        }
+    }
+}
@@ -7,6 +7,8 @@ import com.stripe.model.Charge;
 import com.stripe.model.Event;
 import com.stripe.model.checkout.Session;
 import com.stripe.net.Webhook;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -23,11 +25,24 @@ public class StripeWebhookController {
     private final StripeConfig stripeConfig;
     private final WebhookReplayGuard webhookReplayGuard;
     private final StripeEventRecordService eventRecordService;
+    private final MeterRegistry meterRegistry;
     
     @PostMapping("/webhook")
     public ResponseEntity<String> handleStripeWebhook(
             @RequestBody String payload,
             @RequestHeader("Stripe-Signature") String sigHeader) {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        WebhookResult result = processWebhook(payload, sigHeader);
+        sample.stop(meterRegistry.timer("stripe.webhook.events",
+                "type", result.eventType(), "outcome", result.outcome()));
+        return result.response();
+    }
+
+    /** Response plus the event type and outcome tags for the {@code stripe.webhook.events} timer. */
+    private record WebhookResult(String eventType, String outcome, ResponseEntity<String> response) {}
+
+    private WebhookResult processWebhook(String payload, String sigHeader) {
         
         log.info("[Webhook] Received Stripe webhook request");
         
@@ -41,22 +56,24 @@ public class StripeWebhookController {
             );
         } catch (SignatureVerificationException e) {
             log.error("[Webhook] Invalid webhook signature - potential security issue", e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid signature");
+            return new WebhookResult("unknown", "invalid_signature",
+                    ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid signature"));
         }
 
         if (!isTimestampFresh(event)) {
             log.warn("[Webhook] Event timestamp too old/new for id {}", event.getId());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("stale event");
+            return new WebhookResult(event.getType(), "stale",
+                    ResponseEntity.status(HttpStatus.BAD_REQUEST).body("stale event"));
         }
 
         if (webhookReplayGuard.isReplay(event.getId())) {
             log.warn("[Webhook] Replay detected for event id {}", event.getId());
-            return ResponseEntity.status(HttpStatus.OK).body("ignored");
+            return new WebhookResult(event.getType(), "duplicate", ResponseEntity.status(HttpStatus.OK).body("ignored"));
         }
 
         if (eventRecordService.isReplayAndRecord(event.getId())) {
             log.warn("[Webhook] Persistent replay detected for event id {}", event.getId());
-            return ResponseEntity.status(HttpStatus.OK).body("ignored");
+            return new WebhookResult(event.getType(), "duplicate", ResponseEntity.status(HttpStatus.OK).body("ignored"));
         }
 
         log.info("[Webhook] Processing event: {} (ID: {})", event.getType(), event.getId());
@@ -64,6 +81,7 @@ public class StripeWebhookController {
         // Handle the event — wrap in try-catch so any unexpected RuntimeException
         // (e.g. deserialization failure) returns 200 OK rather than 400/500,
         // preventing Stripe from retrying an event we have already acknowledged.
+        boolean handled = true;
         try {
             switch (event.getType()) {
                 case "checkout.session.completed":
@@ -83,16 +101,17 @@ public class StripeWebhookController {
                     break;
                 default:
                     log.info("[Webhook] Unhandled event type: {} - ignoring", event.getType());
+                    handled = false;
             }
         } catch (Exception e) {
             log.error("[Webhook] Unexpected error processing event {} (type={}): {}",
                     event.getId(), event.getType(), e.getMessage(), e);
             // Return 200 so Stripe does not retry; incident logged for manual investigation
-            return ResponseEntity.ok("processing_error");
+            return new WebhookResult(event.getType(), "error", ResponseEntity.ok("processing_error"));
         }
 
         log.info("[Webhook] Successfully processed event: {}", event.getId());
-        return ResponseEntity.ok("ok");
+        return new WebhookResult(event.getType(), handled ? "processed" : "ignored", ResponseEntity.ok("ok"));
     }
 
     private boolean isTimestampFresh(Event event) {
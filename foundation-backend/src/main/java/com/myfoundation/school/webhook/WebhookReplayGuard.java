@@ -1,5 +1,7 @@
 package com.myfoundation.school.webhook;
 
+import com.myfoundation.school.security.CounterStore;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -7,13 +9,20 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Simple in-memory replay guard keyed by Stripe event id.
+ * Replay guard keyed by Stripe event id.
+ *
+ * <p>The authoritative "seen" marker lives in the configured {@link CounterStore}, so a replay
+ * delivered to a different instance is still caught when a shared store is configured. Ids this
+ * instance has already seen are remembered locally, so repeated replays never reach the store.</p>
  */
 @Component
+@RequiredArgsConstructor
 public class WebhookReplayGuard {
 
     private static final long TTL_SECONDS = 24 * 60 * 60;
+    private static final String MARKER_PREFIX = "stripe-event:";
 
+    private final CounterStore counterStore;
     private final Map<String, Long> seen = new ConcurrentHashMap<>();
 
     public boolean isReplay(String eventId) {
@@ -22,8 +31,12 @@ public class WebhookReplayGuard {
         }
         long now = Instant.now().getEpochSecond();
         cleanup(now);
-        Long existing = seen.putIfAbsent(eventId, now);
-        return existing != null;
+        if (seen.containsKey(eventId)) {
+            return true;
+        }
+        boolean firstDelivery = counterStore.markIfAbsent(MARKER_PREFIX + eventId, TTL_SECONDS);
+        seen.putIfAbsent(eventId, now);
+        return !firstDelivery;
     }
 
     private void cleanup(long nowSeconds) {
@@ -0,0 +1,23 @@
+-- V37: Shared rate-limit / replay-guard state for multi-instance deployments
+-- Used by PostgresCounterStore when app.rate-limit.store=postgres.
+-- UNLOGGED: no WAL traffic; contents are truncated after a crash, which is fine for
+-- throttling counters that expire within an hour anyway.
+
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_counters (
+    counter_key VARCHAR(255) NOT NULL,
+    bucket      BIGINT       NOT NULL,
+    hits        BIGINT       NOT NULL DEFAULT 0,
+    expires_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (counter_key, bucket)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_counters_expires
+    ON rate_limit_counters (expires_at);
+
+CREATE UNLOGGED TABLE IF NOT EXISTS rate_limit_markers (
+    marker_key VARCHAR(255) PRIMARY KEY,
+    expires_at TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_markers_expires
+    ON rate_limit_markers (expires_at);
@@ -0,0 +1,14 @@
+-- V38: Indexes for auth token lookups and the AuthTokenRetentionJob purge.
+-- Until now expired/used rows were only removed by deleteByUserId when a new token was issued.
+
+-- Purge scans: DELETE ... WHERE expires_at < cutoff
+CREATE INDEX IF NOT EXISTS idx_otp_tokens_expires_at ON otp_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_password_setup_tokens_expires_at ON password_setup_tokens (expires_at);
+
+-- Used rows are purged by created_at; partial so the index only holds purge candidates
+CREATE INDEX IF NOT EXISTS idx_otp_tokens_used_created_at ON otp_tokens (created_at) WHERE used = TRUE;
+CREATE INDEX IF NOT EXISTS idx_password_setup_tokens_used_created_at ON password_setup_tokens (created_at) WHERE used = TRUE;
+
+-- verifyOtp: latest unused token for a user; deleteByUserId on both tables
+CREATE INDEX IF NOT EXISTS idx_otp_tokens_user_active ON otp_tokens (user_id, created_at DESC) WHERE used = FALSE;
+CREATE INDEX IF NOT EXISTS idx_password_setup_tokens_user_id ON password_setup_tokens (user_id);
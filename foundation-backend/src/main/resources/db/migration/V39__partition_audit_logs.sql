@@ -0,0 +1,60 @@
+-- V39__partition_audit_logs.sql
+-- Converts audit_logs into a table range-partitioned by calendar month (UTC) on "timestamp".
+-- This migration only creates the partitions needed for existing rows plus the current and
+-- next month; AuditLogPartitionManager creates later months ahead of time and detaches,
+-- archives and drops old ones.
+--
+-- A partitioned table's primary key must include the partition key, hence (id, timestamp).
+-- Ids are still random UUIDs, so the entity keeps mapping id alone.
+
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+
+CREATE TABLE audit_logs (
+    id VARCHAR(36) NOT NULL,
+    action VARCHAR(50) NOT NULL,
+    entity_type VARCHAR(100),
+    entity_id VARCHAR(255),
+    actor_username VARCHAR(100) NOT NULL,
+    details TEXT,
+    ip_address VARCHAR(45),
+    timestamp TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+-- Safety net for rows outside every monthly partition (e.g. if the create-ahead job has not
+-- run for months). It is expected to stay empty.
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := date_trunc('month', (now() AT TIME ZONE 'UTC') + INTERVAL '1 month')::date;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(timestamp) AT TIME ZONE 'UTC'),
+                    date_trunc('month', now() AT TIME ZONE 'UTC'))::date
+      INTO month_start
+      FROM audit_logs_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF audit_logs FOR VALUES FROM (%L) TO (%L)',
+            'audit_logs_y' || to_char(month_start, 'YYYY') || 'm' || to_char(month_start, 'MM'),
+            to_char(month_start, 'YYYY-MM-DD') || ' 00:00:00+00',
+            to_char(month_start + INTERVAL '1 month', 'YYYY-MM-DD') || ' 00:00:00+00');
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO audit_logs (id, action, entity_type, entity_id, actor_username, details, ip_address, timestamp)
+SELECT id, action, entity_type, entity_id, actor_username, details, ip_address, timestamp
+  FROM audit_logs_legacy;
+
+DROP TABLE audit_logs_legacy;
+
+-- Indexes on the parent are created on every partition, including future ones.
+-- Each leads with the admin filter column and ends in the keyset sort order
+-- (timestamp DESC, id DESC), so a filtered page is one index range scan per partition.
+CREATE INDEX idx_audit_timestamp ON audit_logs (timestamp DESC, id DESC);
+CREATE INDEX idx_audit_action    ON audit_logs (action, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_actor     ON audit_logs (actor_username, timestamp DESC, id DESC);
+CREATE INDEX idx_audit_entity    ON audit_logs (entity_type, entity_id);
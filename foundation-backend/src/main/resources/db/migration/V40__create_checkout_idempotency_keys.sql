@@ -0,0 +1,19 @@
+-- V40: Client Idempotency-Key values for POST /api/donations/stripe/create
+-- One row per key: the request fingerprint it was first used with, the donation it created and,
+-- once Stripe answered, the checkout session returned for every duplicate. Rows expire after
+-- app.checkout.idempotency.ttl-hours and are purged in batches.
+
+CREATE TABLE IF NOT EXISTS checkout_idempotency_keys (
+    idempotency_key   VARCHAR(255) PRIMARY KEY,
+    request_hash      VARCHAR(64)  NOT NULL,
+    status            VARCHAR(20)  NOT NULL,
+    donation_id       VARCHAR(255),
+    stripe_session_id VARCHAR(255),
+    session_url       TEXT,
+    locked_until      TIMESTAMP    NOT NULL,
+    created_at        TIMESTAMP    NOT NULL,
+    expires_at        TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_checkout_idempotency_keys_expires
+    ON checkout_idempotency_keys (expires_at);
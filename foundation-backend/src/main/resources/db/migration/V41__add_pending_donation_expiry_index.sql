@@ -0,0 +1,3 @@
+-- V41: Index for the PendingDonationReaper, which moves abandoned PENDING donations to EXPIRED.
+-- Partial so the index only holds open checkouts; it stays small however many donations settle.
+CREATE INDEX IF NOT EXISTS idx_donations_pending_created_at ON donations (created_at) WHERE status = 'PENDING';
@@ -0,0 +1,12 @@
+-- V42: Progress of the StripeReconciliationJob, one row per Stripe list it pages through.
+-- Objects created before the watermark are known to be settled and are not listed again.
+
+CREATE TABLE IF NOT EXISTS reconciliation_watermarks (
+    name       VARCHAR(100) PRIMARY KEY,
+    watermark  TIMESTAMP    NOT NULL,
+    updated_at TIMESTAMP    NOT NULL
+);
+
+-- Reconciliation matches refunds to donations by payment intent, as does the charge.refunded webhook
+CREATE INDEX IF NOT EXISTS idx_donations_stripe_payment_intent
+    ON donations (stripe_payment_intent_id);
@@ -0,0 +1,9 @@
+-- V43: Optimistic-lock version on the admin-sortable content tables.
+-- SortOrderRewriter bumps it with every reorder and only rewrites rows whose version still
+-- matches what the admin loaded; JPA @Version uses the same column for single-row edits.
+ALTER TABLE faqs                   ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE stories                ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE trust_badges           ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE donation_presets       ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE transparency_documents ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE money_allocations      ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,14 @@
+-- V44: Chunked GDPR erasure (ErasureService).
+-- Erasure matches rows with lower(<email column>) = :email, so each table gets an expression
+-- index on exactly that; without one, every erasure request scanned the whole table.
+CREATE INDEX IF NOT EXISTS idx_donations_donor_email_lower ON donations (lower(donor_email));
+CREATE INDEX IF NOT EXISTS idx_contact_submissions_email_lower ON contact_submissions (lower(email));
+-- On the partitioned parent, so it is created on every partition, including future ones.
+CREATE INDEX IF NOT EXISTS idx_audit_actor_lower ON audit_logs (lower(actor_username));
+
+-- Progress per request. Every batch commits together with its counter update, so after an
+-- interruption the counters match what was erased and the request can be processed again.
+ALTER TABLE erasure_requests ADD COLUMN IF NOT EXISTS started_at TIMESTAMP;
+ALTER TABLE erasure_requests ADD COLUMN IF NOT EXISTS donations_anonymized INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE erasure_requests ADD COLUMN IF NOT EXISTS contact_submissions_anonymized INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE erasure_requests ADD COLUMN IF NOT EXISTS audit_logs_anonymized INTEGER NOT NULL DEFAULT 0;
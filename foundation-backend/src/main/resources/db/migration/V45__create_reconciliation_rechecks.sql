@@ -0,0 +1,13 @@
+-- V45: Stripe objects the StripeReconciliationJob has seen but that could still change (open or
+-- unpaid Checkout Sessions, pending refunds). They are retrieved again by id until they settle,
+-- so the list watermark no longer has to wait for them.
+
+CREATE TABLE IF NOT EXISTS reconciliation_rechecks (
+    object_id      VARCHAR(255) PRIMARY KEY,
+    source         VARCHAR(100) NOT NULL,
+    object_created TIMESTAMP    NOT NULL,
+    next_check_at  TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_reconciliation_rechecks_due
+    ON reconciliation_rechecks (source, next_check_at);
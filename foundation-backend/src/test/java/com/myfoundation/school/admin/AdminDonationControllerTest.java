@@ -5,12 +5,14 @@ import com.myfoundation.school.TestMailConfig;
 import com.myfoundation.school.auth.AdminUser;
 import com.myfoundation.school.auth.AdminUserRepository;
 import com.myfoundation.school.auth.UserRole;
+import com.myfoundation.school.campaign.CampaignRepository;
 import com.myfoundation.school.security.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -22,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 
+import static org.mockito.Mockito.doThrow;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +52,9 @@ class AdminDonationControllerTest {
     @Autowired
     private JwtService jwtService;
 
+    @SpyBean
+    private CampaignRepository campaignRepository;
+
     private String adminJwt;
 
     @BeforeEach
@@ -88,6 +94,28 @@ class AdminDonationControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    @WithMockUser(username = "admin_donations", roles = {"ADMIN"})
+    void getDashboardStats() throws Exception {
+        mockMvc.perform(get("/api/admin/dashboard/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminJwt))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRaised").value(0))
+                .andExpect(jsonPath("$.partial").value(false));
+    }
+
+    @Test
+    @WithMockUser(username = "admin_donations", roles = {"ADMIN"})
+    void getDashboardStats_FailedQueryIsFlaggedPartial() throws Exception {
+        doThrow(new IllegalStateException("connection reset")).when(campaignRepository).countByActiveTrue();
+
+        mockMvc.perform(get("/api/admin/dashboard/stats")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminJwt))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeCampaigns").value(0))
+                .andExpect(jsonPath("$.partial").value(true));
+    }
+
     // Campaign CRUD endpoints (5)
     @Test
     @WithMockUser(username = "admin_donations", roles = {"ADMIN"})
@@ -0,0 +1,105 @@
+package com.myfoundation.school.audit;
+
+import com.myfoundation.school.exception.ValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AuditLogKeysetPagingTest {
+
+    @Autowired
+    private AuditLogRepository repository;
+
+    private final Instant base = Instant.parse("2026-03-15T12:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            save(AuditAction.CAMPAIGN_UPDATED, "alice", base.minus(i, ChronoUnit.HOURS));
+        }
+        // Two rows sharing a timestamp: the id breaks the tie.
+        save(AuditAction.SETTINGS_UPDATED, "bob", base.minus(10, ChronoUnit.DAYS));
+        save(AuditAction.SETTINGS_UPDATED, "bob", base.minus(10, ChronoUnit.DAYS));
+    }
+
+    private void save(AuditAction action, String actor, Instant timestamp) {
+        repository.saveAndFlush(AuditLog.builder()
+                .action(action)
+                .entityType("Campaign")
+                .actorUsername(actor)
+                .timestamp(timestamp)
+                .build());
+    }
+
+    private List<AuditLog> scrollAll(AuditAction action, String actor, int pageSize) {
+        List<AuditLog> seen = new ArrayList<>();
+        AuditLogCursor cursor = null;
+        while (true) {
+            List<AuditLog> page = repository.findSlice(
+                    AuditLogSpecification.filterAuditLogs(action, actor, null, null, null, cursor), pageSize);
+            seen.addAll(page);
+            if (page.size() < pageSize) {
+                return seen;
+            }
+            cursor = AuditLogCursor.decode(AuditLogCursor.of(page.get(page.size() - 1)).encode());
+        }
+    }
+
+    @Test
+    void visitsEveryRowOnceInNewestFirstOrder() {
+        List<AuditLog> all = scrollAll(null, null, 2);
+
+        assertThat(all).hasSize(7);
+        assertThat(all).extracting(AuditLog::getId).doesNotHaveDuplicates();
+        assertThat(all).isSortedAccordingTo((a, b) -> {
+            int byTime = b.getTimestamp().compareTo(a.getTimestamp());
+            return byTime != 0 ? byTime : b.getId().compareTo(a.getId());
+        });
+    }
+
+    @Test
+    void appliesOnlyTheFiltersThatAreSet() {
+        assertThat(scrollAll(AuditAction.SETTINGS_UPDATED, null, 10)).hasSize(2);
+        assertThat(scrollAll(null, "alice", 10)).hasSize(5);
+        assertThat(scrollAll(AuditAction.SETTINGS_UPDATED, "alice", 10)).isEmpty();
+    }
+
+    @Test
+    void restrictsToTheRequestedTimeRange() {
+        List<AuditLog> rows = repository.findSlice(AuditLogSpecification.filterAuditLogs(
+                null, null, null, base.minus(2, ChronoUnit.HOURS), base, null), 10);
+
+        assertThat(rows).hasSize(2)
+                .allSatisfy(row -> assertThat(row.getTimestamp()).isBefore(base));
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        assertThat(AuditLogCursor.decode(null)).isNull();
+        assertThatThrownBy(() -> AuditLogCursor.decode("not-a-cursor"))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void namesPartitionsByUtcMonth() {
+        YearMonth month = YearMonth.of(2026, 1);
+
+        assertThat(AuditLogPartitionManager.partitionName(month)).isEqualTo("audit_logs_y2026m01");
+        assertThat(AuditLogPartitionManager.monthOf("audit_logs_y2026m01")).isEqualTo(month);
+        assertThat(AuditLogPartitionManager.monthOf("audit_logs_default")).isNull();
+        assertThat(AuditLogPartitionManager.lowerBound(month)).isEqualTo("2026-01-01 00:00:00+00");
+    }
+}
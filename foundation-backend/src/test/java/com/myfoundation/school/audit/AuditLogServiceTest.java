@@ -0,0 +1,74 @@
+package com.myfoundation.school.audit;
+
+import com.myfoundation.school.security.ClientIpExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogService Tests")
+class AuditLogServiceTest {
+
+    @Mock
+    private AuditLogRepository repository;
+
+    @Mock
+    private ClientIpExtractor clientIpExtractor;
+
+    @Mock
+    private AuditLogWriter writer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AuditLogService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditLogService(repository, clientIpExtractor, writer, transactionManager, true);
+    }
+
+    @Test
+    @DisplayName("Should hand routine events to the background writer")
+    void shouldQueueRoutineEvents() {
+        when(writer.submit(any(AuditLog.class))).thenReturn(true);
+
+        service.log(AuditAction.CAMPAIGN_UPDATED, "Campaign", "c-1", "alice", "Title changed");
+
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(writer).submit(captor.capture());
+        assertThat(captor.getValue().getActorUsername()).isEqualTo("alice");
+        assertThat(captor.getValue().getTimestamp()).isNotNull();
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should write security-critical events synchronously")
+    void shouldWriteSecurityEventsSynchronously() {
+        service.log(AuditAction.LOGIN_FAILED, "AdminUser", null, "mallory", "Invalid password");
+        service.log(AuditAction.ACCOUNT_LOCKED, "AdminUser", "u-1", "mallory", null);
+        service.log(AuditAction.DONATION_REFUNDED, "Donation", "d-1", "alice", null);
+
+        verify(repository, times(3)).save(any(AuditLog.class));
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a synchronous write when the writer queue is full")
+    void shouldFallBackWhenQueueFull() {
+        when(writer.submit(any(AuditLog.class))).thenReturn(false);
+
+        service.log(AuditAction.SETTINGS_UPDATED, "SiteSetting", "s-1", "alice", null);
+
+        verify(repository).save(any(AuditLog.class));
+    }
+}
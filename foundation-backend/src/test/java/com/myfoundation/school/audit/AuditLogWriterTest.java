@@ -0,0 +1,196 @@
+package com.myfoundation.school.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogWriter Tests")
+class AuditLogWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        // Background thread not started: tests drive flush() directly.
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new AuditLogWriter(jdbcTemplate, transactionManager, meterRegistry, 3, 2, 500, 60, 3, 1);
+    }
+
+    private static AuditLog event(AuditAction action, String actor) {
+        return event(action, actor, null);
+    }
+
+    private static AuditLog event(AuditAction action, String actor, String entityId) {
+        return AuditLog.builder()
+                .action(action)
+                .entityType("Donation")
+                .entityId(entityId)
+                .actorUsername(actor)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> writtenRows() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(anyString(), rows.capture());
+        List<Object[]> all = new ArrayList<>();
+        rows.getAllValues().forEach(all::addAll);
+        return all;
+    }
+
+    @Test
+    @DisplayName("Should write queued events with batch inserts of at most batch-size rows")
+    void shouldWriteInBatches() {
+        writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"));
+        writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"));
+        writer.submit(event(AuditAction.SETTINGS_UPDATED, "bob"));
+
+        assertThat(writer.flush()).isEqualTo(3);
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertThat(writtenRows()).extracting(row -> row[1])
+                .containsExactly("CAMPAIGN_UPDATED", "CAMPAIGN_UPDATED", "SETTINGS_UPDATED");
+        assertThat(writer.getWrittenCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should reject events once the queue is full so the caller writes them itself")
+    void shouldRejectWhenQueueFull() {
+        assertThat(writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"))).isTrue();
+        assertThat(writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"))).isTrue();
+        assertThat(writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"))).isTrue();
+
+        assertThat(writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should coalesce repeated read events from the same actor into one summary row")
+    void shouldCoalesceRepeatedReads() {
+        for (int i = 0; i < 5; i++) {
+            writer.submit(event(AuditAction.DONATION_LIST_VIEWED, "alice"));
+        }
+        writer.submit(event(AuditAction.DONATION_LIST_VIEWED, "bob"));
+
+        writer.flush();
+
+        List<Object[]> rows = writtenRows();
+        assertThat(rows).hasSize(3);
+        assertThat(rows).filteredOn(row -> "alice".equals(row[4])).hasSize(2);
+        assertThat(rows).filteredOn(row -> row[5] != null && ((String) row[5]).startsWith("Repeated 4 more time(s)"))
+                .hasSize(1);
+        assertThat(writer.getCoalescedCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should keep reads of different records apart")
+    void shouldNotCoalesceReadsOfDifferentRecords() {
+        writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-a"));
+        writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-b"));
+        writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-c"));
+        writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-b"));
+
+        writer.flush();
+
+        List<Object[]> rows = writtenRows();
+        assertThat(rows).extracting(row -> row[3])
+                .containsExactlyInAnyOrder("donation-a", "donation-b", "donation-c", "donation-b");
+        assertThat(rows).filteredOn(row -> row[5] != null).singleElement()
+                .satisfies(row -> assertThat(row[3]).isEqualTo("donation-b"));
+    }
+
+    @Test
+    @DisplayName("Should write a closed window's summary itself when the queue is full")
+    void shouldWriteSummaryWhenQueueFull() throws InterruptedException {
+        writer = new AuditLogWriter(jdbcTemplate, transactionManager, meterRegistry, 1, 2, 500, 1, 3, 1);
+        writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-a"));
+        writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-a"));
+
+        Thread.sleep(1100); // let the coalescing window close
+
+        // the queue still holds the first read, so the summary cannot be queued
+        assertThat(writer.submit(event(AuditAction.DONATION_VIEWED, "alice", "donation-a"))).isFalse();
+
+        assertThat(writtenRows()).singleElement().satisfies(row -> {
+            assertThat(row[3]).isEqualTo("donation-a");
+            assertThat((String) row[5]).startsWith("Repeated 1 more time(s)");
+        });
+    }
+
+    @Test
+    @DisplayName("Should never coalesce write actions")
+    void shouldNotCoalesceWrites() {
+        writer.submit(event(AuditAction.CAMPAIGN_DELETED, "alice"));
+        writer.submit(event(AuditAction.CAMPAIGN_DELETED, "alice"));
+
+        writer.flush();
+
+        assertThat(writtenRows()).hasSize(2);
+        verify(jdbcTemplate).batchUpdate(eq("INSERT INTO audit_logs (id, action, entity_type, entity_id, actor_username, details, ip_address, timestamp) VALUES (?, ?, ?, ?, ?, ?, ?, ?)"), anyList());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch so a database blip loses no events")
+    void shouldRetryFailedBatch() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"))
+                .thenReturn(new int[] {1, 1});
+        writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"));
+        writer.submit(event(AuditAction.SETTINGS_UPDATED, "bob"));
+
+        writer.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertThat(writer.getWrittenCount()).isEqualTo(2);
+        assertThat(meterRegistry.counter("audit.events.dropped").count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should fall back to per-event writes and count only the events that still fail")
+    void shouldWriteEventsOneByOneAfterRetries() {
+        AuditLog poison = event(AuditAction.CAMPAIGN_UPDATED, "mallory");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            if (rows.stream().anyMatch(row -> "mallory".equals(row[4]))) {
+                throw new DataAccessResourceFailureException("value too long");
+            }
+            return new int[rows.size()];
+        });
+        writer.submit(event(AuditAction.CAMPAIGN_UPDATED, "alice"));
+        writer.submit(poison);
+
+        writer.flush();
+
+        // three batch attempts, then one write per event
+        verify(jdbcTemplate, times(5)).batchUpdate(anyString(), anyList());
+        assertThat(writer.getWrittenCount()).isEqualTo(1);
+        assertThat(meterRegistry.counter("audit.events.dropped").count()).isEqualTo(1.0);
+    }
+}
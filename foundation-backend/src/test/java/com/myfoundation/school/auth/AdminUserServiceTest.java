@@ -1,12 +1,14 @@
 package com.myfoundation.school.auth;
 
 import com.myfoundation.school.audit.AuditLogService;
+import com.myfoundation.school.security.PrincipalRevokedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
@@ -61,6 +63,9 @@ class AdminUserServiceTest {
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AdminUserService adminUserService;
 
@@ -166,6 +171,7 @@ class AdminUserServiceTest {
 
         assertFalse(result.getActive());
         verify(adminUserRepository).save(regularUser);
+        verify(eventPublisher).publishEvent(new PrincipalRevokedEvent("user-id", "user", false));
     }
 
     @Test
@@ -228,6 +234,7 @@ class AdminUserServiceTest {
         assertNotNull(regularUser.getUpdatedAt());
         verify(passwordEncoder).encode("newPassword123");
         verify(adminUserRepository).save(regularUser);
+        verify(eventPublisher).publishEvent(new PrincipalRevokedEvent("user-id", "user", true));
     }
 
     @Test
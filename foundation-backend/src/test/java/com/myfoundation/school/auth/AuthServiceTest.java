@@ -1,6 +1,7 @@
 package com.myfoundation.school.auth;
 
 import com.myfoundation.school.audit.AuditLogService;
+import com.myfoundation.school.exception.ServiceBusyException;
 import com.myfoundation.school.security.JwtService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,6 +9,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -65,9 +67,15 @@ class AuthServiceTest {
     @Mock
     private OtpTokenRepository otpTokenRepository;
 
+    @Mock
+    private OtpCodeHasher otpCodeHasher;
+
     @Mock
     private AuditLogService auditLogService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -149,6 +157,44 @@ class AuthServiceTest {
         verify(emailService).sendOtpEmail(eq(testUser.getEmail()), eq(testUser.getUsername()), anyString());
     }
 
+    @Test
+    void login_Success_RehashesPasswordStoredAtLowerCost() {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password123");
+        String oldHash = testUser.getPassword();
+
+        when(adminUserRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", oldHash)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(oldHash)).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("$2a$13$rehashedPassword");
+        when(jwtService.generateToken(testUser)).thenReturn("jwt-token");
+
+        authService.login(loginRequest);
+
+        assertEquals("$2a$13$rehashedPassword", testUser.getPassword());
+        verify(passwordEncoder).encode("password123");
+    }
+
+    @Test
+    void login_Success_SkipsRehashWhenHashingPoolBusy() {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername("testuser");
+        loginRequest.setPassword("password123");
+        String oldHash = testUser.getPassword();
+
+        when(adminUserRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", oldHash)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(oldHash)).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenThrow(new ServiceBusyException("busy"));
+        when(jwtService.generateToken(testUser)).thenReturn("jwt-token");
+
+        LoginResponse response = authService.login(loginRequest);
+
+        assertEquals("jwt-token", response.getToken());
+        assertEquals(oldHash, testUser.getPassword());
+    }
+
     @Test
     void login_Failure_InvalidUsername() {
         LoginRequest loginRequest = new LoginRequest();
@@ -204,8 +250,33 @@ class AuthServiceTest {
 
     // ==================== OTP VERIFICATION TESTS ====================
 
-    // Note: verifyOtp_Success removed - tests internal hash verification which is hard to mock
-    // The failure cases (invalid code, max attempts, expired) provide sufficient coverage
+    @Test
+    void verifyOtp_Success_MarksTokenUsedAndIssuesJwt() {
+        OtpToken otpToken = OtpToken.builder()
+                .id("otp-1")
+                .user(testUser)
+                .codeHash("hmac:stored")
+                .expiresAt(Instant.now().plus(5, ChronoUnit.MINUTES))
+                .attempts(0)
+                .used(false)
+                .build();
+
+        OtpVerifyRequest request = new OtpVerifyRequest();
+        request.setUsername("testuser");
+        request.setCode("123456");
+
+        when(adminUserRepository.findByUsernameIgnoreCase("testuser")).thenReturn(Optional.of(testUser));
+        when(otpTokenRepository.findTopByUserIdAndUsedFalseAndExpiresAtAfterOrderByCreatedAtDesc(
+            eq(testUser.getId()), any(Instant.class))).thenReturn(Optional.of(otpToken));
+        when(otpCodeHasher.matches(testUser.getId(), "123456", "hmac:stored")).thenReturn(true);
+        when(jwtService.generateToken(testUser)).thenReturn("jwt-token");
+
+        LoginResponse response = authService.verifyOtp(request);
+
+        assertEquals("jwt-token", response.getToken());
+        assertTrue(otpToken.isUsed());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
 
     @Test
     void verifyOtp_Failure_InvalidCode() {
@@ -0,0 +1,105 @@
+package com.myfoundation.school.auth;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AuthTokenRetentionTest {
+
+    @Autowired
+    private OtpTokenRepository otpTokenRepository;
+
+    @Autowired
+    private PasswordSetupTokenRepository passwordSetupTokenRepository;
+
+    @Autowired
+    private AdminUserRepository adminUserRepository;
+
+    private AdminUser user;
+
+    @BeforeEach
+    void setUp() {
+        user = adminUserRepository.saveAndFlush(AdminUser.builder()
+                .username("retention-user")
+                .email("retention@test.org")
+                .password("$2a$04$placeholder")
+                .fullName("Retention User")
+                .role(UserRole.OPERATOR)
+                .active(true)
+                .build());
+    }
+
+    private OtpToken otp(Instant expiresAt, boolean used) {
+        return otpTokenRepository.saveAndFlush(OtpToken.builder()
+                .user(user)
+                .codeHash("hmac:x")
+                .expiresAt(expiresAt)
+                .used(used)
+                .build());
+    }
+
+    private PasswordSetupToken setupToken(String token, Instant expiresAt, boolean used) {
+        PasswordSetupToken entity = new PasswordSetupToken();
+        entity.setUser(user);
+        entity.setToken(token);
+        entity.setExpiresAt(expiresAt);
+        entity.setUsed(used);
+        return passwordSetupTokenRepository.saveAndFlush(entity);
+    }
+
+    @Test
+    void deletesExpiredAndUsedOtpTokensButKeepsLiveOnes() {
+        Instant now = Instant.now();
+        otp(now.minus(1, ChronoUnit.HOURS), false);
+        otp(now.plus(5, ChronoUnit.MINUTES), true);
+        OtpToken live = otp(now.plus(5, ChronoUnit.MINUTES), false);
+
+        int deleted = otpTokenRepository.deleteExpiredOrUsedBatch(now.plusSeconds(1), 100);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(otpTokenRepository.findAll()).extracting(OtpToken::getId).containsExactly(live.getId());
+    }
+
+    @Test
+    void deletesAtMostOneBatch() {
+        Instant expired = Instant.now().minus(1, ChronoUnit.HOURS);
+        otp(expired, false);
+        otp(expired, false);
+        otp(expired, false);
+
+        assertThat(otpTokenRepository.deleteExpiredOrUsedBatch(Instant.now(), 2)).isEqualTo(2);
+        assertThat(otpTokenRepository.deleteExpiredOrUsedBatch(Instant.now(), 2)).isEqualTo(1);
+    }
+
+    @Test
+    void keepsRowsInsideTheRetentionWindow() {
+        Instant now = Instant.now();
+        otp(now.minus(1, ChronoUnit.HOURS), false);
+
+        int deleted = otpTokenRepository.deleteExpiredOrUsedBatch(now.minus(24, ChronoUnit.HOURS), 100);
+
+        assertThat(deleted).isZero();
+    }
+
+    @Test
+    void deletesExpiredAndUsedPasswordSetupTokens() {
+        Instant now = Instant.now();
+        setupToken("expired", now.minus(1, ChronoUnit.DAYS), false);
+        setupToken("used", now.plus(1, ChronoUnit.DAYS), true);
+        setupToken("live", now.plus(1, ChronoUnit.DAYS), false);
+
+        int deleted = passwordSetupTokenRepository.deleteExpiredOrUsedBatch(now.plusSeconds(1), 100);
+
+        assertThat(deleted).isEqualTo(2);
+        assertThat(passwordSetupTokenRepository.findAll()).extracting(PasswordSetupToken::getToken).containsExactly("live");
+    }
+}
@@ -1,6 +1,8 @@
 package com.myfoundation.school.auth;
 
 import com.myfoundation.school.config.SiteConfigService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
@@ -50,6 +53,9 @@ class EmailServiceTest {
     @Mock
     private MimeMessage mimeMessage;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private EmailService emailService;
 
@@ -355,7 +361,7 @@ class EmailServiceTest {
     @Test
     void emails_HandlesNullMailSender() {
         // Edge case: if mailSender is null (misconfiguration)
-        EmailService serviceWithNullSender = new EmailService(null, null, null);
+        EmailService serviceWithNullSender = new EmailService(null, null, null, null);
         ReflectionTestUtils.setField(serviceWithNullSender, "frontendUrl", "http://localhost:5173");
         ReflectionTestUtils.setField(serviceWithNullSender, "fromAccountAlerts", "test@example.com");
         ReflectionTestUtils.setField(serviceWithNullSender, "fromName", "Test");
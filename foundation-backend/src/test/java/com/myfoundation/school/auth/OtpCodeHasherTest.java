@@ -0,0 +1,52 @@
+package com.myfoundation.school.auth;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OtpCodeHasherTest {
+
+    private static final String JWT_SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private final BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+    private final OtpCodeHasher hasher = new OtpCodeHasher("", JWT_SECRET, bcrypt);
+
+    @Test
+    void matchesTheIssuedCode() {
+        String hash = hasher.hash("user-1", "123456");
+
+        assertThat(hash).startsWith("hmac:");
+        assertThat(hasher.matches("user-1", "123456", hash)).isTrue();
+        assertThat(hasher.matches("user-1", "654321", hash)).isFalse();
+    }
+
+    @Test
+    void isBoundToTheUser() {
+        String hash = hasher.hash("user-1", "123456");
+
+        assertThat(hasher.matches("user-2", "123456", hash)).isFalse();
+    }
+
+    @Test
+    void dependsOnTheServerKey() {
+        OtpCodeHasher otherKey = new OtpCodeHasher("a-different-dedicated-otp-secret", JWT_SECRET, bcrypt);
+
+        assertThat(otherKey.matches("user-1", "123456", hasher.hash("user-1", "123456"))).isFalse();
+    }
+
+    @Test
+    void stillAcceptsBcryptHashesIssuedBeforeTheSwitch() {
+        String legacy = bcrypt.encode("123456");
+
+        assertThat(hasher.matches("user-1", "123456", legacy)).isTrue();
+        assertThat(hasher.matches("user-1", "000000", legacy)).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedOrMissingHashes() {
+        assertThat(hasher.matches("user-1", "123456", null)).isFalse();
+        assertThat(hasher.matches("user-1", "123456", "hmac:%%%")).isFalse();
+        assertThat(hasher.matches("user-1", "123456", "plain-sha256")).isFalse();
+    }
+}
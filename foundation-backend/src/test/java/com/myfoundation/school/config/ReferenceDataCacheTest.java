@@ -0,0 +1,145 @@
+package com.myfoundation.school.config;
+
+import com.myfoundation.school.audit.AuditLogService;
+import com.myfoundation.school.diagnostics.QueryDiagnosticsConfig;
+import com.myfoundation.school.diagnostics.RequestQueryStats;
+import com.myfoundation.school.donationpreset.DonationPreset;
+import com.myfoundation.school.donationpreset.DonationPresetRepository;
+import com.myfoundation.school.donationpreset.DonationPresetService;
+import com.myfoundation.school.donationpreset.dto.DonationPresetUpsertRequest;
+import com.myfoundation.school.faq.Faq;
+import com.myfoundation.school.faq.FaqRepository;
+import com.myfoundation.school.faq.FaqService;
+import com.myfoundation.school.faq.dto.FaqUpsertRequest;
+import com.myfoundation.school.util.SortOrderRewriter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.myfoundation.school.diagnostics.QueryCountAssertions.capture;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level and query cache for the reference tables: reads after the first are served
+ * without SQL, and admin edits through the existing services are visible on the next read.
+ *
+ * Runs without a test transaction, because Hibernate only fills the cache when a transaction commits.
+ */
+@DataJpaTest(properties = "app.cache.second-level.enabled=true")
+@ActiveProfiles("test")
+@Import({FaqService.class, DonationPresetService.class, SiteConfigService.class, SortOrderRewriter.class,
+        SecondLevelCacheConfig.class, QueryDiagnosticsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@WithMockUser(username = "admin@test.org", roles = "ADMIN")
+class ReferenceDataCacheTest {
+
+    @MockBean
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private FaqService faqService;
+
+    @Autowired
+    private FaqRepository faqRepository;
+
+    @Autowired
+    private DonationPresetService presetService;
+
+    @Autowired
+    private DonationPresetRepository presetRepository;
+
+    @Autowired
+    private SiteConfigService siteConfigService;
+
+    @Autowired
+    private SiteConfigRepository siteConfigRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        faqRepository.deleteAll();
+        presetRepository.deleteAll();
+        siteConfigRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void publicFaqListIsCachedUntilAnAdminEditsIt() throws Exception {
+        Faq faq = faqService.create(new FaqUpsertRequest("How do I donate?", "Online.", null, true, 10));
+        assertThat(faqService.listForPublic()).extracting(Faq::getQuestion).containsExactly("How do I donate?");
+
+        RequestQueryStats cached = capture(() -> faqService.listForPublic());
+        assertThat(cached.getStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        faqService.update(faq.getId(), new FaqUpsertRequest("How can I donate?", "Online.", null, true, 10));
+        assertThat(faqService.listForPublic()).extracting(Faq::getQuestion).containsExactly("How can I donate?");
+
+        faqService.update(faq.getId(), new FaqUpsertRequest("How can I donate?", "Online.", null, false, 10));
+        assertThat(faqService.listForPublic()).isEmpty();
+    }
+
+    @Test
+    void entityLookupsAreCachedAndDeletesEvictThem() throws Exception {
+        Faq faq = faqService.create(new FaqUpsertRequest("Where does the money go?", "Schools.", null, true, 10));
+        // IDENTITY inserts are not written to the cache, so the first lookup loads the row
+        assertThat(faqRepository.findById(faq.getId())).isPresent();
+
+        RequestQueryStats lookup = capture(() -> faqRepository.findById(faq.getId()));
+        assertThat(lookup.getStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+        faqService.delete(faq.getId());
+        assertThat(faqRepository.findById(faq.getId())).isEmpty();
+        assertThat(faqService.listForPublic()).isEmpty();
+    }
+
+    @Test
+    void bulkDefaultSwitchEvictsCachedPresets() throws Exception {
+        DonationPreset small = presetService.create(new DonationPresetUpsertRequest(50_000, null, true, 10));
+        DonationPreset large = presetService.create(new DonationPresetUpsertRequest(100_000, null, true, 20));
+        presetService.setDefault(small.getId());
+        assertThat(presetService.listForPublic()).extracting(DonationPreset::isDefault).containsExactly(true, false);
+        assertThat(capture(() -> presetService.listForPublic()).getStatementCount()).isZero();
+
+        // setDefault clears the previous default with a bulk JPQL update
+        presetService.setDefault(large.getId());
+
+        assertThat(presetService.listForPublic()).extracting(DonationPreset::isDefault).containsExactly(false, true);
+        assertThat(presetRepository.findById(small.getId())).get().extracting(DonationPreset::isDefault).isEqualTo(false);
+    }
+
+    @Test
+    void siteConfigChangesAreVisibleOnTheNextRead() throws Exception {
+        siteConfigService.updateConfig("homepage.featured_campaigns_count", "3", null);
+        assertThat(siteConfigService.getIntConfigValue("homepage.featured_campaigns_count")).isEqualTo(3);
+        assertThat(capture(() -> siteConfigService.getConfigValue("homepage.featured_campaigns_count"))
+                .getStatementCount()).isZero();
+
+        siteConfigService.updateConfig("homepage.featured_campaigns_count", "6", null);
+
+        assertThat(siteConfigService.getIntConfigValue("homepage.featured_campaigns_count")).isEqualTo(6);
+    }
+}
@@ -0,0 +1,197 @@
+package com.myfoundation.school.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing against two separate in-memory H2 databases, each of which knows its own name.
+ */
+@DisplayName("Replica routing Tests")
+class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+    private SimpleMeterRegistry meterRegistry;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        primary = database("primary");
+        lagMonitor = new ReplicaLagMonitor(database("replica"), meterRegistry, "SELECT 0", 5);
+
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, lagMonitor.getDataSource(),
+                lagMonitor::isUsable, meterRegistry);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbc = new JdbcTemplate(dataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        lagMonitor.destroy();
+        primary.close();
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setPoolName(name);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        jdbc.execute("DELETE FROM node");
+        jdbc.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+    void shouldRouteByTransactionReadOnlyFlag() {
+        lagMonitor.check();
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        String readWriteNode = readWrite.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+        assertThat(readWriteNode).isEqualTo("primary");
+        assertThat(jdbc.queryForObject("SELECT name FROM node", String.class)).isEqualTo("primary");
+        assertThat(meterRegistry.counter("datasource.routing", "target", "replica", "reason", "read").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep reads on the primary until the replica passes a lag check")
+    void shouldUsePrimaryBeforeFirstLagCheck() {
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(meterRegistry.counter("datasource.routing", "target", "primary", "reason", "replica_unavailable")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags too far behind")
+    void shouldFallBackWhenReplicaLags() {
+        ReplicaLagMonitor lagging = new ReplicaLagMonitor(database("lagging"), meterRegistry, "SELECT 30", 5);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, lagging.getDataSource(),
+                lagging::isUsable, meterRegistry);
+        routing.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(true);
+        try {
+            lagging.check();
+
+            assertThat(lagging.isUsable()).isFalse();
+            assertThat(lagging.getLagSeconds()).isEqualTo(30.0);
+            String node = template.execute(status ->
+                    new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+            assertThat(node).isEqualTo("primary");
+        } finally {
+            lagging.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should treat a failing lag check as an unusable replica")
+    void shouldFallBackWhenLagCheckFails() {
+        ReplicaLagMonitor broken = new ReplicaLagMonitor(database("broken"), meterRegistry,
+                "SELECT no_such_column FROM node", 5);
+        try {
+            broken.check();
+            assertThat(broken.isUsable()).isFalse();
+            assertThat(broken.getLagSeconds()).isNaN();
+        } finally {
+            broken.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should read from the primary while pinned")
+    void shouldHonourPrimaryPin() {
+        lagMonitor.check();
+
+        try (ReplicaRoutingDataSource.Pin ignored = ReplicaRoutingDataSource.pinToPrimary()) {
+            assertThat(readOnlyNode()).isEqualTo("primary");
+        }
+        assertThat(ReplicaRoutingDataSource.isPinnedToPrimary()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should pin an admin to the primary for a while after a successful change")
+    void shouldPinAdminAfterMutation() throws Exception {
+        lagMonitor.check();
+        AtomicLong now = new AtomicLong(1_000_000);
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(10), now::get);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        AtomicReference<String> duringWrite = new AtomicReference<>();
+        MockHttpServletRequest update = new MockHttpServletRequest("PUT", "/api/admin/campaigns/c1");
+        filter.doFilter(update, new MockHttpServletResponse(),
+                (request, response) -> duringWrite.set(readOnlyNode()));
+        assertThat(duringWrite).hasValue("primary");
+
+        AtomicReference<String> afterWrite = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/campaigns"), new MockHttpServletResponse(),
+                (request, response) -> afterWrite.set(readOnlyNode()));
+        assertThat(afterWrite).hasValue("primary");
+
+        now.addAndGet(Duration.ofSeconds(11).toMillis());
+        AtomicReference<String> later = new AtomicReference<>();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/admin/campaigns"), new MockHttpServletResponse(),
+                (request, response) -> later.set(readOnlyNode()));
+        assertThat(later).hasValue("replica");
+    }
+
+    @Test
+    @DisplayName("Should not pin after a rejected change or an anonymous request")
+    void shouldNotPinAfterFailedOrAnonymousMutation() throws Exception {
+        ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(10));
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        rejected.setStatus(422);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))));
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/admin/campaigns"), rejected, new MockFilterChain());
+        assertThat(filter.isPinned("admin")).isFalse();
+
+        SecurityContextHolder.clearContext();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/admin/campaigns"), new MockHttpServletResponse(),
+                new MockFilterChain());
+        assertThat(filter.isPinned("admin")).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package com.myfoundation.school.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query budgets for tests. Wrap a repository call, service call or MockMvc request:
+ *
+ * <pre>
+ * QueryCountAssertions.assertMaxQueries(2, () -&gt; mockMvc.perform(get("/api/campaigns")));
+ * </pre>
+ *
+ * Counts every statement Hibernate prepares on the current thread while the action runs. The
+ * counting hook is installed by {@link QueryDiagnosticsConfig}; {@code @DataJpaTest} slices must
+ * {@code @Import} it.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    private QueryCountAssertions() {
+    }
+
+    /** Runs the action and returns its SQL statistics without asserting anything. */
+    public static RequestQueryStats capture(ThrowingRunnable action) throws Exception {
+        RequestQueryStats stats = RequestQueryStats.begin();
+        try {
+            action.run();
+        } finally {
+            stats.close();
+        }
+        return stats;
+    }
+
+    /**
+     * Fails if the action prepares more than {@code max} SQL statements, or none at all: a budget
+     * check that counted nothing means the counting hook is not installed, not that the action is cheap.
+     */
+    public static RequestQueryStats assertMaxQueries(int max, ThrowingRunnable action) throws Exception {
+        RequestQueryStats stats = capture(action);
+        assertThat(stats.getStatementCount())
+            .as("SQL statements counted - is QueryDiagnosticsConfig imported?")
+            .isPositive();
+        assertThat(stats.getStatementCount())
+            .as("SQL statements executed (by statement: %s)", stats.getCountsBySql())
+            .isLessThanOrEqualTo(max);
+        return stats;
+    }
+}
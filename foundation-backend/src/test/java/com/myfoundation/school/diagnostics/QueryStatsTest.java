@@ -0,0 +1,96 @@
+package com.myfoundation.school.diagnostics;
+
+import com.myfoundation.school.campaign.Campaign;
+import com.myfoundation.school.campaign.CampaignRepository;
+import com.myfoundation.school.donation.Donation;
+import com.myfoundation.school.donation.DonationRepository;
+import com.myfoundation.school.donation.DonationStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static com.myfoundation.school.diagnostics.QueryCountAssertions.assertMaxQueries;
+import static com.myfoundation.school.diagnostics.QueryCountAssertions.capture;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(QueryDiagnosticsConfig.class)
+class QueryStatsTest {
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        for (String slug : new String[] {"books", "meals"}) {
+            Campaign campaign = campaignRepository.save(Campaign.builder()
+                    .title("Campaign " + slug)
+                    .slug(slug)
+                    .targetAmount(100000L)
+                    .currency("usd")
+                    .active(true)
+                    .build());
+            for (int i = 0; i < 2; i++) {
+                donationRepository.save(Donation.builder()
+                        .donorName("Donor")
+                        .donorEmail(slug + i + "@test.org")
+                        .amount(1000L)
+                        .currency("usd")
+                        .status(DonationStatus.SUCCESS)
+                        .campaign(campaign)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void fetchJoinLoadsDonationsAndCampaignsInOneStatement() throws Exception {
+        assertMaxQueries(1, () -> donationRepository.findAllWithCampaign()
+                .forEach(d -> d.getCampaign().getTitle()));
+    }
+
+    @Test
+    void lazyLoadingInALoopShowsUpAsRepeatedStatements() throws Exception {
+        RequestQueryStats stats = capture(() -> donationRepository.findAll()
+                .forEach(d -> d.getCampaign().getTitle()));
+
+        assertThat(stats.getStatementCount()).isGreaterThanOrEqualTo(3);
+        assertThat(stats.getMaxRepeats()).isEqualTo(2);
+        assertThat(stats.getMostRepeatedStatement()).containsIgnoringCase("campaign");
+    }
+
+    @Test
+    void nestedScopesBothSeeTheStatements() throws Exception {
+        RequestQueryStats outer = RequestQueryStats.begin();
+        try {
+            RequestQueryStats inner = capture(() -> donationRepository.count());
+            assertThat(inner.getStatementCount()).isEqualTo(1);
+        } finally {
+            outer.close();
+        }
+        assertThat(outer.getStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void filterFlagsRepeatedStatementsBeforeOtherLimits() throws Exception {
+        QueryStatsFilter filter = new QueryStatsFilter(new SimpleMeterRegistry(), true, 30, 1, 500);
+        RequestQueryStats stats = capture(() -> donationRepository.findAll()
+                .forEach(d -> d.getCampaign().getTitle()));
+
+        assertThat(filter.budgetExceeded(stats)).isEqualTo("repeated_statement");
+    }
+}
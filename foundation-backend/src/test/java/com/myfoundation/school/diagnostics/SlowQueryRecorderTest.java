@@ -0,0 +1,70 @@
+package com.myfoundation.school.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlowQueryRecorderTest {
+
+    private final SlowQueryRecorder recorder =
+        new SlowQueryRecorder(null, true, 100, 2, 10, false, 300, "EXPLAIN");
+
+    @Test
+    void onlyMethodsWithSlowCallsAreReported() {
+        recorder.record("DonationRepository.findById", millis(5), "select d from donations d where id=?");
+        recorder.record("DonationRepository.countDistinctDonors", millis(250), "select count(distinct donor_email) from donations");
+
+        List<SlowQueryReport> report = recorder.report();
+
+        assertThat(report).extracting(SlowQueryReport::method)
+            .containsExactly("DonationRepository.countDistinctDonors");
+        assertThat(report.get(0).lastSql()).contains("count(distinct donor_email)");
+    }
+
+    @Test
+    void percentilesCoverAllRecentCalls() {
+        for (int i = 1; i <= 100; i++) {
+            recorder.record("CampaignRepository.findTopCampaignsByAmountRaised", millis(i * 2L), "select 1");
+        }
+
+        SlowQueryReport report = recorder.report().get(0);
+
+        assertThat(report.calls()).isEqualTo(100);
+        assertThat(report.slowCalls()).isEqualTo(51);
+        assertThat(report.p50Ms()).isEqualTo(100.0);
+        assertThat(report.p99Ms()).isEqualTo(198.0);
+        assertThat(report.maxMs()).isEqualTo(200.0);
+    }
+
+    @Test
+    void reportIsLimitedToTopNBySlowestP99() {
+        recorder.record("A.fast", millis(150), "select 1");
+        recorder.record("B.slowest", millis(900), "select 1");
+        recorder.record("C.slow", millis(400), "select 1");
+
+        assertThat(recorder.report()).extracting(SlowQueryReport::method)
+            .containsExactly("B.slowest", "C.slow");
+    }
+
+    @Test
+    void placeholdersAreRewrittenOutsideLiterals() {
+        assertThat(SlowQueryRecorder.toPositionalParameters(
+                "select * from donations where donor_email like ? and status = '?' and id = ?"))
+            .isEqualTo("select * from donations where donor_email like $1 and status = '?' and id = $2");
+    }
+
+    @Test
+    void onlyReadsAreExplained() {
+        assertThat(SlowQueryRecorder.isExplainable("  select 1")).isTrue();
+        assertThat(SlowQueryRecorder.isExplainable("with t as (select 1) select * from t")).isTrue();
+        assertThat(SlowQueryRecorder.isExplainable("update donations set status=?")).isFalse();
+        assertThat(SlowQueryRecorder.isExplainable(null)).isFalse();
+    }
+
+    private static long millis(long ms) {
+        return TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+}
@@ -0,0 +1,88 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.donation.CheckoutIdempotencyKey.Status;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CheckoutIdempotencyKeyRepositoryTest {
+
+    @Autowired
+    private CheckoutIdempotencyKeyRepository repository;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private void insert(String key, Instant lockedUntil) {
+        repository.insertInProgress(key, "hash", lockedUntil, now, now.plus(1, ChronoUnit.DAYS));
+    }
+
+    private CheckoutIdempotencyKey reload(String key) {
+        return repository.findById(key).orElseThrow();
+    }
+
+    @Test
+    void claim_takesOverFailedOrExpiredKeysOnly() {
+        insert("held", now.plus(1, ChronoUnit.MINUTES));
+        insert("abandoned", now.minus(1, ChronoUnit.MINUTES));
+        insert("failed", now.plus(1, ChronoUnit.MINUTES));
+        repository.fail("failed");
+        Instant lockedUntil = now.plus(5, ChronoUnit.MINUTES);
+
+        assertThat(repository.claim("held", now, lockedUntil)).isZero();
+        assertThat(repository.claim("abandoned", now, lockedUntil)).isEqualTo(1);
+        assertThat(repository.claim("failed", now, lockedUntil)).isEqualTo(1);
+
+        assertThat(reload("failed").getStatus()).isEqualTo(Status.IN_PROGRESS);
+        assertThat(reload("abandoned").getLockedUntil()).isEqualTo(lockedUntil);
+    }
+
+    @Test
+    void claim_neverReopensCompletedKey() {
+        insert("done", now.minus(1, ChronoUnit.MINUTES));
+        repository.complete("done", "cs_test_1", "https://checkout.stripe.test/cs_test_1");
+
+        assertThat(repository.claim("done", now, now.plus(5, ChronoUnit.MINUTES))).isZero();
+        assertThat(reload("done").getStatus()).isEqualTo(Status.COMPLETED);
+    }
+
+    @Test
+    void complete_storesSession() {
+        insert("attempt", now.plus(1, ChronoUnit.MINUTES));
+
+        assertThat(repository.complete("attempt", "cs_test_2", "https://checkout.stripe.test/cs_test_2"))
+                .isEqualTo(1);
+
+        CheckoutIdempotencyKey completed = reload("attempt");
+        assertThat(completed.getStatus()).isEqualTo(Status.COMPLETED);
+        assertThat(completed.getStripeSessionId()).isEqualTo("cs_test_2");
+        assertThat(completed.getSessionUrl()).isEqualTo("https://checkout.stripe.test/cs_test_2");
+    }
+
+    @Test
+    void fail_releasesOnlyInProgressKey() {
+        insert("attempt", now.plus(1, ChronoUnit.MINUTES));
+        insert("done", now.plus(1, ChronoUnit.MINUTES));
+        repository.complete("done", "cs_test_3", "https://checkout.stripe.test/cs_test_3");
+
+        assertThat(repository.fail("attempt")).isEqualTo(1);
+        assertThat(repository.fail("done")).isZero();
+
+        assertThat(reload("attempt").getStatus()).isEqualTo(Status.FAILED);
+        assertThat(reload("done").getStatus()).isEqualTo(Status.COMPLETED);
+    }
+}
@@ -0,0 +1,120 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.dto.CheckoutSessionResponse;
+import com.myfoundation.school.dto.DonationRequest;
+import com.myfoundation.school.exception.BusinessException;
+import com.myfoundation.school.exception.ServiceBusyException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(CheckoutIdempotencyService.class)
+class CheckoutIdempotencyServiceTest {
+
+    @Autowired
+    private CheckoutIdempotencyService service;
+
+    @Autowired
+    private CheckoutIdempotencyKeyRepository repository;
+
+    private DonationRequest request;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        request = DonationRequest.builder()
+                .amount(5000L)
+                .currency("USD")
+                .donorName("John Doe")
+                .donorEmail("john@example.com")
+                .campaignId("campaign-123")
+                .build();
+    }
+
+    @Test
+    void completedKeyReplaysTheStoredSession() {
+        CheckoutIdempotencyService.Claim first = service.begin("attempt-0001", request);
+        assertThat(first.isReplay()).isFalse();
+        assertThat(first.donationId()).isNull();
+
+        service.recordDonation("attempt-0001", "donation-1");
+        service.complete("attempt-0001", CheckoutSessionResponse.builder()
+                .sessionId("cs_test_1").url("https://checkout.stripe.test/cs_test_1").build());
+
+        CheckoutIdempotencyService.Claim duplicate = service.begin("attempt-0001", request);
+        assertThat(duplicate.isReplay()).isTrue();
+        assertThat(duplicate.replay().getSessionId()).isEqualTo("cs_test_1");
+        assertThat(duplicate.replay().getUrl()).isEqualTo("https://checkout.stripe.test/cs_test_1");
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        service.begin("attempt-0002", request);
+        request.setAmount(10000L);
+
+        assertThatThrownBy(() -> service.begin("attempt-0002", request))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void duplicateWhileInProgressIsAskedToRetry() {
+        service.begin("attempt-0003", request);
+
+        assertThatThrownBy(() -> service.begin("attempt-0003", request))
+                .isInstanceOf(ServiceBusyException.class);
+    }
+
+    @Test
+    void failedAttemptIsResumedWithItsDonation() {
+        service.begin("attempt-0004", request);
+        service.recordDonation("attempt-0004", "donation-4");
+        service.fail("attempt-0004");
+
+        CheckoutIdempotencyService.Claim retry = service.begin("attempt-0004", request);
+
+        assertThat(retry.isReplay()).isFalse();
+        assertThat(retry.donationId()).isEqualTo("donation-4");
+        assertThat(repository.findById("attempt-0004")).get()
+                .extracting(CheckoutIdempotencyKey::getStatus)
+                .isEqualTo(CheckoutIdempotencyKey.Status.IN_PROGRESS);
+    }
+
+    @Test
+    void purgeRemovesOnlyExpiredKeys() {
+        service.begin("attempt-0005", request);
+        Instant past = Instant.now().minus(2, ChronoUnit.DAYS);
+        repository.insertInProgress("attempt-expired", "hash", past, past, past.plus(1, ChronoUnit.HOURS));
+
+        service.purgeExpired();
+
+        assertThat(repository.findAll())
+                .extracting(CheckoutIdempotencyKey::getIdempotencyKey)
+                .containsExactly("attempt-0005");
+    }
+
+    @Test
+    void fingerprintIgnoresCurrencyCase() {
+        DonationRequest lower = DonationRequest.builder()
+                .amount(5000L)
+                .currency("usd")
+                .donorName("John Doe")
+                .donorEmail("john@example.com")
+                .campaignId("campaign-123")
+                .build();
+
+        assertThat(CheckoutIdempotencyService.fingerprint(lower))
+                .isEqualTo(CheckoutIdempotencyService.fingerprint(request))
+                .hasSize(64);
+    }
+}
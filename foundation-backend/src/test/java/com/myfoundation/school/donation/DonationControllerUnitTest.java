@@ -3,6 +3,7 @@ package com.myfoundation.school.donation;
 import com.myfoundation.school.dto.CheckoutSessionResponse;
 import com.myfoundation.school.dto.DonationRequest;
 import com.myfoundation.school.dto.DonationResponse;
+import com.myfoundation.school.exception.ValidationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -12,6 +13,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -33,13 +35,34 @@ class DonationControllerUnitTest {
         CheckoutSessionResponse expected = new CheckoutSessionResponse();
         expected.setUrl("https://checkout.stripe.com/session-123");
 
-        when(donationService.createStripeCheckoutSession(request)).thenReturn(expected);
+        when(donationService.createStripeCheckoutSession(request, "checkout-attempt-1")).thenReturn(expected);
 
-        ResponseEntity<CheckoutSessionResponse> response = controller.createCheckoutSession(request);
+        ResponseEntity<CheckoutSessionResponse> response = controller.createCheckoutSession(request, "checkout-attempt-1");
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().getUrl()).isEqualTo("https://checkout.stripe.com/session-123");
-        verify(donationService).createStripeCheckoutSession(request);
+        verify(donationService).createStripeCheckoutSession(request, "checkout-attempt-1");
+    }
+
+    @Test
+    void createCheckoutSession_blankIdempotencyKeyIsIgnored() {
+        DonationRequest request = new DonationRequest();
+        when(donationService.createStripeCheckoutSession(request, null)).thenReturn(new CheckoutSessionResponse());
+
+        controller.createCheckoutSession(request, "  ");
+
+        verify(donationService).createStripeCheckoutSession(request, null);
+    }
+
+    @Test
+    void createCheckoutSession_rejectsMalformedIdempotencyKey() {
+        DonationRequest request = new DonationRequest();
+
+        assertThatThrownBy(() -> controller.createCheckoutSession(request, "short"))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> controller.createCheckoutSession(request, "has spaces in it"))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(donationService);
     }
 
     @Test
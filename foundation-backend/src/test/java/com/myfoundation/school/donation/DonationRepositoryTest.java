@@ -95,12 +95,23 @@ class DonationRepositoryTest {
     }
 
     @Test
-    void findByDonorEmailIgnoreCase_matchesCaseInsensitively() {
+    void anonymizeDonorBatch_matchesCaseInsensitivelyOneBatchAtATime() {
         createDonation("User@Test.COM", 1000L, DonationStatus.SUCCESS);
-
-        List<Donation> results = donationRepository.findByDonorEmailIgnoreCase("user@test.com");
-
-        assertThat(results).hasSize(1);
+        createDonation("user@test.com", 2000L, DonationStatus.SUCCESS);
+        createDonation("user@test.com", 3000L, DonationStatus.FAILED);
+        Donation other = createDonation("other@test.com", 4000L, DonationStatus.SUCCESS);
+        donationRepository.flush();
+
+        assertThat(donationRepository.anonymizeDonorBatch("user@test.com", 2)).isEqualTo(2);
+        assertThat(donationRepository.anonymizeDonorBatch("user@test.com", 2)).isEqualTo(1);
+        assertThat(donationRepository.anonymizeDonorBatch("user@test.com", 2)).isZero();
+
+        assertThat(donationRepository.findAll())
+                .filteredOn(d -> d.getDonorEmail() == null)
+                .hasSize(3)
+                .allSatisfy(d -> assertThat(d.getDonorName()).isEqualTo("[Deleted]"));
+        assertThat(donationRepository.findById(other.getId()))
+                .get().extracting(Donation::getDonorEmail).isEqualTo("other@test.com");
     }
 
     @Test
@@ -178,4 +189,59 @@ class DonationRepositoryTest {
 
         assertThat(results).hasSize(2);
     }
+
+    @Test
+    void transitionStatus_changesOnlyFromAllowedStates() {
+        Donation pending = createDonation("a@test.com", 1000L, DonationStatus.PENDING);
+        Donation succeeded = createDonation("b@test.com", 1000L, DonationStatus.SUCCESS);
+
+        assertThat(donationRepository.transitionStatus(pending.getId(), DonationStatus.FAILED,
+                List.of(DonationStatus.PENDING))).isEqualTo(1);
+        assertThat(donationRepository.transitionStatus(succeeded.getId(), DonationStatus.FAILED,
+                List.of(DonationStatus.PENDING))).isZero();
+
+        assertThat(donationRepository.findById(pending.getId()).orElseThrow().getStatus())
+                .isEqualTo(DonationStatus.FAILED);
+        assertThat(donationRepository.findById(succeeded.getId()).orElseThrow().getStatus())
+                .isEqualTo(DonationStatus.SUCCESS);
+    }
+
+    @Test
+    void markSucceeded_appliesOnceAndKeepsExistingPaymentIntentWhenNull() {
+        Donation donation = createDonation("a@test.com", 1000L, DonationStatus.PENDING);
+        List<DonationStatus> from = List.of(DonationStatus.PENDING, DonationStatus.FAILED);
+
+        assertThat(donationRepository.markSucceeded(donation.getId(), "pi_1", from)).isEqualTo(1);
+        assertThat(donationRepository.markSucceeded(donation.getId(), "pi_2", from)).isZero();
+
+        Donation reloaded = donationRepository.findById(donation.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(DonationStatus.SUCCESS);
+        assertThat(reloaded.getStripePaymentIntentId()).isEqualTo("pi_1");
+
+        Donation failed = createDonation("b@test.com", 1000L, DonationStatus.FAILED);
+        failed.setStripePaymentIntentId("pi_existing");
+        donationRepository.save(failed);
+        assertThat(donationRepository.markSucceeded(failed.getId(), null, from)).isEqualTo(1);
+        assertThat(donationRepository.findById(failed.getId()).orElseThrow().getStripePaymentIntentId())
+                .isEqualTo("pi_existing");
+    }
+
+    @Test
+    void markRefundedByPaymentIntent_setsRefundFieldsOnlyForSuccessfulDonations() {
+        Donation donation = createDonation("a@test.com", 1000L, DonationStatus.SUCCESS);
+        donation.setStripePaymentIntentId("pi_refund");
+        donationRepository.save(donation);
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        assertThat(donationRepository.markRefundedByPaymentIntent("pi_refund", "re_1", "Requested", now,
+                List.of(DonationStatus.SUCCESS))).isEqualTo(1);
+        assertThat(donationRepository.markRefundedByPaymentIntent("pi_refund", "re_2", "Again", now,
+                List.of(DonationStatus.SUCCESS))).isZero();
+
+        Donation reloaded = donationRepository.findById(donation.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(DonationStatus.REFUNDED);
+        assertThat(reloaded.getStripeRefundId()).isEqualTo("re_1");
+        assertThat(reloaded.getRefundReason()).isEqualTo("Requested");
+        assertThat(reloaded.getRefundedAt()).isEqualTo(now);
+    }
 }
@@ -3,18 +3,30 @@ package com.myfoundation.school.donation;
 import com.myfoundation.school.campaign.Campaign;
 import com.myfoundation.school.campaign.CampaignRepository;
 import com.myfoundation.school.config.StripeConfig;
+import com.myfoundation.school.dto.CheckoutSessionResponse;
 import com.myfoundation.school.dto.DonationRequest;
+import com.myfoundation.school.exception.BusinessException;
+import com.myfoundation.school.exception.ResourceNotFoundException;
+import com.myfoundation.school.exception.ServiceBusyException;
+import com.myfoundation.school.payment.FakeStripeGateway;
+import com.stripe.exception.ApiConnectionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +40,18 @@ class DonationServiceTest {
     
     @Mock
     private StripeConfig stripeConfig;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private FakeStripeGateway stripeGateway = new FakeStripeGateway();
+
+    @Mock
+    private CheckoutIdempotencyService checkoutIdempotency;
     
     @InjectMocks
     private DonationService donationService;
@@ -80,43 +104,225 @@ class DonationServiceTest {
         assertTrue(exception.getMessage().contains("not accepting donations"));
         verify(donationRepository, never()).save(any());
     }
+
+    @Test
+    void testCreateStripeCheckoutSession_RecordsRejectedCheckoutTimer() {
+        testCampaign.setActive(false);
+        when(campaignRepository.findById("campaign-123")).thenReturn(Optional.of(testCampaign));
+
+        assertThrows(RuntimeException.class, () -> donationService.createStripeCheckoutSession(testRequest));
+
+        assertEquals(1, meterRegistry.get("donation.checkout")
+                .tags("campaign", "campaign-123", "currency", "usd", "outcome", "rejected")
+                .timer().count());
+    }
+
+    @Test
+    void testCreateStripeCheckoutSession_UnknownCampaignIsNotUsedAsTag() {
+        testRequest.setCampaignId("made-up-campaign");
+        when(campaignRepository.findById("made-up-campaign")).thenReturn(Optional.empty());
+
+        assertThrows(RuntimeException.class, () -> donationService.createStripeCheckoutSession(testRequest));
+
+        assertEquals(1, meterRegistry.get("donation.checkout")
+                .tags("campaign", "unknown", "currency", "usd", "outcome", "rejected")
+                .timer().count());
+        assertTrue(meterRegistry.find("donation.checkout").tag("campaign", "made-up-campaign").meters().isEmpty());
+    }
     
+    @Test
+    void testCreateStripeCheckoutSession_AttachesSessionAfterStripeCall() {
+        when(campaignRepository.findById("campaign-123")).thenReturn(Optional.of(testCampaign));
+        when(donationRepository.save(any(Donation.class))).thenAnswer(invocation -> {
+            Donation saved = invocation.getArgument(0);
+            saved.setId("donation-123");
+            return saved;
+        });
+        when(donationRepository.attachCheckoutSession(eq("donation-123"), any())).thenReturn(1);
+
+        CheckoutSessionResponse response = donationService.createStripeCheckoutSession(testRequest);
+
+        assertEquals("cs_test_fake_1", response.getSessionId());
+        assertEquals(List.of("checkout-donation-123"), stripeGateway.getSessionIdempotencyKeys());
+        assertEquals("donation-123", stripeGateway.getCreatedSessions().get(0).getMetadata().get("donationId"));
+        // The PENDING row is saved once, before the Stripe call; the session id is a separate update
+        verify(donationRepository, times(1)).save(any(Donation.class));
+        verify(donationRepository).attachCheckoutSession("donation-123", "cs_test_fake_1");
+    }
+
+    @Test
+    void testCreateStripeCheckoutSession_StripeFailureMarksDonationFailed() {
+        when(campaignRepository.findById("campaign-123")).thenReturn(Optional.of(testCampaign));
+        when(donationRepository.save(any(Donation.class))).thenAnswer(invocation -> {
+            Donation saved = invocation.getArgument(0);
+            saved.setId("donation-123");
+            return saved;
+        });
+        stripeGateway.failNextWith(new ApiConnectionException("Read timed out"));
+
+        assertThrows(BusinessException.class, () -> donationService.createStripeCheckoutSession(testRequest));
+
+        verify(donationRepository).transitionStatus(eq("donation-123"), eq(DonationStatus.FAILED), any());
+        verify(donationRepository, never()).attachCheckoutSession(any(), any());
+    }
+
+    @Test
+    void testCreateStripeCheckoutSession_GatewayRejectionIsPassedThrough() {
+        when(campaignRepository.findById("campaign-123")).thenReturn(Optional.of(testCampaign));
+        when(donationRepository.save(any(Donation.class))).thenAnswer(invocation -> {
+            Donation saved = invocation.getArgument(0);
+            saved.setId("donation-123");
+            return saved;
+        });
+        stripeGateway.rejectNext();
+
+        assertThrows(ServiceBusyException.class, () -> donationService.createStripeCheckoutSession(testRequest));
+
+        verify(donationRepository).transitionStatus(eq("donation-123"), eq(DonationStatus.FAILED), any());
+        assertEquals(1, meterRegistry.get("donation.checkout")
+                .tags("outcome", "stripe_unavailable")
+                .timer().count());
+    }
+
+    @Test
+    void testCreateStripeCheckoutSession_DuplicateIdempotencyKeyReplaysSession() {
+        CheckoutSessionResponse original = CheckoutSessionResponse.builder()
+                .sessionId("cs_test_original")
+                .url("https://checkout.stripe.test/pay/cs_test_original")
+                .build();
+        when(checkoutIdempotency.begin("attempt-123", testRequest))
+                .thenReturn(new CheckoutIdempotencyService.Claim(original, "donation-123"));
+
+        CheckoutSessionResponse response = donationService.createStripeCheckoutSession(testRequest, "attempt-123");
+
+        assertSame(original, response);
+        verifyNoInteractions(donationRepository, campaignRepository);
+        assertTrue(stripeGateway.getCreatedSessions().isEmpty());
+    }
+
+    @Test
+    void testCreateStripeCheckoutSession_ResumesDonationOfFailedAttempt() {
+        Donation failed = Donation.builder()
+                .id("donation-123")
+                .amount(5000L)
+                .currency("usd")
+                .status(DonationStatus.FAILED)
+                .campaign(testCampaign)
+                .build();
+        Donation reopened = Donation.builder()
+                .id("donation-123")
+                .amount(5000L)
+                .currency("usd")
+                .status(DonationStatus.PENDING)
+                .campaign(testCampaign)
+                .build();
+        when(checkoutIdempotency.begin("attempt-123", testRequest))
+                .thenReturn(new CheckoutIdempotencyService.Claim(null, "donation-123"));
+        when(campaignRepository.findById("campaign-123")).thenReturn(Optional.of(testCampaign));
+        when(donationRepository.findById("donation-123")).thenReturn(Optional.of(failed), Optional.of(reopened));
+        when(donationRepository.transitionStatus(eq("donation-123"), eq(DonationStatus.PENDING), any())).thenReturn(1);
+        when(donationRepository.attachCheckoutSession(eq("donation-123"), any())).thenReturn(1);
+
+        CheckoutSessionResponse response = donationService.createStripeCheckoutSession(testRequest, "attempt-123");
+
+        verify(donationRepository, never()).save(any());
+        assertEquals(List.of("checkout-attempt-123:donation-123"), stripeGateway.getSessionIdempotencyKeys());
+        verify(checkoutIdempotency).complete("attempt-123", response);
+    }
+
+    @Test
+    void testCreateStripeCheckoutSession_FailureReleasesIdempotencyKey() {
+        when(checkoutIdempotency.begin("attempt-123", testRequest))
+                .thenReturn(new CheckoutIdempotencyService.Claim(null, null));
+        when(campaignRepository.findById("campaign-123")).thenReturn(Optional.of(testCampaign));
+        when(donationRepository.save(any(Donation.class))).thenAnswer(invocation -> {
+            Donation saved = invocation.getArgument(0);
+            saved.setId("donation-123");
+            return saved;
+        });
+        stripeGateway.failNextWith(new ApiConnectionException("Read timed out"));
+
+        assertThrows(BusinessException.class,
+                () -> donationService.createStripeCheckoutSession(testRequest, "attempt-123"));
+
+        verify(checkoutIdempotency).recordDonation("attempt-123", "donation-123");
+        verify(checkoutIdempotency).fail("attempt-123");
+        verify(checkoutIdempotency, never()).complete(any(), any());
+    }
+
     @Test
     void testMarkDonationSuccessFromStripe() {
         Donation donation = Donation.builder()
                 .id("donation-123")
                 .amount(5000L)
                 .currency("USD")
-                .status(DonationStatus.PENDING)
+                .status(DonationStatus.SUCCESS)
+                .stripePaymentIntentId("pi_123")
                 .campaign(testCampaign)
                 .build();
-        
+
+        when(donationRepository.markSucceeded(eq("donation-123"), eq("pi_123"), any())).thenReturn(1);
         when(donationRepository.findById("donation-123")).thenReturn(Optional.of(donation));
-        when(donationRepository.save(any(Donation.class))).thenReturn(donation);
-        
+
         donationService.markDonationSuccessFromStripe("donation-123", "pi_123");
-        
-        verify(donationRepository).save(argThat(d -> 
-            d.getStatus() == DonationStatus.SUCCESS && 
-            "pi_123".equals(d.getStripePaymentIntentId())
-        ));
+
+        verify(donationRepository).markSucceeded(eq("donation-123"), eq("pi_123"),
+                argThat(from -> from.contains(DonationStatus.PENDING) && !from.contains(DonationStatus.REFUNDED)));
+        verify(eventPublisher).publishEvent(argThat((Object e) -> e instanceof DonationStatusChangedEvent changed
+                && changed.status() == DonationStatus.SUCCESS && "donation-123".equals(changed.donationId())));
+        verify(donationRepository, never()).save(any());
     }
-    
+
     @Test
-    void testMarkDonationFailed() {
+    void testDuplicateSuccessWebhookPublishesNothing() {
         Donation donation = Donation.builder()
                 .id("donation-123")
-                .amount(5000L)
-                .currency("USD")
-                .status(DonationStatus.PENDING)
-                .campaign(testCampaign)
+                .status(DonationStatus.SUCCESS)
                 .build();
-        
+
+        when(donationRepository.markSucceeded(eq("donation-123"), eq("pi_123"), any())).thenReturn(0);
         when(donationRepository.findById("donation-123")).thenReturn(Optional.of(donation));
-        when(donationRepository.save(any(Donation.class))).thenReturn(donation);
-        
+
+        donationService.markDonationSuccessFromStripe("donation-123", "pi_123");
+
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testMarkDonationSuccessForUnknownDonationThrows() {
+        when(donationRepository.markSucceeded(eq("missing"), any(), any())).thenReturn(0);
+        when(donationRepository.findById("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> donationService.markDonationSuccessFromStripe("missing", "pi_123"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testMarkDonationFailed() {
+        when(donationRepository.transitionStatus(eq("donation-123"), eq(DonationStatus.FAILED), any())).thenReturn(1);
+
         donationService.markDonationFailed("donation-123");
-        
-        verify(donationRepository).save(argThat(d -> d.getStatus() == DonationStatus.FAILED));
+
+        verify(donationRepository).transitionStatus(eq("donation-123"), eq(DonationStatus.FAILED),
+                argThat(from -> from.equals(java.util.Set.of(DonationStatus.PENDING, DonationStatus.EXPIRED))));
+        verify(donationRepository, never()).save(any());
+    }
+
+    @Test
+    void testRefundWebhookForAlreadyRefundedDonationPublishesNothing() {
+        Donation donation = Donation.builder()
+                .id("donation-123")
+                .status(DonationStatus.REFUNDED)
+                .stripePaymentIntentId("pi_123")
+                .build();
+
+        when(donationRepository.markRefundedByPaymentIntent(eq("pi_123"), eq("re_1"), any(), any(), any()))
+                .thenReturn(0);
+        when(donationRepository.findByStripePaymentIntentId("pi_123")).thenReturn(Optional.of(donation));
+
+        donationService.markDonationRefundedFromWebhook("pi_123", "re_1");
+
+        verifyNoInteractions(eventPublisher);
     }
 }
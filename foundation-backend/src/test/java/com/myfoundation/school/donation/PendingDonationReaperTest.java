@@ -0,0 +1,64 @@
+package com.myfoundation.school.donation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PendingDonationReaperTest {
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private PendingDonationReaper reaper;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reaper, "afterHours", 25L);
+        ReflectionTestUtils.setField(reaper, "batchSize", 100);
+        ReflectionTestUtils.setField(reaper, "maxBatches", 5);
+    }
+
+    @Test
+    void expiresInBatchesUntilAShortBatch() {
+        when(donationRepository.expirePendingBatch(any(), eq(100))).thenReturn(100, 100, 40);
+
+        reaper.expireAbandonedDonations();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(donationRepository, times(3)).expirePendingBatch(cutoff.capture(), eq(100));
+        assertThat(cutoff.getValue()).isBefore(Instant.now().minus(Duration.ofHours(24)));
+        assertThat(meterRegistry.counter("donations.pending.expired").count()).isEqualTo(240);
+    }
+
+    @Test
+    void stopsAtMaxBatchesPerRun() {
+        when(donationRepository.expirePendingBatch(any(), eq(100))).thenReturn(100);
+
+        reaper.expireAbandonedDonations();
+
+        verify(donationRepository, times(5)).expirePendingBatch(any(), eq(100));
+        assertThat(meterRegistry.counter("donations.pending.expired").count()).isEqualTo(500);
+    }
+}
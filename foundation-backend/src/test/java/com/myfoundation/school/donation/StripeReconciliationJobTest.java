@@ -0,0 +1,294 @@
+package com.myfoundation.school.donation;
+
+import com.myfoundation.school.payment.FakeStripeGateway;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.model.checkout.Session;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.checkout.SessionCreateParams;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StripeReconciliationJobTest {
+
+    @Mock
+    private DonationRepository donationRepository;
+
+    @Mock
+    private DonationService donationService;
+
+    @Mock
+    private ReconciliationWatermarkRepository watermarkRepository;
+
+    @Mock
+    private ReconciliationRecheckRepository recheckRepository;
+
+    private FakeStripeGateway stripe;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        stripe = new FakeStripeGateway();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private StripeReconciliationJob job(int pageSize) {
+        return job(pageSize, 10);
+    }
+
+    private StripeReconciliationJob job(int pageSize, int maxPages) {
+        return new StripeReconciliationJob(stripe, donationRepository, donationService, watermarkRepository,
+                recheckRepository, meterRegistry, true, 48, pageSize, maxPages, 6, 100);
+    }
+
+    private Session checkout(String donationId) throws Exception {
+        return stripe.createCheckoutSession(
+                SessionCreateParams.builder().putMetadata("donationId", donationId).build(), "checkout-" + donationId);
+    }
+
+    private static Donation donation(String id, DonationStatus status, String sessionId) {
+        return Donation.builder().id(id).status(status).stripeSessionId(sessionId).amount(5000L).currency("usd").build();
+    }
+
+    private Instant savedWatermark(String source) {
+        ArgumentCaptor<ReconciliationWatermark> saved = ArgumentCaptor.forClass(ReconciliationWatermark.class);
+        verify(watermarkRepository, atLeastOnce()).save(saved.capture());
+        return saved.getAllValues().stream()
+                .filter(w -> w.getName().equals(source))
+                .map(ReconciliationWatermark::getWatermark)
+                .reduce((first, second) -> second)
+                .orElse(null);
+    }
+
+    private double drift(String type) {
+        return meterRegistry.counter("stripe.reconciliation.drift", "type", type).count();
+    }
+
+    @Test
+    void paidSessionWithMissedWebhookIsMarkedSucceeded() throws Exception {
+        Session session = checkout("donation-1");
+        stripe.completeSession(session.getId(), "pi_1");
+        when(donationRepository.findByStripeSessionIdIn(List.of(session.getId())))
+                .thenReturn(List.of(donation("donation-1", DonationStatus.PENDING, session.getId())));
+
+        job(100).reconcile();
+
+        verify(donationService).markDonationSuccessFromStripe("donation-1", "pi_1");
+        assertThat(drift("missed_success")).isEqualTo(1);
+        assertThat(savedWatermark(StripeReconciliationJob.SESSIONS)).isAfter(Instant.now().minusSeconds(60));
+    }
+
+    @Test
+    void expiredSessionWithPendingDonationIsMarkedFailed() throws Exception {
+        Session session = checkout("donation-2");
+        stripe.expireSession(session.getId());
+        when(donationRepository.findByStripeSessionIdIn(List.of(session.getId())))
+                .thenReturn(List.of(donation("donation-2", DonationStatus.PENDING, session.getId())));
+
+        job(100).reconcile();
+
+        verify(donationService).markDonationFailed("donation-2");
+        assertThat(drift("missed_failure")).isEqualTo(1);
+    }
+
+    @Test
+    void donationsAlreadyInStepWithStripeAreLeftAlone() throws Exception {
+        Session paid = checkout("donation-3");
+        stripe.completeSession(paid.getId(), "pi_3");
+        Session expired = checkout("donation-4");
+        stripe.expireSession(expired.getId());
+        when(donationRepository.findByStripeSessionIdIn(any())).thenReturn(List.of(
+                donation("donation-3", DonationStatus.SUCCESS, paid.getId()),
+                donation("donation-4", DonationStatus.EXPIRED, expired.getId())));
+
+        job(100).reconcile();
+
+        verifyNoInteractions(donationService);
+    }
+
+    @Test
+    void openSessionIsQueuedForRecheckWithoutHoldingTheWatermark() throws Exception {
+        Session open = checkout("donation-5");
+        Instant created = Instant.now().minus(2, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        open.setCreated(created.getEpochSecond());
+        when(donationRepository.findByStripeSessionIdIn(any()))
+                .thenReturn(List.of(donation("donation-5", DonationStatus.PENDING, open.getId())));
+        when(watermarkRepository.findById(StripeReconciliationJob.SESSIONS)).thenReturn(Optional.of(
+                new ReconciliationWatermark(StripeReconciliationJob.SESSIONS, created.minus(1, ChronoUnit.HOURS), created)));
+
+        job(100).reconcile();
+
+        assertThat(savedWatermark(StripeReconciliationJob.SESSIONS)).isAfter(Instant.now().minusSeconds(60));
+        ArgumentCaptor<ReconciliationRecheck> queued = ArgumentCaptor.forClass(ReconciliationRecheck.class);
+        verify(recheckRepository).save(queued.capture());
+        assertThat(queued.getValue().getObjectId()).isEqualTo(open.getId());
+        assertThat(queued.getValue().getObjectCreated()).isEqualTo(created);
+        verifyNoInteractions(donationService);
+    }
+
+    @Test
+    void completedButUnpaidSessionIsQueuedForRecheck() throws Exception {
+        Session delayed = checkout("donation-6");
+        Instant created = Instant.now().minus(3, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        delayed.setCreated(created.getEpochSecond());
+        delayed.setStatus("complete");
+        delayed.setPaymentStatus("unpaid");
+        when(donationRepository.findByStripeSessionIdIn(any()))
+                .thenReturn(List.of(donation("donation-6", DonationStatus.PENDING, delayed.getId())));
+        when(watermarkRepository.findById(StripeReconciliationJob.SESSIONS)).thenReturn(Optional.of(
+                new ReconciliationWatermark(StripeReconciliationJob.SESSIONS, created.minus(1, ChronoUnit.HOURS), created)));
+
+        job(100).reconcile();
+
+        assertThat(savedWatermark(StripeReconciliationJob.SESSIONS)).isAfter(created);
+        ArgumentCaptor<ReconciliationRecheck> queued = ArgumentCaptor.forClass(ReconciliationRecheck.class);
+        verify(recheckRepository).save(queued.capture());
+        assertThat(queued.getValue().getObjectId()).isEqualTo(delayed.getId());
+        verifyNoInteractions(donationService);
+    }
+
+    @Test
+    void recheckedSessionThatSettledIsReconciledAndForgotten() throws Exception {
+        Session session = checkout("donation-8");
+        stripe.completeSession(session.getId(), "pi_8");
+        Instant created = Instant.ofEpochSecond(session.getCreated());
+        ReconciliationRecheck recheck =
+                new ReconciliationRecheck(session.getId(), StripeReconciliationJob.SESSIONS, created, created);
+        when(recheckRepository.findBySourceAndNextCheckAtLessThanEqualOrderByNextCheckAtAsc(
+                eq(StripeReconciliationJob.SESSIONS), any(), any())).thenReturn(List.of(recheck));
+        when(donationRepository.findByStripeSessionIdIn(List.of(session.getId())))
+                .thenReturn(List.of(donation("donation-8", DonationStatus.PENDING, session.getId())));
+
+        job(100).reconcile();
+
+        assertThat(stripe.getRetrieveCalls()).isEqualTo(1);
+        verify(donationService, atLeastOnce()).markDonationSuccessFromStripe("donation-8", "pi_8");
+        verify(recheckRepository).delete(recheck);
+    }
+
+    @Test
+    void truncatedRunsStillMoveTheWatermarkSliceBySlice() throws Exception {
+        Instant base = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        List<String> sessionIds = new ArrayList<>();
+        for (long minutesAgo : List.of(570L, 540L, 480L, 420L, 360L)) {
+            Session session = checkout("donation-old-" + minutesAgo);
+            session.setCreated(base.minus(minutesAgo, ChronoUnit.MINUTES).getEpochSecond());
+            stripe.expireSession(session.getId());
+            sessionIds.add(session.getId());
+        }
+        Map<String, ReconciliationWatermark> stored = new HashMap<>();
+        stored.put(StripeReconciliationJob.SESSIONS, new ReconciliationWatermark(
+                StripeReconciliationJob.SESSIONS, base.minus(10, ChronoUnit.HOURS), base));
+        when(watermarkRepository.findById(any())).thenAnswer(call -> Optional.ofNullable(stored.get(call.getArgument(0))));
+        when(watermarkRepository.save(any())).thenAnswer(call -> {
+            ReconciliationWatermark watermark = call.getArgument(0);
+            stored.put(watermark.getName(), watermark);
+            return watermark;
+        });
+        List<String> reconciled = new ArrayList<>();
+        when(donationRepository.findByStripeSessionIdIn(any())).thenAnswer(call -> {
+            reconciled.addAll(call.getArgument(0));
+            return List.of();
+        });
+
+        // Two pages of two per run: the first 6-hour slice holds all five sessions and never fits
+        StripeReconciliationJob job = job(2, 2);
+        job.reconcile();
+        assertThat(stored.get(StripeReconciliationJob.SESSIONS).getWatermark())
+                .isEqualTo(base.minus(10, ChronoUnit.HOURS));
+
+        // ... so it is halved, and the watermark moves one completed slice at a time
+        job.reconcile();
+        assertThat(stored.get(StripeReconciliationJob.SESSIONS).getWatermark())
+                .isEqualTo(base.minus(7, ChronoUnit.HOURS));
+
+        job.reconcile();
+        assertThat(stored.get(StripeReconciliationJob.SESSIONS).getWatermark()).isAfter(base.minusSeconds(60));
+        assertThat(reconciled).containsAll(sessionIds);
+        assertThat(meterRegistry.timer("stripe.reconciliation.runs",
+                "source", StripeReconciliationJob.SESSIONS, "outcome", "truncated").count()).isEqualTo(2);
+        assertThat(meterRegistry.timer("stripe.reconciliation.runs",
+                "source", StripeReconciliationJob.SESSIONS, "outcome", "complete").count()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesThroughEverySessionWithOneLookupPerPage() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            checkout("donation-page-" + i);
+        }
+        when(donationRepository.findByStripeSessionIdIn(any())).thenReturn(List.of());
+        Instant recent = Instant.now().minus(1, ChronoUnit.HOURS);
+        when(watermarkRepository.findById(any())).thenAnswer(call ->
+                Optional.of(new ReconciliationWatermark(call.getArgument(0), recent, recent)));
+
+        job(2).reconcile();
+
+        verify(donationRepository, times(3)).findByStripeSessionIdIn(any());
+        // three session pages and one (empty) refund page
+        assertThat(stripe.getListCalls()).isEqualTo(4);
+    }
+
+    @Test
+    void sessionIdMissingFromDonationIsAttachedFromMetadata() throws Exception {
+        Session session = checkout("donation-6");
+        stripe.completeSession(session.getId(), "pi_6");
+        when(donationRepository.findByStripeSessionIdIn(any())).thenReturn(List.of());
+        when(donationRepository.findAllById(List.of("donation-6")))
+                .thenReturn(List.of(donation("donation-6", DonationStatus.PENDING, null)));
+
+        job(100).reconcile();
+
+        verify(donationRepository).attachCheckoutSession("donation-6", session.getId());
+        verify(donationService).markDonationSuccessFromStripe("donation-6", "pi_6");
+        assertThat(drift("missing_session_id")).isEqualTo(1);
+    }
+
+    @Test
+    void refundMadeOutsideTheAppIsRecorded() throws Exception {
+        stripe.createRefund(RefundCreateParams.builder().setPaymentIntent("pi_7").build(), null);
+        Donation paid = donation("donation-7", DonationStatus.SUCCESS, "cs_7");
+        paid.setStripePaymentIntentId("pi_7");
+        when(donationRepository.findByStripePaymentIntentIdIn(List.of("pi_7"))).thenReturn(List.of(paid));
+
+        job(100).reconcile();
+
+        verify(donationService).markDonationRefundedFromWebhook(eq("pi_7"), any());
+        assertThat(drift("missed_refund")).isEqualTo(1);
+    }
+
+    @Test
+    void failedListKeepsTheWatermarkAndStillReconcilesRefunds() {
+        stripe.failNextWith(new ApiConnectionException("connection reset"));
+
+        job(100).reconcile();
+
+        ArgumentCaptor<ReconciliationWatermark> saved = ArgumentCaptor.forClass(ReconciliationWatermark.class);
+        verify(watermarkRepository, atLeastOnce()).save(saved.capture());
+        assertThat(saved.getAllValues()).extracting(ReconciliationWatermark::getName)
+                .containsOnly(StripeReconciliationJob.REFUNDS);
+        assertThat(meterRegistry.timer("stripe.reconciliation.runs",
+                "source", StripeReconciliationJob.SESSIONS, "outcome", "error").count()).isEqualTo(1);
+    }
+}
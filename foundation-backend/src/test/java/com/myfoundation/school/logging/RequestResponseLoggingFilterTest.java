@@ -0,0 +1,123 @@
+package com.myfoundation.school.logging;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RequestResponseLoggingFilter Tests")
+@ExtendWith(OutputCaptureExtension.class)
+class RequestResponseLoggingFilterTest {
+
+    @Test
+    @DisplayName("Should stream successful bodies through without capturing them")
+    void shouldNotCaptureSuccessfulResponses() throws Exception {
+        MockHttpServletResponse target = new MockHttpServletResponse();
+        ErrorBodyCaptureResponseWrapper wrapper = new ErrorBodyCaptureResponseWrapper(target, 16);
+        wrapper.setStatus(200);
+        wrapper.setContentType("application/json");
+
+        wrapper.getWriter().write("{\"items\":[1,2,3,4,5,6,7,8,9]}");
+        wrapper.finish();
+
+        assertThat(target.getContentAsString()).isEqualTo("{\"items\":[1,2,3,4,5,6,7,8,9]}");
+        assertThat(wrapper.getCapturedBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should capture a capped prefix of textual error bodies")
+    void shouldCaptureTextualErrorBodies() throws Exception {
+        MockHttpServletResponse target = new MockHttpServletResponse();
+        ErrorBodyCaptureResponseWrapper wrapper = new ErrorBodyCaptureResponseWrapper(target, 8);
+        wrapper.setStatus(400);
+        wrapper.setContentType("application/json");
+
+        wrapper.getOutputStream().write("{\"error\":\"bad\"}".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(target.getContentAsString()).isEqualTo("{\"error\":\"bad\"}");
+        assertThat(wrapper.getCapturedBody()).isEqualTo("{\"error\"...");
+    }
+
+    @Test
+    @DisplayName("Should not capture binary error bodies")
+    void shouldNotCaptureBinaryErrorBodies() throws Exception {
+        MockHttpServletResponse target = new MockHttpServletResponse();
+        ErrorBodyCaptureResponseWrapper wrapper = new ErrorBodyCaptureResponseWrapper(target, 64);
+        wrapper.setStatus(500);
+        wrapper.setContentType("application/pdf");
+
+        wrapper.getOutputStream().write(new byte[] {1, 2, 3});
+
+        assertThat(target.getContentAsByteArray()).containsExactly(1, 2, 3);
+        assertThat(wrapper.getCapturedBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should pick the longest matching route prefix for sampling")
+    void shouldResolveRouteSampleRates() {
+        RequestResponseLoggingFilter filter =
+                new RequestResponseLoggingFilter(1024, 1.0, "/api=0.5, /api/campaigns=0.0, bogus", 1000);
+
+        assertThat(filter.sampleRateFor("/api/campaigns/featured")).isZero();
+        assertThat(filter.sampleRateFor("/api/donations")).isEqualTo(0.5);
+        assertThat(filter.sampleRateFor("/webhook")).isEqualTo(1.0);
+        assertThat(filter.sampled("/api/campaigns")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should pass the response body and trace header through the filter")
+    void shouldPassThroughFilter() throws Exception {
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(1024, 1.0, "", 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/campaigns");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req,
+                                 HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getWriter().write("[]");
+            }
+        }));
+
+        assertThat(response.getContentAsString()).isEqualTo("[]");
+        assertThat(response.getHeader("X-Trace-Id")).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should not log the request body of a failed admin user create")
+    void shouldNotLogRequestBodyOnError(CapturedOutput output) throws Exception {
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter(1024, 1.0, "", 1000);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/admin/users");
+        request.setContentType("application/json");
+        request.setContent("{\"username\":\"newadmin\",\"email\":\"newadmin@example.org\",\"password\":\"hunter2\"}"
+                .getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doPost(HttpServletRequest req,
+                                  HttpServletResponse resp) throws IOException {
+                req.getInputStream().readAllBytes();
+                resp.setStatus(400);
+                resp.setContentType("application/json");
+                resp.getWriter().write("{\"error\":\"Password is too weak\"}");
+            }
+        }));
+
+        assertThat(output).contains("/api/admin/users").contains("Password is too weak");
+        assertThat(output).doesNotContain("hunter2").doesNotContain("newadmin@example.org");
+    }
+}
@@ -0,0 +1,218 @@
+package com.myfoundation.school.payment;
+
+import com.myfoundation.school.exception.ServiceBusyException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.HasId;
+import com.stripe.model.Refund;
+import com.stripe.model.RefundCollection;
+import com.stripe.model.StripeCollection;
+import com.stripe.model.checkout.Session;
+import com.stripe.model.checkout.SessionCollection;
+import com.stripe.param.RefundCreateParams;
+import com.stripe.param.RefundListParams;
+import com.stripe.param.checkout.SessionCreateParams;
+import com.stripe.param.checkout.SessionListParams;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * In-memory {@link StripeGateway} for tests. Sessions and refunds get sequential ids, and repeating
+ * an idempotency key returns the original object like Stripe does. {@link #failNextWith} and
+ * {@link #rejectNext} make the next call throw a Stripe error or a gateway rejection.
+ *
+ * <p>List calls page newest first and honour {@code created[gte]}, {@code created[lt]},
+ * {@code limit} and {@code starting_after}. {@link #completeSession} and {@link #expireSession} change a session the
+ * way Stripe would without any webhook being sent, for reconciliation tests.</p>
+ */
+public class FakeStripeGateway implements StripeGateway {
+
+    private final Map<String, Session> sessionsByKey = new LinkedHashMap<>();
+    private final Map<String, Refund> refundsByKey = new LinkedHashMap<>();
+    private final List<SessionCreateParams> sessionParams = new ArrayList<>();
+    private final List<RefundCreateParams> refundParams = new ArrayList<>();
+    private RuntimeException nextRejection;
+    private StripeException nextFailure;
+    private int sequence;
+    private int listCalls;
+    private int retrieveCalls;
+
+    @Override
+    public synchronized Session createCheckoutSession(SessionCreateParams params, String idempotencyKey)
+            throws StripeException {
+        throwIfProgrammed();
+        Session existing = idempotencyKey != null ? sessionsByKey.get(idempotencyKey) : null;
+        if (existing != null) {
+            return existing;
+        }
+        sessionParams.add(params);
+        Session session = new Session();
+        session.setId("cs_test_fake_" + (++sequence));
+        session.setUrl("https://checkout.stripe.test/pay/" + session.getId());
+        session.setMetadata(params.getMetadata());
+        session.setStatus("open");
+        session.setPaymentStatus("unpaid");
+        session.setCreated(Instant.now().getEpochSecond());
+        sessionsByKey.put(idempotencyKey != null ? idempotencyKey : session.getId(), session);
+        return session;
+    }
+
+    @Override
+    public synchronized Refund createRefund(RefundCreateParams params, String idempotencyKey) throws StripeException {
+        throwIfProgrammed();
+        Refund existing = idempotencyKey != null ? refundsByKey.get(idempotencyKey) : null;
+        if (existing != null) {
+            return existing;
+        }
+        refundParams.add(params);
+        Refund refund = new Refund();
+        refund.setId("re_test_fake_" + (++sequence));
+        refund.setPaymentIntent(params.getPaymentIntent());
+        refund.setStatus("succeeded");
+        refund.setCreated(Instant.now().getEpochSecond());
+        refundsByKey.put(idempotencyKey != null ? idempotencyKey : refund.getId(), refund);
+        return refund;
+    }
+
+    @Override
+    public synchronized SessionCollection listCheckoutSessions(SessionListParams params) throws StripeException {
+        throwIfProgrammed();
+        listCalls++;
+        SessionListParams.Created created = params.getCreated() instanceof SessionListParams.Created c ? c : null;
+        SessionCollection page = new SessionCollection();
+        fillPage(page, new ArrayList<>(sessionsByKey.values()), Session::getCreated,
+                created != null ? created.getGte() : null, created != null ? created.getLt() : null,
+                params.getLimit(), params.getStartingAfter());
+        return page;
+    }
+
+    @Override
+    public synchronized RefundCollection listRefunds(RefundListParams params) throws StripeException {
+        throwIfProgrammed();
+        listCalls++;
+        RefundListParams.Created created = params.getCreated() instanceof RefundListParams.Created c ? c : null;
+        RefundCollection page = new RefundCollection();
+        fillPage(page, new ArrayList<>(refundsByKey.values()), Refund::getCreated,
+                created != null ? created.getGte() : null, created != null ? created.getLt() : null,
+                params.getLimit(), params.getStartingAfter());
+        return page;
+    }
+
+    @Override
+    public synchronized Session retrieveCheckoutSession(String sessionId) throws StripeException {
+        throwIfProgrammed();
+        retrieveCalls++;
+        return session(sessionId);
+    }
+
+    @Override
+    public synchronized Refund retrieveRefund(String refundId) throws StripeException {
+        throwIfProgrammed();
+        retrieveCalls++;
+        return refundsByKey.values().stream()
+                .filter(refund -> refund.getId().equals(refundId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No fake refund " + refundId));
+    }
+
+    /** Marks a session paid, as after a completed checkout whose webhook never arrived. */
+    public synchronized Session completeSession(String sessionId, String paymentIntentId) {
+        Session session = session(sessionId);
+        session.setStatus("complete");
+        session.setPaymentStatus("paid");
+        session.setPaymentIntent(paymentIntentId);
+        return session;
+    }
+
+    public synchronized Session expireSession(String sessionId) {
+        Session session = session(sessionId);
+        session.setStatus("expired");
+        return session;
+    }
+
+    public synchronized Session session(String sessionId) {
+        return sessionsByKey.values().stream()
+                .filter(session -> session.getId().equals(sessionId))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No fake session " + sessionId));
+    }
+
+    public synchronized int getListCalls() {
+        return listCalls;
+    }
+
+    public synchronized int getRetrieveCalls() {
+        return retrieveCalls;
+    }
+
+    /** The next call throws {@code failure} as if Stripe had answered with an error. */
+    public synchronized FakeStripeGateway failNextWith(StripeException failure) {
+        this.nextFailure = failure;
+        return this;
+    }
+
+    /** The next call is refused as if the circuit breaker were open. */
+    public synchronized FakeStripeGateway rejectNext() {
+        this.nextRejection = new ServiceBusyException(ResilientStripeGateway.UNAVAILABLE_MESSAGE, 30);
+        return this;
+    }
+
+    public synchronized List<SessionCreateParams> getCreatedSessions() {
+        return Collections.unmodifiableList(new ArrayList<>(sessionParams));
+    }
+
+    public synchronized List<RefundCreateParams> getCreatedRefunds() {
+        return Collections.unmodifiableList(new ArrayList<>(refundParams));
+    }
+
+    public synchronized List<String> getSessionIdempotencyKeys() {
+        return new ArrayList<>(sessionsByKey.keySet());
+    }
+
+    /** Newest first (later-created objects before earlier ones), as Stripe lists. */
+    private static <T extends HasId> void fillPage(StripeCollection<T> page, List<T> createdOrder,
+                                                   ToLongFunction<T> created, Long createdGte, Long createdLt,
+                                                   Long limit, String startingAfter) {
+        List<T> matching = new ArrayList<>();
+        for (int i = createdOrder.size() - 1; i >= 0; i--) {
+            T object = createdOrder.get(i);
+            long createdAt = created.applyAsLong(object);
+            if ((createdGte == null || createdAt >= createdGte) && (createdLt == null || createdAt < createdLt)) {
+                matching.add(object);
+            }
+        }
+        // Tests may backdate objects after creating them; the sort is stable for equal times
+        matching.sort(Comparator.comparingLong(created).reversed());
+        int from = 0;
+        if (startingAfter != null) {
+            for (int i = 0; i < matching.size(); i++) {
+                if (matching.get(i).getId().equals(startingAfter)) {
+                    from = i + 1;
+                    break;
+                }
+            }
+        }
+        int to = Math.min(matching.size(), from + (limit != null ? limit.intValue() : 10));
+        page.setData(new ArrayList<>(matching.subList(from, to)));
+        page.setHasMore(to < matching.size());
+    }
+
+    private void throwIfProgrammed() throws StripeException {
+        if (nextRejection != null) {
+            RuntimeException rejection = nextRejection;
+            nextRejection = null;
+            throw rejection;
+        }
+        if (nextFailure != null) {
+            StripeException failure = nextFailure;
+            nextFailure = null;
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.myfoundation.school.payment;
+
+import com.myfoundation.school.exception.ServiceBusyException;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ResilientStripeGateway Tests")
+class ResilientStripeGatewayTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private StripeCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new StripeCircuitBreaker(4, 4, 50, Duration.ofSeconds(30), now::get);
+    }
+
+    private ResilientStripeGateway gateway(int maxConcurrentCalls, int maxRetries, RetryBudget budget) {
+        return new ResilientStripeGateway(meterRegistry, circuitBreaker, budget,
+                maxConcurrentCalls, 10, 1000, 1000, maxRetries, 1);
+    }
+
+    @Test
+    @DisplayName("Should retry network errors when the call has an idempotency key")
+    void shouldRetryIdempotentCalls() throws Exception {
+        ResilientStripeGateway gateway = gateway(5, 2, new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = gateway.execute("test.op", "key-1", options -> {
+            assertThat(options.getIdempotencyKey()).isEqualTo("key-1");
+            assertThat(options.getMaxNetworkRetries()).isZero();
+            if (attempts.incrementAndGet() < 3) {
+                throw new ApiConnectionException("connection reset");
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts).hasValue(3);
+        assertThat(meterRegistry.counter("stripe.gateway.retries", "operation", "test.op", "result", "attempted")
+                .count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not retry calls without an idempotency key or client errors")
+    void shouldNotRetryUnsafeCallsOrClientErrors() {
+        ResilientStripeGateway gateway = gateway(5, 2, new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> gateway.execute("test.op", null, options -> {
+            attempts.incrementAndGet();
+            throw new ApiConnectionException("connection reset");
+        })).isInstanceOf(ApiConnectionException.class);
+        assertThat(attempts).hasValue(1);
+
+        assertThatThrownBy(() -> gateway.execute("test.op", "key-2", options -> {
+            attempts.incrementAndGet();
+            throw new InvalidRequestException("No such payment_intent", "payment_intent", null,
+                    "resource_missing", 404, null);
+        })).isInstanceOf(InvalidRequestException.class);
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should retry read-only calls without an idempotency key")
+    void shouldRetryReadOnlyCalls() throws Exception {
+        ResilientStripeGateway gateway = gateway(5, 2, new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = gateway.execute("test.list", null, true, options -> {
+            assertThat(options.getIdempotencyKey()).isNull();
+            if (attempts.incrementAndGet() < 2) {
+                throw new ApiException("Service unavailable", null, null, 503, null);
+            }
+            return "page";
+        });
+
+        assertThat(result).isEqualTo("page");
+        assertThat(attempts).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the retry budget is spent")
+    void shouldRespectRetryBudget() {
+        ResilientStripeGateway gateway = gateway(5, 3, new RetryBudget(0.0, 1));
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> gateway.execute("test.op", "key-3", options -> {
+            attempts.incrementAndGet();
+            throw new ApiException("Internal error", null, "api_error", 500, null);
+        })).isInstanceOf(ApiException.class);
+
+        assertThat(attempts).hasValue(2);
+        assertThat(meterRegistry.counter("stripe.gateway.retries", "operation", "test.op", "result", "budget_exhausted")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should open the breaker after provider failures and fail fast while open")
+    void shouldOpenCircuitAndFailFast() {
+        ResilientStripeGateway gateway = gateway(5, 0, new RetryBudget(0.2, 10));
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> gateway.execute("test.op", null, options -> {
+                attempts.incrementAndGet();
+                throw new ApiException("Bad gateway", null, null, 502, null);
+            })).isInstanceOf(ApiException.class);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> gateway.execute("test.op", null, options -> {
+            attempts.incrementAndGet();
+            return "never";
+        }))
+                .isInstanceOf(ServiceBusyException.class)
+                .satisfies(e -> assertThat(((ServiceBusyException) e).getRetryAfterSeconds()).isEqualTo(30));
+        assertThat(attempts).hasValue(4);
+        assertThat(meterRegistry.counter("stripe.gateway.rejected", "operation", "test.op", "reason", "circuit_open")
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should close the breaker after a successful half-open trial")
+    void shouldCloseCircuitAfterSuccessfulTrial() throws Exception {
+        ResilientStripeGateway gateway = gateway(5, 0, new RetryBudget(0.2, 10));
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.OPEN);
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        String result = gateway.execute("test.op", null, options -> "ok");
+        assertThat(result).isEqualTo("ok");
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen the breaker when the half-open trial throws an unexpected exception")
+    void shouldResolveTrialOnUnexpectedException() throws Exception {
+        ResilientStripeGateway gateway = gateway(5, 0, new RetryBudget(0.2, 10));
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        assertThatThrownBy(() -> gateway.execute("test.op", null, options -> {
+            throw new IllegalStateException("Unexpected response body");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.OPEN);
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        String result = gateway.execute("test.op", null, options -> "ok");
+        assertThat(result).isEqualTo("ok");
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should not count client errors as provider failures")
+    void shouldIgnoreClientErrorsForCircuit() {
+        ResilientStripeGateway gateway = gateway(5, 0, new RetryBudget(0.2, 10));
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> gateway.execute("test.op", null, options -> {
+                throw new InvalidRequestException("Invalid currency", "currency", null, null, 400, null);
+            })).isInstanceOf(InvalidRequestException.class);
+        }
+
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reject calls beyond the bulkhead instead of queueing")
+    void shouldRejectWhenBulkheadFull() throws Exception {
+        ResilientStripeGateway gateway = gateway(1, 0, new RetryBudget(0.2, 10));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return gateway.execute("test.op", null, options -> {
+                    inFlight.countDown();
+                    awaitQuietly(release);
+                    return "slow";
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> gateway.execute("test.op", null, options -> "fast"))
+                .isInstanceOf(ServiceBusyException.class);
+        assertThat(meterRegistry.get("stripe.bulkhead.in_use").gauge().value()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+        String afterRelease = gateway.execute("test.op", null, options -> "fast");
+        assertThat(afterRelease).isEqualTo("fast");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
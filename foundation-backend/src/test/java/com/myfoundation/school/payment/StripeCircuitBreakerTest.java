@@ -0,0 +1,65 @@
+package com.myfoundation.school.payment;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("StripeCircuitBreaker Tests")
+class StripeCircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private StripeCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new StripeCircuitBreaker(4, 4, 50, Duration.ofSeconds(30), now::get);
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    @Test
+    @DisplayName("Should let exactly one trial call through once the open period has passed")
+    void shouldAllowSingleTrial() {
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give up on a trial whose outcome is never reported")
+    void shouldReleaseLostTrial() {
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        // the trial call never reports back
+        now.addAndGet(Duration.ofSeconds(29).toMillis());
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        now.addAndGet(Duration.ofSeconds(2).toMillis());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("Should reopen when the trial fails")
+    void shouldReopenOnFailedTrial() {
+        now.addAndGet(Duration.ofSeconds(31).toMillis());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(StripeCircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.secondsUntilHalfOpen()).isEqualTo(30);
+    }
+}
@@ -0,0 +1,107 @@
+package com.myfoundation.school.privacy;
+
+import com.myfoundation.school.audit.AuditAction;
+import com.myfoundation.school.audit.AuditLog;
+import com.myfoundation.school.audit.AuditLogRepository;
+import com.myfoundation.school.contact.ContactSubmission;
+import com.myfoundation.school.contact.ContactSubmissionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** The bulk erasure statements behind {@link ErasureService}, against the real schema. */
+@DataJpaTest
+@ActiveProfiles("test")
+class ErasureQueriesTest {
+
+    @Autowired
+    private ContactSubmissionRepository contactSubmissionRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ErasureRequestRepository erasureRequestRepository;
+
+    private ContactSubmission submission(String email) {
+        return contactSubmissionRepository.saveAndFlush(ContactSubmission.builder()
+                .name("Sender")
+                .email(email)
+                .subject("Volunteering")
+                .message("Please call me on 555-0100")
+                .clientIp("203.0.113.7")
+                .build());
+    }
+
+    private AuditLog auditEntry(String actor) {
+        return auditLogRepository.saveAndFlush(AuditLog.builder()
+                .action(AuditAction.PASSWORD_RESET_REQUESTED)
+                .entityType("AdminUser")
+                .actorUsername(actor)
+                .ipAddress("203.0.113.7")
+                .timestamp(Instant.now())
+                .build());
+    }
+
+    @Test
+    void anonymizeSenderBatch_clearsPersonalFieldsOneBatchAtATime() {
+        submission("Sender@Example.org");
+        submission("sender@example.org");
+        submission("sender@example.org");
+        ContactSubmission other = submission("someone@example.org");
+
+        assertThat(contactSubmissionRepository.anonymizeSenderBatch("sender@example.org", 2)).isEqualTo(2);
+        assertThat(contactSubmissionRepository.anonymizeSenderBatch("sender@example.org", 2)).isEqualTo(1);
+        assertThat(contactSubmissionRepository.anonymizeSenderBatch("sender@example.org", 2)).isZero();
+
+        assertThat(contactSubmissionRepository.findAll())
+                .filteredOn(c -> !c.getId().equals(other.getId()))
+                .hasSize(3)
+                .allSatisfy(c -> {
+                    assertThat(c.getName()).isEqualTo("[Deleted]");
+                    assertThat(c.getEmail()).isEqualTo("[deleted]");
+                    assertThat(c.getMessage()).isEqualTo("[Deleted]");
+                    assertThat(c.getClientIp()).isNull();
+                    assertThat(c.getSubject()).isEqualTo("Volunteering");
+                });
+        assertThat(contactSubmissionRepository.findById(other.getId()))
+                .get().extracting(ContactSubmission::getEmail).isEqualTo("someone@example.org");
+    }
+
+    @Test
+    void anonymizeActorBatch_replacesActorAndKeepsTheEntry() {
+        AuditLog mine = auditEntry("Donor@Example.org");
+        AuditLog admin = auditEntry("admin");
+
+        assertThat(auditLogRepository.anonymizeActorBatch("donor@example.org", 10)).isEqualTo(1);
+
+        AuditLog erased = auditLogRepository.findById(mine.getId()).orElseThrow();
+        assertThat(erased.getActorUsername()).isEqualTo("[deleted]");
+        assertThat(erased.getIpAddress()).isNull();
+        assertThat(erased.getAction()).isEqualTo(AuditAction.PASSWORD_RESET_REQUESTED);
+        assertThat(auditLogRepository.findById(admin.getId()))
+                .get().extracting(AuditLog::getActorUsername).isEqualTo("admin");
+    }
+
+    @Test
+    void addProgress_accumulatesPerTable() {
+        ErasureRequest request = erasureRequestRepository.saveAndFlush(ErasureRequest.builder()
+                .email("donor@example.org")
+                .status(ErasureStatus.IN_PROGRESS)
+                .build());
+
+        erasureRequestRepository.addProgress(request.getId(), 500, 0, 0);
+        erasureRequestRepository.addProgress(request.getId(), 12, 0, 0);
+        erasureRequestRepository.addProgress(request.getId(), 0, 3, 0);
+
+        ErasureRequest reloaded = erasureRequestRepository.findById(request.getId()).orElseThrow();
+        assertThat(reloaded.getDonationsAnonymized()).isEqualTo(512);
+        assertThat(reloaded.getContactSubmissionsAnonymized()).isEqualTo(3);
+        assertThat(reloaded.getAuditLogsAnonymized()).isZero();
+    }
+}
@@ -1,24 +1,25 @@
 package com.myfoundation.school.privacy;
 
 import com.myfoundation.school.audit.AuditAction;
+import com.myfoundation.school.audit.AuditLogRepository;
 import com.myfoundation.school.audit.AuditLogService;
-import com.myfoundation.school.donation.Donation;
+import com.myfoundation.school.contact.ContactSubmissionRepository;
 import com.myfoundation.school.donation.DonationRepository;
-import com.myfoundation.school.donation.DonationStatus;
 import com.myfoundation.school.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.Collections;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,17 +37,29 @@ class ErasureServiceTest {
     @Mock
     private DonationRepository donationRepository;
 
+    @Mock
+    private ContactSubmissionRepository contactSubmissionRepository;
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
     @Mock
     private AuditLogService auditLogService;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private ErasureService erasureService;
 
     @Captor
     private ArgumentCaptor<ErasureRequest> requestCaptor;
 
-    @Captor
-    private ArgumentCaptor<Donation> donationCaptor;
+    @BeforeEach
+    void setUp() {
+        // batches of 2 so a handful of rows exercises the loop
+        erasureService = new ErasureService(erasureRequestRepository, donationRepository,
+                contactSubmissionRepository, auditLogRepository, auditLogService, transactionManager, 2);
+    }
 
     // ── submitErasureRequest ──
 
@@ -90,42 +103,38 @@ class ErasureServiceTest {
     // ── processErasureRequest ──
 
     @Test
-    void processErasureRequest_anonymizesDonationsAndCompletesRequest() {
+    void processErasureRequest_anonymizesInBatchesAndCompletesRequest() {
         ErasureRequest request = ErasureRequest.builder()
                 .id("req-1")
                 .email("donor@test.com")
                 .status(ErasureStatus.PENDING)
                 .build();
 
-        Donation donation1 = Donation.builder()
-                .id("don-1").donorName("Alice").donorEmail("donor@test.com")
-                .amount(5000L).currency("INR").status(DonationStatus.SUCCESS).build();
-        Donation donation2 = Donation.builder()
-                .id("don-2").donorName("Alice").donorEmail("donor@test.com")
-                .amount(10000L).currency("INR").status(DonationStatus.SUCCESS).build();
-
         when(erasureRequestRepository.findById("req-1")).thenReturn(Optional.of(request));
-        when(donationRepository.findByDonorEmailIgnoreCase("donor@test.com"))
-                .thenReturn(List.of(donation1, donation2));
         when(erasureRequestRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(donationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(donationRepository.anonymizeDonorBatch("donor@test.com", 2)).thenReturn(2, 2, 1);
+        when(contactSubmissionRepository.anonymizeSenderBatch("donor@test.com", 2)).thenReturn(1);
+        when(auditLogRepository.anonymizeActorBatch("donor@test.com", 2)).thenReturn(0);
 
         ErasureRequest result = erasureService.processErasureRequest("req-1", "admin_user");
 
         assertThat(result.getStatus()).isEqualTo(ErasureStatus.COMPLETED);
         assertThat(result.getProcessedBy()).isEqualTo("admin_user");
+        assertThat(result.getStartedAt()).isNotNull();
         assertThat(result.getProcessedAt()).isNotNull();
 
-        verify(donationRepository, times(2)).save(donationCaptor.capture());
-        List<Donation> anonymized = donationCaptor.getAllValues();
-        assertThat(anonymized).allSatisfy(d -> {
-            assertThat(d.getDonorName()).isEqualTo("[Deleted]");
-            assertThat(d.getDonorEmail()).isNull();
-        });
+        verify(donationRepository, times(3)).anonymizeDonorBatch("donor@test.com", 2);
+        verify(contactSubmissionRepository, times(1)).anonymizeSenderBatch("donor@test.com", 2);
+        verify(auditLogRepository, times(1)).anonymizeActorBatch("donor@test.com", 2);
+
+        verify(erasureRequestRepository, times(2)).addProgress("req-1", 2, 0, 0);
+        verify(erasureRequestRepository).addProgress("req-1", 1, 0, 0);
+        verify(erasureRequestRepository).addProgress("req-1", 0, 1, 0);
+        verify(erasureRequestRepository, never()).addProgress("req-1", 0, 0, 0);
     }
 
     @Test
-    void processErasureRequest_noMatchingDonations_stillCompletes() {
+    void processErasureRequest_noMatchingRows_stillCompletes() {
         ErasureRequest request = ErasureRequest.builder()
                 .id("req-2")
                 .email("unknown@test.com")
@@ -133,14 +142,35 @@ class ErasureServiceTest {
                 .build();
 
         when(erasureRequestRepository.findById("req-2")).thenReturn(Optional.of(request));
-        when(donationRepository.findByDonorEmailIgnoreCase("unknown@test.com"))
-                .thenReturn(Collections.emptyList());
         when(erasureRequestRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
 
         ErasureRequest result = erasureService.processErasureRequest("req-2", "admin");
 
         assertThat(result.getStatus()).isEqualTo(ErasureStatus.COMPLETED);
-        verify(donationRepository, never()).save(any());
+        verify(donationRepository).anonymizeDonorBatch("unknown@test.com", 2);
+        verify(erasureRequestRepository, never()).addProgress(anyString(), anyInt(), anyInt(), anyInt());
+    }
+
+    @Test
+    void processErasureRequest_inProgress_isResumed() {
+        Instant firstStarted = Instant.parse("2026-01-01T10:00:00Z");
+        ErasureRequest request = ErasureRequest.builder()
+                .id("req-6")
+                .email("resume@test.com")
+                .status(ErasureStatus.IN_PROGRESS)
+                .startedAt(firstStarted)
+                .donationsAnonymized(4)
+                .build();
+
+        when(erasureRequestRepository.findById("req-6")).thenReturn(Optional.of(request));
+        when(erasureRequestRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(donationRepository.anonymizeDonorBatch("resume@test.com", 2)).thenReturn(1);
+
+        ErasureRequest result = erasureService.processErasureRequest("req-6", "admin");
+
+        assertThat(result.getStatus()).isEqualTo(ErasureStatus.COMPLETED);
+        assertThat(result.getStartedAt()).isEqualTo(firstStarted);
+        verify(erasureRequestRepository).addProgress("req-6", 1, 0, 0);
     }
 
     @Test
@@ -163,7 +193,7 @@ class ErasureServiceTest {
 
         assertThatThrownBy(() -> erasureService.processErasureRequest("req-3", "admin"))
                 .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("not in PENDING status");
+                .hasMessageContaining("must be PENDING or IN_PROGRESS");
     }
 
     @Test
@@ -174,15 +204,10 @@ class ErasureServiceTest {
                 .status(ErasureStatus.PENDING)
                 .build();
 
-        Donation donation = Donation.builder()
-                .id("don-a").donorName("Bob").donorEmail("audited@test.com")
-                .amount(1000L).currency("USD").status(DonationStatus.SUCCESS).build();
-
         when(erasureRequestRepository.findById("req-4")).thenReturn(Optional.of(request));
-        when(donationRepository.findByDonorEmailIgnoreCase("audited@test.com"))
-                .thenReturn(List.of(donation));
         when(erasureRequestRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(donationRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(donationRepository.anonymizeDonorBatch("audited@test.com", 2)).thenReturn(1);
+        when(auditLogRepository.anonymizeActorBatch("audited@test.com", 2)).thenReturn(1);
 
         erasureService.processErasureRequest("req-4", "admin");
 
@@ -191,7 +216,7 @@ class ErasureServiceTest {
                 eq("ErasureRequest"),
                 eq("req-4"),
                 eq("admin"),
-                contains("1 donation(s) anonymized")
+                contains("1 donation(s), 0 contact submission(s) and 1 audit log entry(ies) anonymized")
         );
     }
 
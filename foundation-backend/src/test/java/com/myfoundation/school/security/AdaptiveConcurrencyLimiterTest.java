@@ -0,0 +1,111 @@
+package com.myfoundation.school.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000L;
+
+    private AdaptiveConcurrencyLimiter newLimiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 200, 1.5, 0.2);
+    }
+
+    @Test
+    @DisplayName("Should reject sheddable requests once the limit is reached")
+    void shouldRejectOverLimit() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(3);
+
+        assertThat(limiter.tryAcquire(false)).isTrue();
+        assertThat(limiter.tryAcquire(false)).isTrue();
+        assertThat(limiter.tryAcquire(false)).isTrue();
+        assertThat(limiter.tryAcquire(false)).isFalse();
+
+        assertThat(limiter.getInflight()).isEqualTo(3);
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should always admit mandatory requests (webhook, checkout)")
+    void shouldAlwaysAdmitMandatory() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2);
+
+        limiter.tryAcquire(false);
+        limiter.tryAcquire(false);
+
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        assertThat(limiter.tryAcquire(true)).isTrue();
+        assertThat(limiter.getInflight()).isEqualTo(4);
+        assertThat(limiter.tryAcquire(false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should free capacity on release")
+    void shouldFreeCapacityOnRelease() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2);
+
+        limiter.tryAcquire(false);
+        limiter.tryAcquire(false);
+        assertThat(limiter.tryAcquire(false)).isFalse();
+
+        limiter.release(System.nanoTime());
+        assertThat(limiter.tryAcquire(false)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises above the baseline")
+    void shouldShrinkWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(40);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(10 * MS, limiter.getLimit());
+        }
+        int healthyLimit = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(200 * MS, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(healthyLimit);
+    }
+
+    @Test
+    @DisplayName("Should probe upwards while latency stays at the baseline")
+    void shouldGrowWhileHealthy() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MS, limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("Should not grow the limit when the server is mostly idle")
+    void shouldNotGrowWhenAppLimited() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter(20);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(10 * MS, 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should only treat public GET/HEAD reads as sheddable")
+    void shouldClassifySheddableRequests() {
+        assertThat(LoadSheddingFilter.isSheddable("/api/campaigns", "GET")).isTrue();
+        assertThat(LoadSheddingFilter.isSheddable("/api/public/stats", "HEAD")).isTrue();
+
+        assertThat(LoadSheddingFilter.isSheddable("/api/donations/stripe/create", "POST")).isFalse();
+        assertThat(LoadSheddingFilter.isSheddable("/api/donations/stripe/webhook", "POST")).isFalse();
+        assertThat(LoadSheddingFilter.isSheddable("/api/donations/stripe/verify", "GET")).isFalse();
+        assertThat(LoadSheddingFilter.isSheddable("/api/admin/donations", "GET")).isFalse();
+        assertThat(LoadSheddingFilter.isSheddable("/api/auth/me", "GET")).isFalse();
+    }
+}
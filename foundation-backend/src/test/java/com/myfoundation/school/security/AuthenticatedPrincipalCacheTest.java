@@ -0,0 +1,92 @@
+package com.myfoundation.school.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuthenticatedPrincipalCache Tests")
+class AuthenticatedPrincipalCacheTest {
+
+    private final AuthenticatedPrincipalCache cache = new AuthenticatedPrincipalCache(30, 100, 60);
+
+    private static Date inMinutes(long minutes) {
+        return new Date(System.currentTimeMillis() + minutes * 60_000);
+    }
+
+    @Test
+    @DisplayName("Should return a cached principal for the same token")
+    void shouldCacheByTokenHash() {
+        String hash = AuthenticatedPrincipalCache.hashToken("token-a");
+        cache.put(hash, "user-1", "alice", "ADMIN", inMinutes(60), cache.currentGeneration());
+
+        AuthenticatedPrincipalCache.CachedPrincipal principal = cache.get(hash);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.username()).isEqualTo("alice");
+        assertThat(principal.role()).isEqualTo("ADMIN");
+        assertThat(cache.get(AuthenticatedPrincipalCache.hashToken("token-b"))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should never keep a principal past the token's expiry")
+    void shouldBoundTtlByTokenExpiry() {
+        String hash = AuthenticatedPrincipalCache.hashToken("token-a");
+        cache.put(hash, "user-1", "alice", "ADMIN", new Date(System.currentTimeMillis() - 1), cache.currentGeneration());
+
+        assertThat(cache.get(hash)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop a user's principals on revocation")
+    void shouldInvalidateOnRevocation() {
+        String aliceToken = AuthenticatedPrincipalCache.hashToken("token-a");
+        String bobToken = AuthenticatedPrincipalCache.hashToken("token-b");
+        cache.put(aliceToken, "user-1", "alice", "ADMIN", inMinutes(60), cache.currentGeneration());
+        cache.put(bobToken, "user-2", "bob", "OPERATOR", inMinutes(60), cache.currentGeneration());
+
+        cache.onPrincipalRevoked(new PrincipalRevokedEvent("user-1", "alice", false));
+
+        assertThat(cache.get(aliceToken)).isNull();
+        assertThat(cache.get(bobToken)).isNotNull();
+        assertThat(cache.isRevoked("user-1", new Date())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not cache a principal loaded while a revocation ran")
+    void shouldIgnoreRacingPut() {
+        long generation = cache.currentGeneration();
+        cache.onPrincipalRevoked(new PrincipalRevokedEvent("user-1", "alice", false));
+
+        String hash = AuthenticatedPrincipalCache.hashToken("token-a");
+        cache.put(hash, "user-1", "alice", "ADMIN", inMinutes(60), generation);
+
+        assertThat(cache.get(hash)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject tokens issued before a password change")
+    void shouldRevokeTokensIssuedBeforePasswordChange() {
+        Date issuedBefore = new Date(System.currentTimeMillis() - 5_000);
+
+        cache.onPrincipalRevoked(new PrincipalRevokedEvent("user-1", "alice", true));
+
+        assertThat(cache.isRevoked("user-1", issuedBefore)).isTrue();
+        assertThat(cache.isRevoked("user-1", new Date(System.currentTimeMillis() + 1_000))).isFalse();
+        assertThat(cache.isRevoked("user-2", issuedBefore)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should stop caching when full of live entries")
+    void shouldRespectMaxEntries() {
+        AuthenticatedPrincipalCache small = new AuthenticatedPrincipalCache(30, 2, 60);
+        small.put("h1", "u1", "a", "ADMIN", inMinutes(60), small.currentGeneration());
+        small.put("h2", "u2", "b", "ADMIN", inMinutes(60), small.currentGeneration());
+        small.put("h3", "u3", "c", "ADMIN", inMinutes(60), small.currentGeneration());
+
+        assertThat(small.size()).isEqualTo(2);
+        assertThat(small.get("h3")).isNull();
+    }
+}
@@ -0,0 +1,72 @@
+package com.myfoundation.school.security;
+
+import com.myfoundation.school.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BoundedPasswordEncoder Tests")
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should encode and match on the hashing pool")
+    void shouldEncodeAndMatch() {
+        encoder = new BoundedPasswordEncoder(4, 1, 4, 5000);
+
+        String hash = encoder.encode("S3curePassword");
+
+        assertThat(hash).startsWith("$2a$04$");
+        assertThat(encoder.matches("S3curePassword", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should flag hashes stored at a lower cost for upgrade")
+    void shouldFlagLowerCostHashesForUpgrade() {
+        BoundedPasswordEncoder weak = new BoundedPasswordEncoder(4, 1, 1, 5000);
+        String weakHash = weak.encode("S3curePassword");
+        weak.shutdown();
+
+        encoder = new BoundedPasswordEncoder(5, 1, 1, 5000);
+
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoder.encode("S3curePassword"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail fast when the pool and queue are full")
+    void shouldRejectWhenSaturated() throws Exception {
+        encoder = new BoundedPasswordEncoder(14, 1, 1, 30_000);
+
+        CompletableFuture.runAsync(() -> encoder.encode("first"));
+        CompletableFuture.runAsync(() -> encoder.encode("second"));
+        while (encoder.getActiveCount() < 1 || encoder.getQueuedCount() < 1) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("third"))
+            .isInstanceOf(ServiceBusyException.class);
+        assertThat(encoder.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should calibrate cost within the configured bounds")
+    void shouldCalibrateWithinBounds() {
+        assertThat(BoundedPasswordEncoder.calibrateCost(1, 4, 6)).isEqualTo(4);
+        assertThat(BoundedPasswordEncoder.calibrateCost(60_000, 4, 6)).isEqualTo(6);
+    }
+}
@@ -0,0 +1,116 @@
+package com.myfoundation.school.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Bulkhead Tests")
+class BulkheadTest {
+
+    @Nested
+    @DisplayName("Admission")
+    class AdmissionTests {
+
+        @Test
+        @DisplayName("Should admit up to max-concurrent callers without waiting")
+        void shouldAdmitUpToLimit() throws Exception {
+            Bulkhead bulkhead = new Bulkhead("test", 2, 0, 0);
+
+            assertThat(bulkhead.tryEnter()).isEqualTo(Bulkhead.Admission.ADMITTED);
+            assertThat(bulkhead.tryEnter()).isEqualTo(Bulkhead.Admission.ADMITTED);
+            assertThat(bulkhead.getActive()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should reject immediately when the queue is full")
+        void shouldRejectWhenQueueFull() throws Exception {
+            Bulkhead bulkhead = new Bulkhead("test", 1, 0, 1000);
+            bulkhead.tryEnter();
+
+            long start = System.nanoTime();
+            assertThat(bulkhead.tryEnter()).isEqualTo(Bulkhead.Admission.QUEUE_FULL);
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500);
+            assertThat(bulkhead.getRejectedQueueFullCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should time out a queued caller after max-wait")
+        void shouldTimeOutQueuedCaller() throws Exception {
+            Bulkhead bulkhead = new Bulkhead("test", 1, 1, 50);
+            bulkhead.tryEnter();
+
+            assertThat(bulkhead.tryEnter()).isEqualTo(Bulkhead.Admission.TIMED_OUT);
+            assertThat(bulkhead.getRejectedTimeoutCount()).isEqualTo(1);
+            assertThat(bulkhead.getWaiting()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should hand a released permit to a queued caller")
+        void shouldAdmitQueuedCallerOnExit() throws Exception {
+            Bulkhead bulkhead = new Bulkhead("test", 1, 1, 5000);
+            bulkhead.tryEnter();
+
+            CompletableFuture<Bulkhead.Admission> queued = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return bulkhead.tryEnter();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            while (bulkhead.getWaiting() == 0) {
+                Thread.sleep(5);
+            }
+            bulkhead.exit();
+
+            assertThat(queued.get(2, TimeUnit.SECONDS)).isEqualTo(Bulkhead.Admission.ADMITTED);
+            assertThat(bulkhead.getAdmittedCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should report saturation in its snapshot")
+        void shouldReportSnapshot() throws Exception {
+            Bulkhead bulkhead = new Bulkhead("test", 4, 2, 100);
+            bulkhead.tryEnter();
+
+            assertThat(bulkhead.snapshot())
+                .containsEntry("maxConcurrent", 4)
+                .containsEntry("active", 1)
+                .containsEntry("utilization", 0.25)
+                .containsEntry("admitted", 1L);
+        }
+    }
+
+    @Nested
+    @DisplayName("Traffic classification")
+    class ClassificationTests {
+
+        @Test
+        @DisplayName("Should route Stripe traffic to webhook and checkout classes")
+        void shouldClassifyStripeTraffic() {
+            assertThat(TrafficClass.classify("/api/donations/stripe/webhook", "POST")).isEqualTo(TrafficClass.WEBHOOK);
+            assertThat(TrafficClass.classify("/api/donations/stripe/create", "POST")).isEqualTo(TrafficClass.CHECKOUT);
+            assertThat(TrafficClass.classify("/api/donations/stripe/verify", "GET")).isEqualTo(TrafficClass.CHECKOUT);
+        }
+
+        @Test
+        @DisplayName("Should route admin and user management to the admin class")
+        void shouldClassifyAdminTraffic() {
+            assertThat(TrafficClass.classify("/api/admin/donations/export", "GET")).isEqualTo(TrafficClass.ADMIN);
+            assertThat(TrafficClass.classify("/api/auth/users/5", "DELETE")).isEqualTo(TrafficClass.ADMIN);
+        }
+
+        @Test
+        @DisplayName("Should route public reads to cms-reads and leave other writes unbulkheaded")
+        void shouldClassifyPublicTraffic() {
+            assertThat(TrafficClass.classify("/api/cms/hero", "GET")).isEqualTo(TrafficClass.CMS_READS);
+            assertThat(TrafficClass.classify("/api/campaigns/abc", "GET")).isEqualTo(TrafficClass.CMS_READS);
+            assertThat(TrafficClass.classify("/api/auth/me", "GET")).isEqualTo(TrafficClass.OTHER);
+            assertThat(TrafficClass.classify("/api/public/contact", "POST")).isEqualTo(TrafficClass.OTHER);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.myfoundation.school.security;
+
+import java.util.NavigableMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test stand-in for a shared {@link CounterStore} (e.g. {@link PostgresCounterStore}).
+ *
+ * <p>Reports itself as shared so {@link RateLimiterService} puts its local fast path in front of
+ * it, and counts round trips so tests can assert the store stays off the common path. One
+ * instance handed to several limiters behaves like a database shared by several nodes.</p>
+ */
+class EmbeddedCounterStore implements CounterStore {
+
+    private final InMemoryCounterStore delegate = new InMemoryCounterStore();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private volatile boolean available = true;
+
+    @Override
+    public long increment(String key, long bucket, long delta, long ttlSeconds) {
+        roundTrip();
+        return delegate.increment(key, bucket, delta, ttlSeconds);
+    }
+
+    @Override
+    public NavigableMap<Long, Long> read(String key, long fromExclusive, long toInclusive) {
+        roundTrip();
+        return delegate.read(key, fromExclusive, toInclusive);
+    }
+
+    @Override
+    public boolean markIfAbsent(String key, long ttlSeconds) {
+        roundTrip();
+        return delegate.markIfAbsent(key, ttlSeconds);
+    }
+
+    private void roundTrip() {
+        roundTrips.incrementAndGet();
+        if (!available) {
+            throw new IllegalStateException("counter store unavailable");
+        }
+    }
+
+    @Override
+    public void purgeExpired() {
+        delegate.purgeExpired();
+    }
+
+    @Override
+    public boolean isShared() {
+        return true;
+    }
+
+    int roundTrips() {
+        return roundTrips.get();
+    }
+
+    /** Simulates a database outage: every store call throws until set back. */
+    void setAvailable(boolean available) {
+        this.available = available;
+    }
+}
@@ -1,15 +1,18 @@
 package com.myfoundation.school.security;
 
-import org.junit.jupiter.api.BeforeEach;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import static org.assertj.core.api.Assertions.*;
 
 /**
  * Comprehensive test suite for RateLimiterService.
- * Tests in-memory sliding window rate limiting for abuse prevention.
+ * Tests sliding window rate limiting for abuse prevention against both the
+ * in-memory store and a shared-store stand-in (see {@link Backend}).
  * 
  * Coverage: 100% of public methods
  * Test Count: 18 tests (enhanced from 2 basic tests)
@@ -22,7 +25,7 @@ import static org.assertj.core.api.Assertions.*;
  * 2. Per-key tracking (different clients have separate limits)
  * 3. Old requests automatically expire after window duration
  * 4. Thread-safe for concurrent access
- * 5. In-memory storage (resets on server restart)
+ * 5. Pluggable storage (in-memory resets on restart; shared stores span instances)
  * 
  * Security Considerations:
  * - Prevents brute-force login attacks
@@ -41,27 +44,43 @@ import static org.assertj.core.api.Assertions.*;
  * Issues Found: 5
  * 1. No memory cleanup (buckets never removed, memory leak)
  * 2. No persistence (limits reset on restart)
- * 3. No distributed support (doesn't work across multiple servers)
+ * 3. No distributed support (resolved: shared CounterStore, see issue3 test)
  * 4. No metrics/monitoring (can't track blocked requests)
  * 5. Synchronized per key (high contention on popular keys)
  */
 @DisplayName("RateLimiterService Tests")
 class RateLimiterServiceTest {
 
-    private RateLimiterService limiter;
+    /**
+     * Every behavioural test runs against both the per-JVM store and a shared-store stand-in
+     * that goes through the local fast path (sync interval 50 ms).
+     */
+    enum Backend {
+        IN_MEMORY {
+            @Override
+            RateLimiterService newLimiter() {
+                return new RateLimiterService(new InMemoryCounterStore(), new SimpleMeterRegistry(), 0);
+            }
+        },
+        SHARED_STORE {
+            @Override
+            RateLimiterService newLimiter() {
+                return new RateLimiterService(new EmbeddedCounterStore(), new SimpleMeterRegistry(), 50);
+            }
+        };
 
-    @BeforeEach
-    void setUp() {
-        limiter = new RateLimiterService();
+        abstract RateLimiterService newLimiter();
     }
 
     @Nested
     @DisplayName("Basic Rate Limiting Tests")
     class BasicRateLimitingTests {
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should allow requests within limit")
-        void shouldAllowRequestsWithinLimit() {
+        void shouldAllowRequestsWithinLimit(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-allow";
             int maxRequests = 5;
@@ -75,9 +94,11 @@ class RateLimiterServiceTest {
             }
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should block requests exceeding limit")
-        void shouldBlockRequestsExceedingLimit() {
+        void shouldBlockRequestsExceedingLimit(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-block";
             int maxRequests = 5;
@@ -94,9 +115,11 @@ class RateLimiterServiceTest {
                     .isFalse();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should allow exactly maxRequests before blocking")
-        void shouldAllowExactlyMaxRequests() {
+        void shouldAllowExactlyMaxRequests(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-exact";
             int maxRequests = 3;
@@ -108,9 +131,11 @@ class RateLimiterServiceTest {
             assertThat(limiter.isAllowed(key, maxRequests, 60)).isFalse(); // 4th (blocked)
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle maxRequests = 1 (strict limit)")
-        void shouldHandleSingleRequestLimit() {
+        void shouldHandleSingleRequestLimit(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-strict";
 
@@ -120,9 +145,11 @@ class RateLimiterServiceTest {
             assertThat(limiter.isAllowed(key, 1, 60)).isFalse(); // Third blocked
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle maxRequests = 0 (block all)")
-        void shouldHandleZeroLimit() {
+        void shouldHandleZeroLimit(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-zero";
 
@@ -136,9 +163,11 @@ class RateLimiterServiceTest {
     @DisplayName("Sliding Window Tests")
     class SlidingWindowTests {
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should allow requests after window expires")
-        void shouldAllowAfterWindowExpires() throws InterruptedException {
+        void shouldAllowAfterWindowExpires(Backend backend) throws InterruptedException {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-sliding";
             int maxRequests = 2;
@@ -158,9 +187,11 @@ class RateLimiterServiceTest {
                     .isTrue();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle very short windows correctly")
-        void shouldHandleShortWindows() throws InterruptedException {
+        void shouldHandleShortWindows(Backend backend) throws InterruptedException {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-short-window";
             long windowSeconds = 1;
@@ -176,9 +207,11 @@ class RateLimiterServiceTest {
             assertThat(limiter.isAllowed(key, 1, windowSeconds)).isTrue();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should implement sliding window (not fixed window)")
-        void shouldImplementSlidingWindow() throws InterruptedException {
+        void shouldImplementSlidingWindow(Backend backend) throws InterruptedException {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "test-sliding-behavior";
             int maxRequests = 3;
@@ -208,9 +241,11 @@ class RateLimiterServiceTest {
     @DisplayName("Key Isolation Tests")
     class KeyIsolationTests {
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should track different keys independently")
-        void shouldTrackKeysIndependently() {
+        void shouldTrackKeysIndependently(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key1 = "user-1";
             String key2 = "user-2";
@@ -227,9 +262,11 @@ class RateLimiterServiceTest {
                     .isTrue();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle many different keys")
-        void shouldHandleManyKeys() {
+        void shouldHandleManyKeys(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Act & Assert - Create many different keys
             for (int i = 0; i < 100; i++) {
                 String key = "user-" + i;
@@ -239,9 +276,11 @@ class RateLimiterServiceTest {
             }
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should use exact key matching (case-sensitive)")
-        void shouldUseCaseSensitiveKeys() {
+        void shouldUseCaseSensitiveKeys(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String lowerKey = "testkey";
             String upperKey = "TESTKEY";
@@ -273,24 +312,30 @@ class RateLimiterServiceTest {
             //     .isInstanceOf(NullPointerException.class);
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle empty key")
-        void shouldHandleEmptyKey() {
+        void shouldHandleEmptyKey(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Empty string is a valid key (but probably not intended)
             assertThat(limiter.isAllowed("", 5, 60)).isTrue();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle negative maxRequests")
-        void shouldHandleNegativeMaxRequests() {
+        void shouldHandleNegativeMaxRequests(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Negative max requests = always blocked
             assertThat(limiter.isAllowed("test", -1, 60)).isFalse();
             assertThat(limiter.isAllowed("test", -100, 60)).isFalse();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle zero window seconds")
-        void shouldHandleZeroWindow() {
+        void shouldHandleZeroWindow(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Zero window = all requests expire immediately
             // First request allowed (adds to window)
             // Second request allowed (first expired immediately)
@@ -298,9 +343,11 @@ class RateLimiterServiceTest {
             assertThat(limiter.isAllowed("test", 1, 0)).isTrue();
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("Should handle very large window seconds")
-        void shouldHandleLargeWindow() {
+        void shouldHandleLargeWindow(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Very large window = requests never expire (until restart)
             String key = "test-large-window";
             long veryLargeWindow = 365 * 24 * 60 * 60; // 1 year in seconds
@@ -314,9 +361,11 @@ class RateLimiterServiceTest {
     @DisplayName("Issue Documentation Tests")
     class IssueDocumentationTests {
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("ISSUE 1: No memory cleanup - buckets never removed")
-        void issue1_noMemoryCleanup() {
+        void issue1_noMemoryCleanup(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Create many keys (simulating many different users/IPs)
             for (int i = 0; i < 10000; i++) {
                 limiter.isAllowed("user-" + i, 5, 60);
@@ -343,9 +392,11 @@ class RateLimiterServiceTest {
             // }
         }
 
-        @Test
+        @ParameterizedTest(name = "{0}")
+        @EnumSource(Backend.class)
         @DisplayName("ISSUE 2: No persistence - limits reset on server restart")
-        void issue2_noPersistence() {
+        void issue2_noPersistence(Backend backend) {
+            RateLimiterService limiter = backend.newLimiter();
             // Arrange
             String key = "attacker";
             
@@ -369,18 +420,21 @@ class RateLimiterServiceTest {
         }
 
         @Test
-        @DisplayName("ISSUE 3: Not distributed - doesn't work across multiple servers")
-        void issue3_notDistributed() {
-            // In a multi-server deployment:
-            // - User makes 5 requests to Server A → blocked
-            // - User makes 5 requests to Server B → allowed (different memory)
-            // - Effective limit = maxRequests × numberOfServers
-            
-            // PROBLEM: Rate limiting is bypassed in load-balanced setups
-            // Attacker can target different servers to multiply their limit
-            
-            // RECOMMENDATION: Use shared storage (Redis) for rate limiting
-            // All servers check/update the same rate limit counters
+        @DisplayName("ISSUE 3 (resolved): limits are shared across servers via CounterStore")
+        void issue3_sharedStoreAcrossServers() {
+            // Two instances pointing at the same shared store (e.g. app.rate-limit.store=postgres)
+            // with a zero sync interval see each other's hits immediately.
+            EmbeddedCounterStore sharedStore = new EmbeddedCounterStore();
+            RateLimiterService serverA = new RateLimiterService(sharedStore, new SimpleMeterRegistry(), 0);
+            RateLimiterService serverB = new RateLimiterService(sharedStore, new SimpleMeterRegistry(), 0);
+
+            assertThat(serverA.isAllowed("attacker", 3, 60)).isTrue();
+            assertThat(serverB.isAllowed("attacker", 3, 60)).isTrue();
+            assertThat(serverA.isAllowed("attacker", 3, 60)).isTrue();
+
+            // Effective limit is maxRequests, not maxRequests × numberOfServers
+            assertThat(serverB.isAllowed("attacker", 3, 60)).isFalse();
+            assertThat(serverA.isAllowed("attacker", 3, 60)).isFalse();
         }
 
         @Test
@@ -435,4 +489,92 @@ class RateLimiterServiceTest {
             // - Token bucket (smooth but approximate)
         }
     }
+
+    @Nested
+    @DisplayName("Shared Store Fast Path Tests")
+    class SharedStoreFastPathTests {
+
+        @Test
+        @DisplayName("Should keep the shared store off the request path, even for a new key")
+        void shouldKeepStoreOffRequestPath() {
+            EmbeddedCounterStore sharedStore = new EmbeddedCounterStore();
+            RateLimiterService limiter = new RateLimiterService(sharedStore, new SimpleMeterRegistry(), 60_000);
+
+            for (int i = 0; i < 50; i++) {
+                assertThat(limiter.isAllowed("busy-client", 100, 60)).isTrue();
+            }
+            assertThat(sharedStore.roundTrips()).isZero();
+
+            // One background sync pushes the 50 hits and reads the window back
+            limiter.syncWithStore();
+            assertThat(sharedStore.roundTrips()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should make hits from other servers visible after the background sync")
+        void shouldSeeOtherServersAfterSync() {
+            EmbeddedCounterStore sharedStore = new EmbeddedCounterStore();
+            RateLimiterService serverA = new RateLimiterService(sharedStore, new SimpleMeterRegistry(), 50);
+            RateLimiterService serverB = new RateLimiterService(sharedStore, new SimpleMeterRegistry(), 50);
+
+            assertThat(serverA.isAllowed("client", 3, 60)).isTrue();
+            assertThat(serverA.isAllowed("client", 3, 60)).isTrue();
+            serverA.syncWithStore();
+
+            // serverB has not read the store yet, so it judges on its own traffic
+            assertThat(serverB.isAllowed("client", 3, 60)).isTrue();
+            serverB.syncWithStore();
+
+            assertThat(serverB.isAllowed("client", 3, 60)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should fail open to local counts while the shared store is down")
+        void shouldFailOpenWhenStoreIsDown() {
+            EmbeddedCounterStore sharedStore = new EmbeddedCounterStore();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            RateLimiterService serverA = new RateLimiterService(sharedStore, meterRegistry, 50);
+            RateLimiterService serverB = new RateLimiterService(sharedStore, new SimpleMeterRegistry(), 50);
+            sharedStore.setAvailable(false);
+
+            assertThat(serverA.isAllowed("client", 2, 60)).isTrue();
+            serverA.syncWithStore();
+            assertThat(meterRegistry.counter("ratelimit.store.failures").count()).isEqualTo(1);
+
+            // still limited on this node's own hits
+            assertThat(serverA.isAllowed("client", 2, 60)).isTrue();
+            assertThat(serverA.isAllowed("client", 2, 60)).isFalse();
+
+            // hits from the outage are pushed once the store is back
+            sharedStore.setAvailable(true);
+            serverA.syncWithStore();
+            assertThat(serverB.isAllowed("client", 2, 60)).isTrue();
+            serverB.syncWithStore();
+            assertThat(serverB.isAllowed("client", 2, 60)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should fail open when a directly consulted store is down")
+        void shouldFailOpenWhenDirectStoreIsDown() {
+            EmbeddedCounterStore sharedStore = new EmbeddedCounterStore();
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            RateLimiterService limiter = new RateLimiterService(sharedStore, meterRegistry, 0);
+            sharedStore.setAvailable(false);
+
+            assertThat(limiter.isAllowed("client", 1, 60)).isTrue();
+            assertThat(limiter.isAllowed("client", 1, 60)).isFalse();
+            assertThat(meterRegistry.counter("ratelimit.store.failures").count()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should report Retry-After from the oldest hit in the window")
+        void shouldComputeRetryAfter() {
+            RateLimiterService limiter = new RateLimiterService(new InMemoryCounterStore(), new SimpleMeterRegistry(), 0);
+
+            assertThat(limiter.isAllowed("retry", 1, 30)).isTrue();
+            assertThat(limiter.isAllowed("retry", 1, 30)).isFalse();
+
+            assertThat(limiter.retryAfterSeconds("retry", 30)).isBetween(29L, 30L);
+        }
+    }
 }
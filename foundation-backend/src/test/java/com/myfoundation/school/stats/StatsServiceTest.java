@@ -5,12 +5,14 @@ import com.myfoundation.school.campaign.CampaignRepository;
 import com.myfoundation.school.donation.Donation;
 import com.myfoundation.school.donation.DonationRepository;
 import com.myfoundation.school.donation.DonationStatus;
+import com.myfoundation.school.util.ParallelReadExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -28,7 +30,6 @@ class StatsServiceTest {
     @Mock
     private DonationRepository donationRepository;
     
-    @InjectMocks
     private StatsService statsService;
     
     private List<Campaign> mockActiveCampaigns;
@@ -36,6 +37,10 @@ class StatsServiceTest {
     
     @BeforeEach
     void setUp() {
+        ParallelReadExecutor parallelReads = new ParallelReadExecutor(
+                TransactionOperations.withoutTransaction(), new SimpleMeterRegistry(), 2000, 4);
+        statsService = new StatsService(campaignRepository, donationRepository, parallelReads);
+
         // Mock 3 active campaigns with beneficiaries
         Campaign campaign1 = Campaign.builder()
                 .id("c1")
@@ -70,12 +75,22 @@ class StatsServiceTest {
         mockDonations = Arrays.asList(d1, d2, d3, d4, d5);
     }
     
+    /** Stubs the aggregate queries the service runs with the figures for {@code donations}. */
+    private void stubDonations(List<Donation> donations) {
+        List<Donation> successful = donations.stream()
+                .filter(donation -> donation.getStatus() == DonationStatus.SUCCESS)
+                .toList();
+        when(donationRepository.sumAllSuccessfulDonations())
+                .thenReturn(successful.stream().mapToLong(Donation::getAmount).sum());
+        when(donationRepository.countSuccessfulDonations()).thenReturn((long) successful.size());
+        when(donationRepository.count()).thenReturn((long) donations.size());
+    }
+
     @Test
     void getPublicStats_shouldComputeCorrectValues() {
         // Arrange
         when(campaignRepository.findByActiveTrue()).thenReturn(mockActiveCampaigns);
-        when(donationRepository.findAll()).thenReturn(mockDonations);
-        when(donationRepository.count()).thenReturn(5L);
+        stubDonations(mockDonations);
         
         // Act
         PublicStatsDTO stats = statsService.getPublicStats();
@@ -92,8 +107,7 @@ class StatsServiceTest {
     void getPublicStats_withNoCampaigns_shouldReturnZeros() {
         // Arrange
         when(campaignRepository.findByActiveTrue()).thenReturn(Collections.emptyList());
-        when(donationRepository.findAll()).thenReturn(Collections.emptyList());
-        when(donationRepository.count()).thenReturn(0L);
+        stubDonations(Collections.emptyList());
         
         // Act
         PublicStatsDTO stats = statsService.getPublicStats();
@@ -111,8 +125,7 @@ class StatsServiceTest {
         // Arrange
         Donation failed = Donation.builder().id("f1").amount(1000L).status(DonationStatus.FAILED).build();
         when(campaignRepository.findByActiveTrue()).thenReturn(mockActiveCampaigns);
-        when(donationRepository.findAll()).thenReturn(Collections.singletonList(failed));
-        when(donationRepository.count()).thenReturn(1L);
+        stubDonations(Collections.singletonList(failed));
         
         // Act
         PublicStatsDTO stats = statsService.getPublicStats();
@@ -129,8 +142,7 @@ class StatsServiceTest {
                 Donation.builder().id("s2").amount(2000L).status(DonationStatus.SUCCESS).build()
         );
         when(campaignRepository.findByActiveTrue()).thenReturn(mockActiveCampaigns);
-        when(donationRepository.findAll()).thenReturn(allSuccess);
-        when(donationRepository.count()).thenReturn(2L);
+        stubDonations(allSuccess);
         
         // Act
         PublicStatsDTO stats = statsService.getPublicStats();
@@ -138,4 +150,19 @@ class StatsServiceTest {
         // Assert
         assertThat(stats.getSuccessRate()).isEqualTo(100.0);
     }
+
+    @Test
+    void getPublicStats_whenAQueryFails_shouldReturnTheOtherFigures() {
+        when(campaignRepository.findByActiveTrue()).thenReturn(mockActiveCampaigns);
+        when(donationRepository.sumAllSuccessfulDonations()).thenThrow(new IllegalStateException("connection lost"));
+        when(donationRepository.countSuccessfulDonations()).thenReturn(4L);
+        when(donationRepository.count()).thenReturn(5L);
+
+        PublicStatsDTO stats = statsService.getPublicStats();
+
+        assertThat(stats.getFundsRaised()).isNull();
+        assertThat(stats.getLivesImpacted()).isEqualTo(3500L);
+        assertThat(stats.getActiveCampaigns()).isEqualTo(3L);
+        assertThat(stats.getSuccessRate()).isEqualTo(80.0);
+    }
 }
@@ -1,5 +1,6 @@
 package com.myfoundation.school.storage;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -53,7 +54,7 @@ class R2StorageServiceTest {
 
     @BeforeEach
     void setUp() {
-        service = new R2StorageService();
+        service = new R2StorageService(new SimpleMeterRegistry());
         
         // Set up test configuration using reflection
         ReflectionTestUtils.setField(service, "endpoint", "https://test.r2.cloudflarestorage.com");
@@ -0,0 +1,123 @@
+package com.myfoundation.school.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ParallelReadExecutor Tests")
+class ParallelReadExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ParallelReadExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new ParallelReadExecutor(TransactionOperations.withoutTransaction(), meterRegistry, 500, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.destroy();
+    }
+
+    @Test
+    @DisplayName("Should run subtasks concurrently")
+    void shouldRunSubtasksConcurrently() {
+        long start = System.nanoTime();
+        try (ParallelReadExecutor.Scope scope = executor.open("test")) {
+            var first = scope.fork("first", () -> sleepThen(200, "a"), "-");
+            var second = scope.fork("second", () -> sleepThen(200, "b"), "-");
+            var third = scope.fork("third", () -> sleepThen(200, "c"), "-");
+            scope.join();
+
+            assertThat(first.get() + second.get() + third.get()).isEqualTo("abc");
+            assertThat(scope.isPartial()).isFalse();
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(450);
+    }
+
+    @Test
+    @DisplayName("Should use the fallback for a failed subtask and keep the others")
+    void shouldFallBackOnFailure() {
+        try (ParallelReadExecutor.Scope scope = executor.open("test")) {
+            var ok = scope.fork("ok", () -> 42L, 0L);
+            var failing = scope.fork("failing", () -> {
+                throw new IllegalStateException("connection lost");
+            }, -1L);
+            scope.join();
+
+            assertThat(ok.get()).isEqualTo(42L);
+            assertThat(failing.get()).isEqualTo(-1L);
+            assertThat(scope.isPartial()).isTrue();
+        }
+        assertThat(meterRegistry.timer("parallel.reads", "scope", "test", "query", "failing",
+                "outcome", "error", "mode", "parallel").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should cancel subtasks that miss the deadline")
+    void shouldCancelLateSubtasks() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        long start = System.nanoTime();
+        try (ParallelReadExecutor.Scope scope = executor.open("test")) {
+            var slow = scope.fork("slow", () -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "late";
+            }, "fallback");
+            scope.join();
+
+            assertThat(slow.get()).isEqualTo("fallback");
+            assertThat(scope.isPartial()).isTrue();
+        }
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(2_000);
+        assertThat(interrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.timer("parallel.reads", "scope", "test", "query", "slow",
+                "outcome", "timeout", "mode", "parallel").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should run inline on the caller thread once max-in-flight is reached")
+    void shouldRunInlineWhenSaturated() {
+        ParallelReadExecutor single = new ParallelReadExecutor(
+                TransactionOperations.withoutTransaction(), meterRegistry, 500, 1);
+        Thread caller = Thread.currentThread();
+        AtomicBoolean secondOnCaller = new AtomicBoolean();
+        try (ParallelReadExecutor.Scope scope = single.open("test")) {
+            var first = scope.fork("first", () -> sleepThen(100, Thread.currentThread().isVirtual()), false);
+            var second = scope.fork("second", () -> {
+                secondOnCaller.set(Thread.currentThread() == caller);
+                return true;
+            }, false);
+            scope.join();
+
+            assertThat(first.get()).isTrue();
+            assertThat(second.get()).isTrue();
+            assertThat(secondOnCaller).isTrue();
+        } finally {
+            single.destroy();
+        }
+    }
+
+    private static <T> T sleepThen(long millis, T value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,166 @@
+package com.myfoundation.school.util;
+
+import com.myfoundation.school.audit.AuditLogService;
+import com.myfoundation.school.diagnostics.QueryDiagnosticsConfig;
+import com.myfoundation.school.exception.ConflictException;
+import com.myfoundation.school.exception.ValidationException;
+import com.myfoundation.school.faq.Faq;
+import com.myfoundation.school.faq.FaqRepository;
+import com.myfoundation.school.faq.FaqService;
+import com.myfoundation.school.faq.dto.FaqReorderRequest;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static com.myfoundation.school.diagnostics.QueryCountAssertions.assertMaxQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Reorders through {@link FaqService}, which stands in for all six sortable modules.
+ *
+ * Runs without a test transaction so a rejected reorder is rolled back as it would be in production.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({FaqService.class, SortOrderRewriter.class, QueryDiagnosticsConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@WithMockUser(username = "admin@test.org", roles = "ADMIN")
+@DisplayName("Sort order rewriter Tests")
+class SortOrderRewriterTest {
+
+    @MockBean
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private FaqService faqService;
+
+    @Autowired
+    private FaqRepository faqRepository;
+
+    @AfterEach
+    void tearDown() {
+        faqRepository.deleteAll();
+    }
+
+    private List<Faq> createFaqs(int count) {
+        return faqRepository.saveAll(IntStream.range(0, count)
+                .mapToObj(i -> Faq.builder()
+                        .question("Question " + i)
+                        .answer("Answer " + i)
+                        .enabled(true)
+                        .sortOrder(i)
+                        .updatedAt(Instant.now())
+                        .build())
+                .toList());
+    }
+
+    private static List<Long> ids(List<Faq> faqs) {
+        return faqs.stream().map(Faq::getId).toList();
+    }
+
+    private static List<Long> versions(List<Faq> faqs) {
+        return faqs.stream().map(Faq::getVersion).toList();
+    }
+
+    @Test
+    @DisplayName("Should rewrite every row in one UPDATE however many rows there are")
+    void shouldReorderInOneStatement() throws Exception {
+        List<Faq> faqs = createFaqs(50);
+        List<Long> reversed = ids(faqs).reversed();
+
+        AtomicReference<List<Faq>> result = new AtomicReference<>();
+        // one UPDATE plus the read that returns the new order
+        assertMaxQueries(2, () -> result.set(faqService.reorder(new FaqReorderRequest(reversed, null))));
+
+        List<Faq> reordered = result.get();
+        assertThat(ids(reordered)).isEqualTo(reversed);
+        assertThat(reordered.get(0).getSortOrder()).isEqualTo(10);
+        assertThat(reordered.get(49).getSortOrder()).isEqualTo(500);
+        assertThat(reordered).allSatisfy(faq -> {
+            assertThat(faq.getVersion()).isEqualTo(1);
+            assertThat(faq.getUpdatedBy()).isEqualTo("admin@test.org");
+        });
+    }
+
+    @Test
+    @DisplayName("Should leave rows missing from the request where they were")
+    void shouldKeepUnlistedRows() {
+        List<Faq> faqs = createFaqs(3);
+        Faq unlisted = faqs.get(2);
+
+        faqService.reorder(new FaqReorderRequest(List.of(faqs.get(1).getId(), faqs.get(0).getId()), null));
+
+        Faq reloaded = faqRepository.findById(unlisted.getId()).orElseThrow();
+        assertThat(reloaded.getSortOrder()).isEqualTo(2);
+        assertThat(reloaded.getVersion()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should accept current versions and reject the same reorder once they are stale")
+    void shouldRejectStaleVersions() {
+        List<Faq> faqs = createFaqs(3);
+        List<Long> order = ids(faqs).reversed();
+        List<Long> loaded = versions(faqs).reversed();
+
+        faqService.reorder(new FaqReorderRequest(order, loaded));
+
+        // a second admin still holding the original versions
+        assertThatThrownBy(() -> faqService.reorder(new FaqReorderRequest(ids(faqs), versions(faqs))))
+                .isInstanceOf(ConflictException.class);
+        assertThat(ids(faqService.listAll())).isEqualTo(order);
+    }
+
+    @Test
+    @DisplayName("Should roll back the whole reorder when one row is stale")
+    void shouldRollBackPartiallyStaleReorder() {
+        List<Faq> faqs = createFaqs(3);
+        Faq edited = faqs.get(1);
+        edited.setQuestion("Edited meanwhile");
+        faqRepository.save(edited);
+
+        assertThatThrownBy(() -> faqService.reorder(new FaqReorderRequest(ids(faqs).reversed(),
+                versions(faqs).reversed())))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(faqService.listAll()).extracting(Faq::getSortOrder).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    @DisplayName("Should report an unknown ID as not found")
+    void shouldRejectUnknownId() {
+        List<Faq> faqs = createFaqs(2);
+
+        assertThatThrownBy(() -> faqService.reorder(
+                new FaqReorderRequest(List.of(faqs.get(0).getId(), 999_999L), null)))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessage("FAQ not found: 999999");
+        assertThat(faqService.listAll()).extracting(Faq::getSortOrder).containsExactly(0, 1);
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate IDs and mismatched version lists")
+    void shouldValidateRequest() {
+        List<Faq> faqs = createFaqs(2);
+        Long id = faqs.get(0).getId();
+
+        assertThatThrownBy(() -> faqService.reorder(new FaqReorderRequest(List.of(id, id), null)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> faqService.reorder(new FaqReorderRequest(ids(faqs), List.of(0L))))
+                .isInstanceOf(ValidationException.class);
+    }
+}
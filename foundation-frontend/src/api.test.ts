@@ -136,6 +136,21 @@ describe('api.ts public functions', () => {
       );
     });
 
+    it('sends the Idempotency-Key header when given', async () => {
+      global.fetch = vi.fn().mockResolvedValueOnce({
+        ok: true,
+        json: () => Promise.resolve({ url: 'https://checkout.stripe.com/pay/cs_test_123' }),
+      } as Response);
+
+      await api.createStripeSession({ amount: 1000, currency: 'usd', campaignId: 'camp1' }, 'attempt-key-1');
+      expect(global.fetch).toHaveBeenCalledWith(
+        expect.stringContaining('/donations/stripe/create'),
+        expect.objectContaining({
+          headers: expect.objectContaining({ 'Idempotency-Key': 'attempt-key-1' }),
+        })
+      );
+    });
+
     it('throws on failure', async () => {
       global.fetch = vi.fn().mockResolvedValueOnce({ ok: false } as Response);
       await expect(
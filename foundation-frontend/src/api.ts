@@ -54,7 +54,7 @@ export interface DonationResponse {
   currency: string;
   donorName: string;
   donorEmail: string;
-  status: 'PENDING' | 'SUCCESS' | 'FAILED' | 'REFUNDED';
+  status: 'PENDING' | 'SUCCESS' | 'FAILED' | 'REFUNDED' | 'EXPIRED';
   stripePaymentIntentId?: string;
   stripeSessionId?: string;
   campaignId: string;
@@ -195,13 +195,18 @@ export const api = {
     return response.json();
   },
 
-  // Create Stripe checkout session
-  createStripeSession: async (request: DonationRequest): Promise<CheckoutSessionResponse> => {
+  // Create Stripe checkout session. Pass the same idempotencyKey when retrying the same donation
+  // attempt: the backend then returns the original session instead of creating another.
+  createStripeSession: async (request: DonationRequest, idempotencyKey?: string): Promise<CheckoutSessionResponse> => {
+    const headers: Record<string, string> = {
+      'Content-Type': 'application/json',
+    };
+    if (idempotencyKey) {
+      headers['Idempotency-Key'] = idempotencyKey;
+    }
     const response = await fetch(`${API_BASE_URL}/donations/stripe/create`, {
       method: 'POST',
-      headers: {
-        'Content-Type': 'application/json',
-      },
+      headers,
       body: JSON.stringify(request),
     });
     if (!response.ok) throw new Error('Failed to create checkout session');
@@ -214,6 +214,7 @@ export const DONATION_STATUS = {
   COMPLETED: 'COMPLETED',
   FAILED: 'FAILED',
   REFUNDED: 'REFUNDED',
+  EXPIRED: 'EXPIRED',
 } as const;
 
 // ===== Toast Types =====
@@ -29,6 +29,7 @@ interface DonationPreset {
   sortOrder: number;
   updatedAt: string | null;
   updatedBy: string | null;
+  version: number;
 }
 
 type Draft = Omit<DonationPreset, 'updatedAt' | 'updatedBy' | 'isDefault'>;
@@ -171,11 +172,18 @@ export default function AdminDonationPresets() {
     setSaving(true);
     try {
       const orderedIds = drafts.map((d) => d.id);
+      const expectedVersions = drafts.map((d) => d.version);
       const res = await authFetch(`${API_BASE_URL}/admin/donation-presets/reorder`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify({ orderedIds }),
+        body: JSON.stringify({ orderedIds, expectedVersions }),
       });
+      if (res.status === 409) {
+        // another admin edited or reordered these rows since they were loaded
+        showToast('Changed by someone else — reloaded the latest order', 'error');
+        await load();
+        return;
+      }
       if (!res.ok) throw new Error(`HTTP ${res.status}`);
       showToast('Order saved', 'success');
       await load();
@@ -10,9 +10,13 @@ interface ErasureRequest {
   id: string;
   email: string;
   reason: string | null;
-  status: 'PENDING' | 'COMPLETED' | 'REJECTED';
+  status: 'PENDING' | 'IN_PROGRESS' | 'COMPLETED' | 'REJECTED';
   processedBy: string | null;
   processedAt: string | null;
+  startedAt: string | null;
+  donationsAnonymized: number;
+  contactSubmissionsAnonymized: number;
+  auditLogsAnonymized: number;
   createdAt: string;
 }
 
@@ -61,7 +65,7 @@ export default function AdminErasureRequests() {
   const handleProcess = (id: string, email: string) => {
     setConfirmAction({
       title: 'Process erasure request',
-      message: `Are you sure you want to process the erasure request for ${email}?\n\nThis will permanently anonymize all donation records associated with this email. This action cannot be undone.`,
+      message: `Are you sure you want to process the erasure request for ${email}?\n\nThis will permanently anonymize all donation records, contact form submissions and audit-log entries associated with this email. This action cannot be undone.`,
       onConfirm: async () => {
         setConfirmAction(null);
         setProcessingId(id);
@@ -90,6 +94,7 @@ export default function AdminErasureRequests() {
   const getStatusBadgeClass = (status: string) => {
     switch (status) {
       case 'PENDING': return 'pending';
+      case 'IN_PROGRESS': return 'pending';
       case 'COMPLETED': return 'success';
       case 'REJECTED': return 'failed';
       default: return '';
@@ -154,7 +159,7 @@ export default function AdminErasureRequests() {
                         </td>
                         <td>{formatDateTime(request.createdAt)}</td>
                         <td>
-                          {request.status === 'PENDING' ? (
+                          {request.status === 'PENDING' || request.status === 'IN_PROGRESS' ? (
                             <button
                               className="btn-refund"
                               data-testid={`erasure-process-${request.id}`}
@@ -170,11 +175,20 @@ export default function AdminErasureRequests() {
                                 fontSize: '0.85rem',
                               }}
                             >
-                              {processingId === request.id ? 'Processing...' : 'Process'}
+                              {processingId === request.id
+                                ? 'Processing...'
+                                : request.status === 'IN_PROGRESS' ? 'Resume' : 'Process'}
                             </button>
                           ) : (
                             <span style={{ color: '#6b7280', fontSize: '0.85rem' }}>
                               {request.processedBy ? `by ${request.processedBy}` : '-'}
+                              {request.status === 'COMPLETED' && (
+                                <>
+                                  <br />
+                                  {request.donationsAnonymized} donation(s), {request.contactSubmissionsAnonymized} message(s),{' '}
+                                  {request.auditLogsAnonymized} audit entr{request.auditLogsAnonymized === 1 ? 'y' : 'ies'}
+                                </>
+                              )}
                             </span>
                           )}
                         </td>
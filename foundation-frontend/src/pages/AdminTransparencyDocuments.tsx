@@ -31,6 +31,7 @@ interface TransparencyDocument {
   sortOrder: number;
   updatedAt: string | null;
   updatedBy: string | null;
+  version: number;
 }
 
 type Draft = Omit<TransparencyDocument, 'updatedAt' | 'updatedBy'>;
@@ -182,11 +183,18 @@ export default function AdminTransparencyDocuments() {
     setSaving(true);
     try {
       const orderedIds = drafts.map((d) => d.id);
+      const expectedVersions = drafts.map((d) => d.version);
       const res = await authFetch(`${API_BASE_URL}/admin/transparency-documents/reorder`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
-        body: JSON.stringify({ orderedIds }),
+        body: JSON.stringify({ orderedIds, expectedVersions }),
       });
+      if (res.status === 409) {
+        // another admin edited or reordered these rows since they were loaded
+        showToast('Changed by someone else — reloaded the latest order', 'error');
+        await load();
+        return;
+      }
       if (!res.ok) throw new Error(`HTTP ${res.status}`);
       showToast('Order saved', 'success');
       await load();
@@ -50,4 +50,52 @@ describe('Admin Dashboard page', () => {
     expect(screen.getByText('Active Campaigns')).toBeInTheDocument();
     expect(screen.getAllByText(/Water/).length).toBeGreaterThanOrEqual(1);
   });
+
+  it('warns when some figures could not be loaded', async () => {
+    mockAuthFetch.mockResolvedValueOnce({
+      ok: true,
+      status: 200,
+      json: () => Promise.resolve({
+        totalRaised: 0,
+        totalDonations: 0,
+        totalDonors: 0,
+        averageDonation: 0,
+        activeCampaigns: 3,
+        monthlyRaised: 0,
+        monthlyDonations: 0,
+        recentDonations: [],
+        topCampaigns: [],
+        partial: true,
+      }),
+    });
+
+    render(<Dashboard />);
+
+    expect(await screen.findByText('Some figures are incomplete')).toBeInTheDocument();
+    expect(screen.getByRole('button', { name: 'Retry' })).toBeInTheDocument();
+  });
+
+  it('shows no warning when every figure loaded', async () => {
+    mockAuthFetch.mockResolvedValueOnce({
+      ok: true,
+      status: 200,
+      json: () => Promise.resolve({
+        totalRaised: 0,
+        totalDonations: 0,
+        totalDonors: 0,
+        averageDonation: 0,
+        activeCampaigns: 0,
+        monthlyRaised: 0,
+        monthlyDonations: 0,
+        recentDonations: [],
+        topCampaigns: [],
+        partial: false,
+      }),
+    });
+
+    render(<Dashboard />);
+
+    expect(await screen.findByText('Total Raised')).toBeInTheDocument();
+    expect(screen.queryByText('Some figures are incomplete')).not.toBeInTheDocument();
+  });
 });
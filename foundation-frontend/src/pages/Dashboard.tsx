@@ -29,6 +29,8 @@ interface DashboardStats {
     target: number;
     donationCount: number;
   }[];
+  /** Some figures failed to load and show 0/empty instead */
+  partial?: boolean;
 }
 
 export default function AdminDashboard() {
@@ -115,6 +117,15 @@ export default function AdminDashboard() {
 
       <div className="content-body">
         <div className="dashboard-container">
+          {stats.partial && (
+            <div role="alert" style={{ marginBottom: '1.5rem', padding: '1rem 1.5rem', background: '#fff3cd', border: '1px solid #ffc107', borderRadius: '8px', color: '#856404' }}>
+              <strong>Some figures are incomplete</strong>
+              <p style={{ margin: '0.5rem 0 1rem' }}>Part of the dashboard could not be loaded, so some totals below may show 0 or be empty.</p>
+              <button onClick={loadData} style={{ background: '#2a3da8', color: 'white', padding: '0.5rem 1.25rem', borderRadius: '6px', border: 'none', cursor: 'pointer', fontWeight: 600 }}>
+                Retry
+              </button>
+            </div>
+          )}
           {/* KPI Cards */}
           <div className="dashboard-cards">
             <div className="dashboard-card" style={{ borderLeft: '4px solid #10b981' }}>
@@ -71,6 +71,7 @@ describe('DonationForm', () => {
     fireEvent.click(screen.getByRole('button', { name: /Proceed to Secure Payment/ }));
 
     await waitFor(() => expect(mockCreateStripeSession).toHaveBeenCalled());
+    expect(mockCreateStripeSession).toHaveBeenCalledWith(expect.objectContaining({ amount: expect.any(Number) }), expect.any(String));
     expect((window as any).location.href).toBe('http://checkout.test');
   });
 
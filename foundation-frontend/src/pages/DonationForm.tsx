@@ -48,6 +48,7 @@ export default function DonationForm() {
   const [campaignLoadError, setCampaignLoadError] = useState('');
   const [redirectingUrl, setRedirectingUrl] = useState<string>('');
   const submittingRef = useRef(false);
+  const checkoutKeyRef = useRef<{ request: string; key: string } | null>(null);
 
   useEffect(() => {
     if (campaignId) {
@@ -118,13 +119,19 @@ export default function DonationForm() {
     setError('');
 
     try {
-      const response = await api.createStripeSession({
+      const request = {
         amount,
         currency: currency,
         donorName: anonymous ? t('donation.anonymous') : donorName,
         donorEmail: anonymous ? undefined : donorEmail,
         campaignId,
-      });
+      };
+      // Retrying the same donation reuses its key; changing any field starts a new attempt
+      const fingerprint = JSON.stringify(request);
+      if (checkoutKeyRef.current?.request !== fingerprint) {
+        checkoutKeyRef.current = { request: fingerprint, key: newIdempotencyKey() };
+      }
+      const response = await api.createStripeSession(request, checkoutKeyRef.current.key);
 
       const redirectUrl = response.url;
       if (!redirectUrl) {
@@ -468,6 +475,13 @@ export default function DonationForm() {
   );
 }
 
+function newIdempotencyKey(): string {
+  if (typeof crypto !== 'undefined' && typeof crypto.randomUUID === 'function') {
+    return crypto.randomUUID();
+  }
+  return `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}-${Math.random().toString(36).slice(2)}`;
+}
+
 export function redirectToCheckout(url: string) {
   if (typeof window === 'undefined') return;
   if (window.__SKIP_REDIRECT_TO_CHECKOUT) {
@@ -153,6 +153,7 @@ export default function Donations() {
                 <option value="PENDING">Pending</option>
                 <option value="FAILED">Failed</option>
                 <option value="REFUNDED">Refunded</option>
+                <option value="EXPIRED">Expired</option>
               </select>
 
               <select
@@ -137,7 +137,7 @@ export type CampaignStatus = 'DRAFT' | 'ACTIVE' | 'PAUSED' | 'COMPLETED' | 'CANC
 /**
  * Donation status types
  */
-export type DonationStatus = 'SUCCESS' | 'PENDING' | 'FAILED' | 'REFUNDED';
+export type DonationStatus = 'SUCCESS' | 'PENDING' | 'FAILED' | 'REFUNDED' | 'EXPIRED';
 
 /**
  * Sort direction
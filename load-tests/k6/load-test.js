@@ -0,0 +1,305 @@
+// k6 load test for the donation backend. Four scenarios run concurrently:
+//
+//   homepage  - anonymous homepage reads (home sections, featured campaigns, stats, config)
+//   checkout  - donors creating Stripe checkout sessions (against the Stripe stub)
+//   webhooks  - bursts of signed checkout.session.completed deliveries, ~10% redelivered
+//   admin     - an authenticated admin browsing donations, dashboard and audit logs
+//
+// PROFILE=smoke|load|stress picks the arrival rates. The summary printed at the end (and
+// written to $RESULTS_DIR/summary.json) has throughput, latency percentiles and error rate per
+// scenario. Only requests tagged target=app count; calls to the stub and Mailpit are excluded.
+
+import http from 'k6/http';
+import crypto from 'k6/crypto';
+import { check, fail, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const STUB_URL = __ENV.STUB_URL || 'http://localhost:12111';
+const MAILPIT_URL = __ENV.MAILPIT_URL || 'http://localhost:8025';
+const WEBHOOK_SECRET = __ENV.STRIPE_WEBHOOK_SECRET || 'whsec_loadtest_secret';
+const ADMIN_EMAIL = __ENV.ADMIN_EMAIL || 'admin@loadtest.local';
+const ADMIN_PASSWORD = __ENV.ADMIN_PASSWORD || 'LoadTest#2026-Passw0rd';
+const PROFILE = __ENV.PROFILE || 'smoke';
+const RESULTS_DIR = __ENV.RESULTS_DIR || 'results';
+
+const SCENARIOS = ['homepage', 'checkout', 'webhooks', 'admin'];
+
+// Requests per second by scenario; durations apply to every scenario in the profile.
+const PROFILES = {
+  smoke:  { duration: '1m',  homepage: 5,   checkout: 1,  webhooks: 2,   admin: 1 },
+  load:   { duration: '10m', homepage: 100, checkout: 10, webhooks: 20,  admin: 5 },
+  stress: { duration: '10m', homepage: 400, checkout: 40, webhooks: 150, admin: 10 },
+};
+const profile = PROFILES[PROFILE] || fail(`unknown PROFILE ${PROFILE}`);
+
+function rampingScenario(exec, rate) {
+  return {
+    executor: 'ramping-arrival-rate',
+    exec,
+    startRate: 0,
+    timeUnit: '1s',
+    preAllocatedVUs: Math.max(2, rate * 2),
+    maxVUs: Math.max(10, rate * 10),
+    stages: [
+      { target: rate, duration: '30s' },
+      { target: rate, duration: profile.duration },
+      { target: 0, duration: '10s' },
+    ],
+  };
+}
+
+// Webhook deliveries arrive in bursts: quiet, then a spike as Stripe flushes its queue.
+function burstScenario(exec, rate) {
+  return {
+    executor: 'ramping-arrival-rate',
+    exec,
+    startRate: 0,
+    timeUnit: '1s',
+    preAllocatedVUs: Math.max(2, rate * 2),
+    maxVUs: Math.max(10, rate * 10),
+    stages: [
+      { target: Math.ceil(rate / 10), duration: '30s' },
+      { target: rate, duration: '5s' },
+      { target: rate, duration: '20s' },
+      { target: Math.ceil(rate / 10), duration: '5s' },
+      { target: Math.ceil(rate / 10), duration: profile.duration },
+      { target: rate, duration: '5s' },
+      { target: 0, duration: '10s' },
+    ],
+  };
+}
+
+const thresholds = {};
+for (const name of SCENARIOS) {
+  // Declaring per-scenario thresholds makes k6 keep per-scenario sub-metrics for the summary.
+  thresholds[`http_reqs{scenario:${name},target:app}`] = ['count>=0'];
+  thresholds[`http_req_duration{scenario:${name},target:app}`] = [name === 'checkout' ? 'p(99)<3000' : 'p(99)<1500'];
+  thresholds[`http_req_failed{scenario:${name},target:app}`] = ['rate<0.01'];
+}
+
+export const options = {
+  scenarios: {
+    homepage: rampingScenario('homepage', profile.homepage),
+    checkout: rampingScenario('checkout', profile.checkout),
+    webhooks: burstScenario('webhooks', profile.webhooks),
+    admin: rampingScenario('admin', profile.admin),
+  },
+  thresholds,
+  summaryTrendStats: ['avg', 'p(50)', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+const app = (name) => ({ tags: { target: 'app', name } });
+const json = (name, headers = {}) => ({
+  headers: Object.assign({ 'Content-Type': 'application/json' }, headers),
+  tags: { target: 'app', name },
+});
+
+// ---------------------------------------------------------------------------------------------
+// setup: campaign IDs for checkout, and an admin token (first run completes the password setup
+// by reading the emailed link from Mailpit)
+// ---------------------------------------------------------------------------------------------
+
+export function setup() {
+  const campaigns = http.get(`${BASE_URL}/api/campaigns`, { tags: { target: 'setup' } }).json();
+  const campaignIds = campaigns.map((c) => c.id);
+  if (campaignIds.length === 0) {
+    fail('no active campaigns - the seed migrations should have created some');
+  }
+  return { campaignIds, adminToken: adminToken() };
+}
+
+function login() {
+  return http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ username: 'admin', password: ADMIN_PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' }, tags: { target: 'setup' } });
+}
+
+function adminToken() {
+  let res = login();
+  if (res.status !== 200) {
+    completeAdminSetup();
+    res = login();
+  }
+  if (res.status !== 200 || !res.json('token')) {
+    fail(`admin login failed: ${res.status} ${res.body}`);
+  }
+  return res.json('token');
+}
+
+function completeAdminSetup() {
+  const search = http.get(
+    `${MAILPIT_URL}/api/v1/search?query=${encodeURIComponent(`to:${ADMIN_EMAIL} subject:"Complete Your Account Setup"`)}`,
+    { tags: { target: 'setup' } });
+  const messages = search.json('messages') || [];
+  if (messages.length === 0) {
+    fail(`no password setup email for ${ADMIN_EMAIL} in Mailpit`);
+  }
+  const message = http.get(`${MAILPIT_URL}/api/v1/message/${messages[0].ID}`, { tags: { target: 'setup' } }).json();
+  const match = /token=([A-Za-z0-9._~-]+)/.exec(message.Text || message.HTML || '');
+  if (!match) {
+    fail('password setup link not found in email');
+  }
+
+  const questions = http.get(`${BASE_URL}/api/auth/security-questions`, { tags: { target: 'setup' } }).json();
+  const res = http.post(`${BASE_URL}/api/auth/setup-password/${match[1]}`,
+    JSON.stringify({
+      password: ADMIN_PASSWORD,
+      securityAnswers: questions.slice(0, 2).map((q) => ({ questionId: q.id, answer: 'loadtest' })),
+    }),
+    { headers: { 'Content-Type': 'application/json' }, tags: { target: 'setup' } });
+  if (res.status !== 200) {
+    fail(`password setup failed: ${res.status} ${res.body}`);
+  }
+}
+
+// ---------------------------------------------------------------------------------------------
+// scenarios
+// ---------------------------------------------------------------------------------------------
+
+export function homepage() {
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/public/home`, null, app('home sections')],
+    ['GET', `${BASE_URL}/api/campaigns?featured=true`, null, app('featured campaigns')],
+    ['GET', `${BASE_URL}/api/public/stats`, null, app('public stats')],
+    ['GET', `${BASE_URL}/api/config/public`, null, app('public config')],
+    ['GET', `${BASE_URL}/api/categories`, null, app('categories')],
+  ]);
+  for (const res of responses) {
+    check(res, { 'homepage 200': (r) => r.status === 200 });
+  }
+}
+
+export function checkout(data) {
+  const campaignId = data.campaignIds[Math.floor(Math.random() * data.campaignIds.length)];
+  const res = http.post(`${BASE_URL}/api/donations/stripe/create`,
+    JSON.stringify({
+      amount: 500 + Math.floor(Math.random() * 20000),
+      currency: 'usd',
+      donorName: `Load Donor ${__VU}`,
+      donorEmail: `donor${__VU}.${__ITER}@loadtest.local`,
+      campaignId,
+    }),
+    json('checkout create'));
+  check(res, {
+    'checkout 200': (r) => r.status === 200,
+    'checkout has session': (r) => r.status === 200 && !!r.json('sessionId'),
+  });
+}
+
+// Per-VU cache of stub sessions and already-sent events, refreshed every few iterations.
+let knownSessions = [];
+let stripeVersion = null;
+const sentEvents = [];
+
+function refreshSessions() {
+  const res = http.get(`${STUB_URL}/_stub/sessions?limit=200`, { tags: { target: 'stub' } });
+  if (res.status === 200) {
+    knownSessions = res.json('sessions') || [];
+    stripeVersion = res.json('stripeVersion');
+  }
+}
+
+function signedDelivery(payload) {
+  const timestamp = Math.floor(Date.now() / 1000);
+  const signature = crypto.hmac('sha256', WEBHOOK_SECRET, `${timestamp}.${payload}`, 'hex');
+  return http.post(`${BASE_URL}/api/donations/stripe/webhook`, payload,
+    json('webhook', { 'Stripe-Signature': `t=${timestamp},v1=${signature}` }));
+}
+
+export function webhooks() {
+  if (knownSessions.length === 0 || __ITER % 50 === 0) {
+    refreshSessions();
+  }
+  if (knownSessions.length === 0) {
+    sleep(1); // the checkout scenario has not created any sessions yet
+    return;
+  }
+
+  let payload;
+  if (sentEvents.length > 0 && Math.random() < 0.1) {
+    // Stripe delivers at least once; redeliveries must be acknowledged without reprocessing
+    payload = sentEvents[Math.floor(Math.random() * sentEvents.length)];
+  } else {
+    const session = knownSessions[Math.floor(Math.random() * knownSessions.length)];
+    payload = JSON.stringify({
+      id: `evt_${__VU}_${__ITER}_${Date.now()}_${Math.floor(Math.random() * 1e9)}`,
+      object: 'event',
+      api_version: stripeVersion,
+      created: Math.floor(Date.now() / 1000),
+      type: 'checkout.session.completed',
+      livemode: false,
+      pending_webhooks: 1,
+      data: {
+        object: Object.assign({}, session, { status: 'complete', payment_status: 'paid' }),
+      },
+    });
+    sentEvents.push(payload);
+    if (sentEvents.length > 100) {
+      sentEvents.shift();
+    }
+  }
+
+  const res = signedDelivery(payload);
+  check(res, { 'webhook 200': (r) => r.status === 200 });
+}
+
+export function admin(data) {
+  const auth = { Authorization: `Bearer ${data.adminToken}` };
+  const page = Math.floor(Math.random() * 5);
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/admin/donations?page=${page}&size=20`, null, json('admin donations', auth)],
+    ['GET', `${BASE_URL}/api/admin/dashboard/stats`, null, json('admin dashboard', auth)],
+    ['GET', `${BASE_URL}/api/admin/campaigns`, null, json('admin campaigns', auth)],
+    ['GET', `${BASE_URL}/api/admin/audit-logs/scroll?size=50`, null, json('admin audit logs', auth)],
+  ]);
+  for (const res of responses) {
+    check(res, { 'admin 200': (r) => r.status === 200 });
+  }
+  sleep(1); // think time between page views
+}
+
+// ---------------------------------------------------------------------------------------------
+// summary
+// ---------------------------------------------------------------------------------------------
+
+function metric(data, name, scenario) {
+  const m = data.metrics[`${name}{scenario:${scenario},target:app}`];
+  return m ? m.values : {};
+}
+
+export function handleSummary(data) {
+  const seconds = data.state.testRunDurationMs / 1000;
+  const rows = SCENARIOS.map((scenario) => {
+    const reqs = metric(data, 'http_reqs', scenario);
+    const duration = metric(data, 'http_req_duration', scenario);
+    const failed = metric(data, 'http_req_failed', scenario);
+    return {
+      scenario,
+      requests: reqs.count || 0,
+      throughputPerSec: +((reqs.count || 0) / seconds).toFixed(2),
+      p50Ms: +(duration['p(50)'] || 0).toFixed(1),
+      p95Ms: +(duration['p(95)'] || 0).toFixed(1),
+      p99Ms: +(duration['p(99)'] || 0).toFixed(1),
+      maxMs: +(duration.max || 0).toFixed(1),
+      errorRate: +(failed.rate || 0).toFixed(4),
+    };
+  });
+
+  const header = 'scenario      requests    req/s     p50 ms    p95 ms    p99 ms    max ms   errors';
+  const lines = rows.map((r) => [
+    r.scenario.padEnd(12),
+    String(r.requests).padStart(9),
+    r.throughputPerSec.toFixed(1).padStart(8),
+    r.p50Ms.toFixed(1).padStart(10),
+    r.p95Ms.toFixed(1).padStart(9),
+    r.p99Ms.toFixed(1).padStart(9),
+    r.maxMs.toFixed(1).padStart(9),
+    `${(r.errorRate * 100).toFixed(2)}%`.padStart(8),
+  ].join(' '));
+
+  const report = `\nProfile: ${PROFILE} (${seconds.toFixed(0)}s)\n${header}\n${lines.join('\n')}\n`;
+  return {
+    stdout: report,
+    [`${RESULTS_DIR}/summary.json`]: JSON.stringify({ profile: PROFILE, durationSec: seconds, scenarios: rows }, null, 2),
+  };
+}
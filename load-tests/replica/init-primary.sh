@@ -0,0 +1,3 @@
+#!/bin/sh
+# Lets postgres-replica (compose profile "replica") stream WAL from this server.
+echo "host replication ${POSTGRES_USER} all scram-sha-256" >> "$PGDATA/pg_hba.conf"
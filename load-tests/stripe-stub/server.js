@@ -0,0 +1,188 @@
+// Minimal stand-in for the parts of the Stripe API the backend calls, for load tests only.
+//
+//   POST /v1/checkout/sessions   -> checkout.session (metadata is kept for webhooks)
+//   POST /v1/refunds             -> refund
+//   GET  /v1/checkout/sessions   -> list, newest first (created[gte], limit, starting_after)
+//   GET  /v1/refunds             -> list, as above
+//   GET  /_stub/sessions?limit=N -> recently created sessions plus the Stripe-Version the
+//                                   backend sent, so k6 can build signed webhook events
+//   POST /_stub/sessions/:id/complete -> marks a session paid without sending any webhook,
+//   POST /_stub/sessions/:id/expire      so only the backend's reconciliation job can notice
+//   GET  /_stub/stats            -> request counts per endpoint
+//
+// Latency and failures are configurable so slow or flaky Stripe behaviour can be reproduced:
+//   STUB_LATENCY_MS (mean, default 250), STUB_LATENCY_JITTER_MS (default 100),
+//   STUB_ERROR_RATE (0..1, default 0) -> 500 api_error, STUB_RATE_LIMIT_RATE (0..1) -> 429.
+
+const http = require('http');
+const crypto = require('crypto');
+
+const PORT = Number(process.env.PORT || 12111);
+const LATENCY_MS = Number(process.env.STUB_LATENCY_MS || 250);
+const JITTER_MS = Number(process.env.STUB_LATENCY_JITTER_MS || 100);
+const ERROR_RATE = Number(process.env.STUB_ERROR_RATE || 0);
+const RATE_LIMIT_RATE = Number(process.env.STUB_RATE_LIMIT_RATE || 0);
+const MAX_SESSIONS = 5000;
+
+const sessions = [];
+const refunds = [];
+const stats = {};
+let stripeVersion = null;
+
+function id(prefix) {
+  return `${prefix}_${crypto.randomBytes(12).toString('hex')}`;
+}
+
+// Stripe sends form-encoded bodies with bracketed keys, e.g. metadata[donationId]=...
+function parseForm(body) {
+  const result = { metadata: {} };
+  for (const [key, value] of new URLSearchParams(body)) {
+    const meta = key.match(/^metadata\[(.+)\]$/);
+    if (meta) {
+      result.metadata[meta[1]] = value;
+    } else {
+      result[key] = value;
+    }
+  }
+  return result;
+}
+
+function send(res, status, body) {
+  res.writeHead(status, { 'Content-Type': 'application/json', 'Request-Id': id('req') });
+  res.end(JSON.stringify(body));
+}
+
+function stripeError(res, status, type, message) {
+  send(res, status, { error: { type, message } });
+}
+
+function delay() {
+  const ms = Math.max(0, LATENCY_MS + (Math.random() * 2 - 1) * JITTER_MS);
+  return new Promise((resolve) => setTimeout(resolve, ms));
+}
+
+function createSession(form) {
+  const session = {
+    id: id('cs_test'),
+    object: 'checkout.session',
+    mode: 'payment',
+    status: 'open',
+    payment_status: 'unpaid',
+    payment_intent: id('pi'),
+    amount_total: Number(form['line_items[0][price_data][unit_amount]'] || 0),
+    currency: form['line_items[0][price_data][currency]'] || 'usd',
+    customer_email: form.customer_email || null,
+    metadata: form.metadata,
+    success_url: form.success_url || null,
+    cancel_url: form.cancel_url || null,
+    created: Math.floor(Date.now() / 1000),
+  };
+  session.url = `https://checkout.stripe.test/pay/${session.id}`;
+  sessions.push(session);
+  if (sessions.length > MAX_SESSIONS) {
+    sessions.shift();
+  }
+  return session;
+}
+
+function createRefund(form) {
+  const refund = {
+    id: id('re'),
+    object: 'refund',
+    status: 'succeeded',
+    amount: form.amount ? Number(form.amount) : null,
+    payment_intent: form.payment_intent || null,
+    reason: form.reason || null,
+    metadata: form.metadata,
+    created: Math.floor(Date.now() / 1000),
+  };
+  refunds.push(refund);
+  if (refunds.length > MAX_SESSIONS) {
+    refunds.shift();
+  }
+  return refund;
+}
+
+// Stripe list semantics: newest first, created[gte]/created[lt] filters, cursor via starting_after
+function list(objects, url) {
+  const createdGte = Number(url.searchParams.get('created[gte]') || 0);
+  const createdLt = Number(url.searchParams.get('created[lt]') || Infinity);
+  const limit = Math.min(Number(url.searchParams.get('limit') || 10), 100);
+  const startingAfter = url.searchParams.get('starting_after');
+  const matching = objects.filter((o) => o.created >= createdGte && o.created < createdLt).reverse();
+  const from = startingAfter ? matching.findIndex((o) => o.id === startingAfter) + 1 : 0;
+  const data = matching.slice(from, from + limit);
+  return { object: 'list', url: url.pathname, has_more: from + limit < matching.length, data };
+}
+
+const server = http.createServer((req, res) => {
+  let body = '';
+  req.on('data', (chunk) => { body += chunk; });
+  req.on('end', async () => {
+    const url = new URL(req.url, `http://localhost:${PORT}`);
+    const route = `${req.method} ${url.pathname}`;
+    stats[route] = (stats[route] || 0) + 1;
+
+    if (url.pathname.startsWith('/_stub/')) {
+      if (route === 'GET /_stub/sessions') {
+        const limit = Math.min(Number(url.searchParams.get('limit') || 100), MAX_SESSIONS);
+        return send(res, 200, { stripeVersion, sessions: sessions.slice(-limit) });
+      }
+      const settle = route.match(/^POST \/_stub\/sessions\/([^/]+)\/(complete|expire)$/);
+      if (settle) {
+        const session = sessions.find((s) => s.id === settle[1]);
+        if (!session) {
+          return send(res, 404, { error: 'unknown session' });
+        }
+        if (settle[2] === 'complete') {
+          session.status = 'complete';
+          session.payment_status = 'paid';
+        } else {
+          session.status = 'expired';
+        }
+        return send(res, 200, session);
+      }
+      if (route === 'GET /_stub/stats') {
+        return send(res, 200, { sessions: sessions.length, stripeVersion, requests: stats });
+      }
+      return send(res, 404, { error: 'unknown stub endpoint' });
+    }
+
+    if (req.headers['stripe-version']) {
+      stripeVersion = req.headers['stripe-version'];
+    }
+    await delay();
+
+    if (Math.random() < RATE_LIMIT_RATE) {
+      return stripeError(res, 429, 'rate_limit_error', 'Too many requests (stub)');
+    }
+    if (Math.random() < ERROR_RATE) {
+      return stripeError(res, 500, 'api_error', 'Injected failure (stub)');
+    }
+
+    if (route === 'POST /v1/checkout/sessions') {
+      return send(res, 200, createSession(parseForm(body)));
+    }
+    if (route === 'POST /v1/refunds') {
+      return send(res, 200, createRefund(parseForm(body)));
+    }
+    if (route === 'GET /v1/checkout/sessions') {
+      return send(res, 200, list(sessions, url));
+    }
+    if (route === 'GET /v1/refunds') {
+      return send(res, 200, list(refunds, url));
+    }
+    const retrieve = route.match(/^GET \/v1\/(checkout\/sessions|refunds)\/([^/]+)$/);
+    if (retrieve) {
+      const object = (retrieve[1] === 'refunds' ? refunds : sessions).find((o) => o.id === retrieve[2]);
+      return object
+        ? send(res, 200, object)
+        : stripeError(res, 404, 'invalid_request_error', `No such object: '${retrieve[2]}'`);
+    }
+    return stripeError(res, 404, 'invalid_request_error', `Unrecognized request URL (${route}) in stub`);
+  });
+});
+
+server.listen(PORT, () => {
+  console.log(`Stripe stub listening on ${PORT} (latency ${LATENCY_MS}±${JITTER_MS}ms, errors ${ERROR_RATE}, 429s ${RATE_LIMIT_RATE})`);
+});